@@ -0,0 +1,22 @@
+package com.ebtedge.service.flow.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared setup for the JMH benchmarks.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Raises the engine's log level to WARN so per-step INFO logging stays out of the measurement.
+     */
+    public static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger("com.ebtedge.service.flow")).setLevel(Level.WARN);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.benchmark.BenchmarkSupport;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of passing an already failed pipeline through 16 remaining steps, as during an error storm
+ * where a backend fails every request. Run with {@code -Djmh.args="-prof gc"}: the skipped steps
+ * should report {@code gc.alloc.rate.norm} of 0 B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FailureShortCircuitBenchmark {
+
+    private static final int SKIPPED_STEPS = 16;
+    private static final Function<Integer, ResponseWrapper<Integer>> INCREMENT = x -> ResponseWrapper.success(x + 1);
+
+    private WorkflowPipeline<Integer> failed;
+    private ResponseWrapper<Integer> failure;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        properties.setMetricsEnabled(true);
+        PipelineRuntime runtime = new PipelineRuntime(properties, new SimpleMeterRegistry(), null,
+                ForkJoinPool.commonPool());
+        failed = WorkflowPipeline.start(0, runtime, Deadline.none())
+                .nextStep("A_ERR_01", x -> ResponseWrapper.<Integer>fail(new ErrorDetails("A_ERR_01", "Backend error")));
+        failure = ResponseWrapper.fail(new ErrorDetails("A_ERR_01", "Backend error"));
+    }
+
+    @Benchmark
+    public WorkflowPipeline<Integer> skippedSteps() {
+        WorkflowPipeline<Integer> pipeline = failed;
+        for (int i = 0; i < SKIPPED_STEPS; i++) {
+            pipeline = pipeline.nextStep("skipped", INCREMENT).peek(x -> { });
+        }
+        return pipeline;
+    }
+
+    @Benchmark
+    public ResponseWrapper<Integer> failedMapChain() {
+        ResponseWrapper<Integer> result = failure;
+        for (int i = 0; i < SKIPPED_STEPS; i++) {
+            result = result.map(x -> x + 1).flatMap(ResponseWrapper::success);
+        }
+        return result;
+    }
+}
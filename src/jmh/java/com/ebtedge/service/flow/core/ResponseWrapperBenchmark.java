@@ -0,0 +1,49 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ResponseWrapper#map} and {@link ResponseWrapper#flatMap} on the success and failure paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseWrapperBenchmark {
+
+    private final ResponseWrapper<Integer> success = ResponseWrapper.success(42);
+    private final ResponseWrapper<Integer> failure = ResponseWrapper.fail(new ErrorDetails("BENCH_ERROR", "Failure"));
+
+    @Benchmark
+    public ResponseWrapper<Integer> mapSuccess() {
+        return success.map(x -> x + 1);
+    }
+
+    @Benchmark
+    public ResponseWrapper<Integer> mapFailure() {
+        return failure.map(x -> x + 1);
+    }
+
+    @Benchmark
+    public ResponseWrapper<Integer> flatMapSuccess() {
+        return success.flatMap(x -> ResponseWrapper.success(x + 1));
+    }
+
+    @Benchmark
+    public ResponseWrapper<Integer> flatMapFailure() {
+        return failure.flatMap(x -> ResponseWrapper.success(x + 1));
+    }
+}
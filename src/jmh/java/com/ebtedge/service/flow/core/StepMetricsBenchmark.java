@@ -0,0 +1,71 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.benchmark.BenchmarkSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-step metrics overhead: registering the step timer on every call (the previous behaviour)
+ * versus the cached handles of {@link StepMetrics}, plus a full single-step pipeline on top of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepMetricsBenchmark {
+
+    private static final String STEP = "FetchCardholderSummary";
+
+    private ServiceFlowProperties properties;
+    private MeterRegistry meterRegistry;
+    private StepMetrics metrics;
+    private PipelineRuntime runtime;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        properties = new ServiceFlowProperties();
+        properties.setMetricsEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new StepMetrics(properties, meterRegistry);
+        runtime = new PipelineRuntime(properties, meterRegistry, null, ForkJoinPool.commonPool(), metrics);
+    }
+
+    @Benchmark
+    public long registerPerCall() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Timer timer = Timer.builder(properties.getMetricName())
+                .tag("step", STEP)
+                .tag("status", "SUCCESS")
+                .register(meterRegistry);
+        return sample.stop(timer);
+    }
+
+    @Benchmark
+    public long cachedHandle() {
+        return metrics.stop(metrics.start(), STEP, StepMetrics.Status.SUCCESS);
+    }
+
+    @Benchmark
+    public WorkflowPipeline<Integer> singleStepPipeline() {
+        return WorkflowPipeline.start(1, runtime, Deadline.none())
+                .nextStep(STEP, x -> ResponseWrapper.success(x + 1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.benchmark.BenchmarkSupport;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cost of a synchronous pipeline of 1, 4 and 16 steps, with metrics on and off, for a
+ * successful run and for a run whose first step fails and short-circuits the rest.
+ * {@link #definition()} runs the same steps through a pre-built {@link WorkflowDefinition}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkflowPipelineBenchmark {
+
+    private static final ErrorDetails ERROR = new ErrorDetails("BENCH_ERROR", "Benchmark failure");
+    private static final Function<Integer, ResponseWrapper<Integer>> INCREMENT = x -> ResponseWrapper.success(x + 1);
+    private static final Function<Integer, ResponseWrapper<Integer>> FAIL = x -> ResponseWrapper.fail(ERROR);
+
+    @Param({"1", "4", "16"})
+    private int steps;
+
+    @Param({"true", "false"})
+    private boolean metricsEnabled;
+
+    @Param({"SUCCESS", "FAILURE"})
+    private String outcome;
+
+    private PipelineRuntime runtime;
+    private String[] stepNames;
+    private WorkflowDefinition<Integer, Integer> definition;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        properties.setMetricsEnabled(metricsEnabled);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        runtime = new PipelineRuntime(properties, meterRegistry, null, ForkJoinPool.commonPool());
+        stepNames = new String[steps];
+        for (int i = 0; i < steps; i++) {
+            stepNames[i] = "step" + i;
+        }
+        WorkflowDefinition.Builder<Integer, Integer> builder = WorkflowDefinition.builder("benchmark", runtime);
+        for (int i = 0; i < steps; i++) {
+            builder = builder.step(stepNames[i], isFailure() && i == 0 ? FAIL : INCREMENT);
+        }
+        definition = builder.build();
+    }
+
+    @Benchmark
+    public WorkflowPipeline<Integer> chain() {
+        WorkflowPipeline<Integer> pipeline = WorkflowPipeline.start(0, runtime, Deadline.none());
+        boolean failFirst = isFailure();
+        for (int i = 0; i < steps; i++) {
+            pipeline = pipeline.nextStep(stepNames[i], failFirst && i == 0 ? FAIL : INCREMENT);
+        }
+        return pipeline;
+    }
+
+    @Benchmark
+    public ResponseWrapper<Integer> definition() {
+        return definition.execute(0);
+    }
+
+    private boolean isFailure() {
+        return "FAILURE".equals(outcome);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ebtedge.service.flow.event;
+
+import com.ebtedge.service.flow.domain.Balance;
+import com.ebtedge.service.flow.domain.Demographics;
+import com.ebtedge.service.flow.domain.UIResponse;
+import com.ebtedge.service.flow.event.mapper.UIResponseEventMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a typical {@link KafkaEventEnvelope}: through {@link KafkaEventEnvelope#toJson}, through a
+ * shared mapper configured like the {@code kafkaObjectMapper} bean, and through the {@code ObjectWriter} of
+ * {@link KafkaEventSerializer} used by the publisher. {@code newObjectMapper} is the former {@code toJson()} body,
+ * which built a mapper per call, kept as the baseline these should stay well below.
+ * The {@code *Bytes} benchmarks cover a whole publish from the domain object: the mapper path builds the
+ * payload map and envelope, the writer path streams the fields through {@link KafkaEventSerializer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaEventEnvelopeBenchmark {
+
+    private KafkaEventEnvelope envelope;
+    private ObjectMapper sharedMapper;
+    private KafkaEventSerializer serializer;
+    private KafkaEventMetadata metadata;
+    private UIResponse response;
+
+    @Setup
+    public void setUp() {
+        envelope = new KafkaEventEnvelope(
+            KafkaEventMetadata.of("ProfileFetched", "service-flow-events", "1.0"),
+            Map.of(
+                "balance", Map.of("clientId", "CLI123456", "amount", 1250.75),
+                "demographics", Map.of("name", "Jane Doe", "city", "Springfield")));
+        sharedMapper = new ObjectMapper();
+        sharedMapper.registerModule(new JavaTimeModule());
+        sharedMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        serializer = new KafkaEventSerializer(sharedMapper, 1);
+        metadata = envelope.metadata();
+        response = new UIResponse(new Balance("CLI123456", 1250.75),
+            new Demographics("Jane Doe", "jane@example.com", "Springfield"));
+    }
+
+    @Benchmark
+    public String envelopeToJson() throws JsonProcessingException {
+        return envelope.toJson();
+    }
+
+    @Benchmark
+    public String newObjectMapper() throws JsonProcessingException {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper.writeValueAsString(envelope);
+    }
+
+    @Benchmark
+    public String serializerToJson() throws JsonProcessingException {
+        return serializer.toJson(envelope);
+    }
+
+    @Benchmark
+    public byte[] envelopeToBytes() throws JsonProcessingException {
+        return serializer.serialize(envelope);
+    }
+
+    @Benchmark
+    public String sharedObjectMapper() throws JsonProcessingException {
+        return sharedMapper.writeValueAsString(envelope);
+    }
+
+    @Benchmark
+    public byte[] mapperToBytes() throws JsonProcessingException {
+        return serializer.serialize(new KafkaEventEnvelope(metadata, UIResponseEventMapper.INSTANCE.map(response)));
+    }
+
+    @Benchmark
+    public byte[] writerToBytes() throws IOException {
+        return serializer.serialize(metadata, response, UIResponseEventMapper.INSTANCE);
+    }
+}
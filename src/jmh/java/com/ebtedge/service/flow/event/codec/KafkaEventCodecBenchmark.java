@@ -0,0 +1,82 @@
+package com.ebtedge.service.flow.event.codec;
+
+import com.ebtedge.service.flow.benchmark.BenchmarkSupport;
+import com.ebtedge.service.flow.domain.Balance;
+import com.ebtedge.service.flow.domain.Demographics;
+import com.ebtedge.service.flow.domain.UIResponse;
+import com.ebtedge.service.flow.event.EventMapper;
+import com.ebtedge.service.flow.event.KafkaEventEnvelope;
+import com.ebtedge.service.flow.event.KafkaEventMetadata;
+import com.ebtedge.service.flow.event.KafkaEventSerializer;
+import com.ebtedge.service.flow.event.mapper.ReflectionEventMapper;
+import com.ebtedge.service.flow.event.mapper.UIResponseEventMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a {@code ProfileFetched} event in each {@code service-flow.kafka.format}, with the hand-written
+ * {@link UIResponseEventMapper} and with {@link ReflectionEventMapper}. Decoding is measured for the binary format,
+ * the consumer side of the schema lookup. The encoded sizes of the formats are listed in OPTIMIZATIONS.md.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaEventCodecBenchmark {
+
+    @Param({"json", "binary"})
+    private String format;
+
+    @Param({"manual", "reflection"})
+    private String mapper;
+
+    private KafkaEventCodec codec;
+    private BinaryKafkaEventCodec binaryCodec;
+    private EventMapper<UIResponse> eventMapper;
+    private KafkaEventMetadata metadata;
+    private UIResponse response;
+    private byte[] binaryEvent;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        BenchmarkSupport.quietLogging();
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        binaryCodec = new BinaryKafkaEventCodec(new InMemoryEventSchemaRegistry());
+        codec = format.equals("binary") ? binaryCodec : new JsonKafkaEventCodec(new KafkaEventSerializer(objectMapper, 1));
+        eventMapper = mapper.equals("manual") ? UIResponseEventMapper.INSTANCE : ReflectionEventMapper.INSTANCE;
+        metadata = KafkaEventMetadata.of("ProfileFetched", "service-flow-events", "1.0");
+        response = new UIResponse(new Balance("CLI123456", 1250.75),
+            new Demographics("Jane Doe", "jane@example.com", "Springfield"));
+        binaryEvent = binaryCodec.encode(metadata, response, eventMapper);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(metadata, response, eventMapper);
+    }
+
+    @Benchmark
+    public KafkaEventEnvelope decodeBinary() throws IOException {
+        return binaryCodec.decode(binaryEvent);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ebtedge.service.flow.event.mapper;
+
+import com.ebtedge.service.flow.benchmark.BenchmarkSupport;
+import com.ebtedge.service.flow.domain.Balance;
+import com.ebtedge.service.flow.domain.Demographics;
+import com.ebtedge.service.flow.domain.UIResponse;
+import com.ebtedge.service.flow.event.EventMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Annotation-driven {@link ReflectionEventMapper} compared with the hand-written {@link UIResponseEventMapper}
+ * producing the same payload. {@code UIResponse} has a generated {@code UIResponse_EventMapper}, so the
+ * reflection benchmark measures the dispatch to it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMapperBenchmark {
+
+    private final UIResponse response = new UIResponse(
+        new Balance("CLI123456", 1250.75),
+        new Demographics("Jane Doe", "jane@example.com", "Springfield"));
+
+    private EventMapper<UIResponse> reflectionMapper;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        reflectionMapper = ReflectionEventMapper.forClass(UIResponse.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> reflection() {
+        return reflectionMapper.map(response);
+    }
+
+    @Benchmark
+    public Map<String, Object> handWritten() {
+        return UIResponseEventMapper.INSTANCE.map(response);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ebtedge.service.flow.service;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.benchmark.BenchmarkSupport;
+import com.ebtedge.service.flow.cardsummary.CardholderSummaryResult;
+import com.ebtedge.service.flow.caseinquiry.CaseInquiryResult;
+import com.ebtedge.service.flow.core.ResponseWrapper;
+import com.ebtedge.service.flow.core.WorkflowPipelineFactory;
+import com.ebtedge.service.flow.domain.CardholderSearchCriteria;
+import com.ebtedge.service.flow.domain.CardholderSearchResult;
+import com.ebtedge.service.flow.domain.common.BaseRequestMetaData;
+import com.ebtedge.service.flow.domain.common.BaseResponseMetadata;
+import com.ebtedge.service.flow.domain.common.CardInfoResult;
+import com.ebtedge.service.flow.domain.common.ClientInfoResult;
+import com.ebtedge.service.flow.opa.OpaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OpaService#cardholderSearch} for clients with 1, 100 and 10,000 cards, isolating the merge step:
+ * the card and case services return pre-built results. The matching client is last of {@code clients},
+ * the worst case for a linear client scan. With {@code parallel=true} merges of at least the default threshold
+ * (1,000 cards) run on the cardholder-merge ForkJoinPool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardholderMergeBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int cards;
+
+    @Param({"1", "50"})
+    private int clients;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private OpaService opaService;
+    private CardholderSearchCriteria criteria;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        List<CardInfoResult> cardResults = new ArrayList<>(cards);
+        for (int i = 0; i < cards; i++) {
+            cardResults.add(new CardInfoResult(String.format("6008%012d", i), i % 3 == 0 ? "I" : "A",
+                "0.00", "365", "2025-01-15T10:00:00Z"));
+        }
+        List<ClientInfoResult> clientResults = new ArrayList<>(clients);
+        for (int i = clients - 1; i >= 0; i--) {
+            clientResults.add(new ClientInfoResult("CLI" + String.format("%06d", i), null, "John", "Doe", "1990-01-15"));
+        }
+        ResponseWrapper<CardholderSummaryResult> summary = ResponseWrapper.success(new CardholderSummaryResult(
+            new BaseResponseMetadata("uuid-123", "2025-01-15T10:00:00Z"), "CLI000000", "6008000000000000",
+            cardResults, clientResults));
+        ResponseWrapper<CaseInquiryResult> caseInquiry = ResponseWrapper.success(
+            new CaseInquiryResult("CASE000000", clientResults));
+
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        ServiceFlowProperties.ParallelConfig parallelConfig = new ServiceFlowProperties.ParallelConfig();
+        parallelConfig.setEnabled(parallel);
+        properties.getParallel().put("cardholder-merge", parallelConfig);
+        WorkflowPipelineFactory pipelineFactory = new WorkflowPipelineFactory(properties, new SimpleMeterRegistry());
+        opaService = new OpaServiceImpl(context -> summary, context -> caseInquiry, pipelineFactory);
+        criteria = new CardholderSearchCriteria(
+            new BaseRequestMetaData("TERM001", "uuid-123", "USER001"),
+            "4111111111111111",
+            "AG001");
+    }
+
+    @Benchmark
+    public ResponseWrapper<CardholderSearchResult> cardholderSearch() {
+        return opaService.cardholderSearch(criteria);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ebtedge.service.flow.service;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.benchmark.BenchmarkSupport;
+import com.ebtedge.service.flow.core.ResponseWrapper;
+import com.ebtedge.service.flow.core.WorkflowPipelineFactory;
+import com.ebtedge.service.flow.domain.CardholderSearchCriteria;
+import com.ebtedge.service.flow.domain.CardholderSearchResult;
+import com.ebtedge.service.flow.domain.common.BaseRequestMetaData;
+import com.ebtedge.service.flow.opa.OpaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link OpaService#cardholderSearch} against the mock card and case services.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpaServiceBenchmark {
+
+    private OpaService opaService;
+    private CardholderSearchCriteria criteria;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        properties.setMetricsEnabled(true);
+        WorkflowPipelineFactory pipelineFactory = new WorkflowPipelineFactory(properties, new SimpleMeterRegistry());
+        opaService = new OpaServiceImpl(new CardServiceImpl(), new CaseServiceImpl(), pipelineFactory);
+        criteria = new CardholderSearchCriteria(
+            new BaseRequestMetaData("TERM001", "uuid-123", "USER001"),
+            "4111111111111111",
+            "AG001");
+    }
+
+    @Benchmark
+    public ResponseWrapper<CardholderSearchResult> cardholderSearch() {
+        return opaService.cardholderSearch(criteria);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ebtedge.service.flow.util;
+
+import com.ebtedge.service.flow.benchmark.BenchmarkSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-card prefix extraction and masking: the previous regex-based path ({@code replaceAll("[\\s-]", "")} for the
+ * prefix and again for the mask, plus {@code matches("\\d+")}) against one {@link CardNumber} scan.
+ * Run with {@code -Djmh.args="-prof gc"} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardNumberBenchmark {
+
+    @Param({"4111111111111111", "4111 1111 1111 1111"})
+    private String cardNumber;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        String cleaned = cardNumber.replaceAll("[\\s-]", "");
+        if (cleaned.length() != CardNumber.LENGTH || !cleaned.matches("\\d+")) {
+            throw new IllegalArgumentException("Invalid card number");
+        }
+        blackhole.consume(cleaned.substring(0, CardNumber.PREFIX_LENGTH));
+        String masked = cardNumber.replaceAll("[\\s-]", "");
+        blackhole.consume(masked.substring(0, 6) + "******" + masked.substring(12));
+    }
+
+    @Benchmark
+    public void cardNumber(Blackhole blackhole) {
+        CardNumber parsed = CardNumber.of(cardNumber);
+        blackhole.consume(parsed.prefix());
+        blackhole.consume(parsed.masked());
+    }
+}
@@ -1,12 +1,22 @@
 package com.ebtedge.service.flow.autoconfigure;
 
+import com.ebtedge.service.flow.event.KafkaEventSerializer;
+import com.ebtedge.service.flow.event.codec.BinaryKafkaEventCodec;
+import com.ebtedge.service.flow.event.codec.EventSchemaRegistry;
+import com.ebtedge.service.flow.event.codec.FileEventSchemaRegistry;
+import com.ebtedge.service.flow.event.codec.InMemoryEventSchemaRegistry;
+import com.ebtedge.service.flow.event.codec.JsonKafkaEventCodec;
+import com.ebtedge.service.flow.event.codec.KafkaEventCodec;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -16,6 +26,8 @@ import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -34,9 +46,44 @@ public class KafkaEventAutoConfiguration {
 
     /**
      * Configures the Kafka producer factory with retry, timeout, and optimization settings.
+     * Kept for applications sending their own String records; events are published through
+     * {@link #kafkaBytesProducerFactory}. Backs off when the application defines its own.
      */
     @Bean
+    @ConditionalOnMissingBean(name = "kafkaProducerFactory")
     public ProducerFactory<String, String> kafkaProducerFactory(ServiceFlowProperties properties) {
+        return new DefaultKafkaProducerFactory<>(producerConfig(properties, StringSerializer.class));
+    }
+
+    /**
+     * Creates a KafkaTemplate for sending messages to Kafka.
+     * Spring Boot's own template backs off once {@link #kafkaBytesTemplate} exists, so this one is registered
+     * unless the application defines a {@code kafkaTemplate} bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "kafkaTemplate")
+    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> factory) {
+        return new KafkaTemplate<>(factory);
+    }
+
+    /**
+     * Configures the producer factory used to publish events: the same settings as {@link #kafkaProducerFactory}
+     * with a {@link ByteArraySerializer}, so events serialized to bytes are sent without another encoding pass.
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> kafkaBytesProducerFactory(ServiceFlowProperties properties) {
+        return new DefaultKafkaProducerFactory<>(producerConfig(properties, ByteArraySerializer.class));
+    }
+
+    /**
+     * Creates the KafkaTemplate used by {@link com.ebtedge.service.flow.event.KafkaEventPublisher}.
+     */
+    @Bean
+    public KafkaTemplate<String, byte[]> kafkaBytesTemplate(ProducerFactory<String, byte[]> kafkaBytesProducerFactory) {
+        return new KafkaTemplate<>(kafkaBytesProducerFactory);
+    }
+
+    private static Map<String, Object> producerConfig(ServiceFlowProperties properties, Class<?> valueSerializer) {
         Map<String, Object> config = new HashMap<>();
 
         ServiceFlowProperties.KafkaConfig kafka = properties.getKafka();
@@ -44,7 +91,7 @@ public class KafkaEventAutoConfiguration {
         // Basic configuration
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers());
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer);
 
         // Retry & timeout configuration
         config.put(ProducerConfig.RETRIES_CONFIG, kafka.getRetryAttempts());
@@ -61,27 +108,26 @@ public class KafkaEventAutoConfiguration {
         // Idempotence for exactly-once semantics
         config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
 
-        log.info("Kafka producer factory configured: servers={}, topic={}",
-            kafka.getBootstrapServers(), kafka.getTopic());
+        log.info("Kafka producer factory configured: servers={}, topic={}, valueSerializer={}",
+            kafka.getBootstrapServers(), kafka.getTopic(), valueSerializer.getSimpleName());
 
-        return new DefaultKafkaProducerFactory<>(config);
-    }
-
-    /**
-     * Creates a KafkaTemplate for sending messages to Kafka.
-     */
-    @Bean
-    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> factory) {
-        return new KafkaTemplate<>(factory);
+        return config;
     }
 
     /**
      * Configures the async thread pool executor for Kafka event publishing.
+     * With service-flow.execution.mode=virtual-threads each publish runs on its own virtual thread.
      */
     @Bean(name = "kafkaEventExecutor")
     public Executor kafkaEventExecutor(ServiceFlowProperties properties) {
         ServiceFlowProperties.KafkaConfig.AsyncConfig async = properties.getKafka().getAsync();
 
+        if (VirtualThreadExecutors.shouldUse(properties.getExecution().getMode(), "kafkaEventExecutor")) {
+            log.info("Kafka event executor configured with virtual threads: threadNamePrefix={}",
+                async.getThreadNamePrefix());
+            return VirtualThreadExecutors.create(async.getThreadNamePrefix());
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(async.getCorePoolSize());
         executor.setMaxPoolSize(async.getMaxPoolSize());
@@ -98,14 +144,53 @@ public class KafkaEventAutoConfiguration {
         return executor;
     }
 
+    /**
+     * Configures the schema registry of the binary event format: file-based when
+     * service-flow.kafka.schema-registry.directory is set, in memory otherwise.
+     */
+    @Bean
+    public EventSchemaRegistry eventSchemaRegistry(ServiceFlowProperties properties,
+                                                   @Qualifier("kafkaObjectMapper") ObjectMapper objectMapper)
+            throws IOException {
+        String directory = properties.getKafka().getSchemaRegistry().getDirectory();
+        if (directory == null || directory.isBlank()) {
+            return new InMemoryEventSchemaRegistry();
+        }
+        return new FileEventSchemaRegistry(Path.of(directory), objectMapper);
+    }
+
+    /**
+     * Configures the serializer of JSON events, sharing the {@code kafkaObjectMapper} bean.
+     * Serialization timers are exported when service-flow.metrics-enabled=true and a MeterRegistry is available.
+     */
+    @Bean
+    public KafkaEventSerializer kafkaEventSerializer(ServiceFlowProperties properties,
+                                                     @Qualifier("kafkaObjectMapper") ObjectMapper objectMapper,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        // One pooled buffer per async publisher thread
+        return new KafkaEventSerializer(objectMapper, properties.getKafka().getAsync().getMaxPoolSize(),
+            properties.isMetricsEnabled() ? meterRegistry.getIfAvailable() : null);
+    }
+
+    /**
+     * Configures the codec encoding published events in the format selected by service-flow.kafka.format.
+     */
+    @Bean
+    public KafkaEventCodec kafkaEventCodec(ServiceFlowProperties properties, EventSchemaRegistry eventSchemaRegistry,
+                                           KafkaEventSerializer kafkaEventSerializer) {
+        ServiceFlowProperties.KafkaConfig kafka = properties.getKafka();
+        log.info("Kafka event format: {}", kafka.getFormat());
+        return switch (kafka.getFormat()) {
+            case JSON -> new JsonKafkaEventCodec(kafkaEventSerializer);
+            case BINARY -> new BinaryKafkaEventCodec(eventSchemaRegistry);
+        };
+    }
+
     /**
      * Configures ObjectMapper for JSON serialization of Kafka events.
      */
     @Bean(name = "kafkaObjectMapper")
     public ObjectMapper kafkaObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        return mapper;
+        return KafkaEventSerializer.newObjectMapper();
     }
 }
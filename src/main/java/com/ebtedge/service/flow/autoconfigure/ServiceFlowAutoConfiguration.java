@@ -4,13 +4,21 @@ package com.ebtedge.service.flow.autoconfigure;
 import com.ebtedge.service.flow.core.WorkflowPipelineFactory;
 import com.ebtedge.service.flow.exception.GlobalHandler;
 import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
 @AutoConfiguration
 @EnableConfigurationProperties
 @Import(GlobalHandler.class) // Automatically enables the error handling framework
@@ -22,4 +30,51 @@ public class ServiceFlowAutoConfiguration {
     public ServiceFlowProperties serviceFlowProperties() {
         return new ServiceFlowProperties();
     }
+
+    /**
+     * Configures the executor that runs blocking async steps and parallel (fan-out) steps.
+     * With service-flow.execution.mode=virtual-threads every step runs on its own virtual thread.
+     */
+    @Bean(name = "workflowStepExecutor")
+    @ConditionalOnMissingBean(name = "workflowStepExecutor")
+    public Executor workflowStepExecutor(ServiceFlowProperties properties) {
+        ServiceFlowProperties.ExecutionConfig execution = properties.getExecution();
+
+        if (VirtualThreadExecutors.shouldUse(execution.getMode(), "workflowStepExecutor")) {
+            log.info("Workflow step executor configured with virtual threads: threadNamePrefix={}",
+                execution.getThreadNamePrefix());
+            return VirtualThreadExecutors.create(execution.getThreadNamePrefix());
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(execution.getCorePoolSize());
+        executor.setMaxPoolSize(execution.getMaxPoolSize());
+        executor.setQueueCapacity(execution.getQueueCapacity());
+        executor.setThreadNamePrefix(execution.getThreadNamePrefix());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        log.info("Workflow step executor configured: corePoolSize={}, maxPoolSize={}, queueCapacity={}",
+            execution.getCorePoolSize(), execution.getMaxPoolSize(), execution.getQueueCapacity());
+
+        return executor;
+    }
+
+    /**
+     * Reports virtual threads pinning their carrier (JFR jdk.VirtualThreadPinned) as metrics.
+     * Only active in virtual-threads mode on Java 21+.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "service-flow.execution", name = "mode", havingValue = "virtual-threads")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(ServiceFlowProperties properties,
+                                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(properties, meterRegistry.getIfAvailable());
+        if (VirtualThreadExecutors.isSupported()) {
+            monitor.start();
+        }
+        return monitor;
+    }
 }
@@ -2,6 +2,12 @@ package com.ebtedge.service.flow.autoconfigure;
 
 import lombok.Data;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Data
 public class ServiceFlowProperties {
     /** Enable or disable the Micrometer timers in the pipeline */
@@ -13,6 +19,224 @@ public class ServiceFlowProperties {
     /** Kafka event publishing configuration */
     private KafkaConfig kafka = new KafkaConfig();
 
+    /** Executor configuration for asynchronous and parallel pipeline steps */
+    private ExecutionConfig execution = new ExecutionConfig();
+
+    /** Per-step resilience settings keyed by step name, e.g. service-flow.steps.FetchCaseInquiry */
+    private Map<String, StepConfig> steps = new HashMap<>();
+
+    /** Cross-request caches of backend results */
+    private CacheConfig cache = new CacheConfig();
+
+    /** Collapsing of concurrent identical backend calls into one in-flight call */
+    private CoalescingConfig coalescing = new CoalescingConfig();
+
+    /** Micro-batching of single-key backend calls keyed by batcher name, e.g. service-flow.batching.balance */
+    private Map<String, BatchConfig> batching = new HashMap<>();
+
+    /** Fork/join mapping of large lists keyed by mapper name, e.g. service-flow.parallel.cardholder-merge */
+    private Map<String, ParallelConfig> parallel = new HashMap<>();
+
+    /** Thread model for the workflow step and Kafka event executors */
+    public enum ExecutionMode {
+        /** Bounded platform thread pools sized by the pool settings */
+        PLATFORM_THREADS,
+        /** One virtual thread per task (requires Java 21+, falls back to platform threads otherwise) */
+        VIRTUAL_THREADS
+    }
+
+    @Data
+    public static class ExecutionConfig {
+        /** Thread model (platform-threads, virtual-threads) */
+        private ExecutionMode mode = ExecutionMode.PLATFORM_THREADS;
+
+        /** Minimum pinned duration reported by the virtual thread pinning monitor */
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        /** Core pool size for the workflow step executor */
+        private int corePoolSize = 4;
+
+        /** Maximum pool size for the workflow step executor */
+        private int maxPoolSize = 32;
+
+        /** Queue capacity for the workflow step executor */
+        private int queueCapacity = 200;
+
+        /** Thread name prefix for the workflow step executor */
+        private String threadNamePrefix = "workflow-step-";
+
+        /** Longest wait for a memoized step result another caller is still computing, when no deadline applies */
+        private Duration memoizedWait = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class StepConfig {
+        /** Circuit breaker guarding the step's downstream */
+        private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
+        /** Limit on concurrent executions of the step */
+        private BulkheadConfig bulkhead = new BulkheadConfig();
+
+        /** Retries of failed attempts; only for idempotent steps */
+        private RetryConfig retry = new RetryConfig();
+
+        /** Hedged second attempt for slow calls; only for idempotent steps */
+        private HedgeConfig hedge = new HedgeConfig();
+    }
+
+    @Data
+    public static class CircuitBreakerConfig {
+        /** Enable or disable the circuit breaker for this step */
+        private boolean enabled = false;
+
+        /** Failure rate in percent at or above which the circuit opens */
+        private float failureRateThreshold = 50;
+
+        /** Slow call rate in percent at or above which the circuit opens */
+        private float slowCallRateThreshold = 100;
+
+        /** Calls taking at least this long count as slow */
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+
+        /** Number of most recent calls the rates are computed over */
+        private int slidingWindowSize = 20;
+
+        /** Minimum number of recorded calls before the rates are evaluated */
+        private int minimumNumberOfCalls = 10;
+
+        /** Time the circuit stays open before probe calls are permitted */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+        /** Number of probe calls permitted while half-open */
+        private int permittedCallsInHalfOpenState = 3;
+
+        /** Time the circuit may stay half-open without its probes settling before it reopens */
+        private Duration maxWaitDurationInHalfOpenState = Duration.ofSeconds(60);
+
+        /** Error codes that are business outcomes rather than downstream failures (not counted as failures) */
+        private List<String> ignoredErrorCodes = new ArrayList<>();
+    }
+
+    @Data
+    public static class BulkheadConfig {
+        /** Enable or disable the bulkhead for this step */
+        private boolean enabled = false;
+
+        /** Maximum number of concurrent executions of the step */
+        private int maxConcurrentCalls = 25;
+
+        /** Maximum time to wait for a free slot; zero rejects immediately */
+        private Duration maxWaitDuration = Duration.ZERO;
+    }
+
+    @Data
+    public static class RetryConfig {
+        /** Enable or disable retries for this step */
+        private boolean enabled = false;
+
+        /** Total number of attempts, including the first one */
+        private int maxAttempts = 3;
+
+        /** Backoff before the first retry */
+        private Duration initialBackoff = Duration.ofMillis(50);
+
+        /** Factor applied to the backoff after each retry */
+        private double backoffMultiplier = 2.0;
+
+        /** Upper bound of the backoff */
+        private Duration maxBackoff = Duration.ofSeconds(1);
+
+        /** Fraction of the backoff that is randomized (0 = fixed, 1 = full jitter) */
+        private double jitter = 0.5;
+
+        /** Error codes worth retrying; other failures are returned immediately */
+        private List<String> retryOnErrorCodes = new ArrayList<>();
+
+        /** Whether exceptions thrown by the step are retried */
+        private boolean retryOnException = true;
+    }
+
+    @Data
+    public static class HedgeConfig {
+        /** Enable or disable hedged attempts for this step */
+        private boolean enabled = false;
+
+        /** Fixed hedge delay; when unset the observed latency percentile below is used */
+        private Duration delay;
+
+        /** Latency percentile after which the hedged attempt is started */
+        private double percentile = 0.95;
+
+        /** Lower bound of the adaptive hedge delay */
+        private Duration minDelay = Duration.ofMillis(5);
+
+        /** Number of observed calls required before adaptive hedging starts */
+        private int minimumSamples = 20;
+    }
+
+    @Data
+    public static class CacheConfig {
+        /** Cache of CardService.getCardholderSummary results keyed by (cardNumber, agency) */
+        private CacheSpec cardholderSummary = new CacheSpec();
+    }
+
+    @Data
+    public static class CacheSpec {
+        /** Enable or disable the cache */
+        private boolean enabled = false;
+
+        /** Maximum number of entries; beyond it the least valuable entries are evicted (W-TinyLFU) */
+        private long maximumSize = 10_000;
+
+        /** Time after which an entry expires */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        /** Age after which a read triggers a background reload; zero disables refresh-ahead */
+        private Duration refreshAfter = Duration.ofMinutes(4);
+
+        /** Longest time a caller waits for another caller's load of the same card before failing with TIMEOUT */
+        private Duration maxWait = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class CoalescingConfig {
+        /** Share one CaseService.caseInquiry call between concurrent inquiries for the same (caseNumber, agency) */
+        private boolean caseInquiry = false;
+
+        /** Longest time a coalesced caller waits for the call in flight before failing with TIMEOUT */
+        private Duration maxWait = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class BatchConfig {
+        /** Enable or disable batching; when disabled every key is fetched with its own call */
+        private boolean enabled = false;
+
+        /** Keys per bulk call; a full batch is dispatched immediately */
+        private int maxBatchSize = 50;
+
+        /** Longest time the first key of a batch waits for more keys */
+        private Duration maxWait = Duration.ofMillis(5);
+
+        /** Bulk calls in flight at once, each on a thread of the batcher's own pool */
+        private int concurrency = 4;
+
+        /** Longest time a caller waits for its batch before failing with TIMEOUT */
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class ParallelConfig {
+        /** Enable or disable parallel mapping; when disabled every list is mapped on the calling thread */
+        private boolean enabled = false;
+
+        /** Smallest list mapped in parallel; shorter lists are not worth the fork overhead */
+        private int threshold = 1000;
+
+        /** Worker threads of the mapper's ForkJoinPool; 0 uses the number of available processors */
+        private int parallelism = 0;
+    }
+
     @Data
     public static class KafkaConfig {
         /** Enable or disable Kafka event publishing */
@@ -36,6 +260,20 @@ public class ServiceFlowProperties {
         /** Kafka producer configuration */
         private ProducerConfig producer = new ProducerConfig();
 
+        /** Wire format of published events (json, binary) */
+        private EventFormat format = EventFormat.JSON;
+
+        /** Schema registry of the binary event format */
+        private SchemaRegistryConfig schemaRegistry = new SchemaRegistryConfig();
+
+        /** Wire format of published events */
+        public enum EventFormat {
+            /** JSON envelope with metadata and payload */
+            JSON,
+            /** Compact binary encoding described by a schema derived from the @KafkaField metadata */
+            BINARY
+        }
+
         @Data
         public static class AsyncConfig {
             /** Core pool size for async executor */
@@ -68,5 +306,11 @@ public class ServiceFlowProperties {
             /** Compression type (none, gzip, snappy, lz4, zstd) */
             private String compressionType = "snappy";
         }
+
+        @Data
+        public static class SchemaRegistryConfig {
+            /** Directory with one file per schema, shared with consumers; unset keeps schemas in memory */
+            private String directory;
+        }
     }
 }
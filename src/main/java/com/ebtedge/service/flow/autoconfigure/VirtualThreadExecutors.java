@@ -0,0 +1,54 @@
+package com.ebtedge.service.flow.autoconfigure;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Helpers for the {@code service-flow.execution.mode=virtual-threads} executors.
+ * The project still compiles for Java 17, so virtual threads are created through Spring's
+ * {@link SimpleAsyncTaskExecutor} and only enabled when the runtime is Java 21 or newer.
+ */
+@Slf4j
+final class VirtualThreadExecutors {
+
+    private static final int VIRTUAL_THREADS_MIN_FEATURE_VERSION = 21;
+
+    private VirtualThreadExecutors() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Whether the running JVM supports virtual threads.
+     */
+    static boolean isSupported() {
+        return Runtime.version().feature() >= VIRTUAL_THREADS_MIN_FEATURE_VERSION;
+    }
+
+    /**
+     * Resolves whether an executor should use virtual threads, logging a fallback warning
+     * when they were requested on a JVM that does not support them.
+     */
+    static boolean shouldUse(ServiceFlowProperties.ExecutionMode mode, String executorName) {
+        if (mode != ServiceFlowProperties.ExecutionMode.VIRTUAL_THREADS) {
+            return false;
+        }
+        if (!isSupported()) {
+            log.warn("Virtual threads requested for {} but running on Java {}; falling back to platform threads",
+                executorName, Runtime.version().feature());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Creates an unbounded executor that starts one virtual thread per task.
+     */
+    static Executor create(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
@@ -0,0 +1,105 @@
+package com.ebtedge.service.flow.autoconfigure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event in-process and exports it to Micrometer.
+ *
+ * <p>A virtual thread pins its carrier when it blocks inside a {@code synchronized} block or a
+ * native frame (JDK 21-23), which silently turns the unbounded virtual thread executor back into a
+ * small platform pool. Each pinned interval longer than the configured threshold increments
+ * {@code workflow.virtual.thread.pinned} and records its duration, tagged with the executor that
+ * owned the thread ({@code workflow-step}, {@code kafka-event} or {@code other}).
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_METRIC = "workflow.virtual.thread.pinned";
+
+    private final ServiceFlowProperties properties;
+    private final MeterRegistry meterRegistry;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(ServiceFlowProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts the background JFR recording stream.
+     */
+    public void start() {
+        Duration threshold = properties.getExecution().getPinnedThreshold();
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Virtual thread pinning monitor started: threshold={}ms", threshold.toMillis());
+    }
+
+    void onPinned(RecordedEvent event) {
+        String executor = executorOf(event.getThread());
+        Duration duration = event.getDuration();
+
+        if (meterRegistry != null && properties.isMetricsEnabled()) {
+            Counter.builder(PINNED_METRIC)
+                .tag("executor", executor)
+                .register(meterRegistry)
+                .increment();
+            Timer.builder(PINNED_METRIC + ".duration")
+                .tag("executor", executor)
+                .register(meterRegistry)
+                .record(duration);
+        }
+        log.warn("Virtual thread pinned its carrier for {}ms: executor={}, at={}",
+            duration.toMillis(), executor, topFrame(event.getStackTrace()));
+    }
+
+    private String executorOf(RecordedThread thread) {
+        String name = thread != null ? thread.getJavaName() : null;
+        if (name == null) {
+            return "other";
+        }
+        if (name.startsWith(properties.getExecution().getThreadNamePrefix())) {
+            return "workflow-step";
+        }
+        if (name.startsWith(properties.getKafka().getAsync().getThreadNamePrefix())) {
+            return "kafka-event";
+        }
+        return "other";
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame()) {
+                return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber();
+            }
+        }
+        return "unknown";
+    }
+
+    @Override
+    public void close() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            log.info("Virtual thread pinning monitor stopped");
+        }
+    }
+}
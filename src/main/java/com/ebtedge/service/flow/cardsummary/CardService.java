@@ -2,8 +2,26 @@ package com.ebtedge.service.flow.cardsummary;
 
 import com.ebtedge.service.flow.core.ResponseWrapper;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface CardService {
 
     ResponseWrapper<CardholderSummaryResult> getCardholderSummary(CardholderSummaryContext cardholderSummaryContext);
 
+    /**
+     * Bulk variant of {@link #getCardholderSummary}, typically called with the contexts of one agency.
+     * Backends with a bulk endpoint override this; the default looks the contexts up one by one.
+     *
+     * @return one result per context, in the order of the contexts
+     */
+    default List<ResponseWrapper<CardholderSummaryResult>> getCardholderSummaries(
+            List<CardholderSummaryContext> cardholderSummaryContexts) {
+        List<ResponseWrapper<CardholderSummaryResult>> results = new ArrayList<>(cardholderSummaryContexts.size());
+        for (CardholderSummaryContext context : cardholderSummaryContexts) {
+            results.add(getCardholderSummary(context));
+        }
+        return results;
+    }
+
 }
@@ -2,7 +2,24 @@ package com.ebtedge.service.flow.caseinquiry;
 
 import com.ebtedge.service.flow.core.ResponseWrapper;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface CaseService {
 
     ResponseWrapper<CaseInquiryResult> caseInquiry(CaseInquiryContext caseInquiryContext);
+
+    /**
+     * Bulk variant of {@link #caseInquiry}, typically called with the contexts of one agency.
+     * Backends with a bulk endpoint override this; the default runs the inquiries one by one.
+     *
+     * @return one result per context, in the order of the contexts
+     */
+    default List<ResponseWrapper<CaseInquiryResult>> caseInquiries(List<CaseInquiryContext> caseInquiryContexts) {
+        List<ResponseWrapper<CaseInquiryResult>> results = new ArrayList<>(caseInquiryContexts.size());
+        for (CaseInquiryContext context : caseInquiryContexts) {
+            results.add(caseInquiry(context));
+        }
+        return results;
+    }
 }
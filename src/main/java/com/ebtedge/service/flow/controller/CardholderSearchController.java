@@ -0,0 +1,100 @@
+package com.ebtedge.service.flow.controller;
+
+import com.ebtedge.service.flow.core.ResponseWrapper;
+import com.ebtedge.service.flow.domain.Cardholder;
+import com.ebtedge.service.flow.domain.CardholderSearchCriteria;
+import com.ebtedge.service.flow.domain.CardholderSearchResult;
+import com.ebtedge.service.flow.exception.WorkflowException;
+import com.ebtedge.service.flow.opa.CardholderStream;
+import com.ebtedge.service.flow.opa.OpaService;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.util.List;
+
+@Slf4j
+@Validated
+@RestController
+@RequestMapping("/api/cardholders")
+public class CardholderSearchController {
+
+    static final int MAX_BATCH_SIZE = 10_000;
+    private static final String BATCH_SIZE_MESSAGE = "Batch must contain 1-" + MAX_BATCH_SIZE + " search criteria";
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final OpaService opaService;
+    private final ObjectWriter cardholderWriter;
+
+    /**
+     * @param jsonMapper the application's JSON mapper, so streamed cardholders are written exactly like the
+     *                   JSON responses of the other endpoints
+     */
+    public CardholderSearchController(OpaService opaService, JsonMapper jsonMapper) {
+        this.opaService = opaService;
+        // Lines are terminated explicitly; output is flushed when the generator buffer fills up, not per cardholder
+        this.cardholderWriter = jsonMapper.writerFor(Cardholder.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("");
+    }
+
+    /**
+     * Runs many cardholder searches in one request. The response holds one {@link ResponseWrapper} per
+     * criteria, in request order; failed items carry their error without failing the batch.
+     */
+    @PostMapping("/search/batch")
+    public List<ResponseWrapper<CardholderSearchResult>> searchBatch(
+            @RequestBody
+            @NotEmpty(message = BATCH_SIZE_MESSAGE)
+            @Size(max = MAX_BATCH_SIZE, message = BATCH_SIZE_MESSAGE)
+            List<CardholderSearchCriteria> criteria) {
+        log.info("Received batch cardholder search with {} item(s)", criteria.size());
+        return opaService.cardholderSearchBatch(criteria);
+    }
+
+    /**
+     * Streams the cardholders of a search as NDJSON, one cardholder per line, each written as soon as it has
+     * been merged. The criteria travel in the body to keep card numbers out of URLs and access logs, and
+     * select the page with their {@code pageSize} and {@code cursor} like a regular search.
+     * When more cards follow, the {@code X-Next-Cursor} header carries the cursor of the next page.
+     */
+    @PostMapping("/search/stream")
+    public ResponseEntity<StreamingResponseBody> searchStream(@RequestBody CardholderSearchCriteria criteria) {
+        log.info("Received streamed cardholder search, pageSize: {}", criteria.pageSize());
+
+        ResponseWrapper<CardholderStream> opened = opaService.cardholderSearchStream(criteria);
+        if (!opened.isSuccess()) {
+            throw new WorkflowException(opened.getError());
+        }
+        CardholderStream stream = opened.getData();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NDJSON);
+        if (stream.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, stream.nextCursor());
+        }
+        return response.body(out -> writeNdjson(stream, out));
+    }
+
+    private void writeNdjson(CardholderStream stream, OutputStream out) {
+        try (JsonGenerator generator = cardholderWriter.createGenerator(out)) {
+            stream.forEach(cardholder -> {
+                cardholderWriter.writeValue(generator, cardholder);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.ebtedge.service.flow.controller;
 
 
+import com.ebtedge.service.flow.core.MicroBatcher;
+import com.ebtedge.service.flow.core.WorkflowDefinition;
 import com.ebtedge.service.flow.core.WorkflowPipelineFactory;
+import com.ebtedge.service.flow.domain.Balance;
+import com.ebtedge.service.flow.domain.Demographics;
 import com.ebtedge.service.flow.domain.ProfileData;
 import com.ebtedge.service.flow.domain.UIResponse;
 import com.ebtedge.service.flow.event.mapper.ReflectionEventMapper;
@@ -11,39 +15,53 @@ import com.ebtedge.service.flow.service.MockServiceB;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Validated
 @RestController
 @RequestMapping("/api/profile")
-@RequiredArgsConstructor
 public class FinancialController {
 
-    private final MockServiceA serviceA;
-    private final MockServiceB serviceB;
-    private final WorkflowPipelineFactory pipelineFactory;
+    private static final String ACCOUNT_ID_REGEX = "^[a-zA-Z0-9-_]{1,100}$";
+    private static final String ACCOUNT_ID_MESSAGE =
+            "Account ID must be 1-100 characters and contain only alphanumeric, hyphens, or underscores";
 
-    @GetMapping("/{accountId}")
-    public UIResponse getProfile(
-            @PathVariable
-            @Pattern(regexp = "^[a-zA-Z0-9-_]{1,100}$",
-                    message = "Account ID must be 1-100 characters and contain only alphanumeric, hyphens, or underscores")
-            String accountId) {
-        log.info("Received profile request for accountId: {}", accountId);
+    private final WorkflowPipelineFactory pipelineFactory;
+    private final MicroBatcher<String, Balance> balances;
+    private final MicroBatcher<String, Demographics> demographics;
+    private final WorkflowDefinition<String, UIResponse> profileWorkflow;
 
-        UIResponse response = pipelineFactory.startWith(accountId)
-                .nextStep("FetchBalance", id -> serviceA.getBalance(id))
+    public FinancialController(MockServiceA serviceA, MockServiceB serviceB, WorkflowPipelineFactory pipelineFactory) {
+        this.pipelineFactory = pipelineFactory;
+        // Concurrent profile requests share bulk backend calls when service-flow.batching.<name> is enabled
+        this.balances = pipelineFactory.batcher("balance", serviceA::getBalances);
+        this.demographics = pipelineFactory.batcher("demographics", serviceB::getDemographicsBatch);
+        // Defined once; each request only runs the pre-built steps
+        this.profileWorkflow = pipelineFactory.define("Profile", String.class)
+                .step("FetchBalance", balances::get)
                 .peek(bal -> log.debug("Balance fetched: {}", bal))
-                .nextStep("FetchDemographics", bal ->
-                    serviceB.getDemographics(bal.clientId())
+                .step("FetchDemographics", bal ->
+                    demographics.get(bal.clientId())
                         .map(demo -> new ProfileData(bal, demo)))
                 .peek(profileData -> log.debug("Profile data assembled: balance={}, demographics={}",
                     profileData.balance(), profileData.demographics()))
-                .mapToUI(profileData -> new UIResponse(
+                .map(profileData -> new UIResponse(
                     profileData.balance(),
                     profileData.demographics()))
+                .build();
+    }
+
+    @GetMapping("/{accountId}")
+    public UIResponse getProfile(
+            @PathVariable
+            @Pattern(regexp = ACCOUNT_ID_REGEX, message = ACCOUNT_ID_MESSAGE)
+            String accountId) {
+        log.info("Received profile request for accountId: {}", accountId);
+
+        UIResponse response = profileWorkflow.executeOrThrow(accountId)
                 // Two approaches for event publishing (choose one):
                 // 1. Annotation-based (RECOMMENDED) - uses @KafkaField annotations on domain classes
                 .andPublishEvent("ProfileFetched", ReflectionEventMapper.INSTANCE);
@@ -53,5 +71,27 @@ public class FinancialController {
         log.info("Successfully retrieved profile for accountId: {}", accountId);
         return response;
     }
-}
 
+    /**
+     * Non-blocking variant of {@link #getProfile(String)}. The backend calls run on the workflow step
+     * executor and the servlet thread is released until the returned future completes.
+     */
+    @GetMapping("/{accountId}/async")
+    public CompletableFuture<UIResponse> getProfileAsync(
+            @PathVariable
+            @Pattern(regexp = ACCOUNT_ID_REGEX, message = ACCOUNT_ID_MESSAGE)
+            String accountId) {
+        log.info("Received async profile request for accountId: {}", accountId);
+
+        return pipelineFactory.startAsyncWith(accountId)
+                .nextStep("FetchBalance", balances::submit)
+                .peek(bal -> log.debug("Balance fetched: {}", bal))
+                .nextStep("FetchDemographics", bal ->
+                    demographics.submit(bal.clientId())
+                        .thenApply(demo -> demo.map(d -> new ProfileData(bal, d))))
+                .mapToUI(profileData -> new UIResponse(
+                    profileData.balance(),
+                    profileData.demographics()))
+                .andPublishEvent("ProfileFetched", ReflectionEventMapper.INSTANCE);
+    }
+}
@@ -0,0 +1,346 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import com.ebtedge.service.flow.event.KafkaEventPublishingService;
+import com.ebtedge.service.flow.exception.WorkflowException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Non-blocking counterpart of {@link WorkflowPipeline} whose steps return
+ * {@code CompletableFuture<ResponseWrapper<Next>>}.
+ *
+ * <p>Semantics mirror the synchronous pipeline:
+ * <ul>
+ *   <li>A failed {@link ResponseWrapper} short-circuits every remaining step</li>
+ *   <li>Each executed step is timed with the configured step metric ({@code step}/{@code status} tags)</li>
+ *   <li>An exception thrown by (or completing) a step fails the resulting future</li>
+ *   <li>{@link #mapToUI(Function)} completes exceptionally with {@link WorkflowException} on failure</li>
+ * </ul>
+ *
+ * <p>The future returned by {@link AsyncWorkflowResult#andPublishEvent} or
+ * {@link AsyncWorkflowResult#result()} can be returned directly from a Spring MVC controller,
+ * which releases the request thread while downstream calls are in flight.
+ *
+ * @param <T> the type of the current pipeline value
+ */
+@Slf4j
+public class AsyncWorkflowPipeline<T> {
+    private final CompletableFuture<ResponseWrapper<T>> currentResult;
+    private final PipelineRuntime runtime;
+
+    private AsyncWorkflowPipeline(CompletableFuture<ResponseWrapper<T>> result, PipelineRuntime runtime) {
+        this.currentResult = result;
+        this.runtime = runtime;
+    }
+
+    /**
+     * Start a new asynchronous workflow pipeline.
+     * Use WorkflowPipelineFactory.startAsyncWith() in Spring-managed beans for automatic configuration.
+     * Circuit breakers and bulkheads are shared by every pipeline started with the same {@code properties}
+     * instance and registry.
+     *
+     * @param initialData The starting data
+     * @param properties Configuration properties
+     * @param meterRegistry Metrics registry
+     * @param kafkaPublishingService Kafka event publishing service (nullable)
+     * @param executor Executor used by blocking and parallel steps
+     * @param <T> The type of the initial data
+     * @return A new AsyncWorkflowPipeline instance
+     */
+    public static <T> AsyncWorkflowPipeline<T> startWith(T initialData, ServiceFlowProperties properties,
+                                                         MeterRegistry meterRegistry,
+                                                         KafkaEventPublishingService kafkaPublishingService,
+                                                         Executor executor) {
+        return start(initialData, PipelineRuntime.standalone(properties, meterRegistry, kafkaPublishingService, executor));
+    }
+
+    static <T> AsyncWorkflowPipeline<T> start(T initialData, PipelineRuntime runtime) {
+        log.debug("Starting async workflow pipeline with initial data: {}", initialData);
+        return new AsyncWorkflowPipeline<>(CompletableFuture.completedFuture(ResponseWrapper.success(initialData)),
+                runtime);
+    }
+
+    /**
+     * Chain a non-blocking step. The step is only invoked once the previous step completed successfully.
+     *
+     * @param stepName Name used for logging and the step timer
+     * @param step Function returning a future of the next result
+     * @param <Next> The type produced by the step
+     * @return A new pipeline holding the step's eventual result
+     */
+    public <Next> AsyncWorkflowPipeline<Next> nextStep(String stepName,
+                                                       Function<T, CompletableFuture<ResponseWrapper<Next>>> step) {
+        CompletableFuture<ResponseWrapper<Next>> next = currentResult.thenCompose(current -> {
+            if (!current.isSuccess()) {
+                log.debug("Skipping async step '{}' due to previous failure: {}", stepName, current.getError());
+                return CompletableFuture.completedFuture(WorkflowPipeline.<ResponseWrapper<Next>>cast(current));
+            }
+
+            log.info("Executing async workflow step: {}", stepName);
+            StepMetrics metrics = runtime.metrics;
+            long start = metrics.start();
+
+            StepPolicy policy = runtime.policies.forStep(stepName);
+            CompletableFuture<ResponseWrapper<Next>> stepFuture = policy == StepPolicy.NONE
+                ? apply(step, current.getData())
+                : invoke(policy, stepName, current.getData(), step, 1);
+
+            return stepFuture.whenComplete((nextResult, ex) -> {
+                if (ex != null) {
+                    Throwable cause = unwrap(ex);
+                    metrics.stop(start, stepName, StepMetrics.Status.EXCEPTION);
+                    log.error("Async step '{}' completed exceptionally: {}", stepName, cause.getMessage(), cause);
+                    return;
+                }
+                long duration = metrics.stop(start, stepName, PipelineRuntime.statusOf(nextResult, policy));
+                if (nextResult.isSuccess()) {
+                    log.info("Async step '{}' completed successfully{}", stepName,
+                        StepMetrics.isStarted(start) ? " in " + duration + "ms" : "");
+                } else {
+                    log.warn("Async step '{}' failed{} with error: {}", stepName,
+                        StepMetrics.isStarted(start) ? " in " + duration + "ms" : "", nextResult.getError());
+                }
+            });
+        });
+        return new AsyncWorkflowPipeline<>(next, runtime);
+    }
+
+    /**
+     * Chain a blocking step (e.g. a synchronous backend client) by running it on the pipeline executor,
+     * so the calling thread is never blocked by the downstream call.
+     *
+     * @param stepName Name used for logging and the step timer
+     * @param step Blocking function returning the next result
+     * @param <Next> The type produced by the step
+     * @return A new pipeline holding the step's eventual result
+     */
+    public <Next> AsyncWorkflowPipeline<Next> nextBlockingStep(String stepName, Function<T, ResponseWrapper<Next>> step) {
+        return nextStep(stepName, data -> CompletableFuture.supplyAsync(() -> step.apply(data), runtime.executor));
+    }
+
+    /**
+     * Run two independent blocking steps concurrently on the pipeline executor and join their results.
+     * Fails fast: the first failure (or exception) cancels the sibling and short-circuits the pipeline.
+     *
+     * @see WorkflowPipeline#nextStepsParallel(String, ParallelStep, ParallelStep)
+     */
+    public <A, B> AsyncWorkflowPipeline<Tuple2<A, B>> nextStepsParallel(String stepName, ParallelStep<T, A> first,
+                                                                      ParallelStep<T, B> second) {
+        return forkJoin(stepName, List.of(first, second),
+            values -> new Tuple2<A, B>(WorkflowPipeline.cast(values[0]), WorkflowPipeline.cast(values[1])));
+    }
+
+    /**
+     * Run three independent blocking steps concurrently on the pipeline executor and join their results.
+     *
+     * @see WorkflowPipeline#nextStepsParallel(String, ParallelStep, ParallelStep, ParallelStep)
+     */
+    public <A, B, C> AsyncWorkflowPipeline<Tuple3<A, B, C>> nextStepsParallel(String stepName, ParallelStep<T, A> first,
+                                                                            ParallelStep<T, B> second,
+                                                                            ParallelStep<T, C> third) {
+        return forkJoin(stepName, List.of(first, second, third),
+            values -> new Tuple3<A, B, C>(WorkflowPipeline.cast(values[0]), WorkflowPipeline.cast(values[1]),
+                WorkflowPipeline.cast(values[2])));
+    }
+
+    /**
+     * Run N independent blocking steps of the same result type concurrently.
+     *
+     * @see WorkflowPipeline#nextStepsParallel(String, List)
+     */
+    public <R> AsyncWorkflowPipeline<List<R>> nextStepsParallel(String stepName, List<ParallelStep<T, R>> steps) {
+        return forkJoin(stepName, steps, values -> {
+            @SuppressWarnings("unchecked")
+            List<R> list = (List<R>) Arrays.asList(values);
+            return list;
+        });
+    }
+
+    private <Next> AsyncWorkflowPipeline<Next> forkJoin(String stepName, List<? extends ParallelStep<T, ?>> steps,
+                                                        Function<Object[], Next> joiner) {
+        return nextStep(stepName, data -> ParallelSteps.fork(data, steps, runtime)
+            .thenApply(joined -> joined.map(joiner)));
+    }
+
+    public AsyncWorkflowPipeline<T> peek(Consumer<T> action) {
+        CompletableFuture<ResponseWrapper<T>> peeked = currentResult.thenApply(current -> {
+            if (current.isSuccess()) {
+                log.debug("Executing async peek action with data: {}", current.getData());
+                action.accept(current.getData());
+            } else {
+                log.debug("Skipping async peek action due to failure state");
+            }
+            return current;
+        });
+        return new AsyncWorkflowPipeline<>(peeked, runtime);
+    }
+
+    /**
+     * Maps the eventual result to the UI type. The returned result completes exceptionally with a
+     * {@link WorkflowException} when any step failed, which GlobalHandler turns into the error response.
+     */
+    public <R> AsyncWorkflowResult<R> mapToUI(Function<T, R> finalMapper) {
+        CompletableFuture<R> mapped = currentResult.thenApply(current -> {
+            if (!current.isSuccess()) {
+                log.error("Async pipeline failed, throwing WorkflowException: {}", current.getError());
+                throw new WorkflowException(current.getError());
+            }
+            log.info("Mapping async workflow result to UI response");
+            R result = finalMapper.apply(current.getData());
+            log.debug("Final UI response: {}", result);
+            return result;
+        });
+        return new AsyncWorkflowResult<>(mapped, runtime.kafkaPublishingService);
+    }
+
+    /**
+     * Exposes the underlying future for composition with other asynchronous code.
+     *
+     * @return the future holding the current step result
+     */
+    public CompletableFuture<ResponseWrapper<T>> toFuture() {
+        return currentResult;
+    }
+
+    /**
+     * Asynchronous counterpart of {@link PipelineRuntime#invoke}: retries are scheduled after their backoff
+     * on the pipeline executor instead of blocking a thread, and a hedged attempt is started when the
+     * first one has not completed within the hedge delay. The losing attempt of a hedged call is left
+     * to complete on its own, since cancelling a {@link CompletableFuture} does not stop the work behind it.
+     */
+    private <I, O> CompletableFuture<ResponseWrapper<O>> invoke(StepPolicy policy, String stepName, I input,
+                                                                Function<I, CompletableFuture<ResponseWrapper<O>>> step,
+                                                                int attempt) {
+        CompletableFuture<ResponseWrapper<O>> result = policy.hedge != null
+            ? hedged(policy, stepName, input, step)
+            : guarded(policy.guard, input, step);
+        RetryPolicy retry = policy.retry;
+        if (retry == null || attempt >= retry.maxAttempts()) {
+            return result;
+        }
+        return result.handle((value, ex) -> {
+            boolean retryable = ex != null ? retry.retryOnException() : retry.isRetryable(value);
+            if (!retryable) {
+                return ex != null ? CompletableFuture.<ResponseWrapper<O>>failedFuture(unwrap(ex))
+                    : CompletableFuture.completedFuture(value);
+            }
+            long backoff = retry.backoffNanos(attempt);
+            log.warn("Async step '{}' attempt {}/{} failed ({}), retrying in {}ms", stepName, attempt,
+                retry.maxAttempts(), ex != null ? unwrap(ex) : value.getError(), TimeUnit.NANOSECONDS.toMillis(backoff));
+            policy.onRetry();
+            Executor delayed = CompletableFuture.delayedExecutor(backoff, TimeUnit.NANOSECONDS, runtime.executor);
+            return CompletableFuture.supplyAsync(() -> input, delayed)
+                .thenCompose(data -> invoke(policy, stepName, data, step, attempt + 1));
+        }).thenCompose(Function.identity());
+    }
+
+    private <I, O> CompletableFuture<ResponseWrapper<O>> hedged(StepPolicy policy, String stepName, I input,
+                                                                Function<I, CompletableFuture<ResponseWrapper<O>>> step) {
+        HedgePolicy hedge = policy.hedge;
+        long hedgeDelay = hedge.delayNanos();
+        CompletableFuture<ResponseWrapper<O>> primary = timed(hedge, guarded(policy.guard, input, step));
+        if (hedgeDelay < 0 || primary.isDone()) {
+            return primary;
+        }
+
+        // Completed by the first success, or by the last attempt when none succeeds
+        CompletableFuture<ResponseWrapper<O>> winner = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicBoolean hedgeStarted = new AtomicBoolean();
+        AtomicBoolean succeeded = new AtomicBoolean();
+        primary.whenComplete((value, ex) ->
+            complete(policy, winner, outstanding, hedgeStarted, succeeded, false, value, ex));
+        CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.NANOSECONDS, runtime.executor).execute(() -> {
+            if (!outstanding.compareAndSet(1, 2)) {
+                return;
+            }
+            hedgeStarted.set(true);
+            log.info("Async step '{}' exceeded hedge delay of {}ms, starting hedged attempt", stepName,
+                TimeUnit.NANOSECONDS.toMillis(hedgeDelay));
+            policy.onHedge();
+            timed(hedge, guarded(policy.guard, input, step))
+                .whenComplete((value, ex) ->
+                    complete(policy, winner, outstanding, hedgeStarted, succeeded, true, value, ex));
+        });
+        return winner;
+    }
+
+    private static <O> void complete(StepPolicy policy, CompletableFuture<ResponseWrapper<O>> winner,
+                                     AtomicInteger outstanding, AtomicBoolean hedgeStarted, AtomicBoolean succeeded,
+                                     boolean hedged, ResponseWrapper<O> value, Throwable ex) {
+        int remaining = outstanding.decrementAndGet();
+        if (ex == null && value.isSuccess()) {
+            // Record the win before completing, so it is visible to whoever waits on the result
+            if (succeeded.compareAndSet(false, true)) {
+                if (hedgeStarted.get()) {
+                    policy.onWin(hedged);
+                }
+                winner.complete(value);
+            }
+        } else if (remaining == 0) {
+            if (ex != null) {
+                winner.completeExceptionally(ex);
+            } else {
+                winner.complete(value);
+            }
+        }
+    }
+
+    private static <I, O> CompletableFuture<ResponseWrapper<O>> guarded(StepGuard guard, I input,
+                                                                        Function<I, CompletableFuture<ResponseWrapper<O>>> step) {
+        if (guard == null) {
+            return apply(step, input);
+        }
+        ErrorDetails rejection = guard.tryAcquire();
+        if (rejection != null) {
+            return CompletableFuture.completedFuture(ResponseWrapper.fail(rejection));
+        }
+        long guardStart = System.nanoTime();
+        return apply(step, input).whenComplete((value, ex) -> {
+            if (ex != null) {
+                guard.onException(guardStart);
+            } else {
+                guard.onResult(guardStart, value);
+            }
+        });
+    }
+
+    private static <O> CompletableFuture<ResponseWrapper<O>> timed(HedgePolicy hedge,
+                                                                   CompletableFuture<ResponseWrapper<O>> attempt) {
+        long attemptStart = System.nanoTime();
+        return attempt.whenComplete((value, ex) -> {
+            if (ex == null && value.isSuccess()) {
+                hedge.record(System.nanoTime() - attemptStart);
+            }
+        });
+    }
+
+    /**
+     * Invokes the step, turning an exception thrown before it returned a future into a failed future.
+     */
+    private static <I, O> CompletableFuture<ResponseWrapper<O>> apply(Function<I, CompletableFuture<ResponseWrapper<O>>> step,
+                                                                      I input) {
+        try {
+            return step.apply(input);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.event.EventMapper;
+import com.ebtedge.service.flow.event.KafkaEventPublishingService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Wrapper for AsyncWorkflowPipeline.mapToUI() result that enables optional event publishing.
+ * Mirrors {@link WorkflowResult} but hands back a future the controller can return directly.
+ *
+ * @param <R> the type of the wrapped result
+ */
+@RequiredArgsConstructor
+public class AsyncWorkflowResult<R> {
+    private final CompletableFuture<R> result;
+    private final KafkaEventPublishingService kafkaPublishingService;
+
+    /**
+     * Publishes the event once the result is available and returns the result future.
+     * Nothing is published when the pipeline failed.
+     *
+     * @param eventName the name of the event (e.g., "ProfileFetched")
+     * @param mapper the event mapper for field selection
+     * @return a future completing with the unwrapped result
+     */
+    public CompletableFuture<R> andPublishEvent(String eventName, EventMapper<R> mapper) {
+        if (kafkaPublishingService == null) {
+            return result;
+        }
+        return result.thenApply(value -> {
+            kafkaPublishingService.publishIfEnabled(eventName, value, mapper);
+            return value;
+        });
+    }
+
+    /**
+     * Returns the result future without publishing an event.
+     *
+     * @return a future completing with the unwrapped result
+     */
+    public CompletableFuture<R> result() {
+        return result;
+    }
+}
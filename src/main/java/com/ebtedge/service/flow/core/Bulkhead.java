@@ -0,0 +1,52 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.BulkheadConfig;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semaphore bulkhead limiting the number of concurrent executions of one step, so that a slow
+ * downstream cannot tie up every request thread.
+ */
+final class Bulkhead {
+
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+
+    Bulkhead(BulkheadConfig config) {
+        this.maxConcurrentCalls = Math.max(1, config.getMaxConcurrentCalls());
+        this.maxWaitNanos = config.getMaxWaitDuration().toNanos();
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Acquires a slot, waiting at most the configured time.
+     *
+     * @return false when the bulkhead is full (or the wait was interrupted)
+     */
+    boolean tryAcquire() {
+        if (maxWaitNanos <= 0) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    int availableConcurrentCalls() {
+        return permits.availablePermits();
+    }
+
+    int maxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+}
@@ -0,0 +1,201 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.CircuitBreakerConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for one step.
+ *
+ * <ul>
+ *   <li>CLOSED: calls are permitted; the outcome of the last {@code slidingWindowSize} calls is kept in a
+ *       ring buffer and the circuit opens once the failure or slow-call rate reaches its threshold
+ *       (after at least {@code minimumNumberOfCalls} calls)</li>
+ *   <li>OPEN: calls are rejected without touching the downstream until {@code waitDurationInOpenState}
+ *       has elapsed</li>
+ *   <li>HALF_OPEN: {@code permittedCallsInHalfOpenState} probe calls are let through; their rates decide
+ *       between closing and reopening the circuit. If the probes have not settled it within
+ *       {@code maxWaitDurationInHalfOpenState}, the circuit reopens</li>
+ * </ul>
+ *
+ * <p>Permission checks in the CLOSED state are a single volatile read. Outcome recording is synchronized,
+ * which is cheap next to the downstream call being measured.
+ */
+@Slf4j
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String stepName;
+    private final int windowSize;
+    private final int minimumNumberOfCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long waitInOpenNanos;
+    private final int permittedCallsInHalfOpen;
+    private final long maxWaitInHalfOpenNanos;
+    private final LongSupplier nanoClock;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openedAtNanos;
+    private volatile long halfOpenedAtNanos;
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+
+    // Sliding window, guarded by this
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slow;
+
+    CircuitBreaker(String stepName, CircuitBreakerConfig config) {
+        this(stepName, config, System::nanoTime);
+    }
+
+    CircuitBreaker(String stepName, CircuitBreakerConfig config, LongSupplier nanoClock) {
+        this.stepName = stepName;
+        this.windowSize = Math.max(1, config.getSlidingWindowSize());
+        this.minimumNumberOfCalls = Math.max(1, Math.min(config.getMinimumNumberOfCalls(), windowSize));
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.slowCallRateThreshold = config.getSlowCallRateThreshold();
+        this.slowCallNanos = config.getSlowCallDurationThreshold().toNanos();
+        this.waitInOpenNanos = config.getWaitDurationInOpenState().toNanos();
+        this.permittedCallsInHalfOpen = Math.max(1, config.getPermittedCallsInHalfOpenState());
+        this.maxWaitInHalfOpenNanos = config.getMaxWaitDurationInHalfOpenState().toNanos();
+        this.nanoClock = nanoClock;
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    State state() {
+        return state;
+    }
+
+    /**
+     * Returns whether a call may proceed. Every permitted call must be followed by
+     * {@link #onResult} or {@link #releasePermission}.
+     */
+    boolean tryAcquirePermission() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < waitInOpenNanos) {
+                return false;
+            }
+            transitionToHalfOpen();
+        }
+        while (state == State.HALF_OPEN) {
+            int permits = halfOpenPermits.get();
+            if (permits <= 0) {
+                reopenIfHalfOpenExpired();
+                return false;
+            }
+            if (halfOpenPermits.compareAndSet(permits, permits - 1)) {
+                return true;
+            }
+        }
+        // CLOSED or OPEN again after a concurrent transition
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Returns an unused permission, e.g. when the bulkhead rejected the call after the breaker permitted it.
+     */
+    void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits.updateAndGet(permits -> Math.min(permits + 1, permittedCallsInHalfOpen));
+        }
+    }
+
+    synchronized void onResult(long durationNanos, boolean failed) {
+        if (state == State.OPEN) {
+            // Late result of a call that started before the circuit opened
+            return;
+        }
+        record(failed, durationNanos >= slowCallNanos);
+
+        int required = state == State.HALF_OPEN ? permittedCallsInHalfOpen : minimumNumberOfCalls;
+        if (recorded < required) {
+            return;
+        }
+        float failureRate = failures * 100f / recorded;
+        float slowCallRate = slow * 100f / recorded;
+        if (failureRate >= failureRateThreshold || slowCallRate >= slowCallRateThreshold) {
+            transitionToOpen(failureRate, slowCallRate);
+        } else if (state == State.HALF_OPEN) {
+            log.info("Circuit breaker for step '{}' closed after successful probe calls", stepName);
+            resetWindow();
+            state = State.CLOSED;
+        }
+    }
+
+    private void record(boolean failed, boolean slowCall) {
+        if (recorded == windowSize) {
+            if (failedCalls[next]) {
+                failures--;
+            }
+            if (slowCalls[next]) {
+                slow--;
+            }
+        } else {
+            recorded++;
+        }
+        failedCalls[next] = failed;
+        slowCalls[next] = slowCall;
+        if (failed) {
+            failures++;
+        }
+        if (slowCall) {
+            slow++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void transitionToOpen(float failureRate, float slowCallRate) {
+        log.warn("Circuit breaker for step '{}' opened: failureRate={}%, slowCallRate={}%, calls={}",
+            stepName, failureRate, slowCallRate, recorded);
+        openedAtNanos = nanoClock.getAsLong();
+        state = State.OPEN;
+        resetWindow();
+    }
+
+    private synchronized void transitionToHalfOpen() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= waitInOpenNanos) {
+            log.info("Circuit breaker for step '{}' half-open, permitting {} probe call(s)",
+                stepName, permittedCallsInHalfOpen);
+            resetWindow();
+            halfOpenPermits.set(permittedCallsInHalfOpen);
+            halfOpenedAtNanos = nanoClock.getAsLong();
+            state = State.HALF_OPEN;
+        }
+    }
+
+    /**
+     * Reopens a half-open circuit whose probes never settled it, e.g. because they hang downstream,
+     * so that a fresh set of probes is let through after the next wait in the open state.
+     */
+    private synchronized void reopenIfHalfOpenExpired() {
+        if (state == State.HALF_OPEN && nanoClock.getAsLong() - halfOpenedAtNanos >= maxWaitInHalfOpenNanos) {
+            log.warn("Circuit breaker for step '{}' reopened: probe calls did not settle within {}ms",
+                stepName, maxWaitInHalfOpenNanos / 1_000_000);
+            openedAtNanos = nanoClock.getAsLong();
+            state = State.OPEN;
+            resetWindow();
+        }
+    }
+
+    private void resetWindow() {
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slow = 0;
+    }
+}
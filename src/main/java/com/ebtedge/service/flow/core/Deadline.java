@@ -0,0 +1,81 @@
+package com.ebtedge.service.flow.core;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Point in time by which a workflow (or a single step) must complete.
+ * Based on {@link System#nanoTime()}, so it is immune to wall-clock adjustments.
+ *
+ * <p>Deadline-aware steps receive the effective deadline (the earlier of the pipeline deadline and
+ * the step timeout) and can pass {@link #remaining()} on to downstream clients as their own timeout.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0L, false);
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+
+    private Deadline(long deadlineNanos, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * A deadline that never expires.
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * A deadline expiring {@code budget} from now.
+     *
+     * @param budget the time budget, must not be null
+     */
+    public static Deadline after(Duration budget) {
+        Objects.requireNonNull(budget, "budget cannot be null");
+        return new Deadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    /**
+     * Returns the earlier of this deadline and {@code timeout} from now.
+     *
+     * @param timeout the step timeout, or null for no additional bound
+     */
+    public Deadline min(Duration timeout) {
+        if (timeout == null) {
+            return this;
+        }
+        long candidate = System.nanoTime() + timeout.toNanos();
+        return !bounded || candidate - deadlineNanos < 0 ? new Deadline(candidate, true) : this;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public boolean isExpired() {
+        return bounded && remainingNanos() <= 0;
+    }
+
+    /**
+     * Remaining budget in nanoseconds ({@link Long#MAX_VALUE} when unbounded, negative once expired).
+     */
+    public long remainingNanos() {
+        return bounded ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Remaining budget, never negative ({@code Duration.ofNanos(Long.MAX_VALUE)} when unbounded).
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0L, remainingNanos()));
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[remaining=" + remaining().toMillis() + "ms]" : "Deadline[none]";
+    }
+}
@@ -0,0 +1,51 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.HedgeConfig;
+
+/**
+ * Decides when a hedged second attempt of a slow step is started.
+ *
+ * <p>With a fixed {@code delay} that delay is used. Otherwise the delay is the configured percentile
+ * (p95 by default) of the step's recently successful attempts, so only the slowest few percent of calls
+ * are duplicated. Until {@code minimumSamples} attempts have been observed no hedge is sent.
+ * The percentile is recomputed every {@value #REFRESH_INTERVAL} samples rather than on every call.
+ */
+final class HedgePolicy {
+
+    static final int REFRESH_INTERVAL = 32;
+
+    private final long fixedDelayNanos;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final int minimumSamples;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private volatile long adaptiveDelayNanos = -1;
+
+    HedgePolicy(HedgeConfig config) {
+        this.fixedDelayNanos = config.getDelay() != null ? config.getDelay().toNanos() : -1;
+        this.percentile = config.getPercentile();
+        this.minDelayNanos = config.getMinDelay().toNanos();
+        this.minimumSamples = Math.max(1, config.getMinimumSamples());
+    }
+
+    /**
+     * Returns the time after which a hedged attempt is started, or -1 when no hedge should be sent yet.
+     */
+    long delayNanos() {
+        return fixedDelayNanos >= 0 ? fixedDelayNanos : adaptiveDelayNanos;
+    }
+
+    /**
+     * Records the latency of a successful attempt.
+     */
+    void record(long nanos) {
+        if (fixedDelayNanos >= 0) {
+            return;
+        }
+        latencies.record(nanos);
+        long samples = latencies.samples();
+        if (samples >= minimumSamples && (samples % REFRESH_INTERVAL == 0 || adaptiveDelayNanos < 0)) {
+            adaptiveDelayNanos = Math.max(minDelayNanos, latencies.percentileNanos(percentile));
+        }
+    }
+}
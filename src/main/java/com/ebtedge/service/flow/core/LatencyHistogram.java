@@ -0,0 +1,88 @@
+package com.ebtedge.service.flow.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram used to estimate a step's recent latency percentiles.
+ *
+ * <p>Latencies are counted in log-linear buckets (four per power of two of microseconds, so a
+ * percentile is accurate to within 25%). Every {@value #DECAY_INTERVAL} samples all counts are halved,
+ * which lets the estimate follow the downstream as its latency changes. Updates from concurrent
+ * threads may interleave with a decay; the result stays a close approximation, which is all
+ * a hedge delay needs.
+ */
+final class LatencyHistogram {
+
+    static final int DECAY_INTERVAL = 1024;
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong samples = new AtomicLong();
+
+    void record(long nanos) {
+        counts.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMicros(nanos)));
+        if (samples.incrementAndGet() % DECAY_INTERVAL == 0) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.getAndUpdate(i, count -> count >> 1);
+            }
+        }
+    }
+
+    /**
+     * Total number of samples recorded, unaffected by decay.
+     */
+    long samples() {
+        return samples.get();
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the given percentile, or -1 without samples.
+     *
+     * @param percentile between 0 and 1, e.g. 0.95
+     */
+    long percentileNanos(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return TimeUnit.MICROSECONDS.toNanos(upperBoundMicros(i));
+            }
+        }
+        return TimeUnit.MICROSECONDS.toNanos(upperBoundMicros(BUCKETS - 1));
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(0, micros);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return exponent * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundMicros(int bucket) {
+        int exponent = bucket / SUB_BUCKETS;
+        int subBucket = bucket % SUB_BUCKETS;
+        if (exponent < SUB_BUCKET_BITS) {
+            return bucket + 1L;
+        }
+        return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,277 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.BatchConfig;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Collects single-key lookups from concurrent callers into bulk calls.
+ *
+ * <p>Keys are buffered until {@code maxBatchSize} keys are waiting or the first of them has waited
+ * {@code maxWait}, whichever comes first. The batch is then handed to the bulk call and every caller's
+ * future completes with the result at its key's position. Identical keys in one batch are fetched once.
+ * An exception or error from the bulk call completes every future of the batch exceptionally.
+ *
+ * <p>Bulk calls run on the batcher's own pool of {@code concurrency} daemon threads, never on the workflow
+ * step executor: callers blocked in {@link #get} may hold every step executor thread, and the batch they
+ * wait for must still be able to run. Batches queue up while all pool threads are busy. {@link #get} waits
+ * at most {@code timeout} and then fails with a {@code TIMEOUT} error.
+ *
+ * <pre>
+ * MicroBatcher&lt;String, Balance&gt; balances = pipelineFactory.batcher("balance", serviceA::getBalances);
+ * ResponseWrapper&lt;Balance&gt; balance = balances.get(accountId);
+ * </pre>
+ *
+ * <p>When batching is disabled for the name, {@link #get} calls the bulk function with the single key on
+ * the calling thread and {@link #submit} does so on the workflow step executor.
+ *
+ * <p>Exported meters (tag {@code batcher}): {@code workflow.batch.size}, a histogram of keys per bulk call,
+ * and {@code workflow.batch.call}, the bulk call latency.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+@Slf4j
+public final class MicroBatcher<K, V> implements AutoCloseable {
+
+    static final String SIZE_METRIC = "workflow.batch.size";
+    static final String CALL_METRIC = "workflow.batch.call";
+
+    private final String name;
+    private final int maxBatchSize;
+    private final Function<List<K>, List<ResponseWrapper<V>>> bulkCall;
+    private final Duration timeout;
+    private final Executor executor;
+    private final ThreadPoolExecutor bulkCalls;
+    private final Executor flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Timer callTimer;
+
+    private final Object lock = new Object();
+    // Guarded by lock; generation identifies the open batch so a late timer cannot flush its successor
+    private List<Pending<K, V>> pending = new ArrayList<>();
+    private long generation;
+
+    MicroBatcher(String name, BatchConfig config, Function<List<K>, List<ResponseWrapper<V>>> bulkCall,
+                 Executor executor, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxBatchSize = config.isEnabled() ? Math.max(1, config.getMaxBatchSize()) : 1;
+        this.bulkCall = bulkCall;
+        this.timeout = config.getTimeout();
+        this.executor = executor;
+        if (maxBatchSize > 1) {
+            int concurrency = Math.max(1, config.getConcurrency());
+            AtomicInteger threads = new AtomicInteger();
+            this.bulkCalls = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "workflow-batch-" + name + "-" + threads.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            this.bulkCalls.allowCoreThreadTimeOut(true);
+            // The timer thread only moves the batch to the pool, it never runs the bulk call itself
+            this.flushTimer = CompletableFuture.delayedExecutor(config.getMaxWait().toNanos(), TimeUnit.NANOSECONDS,
+                Runnable::run);
+        } else {
+            this.bulkCalls = null;
+            this.flushTimer = null;
+        }
+        if (meterRegistry != null) {
+            this.batchSizes = DistributionSummary.builder(SIZE_METRIC)
+                .description("Distinct keys per bulk call")
+                .tag("batcher", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            this.callTimer = Timer.builder(CALL_METRIC)
+                .tag("batcher", name)
+                .register(meterRegistry);
+        } else {
+            this.batchSizes = null;
+            this.callTimer = null;
+        }
+        if (maxBatchSize > 1) {
+            log.info("Micro-batching '{}': maxBatchSize={}, maxWait={}, concurrency={}", name, maxBatchSize,
+                config.getMaxWait(), bulkCalls.getMaximumPoolSize());
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Looks the key up, blocking until its batch has been fetched or {@code timeout} has passed.
+     *
+     * @return the key's result, or a {@code TIMEOUT} or {@code INTERRUPTED} error if the wait was cut short
+     * @throws RuntimeException the exception thrown by the bulk call
+     */
+    public ResponseWrapper<V> get(K key) {
+        if (maxBatchSize == 1) {
+            return callSingle(key);
+        }
+        try {
+            return submit(key).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return ResponseWrapper.fail(new ErrorDetails(PipelineRuntime.TIMEOUT_ERROR_CODE,
+                "Batch '" + name + "' not fetched within " + timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseWrapper.fail(new ErrorDetails(PipelineRuntime.INTERRUPTED_ERROR_CODE,
+                "Interrupted while waiting for batch '" + name + "'"));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Adds the key to the current batch.
+     *
+     * @return a future completed with the key's result once its batch has been fetched
+     */
+    public CompletableFuture<ResponseWrapper<V>> submit(K key) {
+        if (maxBatchSize == 1) {
+            return CompletableFuture.supplyAsync(() -> callSingle(key), executor);
+        }
+        CompletableFuture<ResponseWrapper<V>> future = new CompletableFuture<>();
+        List<Pending<K, V>> full = null;
+        long openedGeneration = -1;
+        synchronized (lock) {
+            pending.add(new Pending<>(key, future));
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new ArrayList<>();
+                generation++;
+            } else if (pending.size() == 1) {
+                openedGeneration = generation;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        } else if (openedGeneration >= 0) {
+            long batchGeneration = openedGeneration;
+            flushTimer.execute(() -> flush(batchGeneration));
+        }
+        return future;
+    }
+
+    private void flush(long batchGeneration) {
+        List<Pending<K, V>> batch;
+        synchronized (lock) {
+            if (batchGeneration != generation || pending.isEmpty()) {
+                // Already dispatched because it filled up
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+            generation++;
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * Stops the bulk call threads once the queued batches have been fetched. The open batch is failed
+     * right away, as are keys submitted afterwards.
+     */
+    @Override
+    public void close() {
+        if (bulkCalls == null) {
+            return;
+        }
+        bulkCalls.shutdown();
+        List<Pending<K, V>> open;
+        synchronized (lock) {
+            open = pending;
+            pending = new ArrayList<>();
+            generation++;
+        }
+        dispatch(open);
+    }
+
+    private void run(List<Pending<K, V>> batch) {
+        Map<K, List<CompletableFuture<ResponseWrapper<V>>>> callers = new LinkedHashMap<>();
+        for (Pending<K, V> item : batch) {
+            callers.computeIfAbsent(item.key(), key -> new ArrayList<>(1)).add(item.future());
+        }
+        List<K> keys = new ArrayList<>(callers.keySet());
+        if (batchSizes != null) {
+            batchSizes.record(keys.size());
+        }
+        log.debug("Dispatching batch '{}' with {} key(s) for {} caller(s)", name, keys.size(), batch.size());
+
+        try {
+            List<ResponseWrapper<V>> results = call(keys);
+            for (int i = 0; i < keys.size(); i++) {
+                ResponseWrapper<V> result = results.get(i);
+                callers.get(keys.get(i)).forEach(future -> future.complete(result));
+            }
+        } catch (Throwable e) {
+            log.error("Bulk call of batch '{}' failed: {}", name, e.getMessage());
+            // Futures already completed keep their result; no caller is left waiting
+            batch.forEach(item -> item.future().completeExceptionally(e));
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private ResponseWrapper<V> callSingle(K key) {
+        return call(List.of(key)).get(0);
+    }
+
+    private List<ResponseWrapper<V>> call(List<K> keys) {
+        long start = System.nanoTime();
+        try {
+            List<ResponseWrapper<V>> results = bulkCall.apply(keys);
+            if (results == null || results.size() != keys.size()) {
+                throw new IllegalStateException("Bulk call of batch '" + name + "' returned "
+                    + (results == null ? "null" : results.size()) + " result(s) for " + keys.size() + " key(s)");
+            }
+            return results;
+        } finally {
+            if (callTimer != null) {
+                callTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Queues the batch for a bulk call thread. A batcher that was closed fails the batch instead,
+     * so it is never dropped with its callers waiting.
+     */
+    private void dispatch(List<Pending<K, V>> batch) {
+        try {
+            bulkCalls.execute(() -> run(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(item -> item.future().completeExceptionally(e));
+        }
+    }
+
+    private record Pending<K, V>(K key, CompletableFuture<ResponseWrapper<V>> future) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.ParallelConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Maps large lists element by element on a dedicated, bounded {@link ForkJoinPool}.
+ *
+ * <p>Lists shorter than {@code threshold} are mapped on the calling thread, since forking costs more than it
+ * saves for them. Longer lists are split into about four tasks per pool thread so work stealing evens out
+ * slow elements. Every result is written at its element's index, so the output order is the input order
+ * regardless of which thread mapped what. An exception thrown by the mapping function is rethrown to the caller.
+ * Either way the result is a new, mutable {@link ArrayList} owned by the caller.
+ *
+ * <pre>
+ * ParallelMapper cardholderMerge = pipelineFactory.parallelMapper("cardholder-merge");
+ * List&lt;Cardholder&gt; cardholders = cardholderMerge.map(cards, this::buildCardholder);
+ * </pre>
+ *
+ * <p>The pool is separate from the workflow step executor, so a large merge cannot starve blocking steps,
+ * and it is capped at {@code parallelism} threads. Its workers are daemon threads that exit when idle.
+ * {@link #close()} shuts the pool down; lists mapped afterwards are mapped on the calling thread.
+ *
+ * <p>Exported meters (tag {@code mapper}):
+ * <ul>
+ *   <li>{@code workflow.parallel.calls}: mapped lists, tagged {@code mode=parallel|sequential}</li>
+ *   <li>{@code workflow.parallel.tasks}: histogram of fork/join tasks per parallel call</li>
+ *   <li>{@code workflow.parallel.threads}: histogram of distinct threads that mapped a parallel call</li>
+ * </ul>
+ */
+@Slf4j
+public final class ParallelMapper implements AutoCloseable {
+
+    static final String CALLS_METRIC = "workflow.parallel.calls";
+    static final String TASKS_METRIC = "workflow.parallel.tasks";
+    static final String THREADS_METRIC = "workflow.parallel.threads";
+
+    /** Tasks per pool thread; more than one so threads that finish early can steal */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final String name;
+    private final int threshold;
+    private final ForkJoinPool pool;
+    private final Counter parallelCalls;
+    private final Counter sequentialCalls;
+    private final DistributionSummary tasksPerCall;
+    private final DistributionSummary threadsPerCall;
+
+    ParallelMapper(String name, ParallelConfig config, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.threshold = Math.max(2, config.getThreshold());
+        if (config.isEnabled()) {
+            int parallelism = config.getParallelism() > 0
+                ? config.getParallelism() : Runtime.getRuntime().availableProcessors();
+            this.pool = new ForkJoinPool(parallelism, this::newWorker, null, false);
+            log.info("Parallel mapping '{}': threshold={}, parallelism={}", name, threshold, parallelism);
+        } else {
+            this.pool = null;
+        }
+        if (meterRegistry != null) {
+            this.parallelCalls = callCounter(meterRegistry, "parallel");
+            this.sequentialCalls = callCounter(meterRegistry, "sequential");
+            this.tasksPerCall = DistributionSummary.builder(TASKS_METRIC)
+                .description("Fork/join tasks per parallel call")
+                .tag("mapper", name)
+                .register(meterRegistry);
+            this.threadsPerCall = DistributionSummary.builder(THREADS_METRIC)
+                .description("Distinct threads per parallel call")
+                .tag("mapper", name)
+                .register(meterRegistry);
+        } else {
+            this.parallelCalls = null;
+            this.sequentialCalls = null;
+            this.tasksPerCall = null;
+            this.threadsPerCall = null;
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the number of pool threads, or 1 when parallel mapping is disabled.
+     */
+    public int parallelism() {
+        return pool != null ? pool.getParallelism() : 1;
+    }
+
+    /**
+     * Maps every element of a random-access list, in parallel when it has at least {@code threshold} elements.
+     *
+     * @return a new {@link ArrayList} of the mapped elements, in the order of {@code items}
+     */
+    public <T, R> List<R> map(List<? extends T> items, Function<? super T, ? extends R> mapper) {
+        int size = items.size();
+        if (pool == null || size < threshold) {
+            return mapSequentially(items, mapper);
+        }
+        Object[] results = new Object[size];
+        int leafSize = Math.max(1, -Math.floorDiv(-size, pool.getParallelism() * TASKS_PER_THREAD));
+        AtomicInteger tasks = new AtomicInteger();
+        Set<Thread> threads = threadsPerCall != null ? ConcurrentHashMap.newKeySet() : null;
+        try {
+            pool.invoke(new MapTask<>(items, mapper, results, 0, size, leafSize, tasks, threads));
+        } catch (RejectedExecutionException e) {
+            log.warn("Parallel mapping '{}' rejected, mapping {} element(s) on the calling thread", name, size);
+            return mapSequentially(items, mapper);
+        }
+        if (parallelCalls != null) {
+            parallelCalls.increment();
+            tasksPerCall.record(tasks.get());
+            threadsPerCall.record(threads.size());
+        }
+        @SuppressWarnings("unchecked")
+        List<R> mapped = (List<R>) Arrays.asList(results);
+        // Copied rather than returned as the fixed-size array view, so both paths return the same list type
+        return new ArrayList<>(mapped);
+    }
+
+    /**
+     * Shuts the pool down once the running calls have finished.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private <T, R> List<R> mapSequentially(List<? extends T> items, Function<? super T, ? extends R> mapper) {
+        List<R> results = new ArrayList<>(items.size());
+        for (T item : items) {
+            results.add(mapper.apply(item));
+        }
+        if (sequentialCalls != null) {
+            sequentialCalls.increment();
+        }
+        return results;
+    }
+
+    private ForkJoinWorkerThread newWorker(ForkJoinPool forkJoinPool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+        worker.setName("workflow-parallel-" + name + "-" + worker.getPoolIndex());
+        return worker;
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder(CALLS_METRIC)
+            .tag("mapper", name)
+            .tag("mode", mode)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Maps the range [from, to), halving it until it is at most {@code leafSize} elements long.
+     */
+    private static final class MapTask<T, R> extends RecursiveAction {
+        private final List<? extends T> items;
+        private final Function<? super T, ? extends R> mapper;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final AtomicInteger tasks;
+        private final Set<Thread> threads;
+
+        MapTask(List<? extends T> items, Function<? super T, ? extends R> mapper, Object[] results,
+                int from, int to, int leafSize, AtomicInteger tasks, Set<Thread> threads) {
+            this.items = items;
+            this.mapper = mapper;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.tasks = tasks;
+            this.threads = threads;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                tasks.incrementAndGet();
+                if (threads != null) {
+                    threads.add(Thread.currentThread());
+                }
+                for (int i = from; i < to; i++) {
+                    results[i] = mapper.apply(items.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new MapTask<>(items, mapper, results, from, mid, leafSize, tasks, threads),
+                new MapTask<>(items, mapper, results, mid, to, leafSize, tasks, threads));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ebtedge.service.flow.core;
+
+import java.util.function.Function;
+
+/**
+ * A named, independent step that can be run concurrently with its siblings via
+ * {@code nextStepsParallel}. Each branch is timed under its own name.
+ *
+ * @param name the branch name used for logging and the step timer
+ * @param step the function applied to the current pipeline value
+ * @param <T> the input type (the current pipeline value)
+ * @param <R> the branch result type
+ */
+public record ParallelStep<T, R>(String name, Function<T, ResponseWrapper<R>> step) {
+
+    public static <T, R> ParallelStep<T, R> of(String name, Function<T, ResponseWrapper<R>> step) {
+        return new ParallelStep<>(name, step);
+    }
+}
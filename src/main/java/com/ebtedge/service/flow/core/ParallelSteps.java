@@ -0,0 +1,151 @@
+package com.ebtedge.service.flow.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fork/join engine behind {@code nextStepsParallel}.
+ *
+ * <p>Every branch is submitted to the executor as a {@link FutureTask} so that siblings can be
+ * cancelled with interruption. The join completes:
+ * <ul>
+ *   <li>successfully with all branch values (in declaration order) once every branch succeeded</li>
+ *   <li>with the first failed {@link ResponseWrapper}'s error, cancelling the remaining branches</li>
+ *   <li>exceptionally with the first branch exception, cancelling the remaining branches</li>
+ * </ul>
+ * Completing the returned future exceptionally from outside (e.g. {@code orTimeout}) also cancels
+ * every branch still running.
+ */
+@Slf4j
+final class ParallelSteps {
+
+    private ParallelSteps() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Runs all steps concurrently against the same input.
+     *
+     * @return a future of the joined branch values, never completed on the calling thread unless
+     *         the executor runs tasks inline
+     */
+    static <T> CompletableFuture<ResponseWrapper<Object[]>> fork(T input, List<? extends ParallelStep<T, ?>> steps,
+                                                                 PipelineRuntime runtime) {
+        Join join = new Join(steps.size());
+        if (steps.isEmpty()) {
+            join.result.complete(ResponseWrapper.success(join.values));
+            return join.result;
+        }
+
+        for (int i = 0; i < steps.size(); i++) {
+            join.branches[i] = new Branch(newCallable(input, steps.get(i), runtime), i, join);
+        }
+        for (Branch branch : join.branches) {
+            if (join.result.isDone()) {
+                break;
+            }
+            try {
+                runtime.executor.execute(branch);
+            } catch (RejectedExecutionException e) {
+                log.error("Parallel branch rejected by executor: {}", e.getMessage());
+                join.completeExceptionally(e);
+            }
+        }
+        return join.result;
+    }
+
+    /**
+     * Each branch is an ordinary step execution: timed under its own name and subject to its own
+     * circuit breaker and bulkhead. The join enforces the deadline, so branches run unbounded.
+     */
+    private static <T, R> Callable<ResponseWrapper<?>> newCallable(T input, ParallelStep<T, R> parallelStep,
+                                                                   PipelineRuntime runtime) {
+        return () -> runtime.runStep(parallelStep.name(), input, Deadline.none(), true,
+            (data, deadline) -> parallelStep.step().apply(data));
+    }
+
+    /**
+     * Shared join state for one fork.
+     */
+    private static final class Join {
+        final Branch[] branches;
+        final Object[] values;
+        final AtomicInteger remaining;
+        final CompletableFuture<ResponseWrapper<Object[]>> result = new CompletableFuture<>();
+
+        Join(int size) {
+            this.branches = new Branch[size];
+            this.values = new Object[size];
+            this.remaining = new AtomicInteger(size);
+            result.whenComplete((joined, ex) -> {
+                if (ex != null || !joined.isSuccess()) {
+                    cancelSiblings();
+                }
+            });
+        }
+
+        void branchDone(Branch branch) {
+            if (branch.isCancelled()) {
+                return;
+            }
+            ResponseWrapper<?> branchResult;
+            try {
+                branchResult = branch.get();
+            } catch (ExecutionException e) {
+                completeExceptionally(e.getCause());
+                return;
+            } catch (InterruptedException | CancellationException e) {
+                return;
+            }
+
+            if (!branchResult.isSuccess()) {
+                result.complete(WorkflowPipeline.cast(branchResult));
+                return;
+            }
+
+            values[branch.index] = branchResult.getData();
+            if (remaining.decrementAndGet() == 0) {
+                result.complete(ResponseWrapper.success(values));
+            }
+        }
+
+        void completeExceptionally(Throwable cause) {
+            result.completeExceptionally(cause);
+        }
+
+        private void cancelSiblings() {
+            for (Branch sibling : branches) {
+                if (sibling != null && !sibling.isDone()) {
+                    sibling.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * FutureTask that reports its completion to the join.
+     */
+    private static final class Branch extends FutureTask<ResponseWrapper<?>> {
+        private final int index;
+        private final Join join;
+
+        Branch(Callable<ResponseWrapper<?>> callable, int index, Join join) {
+            super(callable);
+            this.index = index;
+            this.join = join;
+        }
+
+        @Override
+        protected void done() {
+            join.branchDone(this);
+        }
+    }
+}
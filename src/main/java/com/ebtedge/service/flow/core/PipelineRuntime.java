@@ -0,0 +1,616 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import com.ebtedge.service.flow.event.KafkaEventPublishingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Collaborators shared by every pipeline started from the same configuration, plus the
+ * step execution kernel used by all {@code nextStep} variants: timing, logging, deadline enforcement and
+ * the per-step resilience policies.
+ */
+@Slf4j
+final class PipelineRuntime {
+
+    static final String TIMEOUT_ERROR_CODE = "TIMEOUT";
+    static final String INTERRUPTED_ERROR_CODE = "INTERRUPTED";
+
+    final ServiceFlowProperties properties;
+    final MeterRegistry meterRegistry;
+    final KafkaEventPublishingService kafkaPublishingService;
+    final Executor executor;
+    final StepMetrics metrics;
+    final StepPolicies policies;
+    final RequestCacheMeters cacheMeters;
+
+    PipelineRuntime(ServiceFlowProperties properties, MeterRegistry meterRegistry,
+                    KafkaEventPublishingService kafkaPublishingService, Executor executor) {
+        this(properties, meterRegistry, kafkaPublishingService, executor, new StepMetrics(properties, meterRegistry));
+    }
+
+    PipelineRuntime(ServiceFlowProperties properties, MeterRegistry meterRegistry,
+                    KafkaEventPublishingService kafkaPublishingService, Executor executor, StepMetrics metrics) {
+        this(properties, meterRegistry, kafkaPublishingService, executor, metrics,
+            new StepPolicies(properties, meterRegistry));
+    }
+
+    PipelineRuntime(ServiceFlowProperties properties, MeterRegistry meterRegistry,
+                    KafkaEventPublishingService kafkaPublishingService, Executor executor, StepMetrics metrics,
+                    StepPolicies policies) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.kafkaPublishingService = kafkaPublishingService;
+        this.executor = executor;
+        this.metrics = metrics;
+        this.policies = policies;
+        this.cacheMeters = new RequestCacheMeters(properties, meterRegistry);
+    }
+
+    /**
+     * Runtime of a pipeline started without a {@link WorkflowPipelineFactory}. Its circuit breakers and
+     * bulkheads are the ones shared by every pipeline started with the same properties and registry,
+     * see {@link StepPolicies#shared}.
+     */
+    static PipelineRuntime standalone(ServiceFlowProperties properties, MeterRegistry meterRegistry,
+                                      KafkaEventPublishingService kafkaPublishingService, Executor executor) {
+        return new PipelineRuntime(properties, meterRegistry, kafkaPublishingService, executor,
+            new StepMetrics(properties, meterRegistry), StepPolicies.shared(properties, meterRegistry));
+    }
+
+    /**
+     * Executes one step and records its timer.
+     *
+     * <p>Without a bounded deadline the step runs on the calling thread. With one, it runs on the
+     * executor and the caller waits at most the remaining budget; an overrun interrupts the step
+     * and yields a {@code TIMEOUT} failure tagged {@code status=TIMEOUT}. Deadline-aware steps also
+     * receive the deadline, so they can stop on their own when interruption is not enough.
+     * When the executor has no thread for the step (it rejects the task, or runs it on the caller as
+     * {@code CallerRunsPolicy} does) the step is not run and fails fast with {@code BULKHEAD_FULL}.
+     *
+     * <p>The policies configured for the step are applied by {@link #invoke}. The timer covers the
+     * whole execution, including retries and hedged attempts.
+     *
+     * @param inline run on the calling thread even with a bounded deadline, for steps that
+     *               enforce the deadline themselves
+     */
+    <I, O> ResponseWrapper<O> runStep(String stepName, I input, Deadline deadline, boolean inline,
+                                      BiFunction<I, Deadline, ResponseWrapper<O>> step) {
+        log.info("Executing workflow step: {}", stepName);
+
+        // Only record metrics if enabled
+        long start = metrics.start();
+
+        if (deadline.isExpired()) {
+            return finish(stepName, start, ResponseWrapper.fail(timeoutError(stepName)), StepPolicy.NONE);
+        }
+        StepPolicy policy = policies.forStep(stepName);
+        try {
+            return finish(stepName, start, invoke(policy, stepName, input, deadline, inline, step), policy);
+        } catch (RuntimeException e) {
+            metrics.stop(start, stepName, StepMetrics.Status.EXCEPTION);
+            log.error("Step '{}' threw exception: {}", stepName, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the result of an earlier call with the same step name and key in this request, waiting for it
+     * if it is still in flight, or executes {@code call} and remembers a successful result.
+     * A null key disables memoization for the call.
+     *
+     * <p>A call in flight is awaited until the deadline, or at most {@code execution.memoized-wait} when the
+     * deadline is unbounded; a caller that gives up gets a {@code TIMEOUT} failure.
+     */
+    <O> ResponseWrapper<O> memoize(RequestCache cache, String stepName, Object key, Deadline deadline,
+                                   Supplier<ResponseWrapper<O>> call) {
+        if (key == null) {
+            return call.get();
+        }
+        CompletableFuture<ResponseWrapper<?>> pending = new CompletableFuture<>();
+        CompletableFuture<ResponseWrapper<?>> existing = cache.claim(stepName, key, pending);
+        cacheMeters.record(stepName, existing != null);
+        if (existing != null) {
+            log.debug("Step '{}' served from request cache", stepName);
+            return WorkflowPipeline.cast(awaitMemoized(stepName, existing, deadline));
+        }
+
+        ResponseWrapper<O> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            cache.evict(stepName, key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        if (!result.isSuccess()) {
+            cache.evict(stepName, key, pending);
+        }
+        pending.complete(result);
+        return result;
+    }
+
+    private ResponseWrapper<?> awaitMemoized(String stepName, CompletableFuture<ResponseWrapper<?>> entry,
+                                             Deadline deadline) {
+        long waitNanos = deadline.isBounded()
+            ? Math.max(0L, deadline.remainingNanos())
+            : properties.getExecution().getMemoizedWait().toNanos();
+        try {
+            return entry.get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return ResponseWrapper.fail(timeoutError(stepName));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseWrapper.fail(new ErrorDetails(INTERRUPTED_ERROR_CODE,
+                "Step '" + stepName + "' was interrupted while waiting for its result"));
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Runs a step under its policies, without timing it:
+     * <ul>
+     *   <li>retry: a failure with a retryable error code (or an exception) is retried after a jittered
+     *       backoff, as long as attempts remain and the deadline leaves room for the backoff</li>
+     *   <li>hedge: once the hedge delay is known, each attempt runs on the executor and a second attempt
+     *       is started if the first has not answered within the delay; the first success wins and
+     *       the other attempt is cancelled</li>
+     *   <li>circuit breaker and bulkhead: every attempt, hedged ones included, must be permitted;
+     *       a rejected call fails immediately with {@code CIRCUIT_OPEN} or {@code BULKHEAD_FULL}.
+     *       The permit is held until the step actually returns, also when the caller stopped waiting
+     *       for it; a step overrunning its deadline is recorded as a failure</li>
+     * </ul>
+     * Without policies this is a plain call of the step.
+     */
+    <I, O> ResponseWrapper<O> invoke(StepPolicy policy, String stepName, I input, Deadline deadline, boolean inline,
+                                     BiFunction<I, Deadline, ResponseWrapper<O>> step) {
+        RetryPolicy retry = policy.retry;
+        for (int attempt = 1; ; attempt++) {
+            ResponseWrapper<O> result;
+            try {
+                result = attempt(policy, stepName, input, deadline, inline, step);
+            } catch (RuntimeException e) {
+                if (retry == null || !retry.retryOnException() || !backOff(policy, stepName, attempt, deadline, e)) {
+                    throw e;
+                }
+                continue;
+            }
+            if (retry == null || !retry.isRetryable(result)
+                    || !backOff(policy, stepName, attempt, deadline, result.getError())) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Waits before the next attempt, or returns false when the step must not be retried again.
+     */
+    private boolean backOff(StepPolicy policy, String stepName, int attempt, Deadline deadline, Object cause) {
+        RetryPolicy retry = policy.retry;
+        if (attempt >= retry.maxAttempts()) {
+            return false;
+        }
+        long backoff = retry.backoffNanos(attempt);
+        if (deadline.isBounded() && deadline.remainingNanos() <= backoff) {
+            log.debug("Step '{}' not retried: backoff exceeds the remaining deadline", stepName);
+            return false;
+        }
+        log.warn("Step '{}' attempt {}/{} failed ({}), retrying in {}ms", stepName, attempt, retry.maxAttempts(),
+            cause, TimeUnit.NANOSECONDS.toMillis(backoff));
+        try {
+            TimeUnit.NANOSECONDS.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        policy.onRetry();
+        return true;
+    }
+
+    private <I, O> ResponseWrapper<O> attempt(StepPolicy policy, String stepName, I input, Deadline deadline,
+                                              boolean inline, BiFunction<I, Deadline, ResponseWrapper<O>> step) {
+        HedgePolicy hedge = policy.hedge;
+        if (hedge == null) {
+            return guarded(policy.guard, stepName, input, deadline, inline, null, step);
+        }
+        long hedgeDelay = hedge.delayNanos();
+        if (hedgeDelay >= 0 && (!deadline.isBounded() || deadline.remainingNanos() > hedgeDelay)) {
+            return hedged(policy, stepName, input, deadline, hedgeDelay, step);
+        }
+        return timed(hedge, () -> guarded(policy.guard, stepName, input, deadline, inline, null, step));
+    }
+
+    /**
+     * Runs one attempt under the step guard. The guard is settled when the step returns: on this thread for
+     * inline steps, by the executor task for steps run under a deadline.
+     *
+     * @param abandoned for inline attempts, whether the caller no longer wants the result (the losing attempt
+     *                  of a hedged call); such an attempt releases its permit without recording an outcome
+     */
+    private <I, O> ResponseWrapper<O> guarded(StepGuard guard, String stepName, I input, Deadline deadline,
+                                              boolean inline, BooleanSupplier abandoned,
+                                              BiFunction<I, Deadline, ResponseWrapper<O>> step) {
+        ErrorDetails rejection = guard != null ? guard.tryAcquire() : null;
+        if (rejection != null) {
+            return ResponseWrapper.fail(rejection);
+        }
+        long guardStart = guard != null ? System.nanoTime() : 0L;
+        if (!inline && deadline.isBounded()) {
+            return runWithDeadline(stepName, input, deadline, guard, guardStart, step);
+        }
+        if (guard == null) {
+            return step.apply(input, deadline);
+        }
+        ResponseWrapper<O> result;
+        try {
+            result = step.apply(input, deadline);
+        } catch (RuntimeException | Error e) {
+            if (abandoned != null && abandoned.getAsBoolean()) {
+                guard.onCancelled();
+            } else {
+                guard.onException(guardStart);
+            }
+            throw e;
+        }
+        if (abandoned != null && abandoned.getAsBoolean()) {
+            guard.onCancelled();
+        } else {
+            guard.onResult(guardStart, result);
+        }
+        return result;
+    }
+
+    /**
+     * Runs the attempt on the executor and, if it has not answered within the hedge delay, a second one
+     * next to it. Returns the first successful result, otherwise the last failure to arrive. A saturated
+     * executor fails the step fast when it rejects the first attempt, and leaves the caller waiting on the
+     * first attempt alone when it rejects the hedge.
+     */
+    private <I, O> ResponseWrapper<O> hedged(StepPolicy policy, String stepName, I input, Deadline deadline,
+                                             long hedgeDelayNanos, BiFunction<I, Deadline, ResponseWrapper<O>> step) {
+        BlockingQueue<HedgedAttempt<O>> completions = new ArrayBlockingQueue<>(2);
+        // Set once the outcome is decided: an attempt returning later is a loser and records no outcome
+        AtomicBoolean settled = new AtomicBoolean();
+        Callable<ResponseWrapper<O>> call = () -> timed(policy.hedge,
+            () -> guarded(policy.guard, stepName, input, deadline, true, settled::get, step));
+        HedgedAttempt<O> primary = new HedgedAttempt<>(call, completions);
+        HedgedAttempt<O> hedge = null;
+        try {
+            executor.execute(primary);
+        } catch (RejectedExecutionException e) {
+            return ResponseWrapper.fail(executorSaturatedError(stepName));
+        }
+        try {
+            HedgedAttempt<O> first = completions.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            if (first != null) {
+                return outcome(first);
+            }
+
+            log.info("Step '{}' exceeded hedge delay of {}ms, starting hedged attempt", stepName,
+                TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos));
+            hedge = new HedgedAttempt<>(call, completions);
+            try {
+                executor.execute(hedge);
+                policy.onHedge();
+            } catch (RejectedExecutionException e) {
+                log.warn("Hedged attempt of step '{}' not started: executor saturated", stepName);
+                hedge = null;
+            }
+
+            first = await(completions, deadline);
+            if (first == null) {
+                return ResponseWrapper.fail(timeoutError(stepName));
+            }
+            HedgedAttempt<O> winner = first;
+            if (!first.succeeded() && hedge != null) {
+                HedgedAttempt<O> second = await(completions, deadline);
+                if (second != null) {
+                    winner = second;
+                }
+            }
+            if (winner.succeeded()) {
+                policy.onWin(winner == hedge);
+            }
+            return outcome(winner);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseWrapper.fail(new ErrorDetails(INTERRUPTED_ERROR_CODE,
+                "Step '" + stepName + "' was interrupted while waiting for its result"));
+        } finally {
+            settled.set(true);
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    private static <O> HedgedAttempt<O> await(BlockingQueue<HedgedAttempt<O>> completions, Deadline deadline)
+            throws InterruptedException {
+        return deadline.isBounded()
+            ? completions.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS)
+            : completions.take();
+    }
+
+    private static <O> ResponseWrapper<O> outcome(HedgedAttempt<O> attempt) throws InterruptedException {
+        try {
+            return attempt.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Feeds the latency of a successful attempt to the hedge delay estimate.
+     */
+    private static <O> ResponseWrapper<O> timed(HedgePolicy hedge, Supplier<ResponseWrapper<O>> attempt) {
+        long attemptStart = System.nanoTime();
+        ResponseWrapper<O> result = attempt.get();
+        if (result.isSuccess()) {
+            hedge.record(System.nanoTime() - attemptStart);
+        }
+        return result;
+    }
+
+    private <O> ResponseWrapper<O> finish(String stepName, long start, ResponseWrapper<O> result, StepPolicy policy) {
+        long duration = metrics.stop(start, stepName, statusOf(result, policy));
+        if (result.isSuccess()) {
+            log.info("Step '{}' completed successfully{}", stepName,
+                StepMetrics.isStarted(start) ? " in " + duration + "ms" : "");
+        } else {
+            log.warn("Step '{}' failed{} with error: {}", stepName,
+                StepMetrics.isStarted(start) ? " in " + duration + "ms" : "", result.getError());
+        }
+        return result;
+    }
+
+    /**
+     * Runs the step on the executor and waits at most the remaining deadline. The guard permit, if any, is
+     * settled by the task when the step returns.
+     */
+    private <I, O> ResponseWrapper<O> runWithDeadline(String stepName, I input, Deadline deadline, StepGuard guard,
+                                                      long guardStart, BiFunction<I, Deadline, ResponseWrapper<O>> step) {
+        BoundedStep<I, O> task = new BoundedStep<>(stepName, input, deadline, guard, guardStart, step);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.reject();
+        }
+        return task.await();
+    }
+
+    private static RuntimeException rethrow(ExecutionException e) {
+        return rethrow(e.getCause());
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    static ErrorDetails executorSaturatedError(String stepName) {
+        return new ErrorDetails(StepGuard.BULKHEAD_FULL_ERROR_CODE,
+            "Step '" + stepName + "' rejected: no executor thread available");
+    }
+
+    static ErrorDetails timeoutError(String stepName) {
+        return new ErrorDetails(TIMEOUT_ERROR_CODE, "Step '" + stepName + "' did not complete before its deadline");
+    }
+
+    static StepMetrics.Status statusOf(ResponseWrapper<?> result, StepPolicy policy) {
+        if (result.isSuccess()) {
+            return StepMetrics.Status.SUCCESS;
+        }
+        if (policy.isRejection(result)) {
+            return StepMetrics.Status.REJECTED;
+        }
+        return result.getError() != null && TIMEOUT_ERROR_CODE.equals(result.getError().errorCode())
+            ? StepMetrics.Status.TIMEOUT : StepMetrics.Status.FAILURE;
+    }
+
+    /**
+     * A step run on the executor under a deadline. Exactly one side decides how the step ends: the task when
+     * the step returns first, or the caller when it stops waiting (timeout or interruption), in which case the
+     * running step is interrupted and its late result discarded. Either way the guard is settled by the task
+     * once the step has actually returned, so a bulkhead permit is held for as long as the step runs.
+     */
+    private static final class BoundedStep<I, O> implements Runnable {
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int INTERRUPTING = 3;
+        private static final int TIMED_OUT = 4;
+        private static final int CANCELLED = 5;
+
+        private final String stepName;
+        private final I input;
+        private final Deadline deadline;
+        private final StepGuard guard;
+        private final long guardStart;
+        private final BiFunction<I, Deadline, ResponseWrapper<O>> step;
+        private final Thread caller = Thread.currentThread();
+        private final CompletableFuture<ResponseWrapper<O>> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private volatile Thread runner;
+
+        BoundedStep(String stepName, I input, Deadline deadline, StepGuard guard, long guardStart,
+                    BiFunction<I, Deadline, ResponseWrapper<O>> step) {
+            this.stepName = stepName;
+            this.input = input;
+            this.deadline = deadline;
+            this.guard = guard;
+            this.guardStart = guardStart;
+            this.step = step;
+        }
+
+        @Override
+        public void run() {
+            if (Thread.currentThread() == caller) {
+                // Run by a saturated executor on the caller (CallerRunsPolicy): the deadline could not be enforced
+                reject();
+                return;
+            }
+            runner = Thread.currentThread();
+            if (!state.compareAndSet(PENDING, RUNNING)) {
+                // Abandoned while queued
+                runner = null;
+                settleAbandoned();
+                return;
+            }
+            try {
+                ResponseWrapper<O> value = step.apply(input, deadline);
+                if (state.compareAndSet(RUNNING, DONE)) {
+                    if (guard != null) {
+                        guard.onResult(guardStart, value);
+                    }
+                    result.complete(value);
+                } else {
+                    settleAbandoned();
+                }
+            } catch (RuntimeException | Error e) {
+                if (state.compareAndSet(RUNNING, DONE)) {
+                    if (guard != null) {
+                        guard.onException(guardStart);
+                    }
+                    result.completeExceptionally(e);
+                } else {
+                    settleAbandoned();
+                }
+            } finally {
+                runner = null;
+                while (state.get() == INTERRUPTING) {
+                    Thread.onSpinWait();
+                }
+                if (state.get() != DONE) {
+                    // Clear the interrupt sent by the caller, so it does not hit the next task of this thread
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        /**
+         * Fails the step without running it, when the executor has no thread for it.
+         */
+        void reject() {
+            if (state.compareAndSet(PENDING, DONE)) {
+                if (guard != null) {
+                    guard.onCancelled();
+                }
+                result.complete(ResponseWrapper.fail(executorSaturatedError(stepName)));
+            }
+        }
+
+        ResponseWrapper<O> await() {
+            try {
+                return result.get(Math.max(0L, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return abandon(TIMED_OUT) ? ResponseWrapper.fail(timeoutError(stepName)) : completed();
+            } catch (InterruptedException e) {
+                ResponseWrapper<O> outcome = abandon(CANCELLED) ? null : completed();
+                Thread.currentThread().interrupt();
+                return outcome != null ? outcome : ResponseWrapper.fail(new ErrorDetails(INTERRUPTED_ERROR_CODE,
+                    "Step '" + stepName + "' was interrupted while waiting for its result"));
+            } catch (ExecutionException e) {
+                throw rethrow(e);
+            }
+        }
+
+        /**
+         * Stops waiting for the step, interrupting it if it is running.
+         *
+         * @return false when the step completed first
+         */
+        private boolean abandon(int outcome) {
+            if (state.compareAndSet(PENDING, outcome)) {
+                return true;
+            }
+            if (!state.compareAndSet(RUNNING, INTERRUPTING)) {
+                return false;
+            }
+            Thread current = runner;
+            if (current != null) {
+                current.interrupt();
+            }
+            state.set(outcome);
+            return true;
+        }
+
+        /**
+         * Settles the guard of a step the caller stopped waiting for: an overrun counts as a failure,
+         * a caller interruption only releases the permit.
+         */
+        private void settleAbandoned() {
+            while (state.get() == INTERRUPTING) {
+                Thread.onSpinWait();
+            }
+            if (guard == null) {
+                return;
+            }
+            if (state.get() == TIMED_OUT) {
+                guard.onTimeout(guardStart);
+            } else {
+                guard.onCancelled();
+            }
+        }
+
+        private ResponseWrapper<O> completed() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * One attempt of a hedged call, announcing its completion on the shared queue.
+     */
+    private static final class HedgedAttempt<O> extends FutureTask<ResponseWrapper<O>> {
+        private final BlockingQueue<HedgedAttempt<O>> completions;
+
+        HedgedAttempt(Callable<ResponseWrapper<O>> call, BlockingQueue<HedgedAttempt<O>> completions) {
+            super(call);
+            this.completions = completions;
+        }
+
+        @Override
+        protected void done() {
+            completions.offer(this);
+        }
+
+        boolean succeeded() {
+            if (isCancelled()) {
+                return false;
+            }
+            try {
+                return get().isSuccess();
+            } catch (ExecutionException | InterruptedException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ebtedge.service.flow.core;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Memo of step results for the lifetime of one request.
+ *
+ * <p>A memoized step declares a cache key derived from its input (see
+ * {@link WorkflowPipeline#nextMemoizedStep} and {@link WorkflowDefinition.Builder#memoizedStep}); a later
+ * execution of a step with the same name and key within the same request reuses the earlier
+ * {@link ResponseWrapper} instead of calling the backend again. Entries hold the in-flight call, so
+ * identical calls made concurrently by workflows on other threads that share the cache also share one
+ * execution; the later callers wait for it within their deadline. Branches of a
+ * {@link WorkflowPipeline#nextStepsParallel parallel step} are plain functions and are not memoized.
+ *
+ * <p>Only successful results are kept: a failure or exception is handed to the callers that were
+ * waiting for it and then dropped, so a later step may try again.
+ *
+ * <p>A pipeline creates its cache on the first memoized step. To share one cache between several
+ * workflows of the same request, create it explicitly and pass it to
+ * {@link WorkflowPipelineFactory#startWith(Object, RequestCache)} or
+ * {@link WorkflowDefinition#execute(Object, RequestCache)}. A cache must not outlive its request.
+ */
+public final class RequestCache {
+
+    private final Map<Key, CompletableFuture<ResponseWrapper<?>>> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    public static RequestCache create() {
+        return new RequestCache();
+    }
+
+    /**
+     * Number of step executions served from the cache, i.e. backend calls saved in this request.
+     */
+    public int hits() {
+        return hits.get();
+    }
+
+    public int misses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Registers {@code pending} as the call for the key unless one is already present.
+     *
+     * @return the existing entry (a hit), or null when the caller must execute the step and complete {@code pending}
+     */
+    CompletableFuture<ResponseWrapper<?>> claim(String stepName, Object key, CompletableFuture<ResponseWrapper<?>> pending) {
+        CompletableFuture<ResponseWrapper<?>> existing = entries.putIfAbsent(new Key(stepName, key), pending);
+        (existing != null ? hits : misses).incrementAndGet();
+        return existing;
+    }
+
+    void evict(String stepName, Object key, CompletableFuture<ResponseWrapper<?>> pending) {
+        entries.remove(new Key(stepName, key), pending);
+    }
+
+    private record Key(String stepName, Object key) {
+    }
+}
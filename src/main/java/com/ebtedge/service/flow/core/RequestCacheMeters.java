@@ -0,0 +1,40 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hit and miss counters of memoized steps, {@code workflow.step.cache} tagged {@code step} and
+ * {@code result=hit|miss}. The hit count is the number of backend calls the request caches saved.
+ */
+final class RequestCacheMeters {
+
+    static final String CACHE_METRIC = "workflow.step.cache";
+
+    private final ServiceFlowProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    RequestCacheMeters(ServiceFlowProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    void record(String stepName, boolean hit) {
+        if (!properties.isMetricsEnabled()) {
+            return;
+        }
+        counters.computeIfAbsent(stepName, this::register)[hit ? 0 : 1].increment();
+    }
+
+    private Counter[] register(String stepName) {
+        return new Counter[] {
+            Counter.builder(CACHE_METRIC).tag("step", stepName).tag("result", "hit").register(meterRegistry),
+            Counter.builder(CACHE_METRIC).tag("step", stepName).tag("result", "miss").register(meterRegistry)
+        };
+    }
+}
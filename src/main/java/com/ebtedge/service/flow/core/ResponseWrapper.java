@@ -23,7 +23,7 @@ public class ResponseWrapper<T> {
 
     /**
      * Map the successful value to a new type. If the wrapper represents a failure,
-     * the error is propagated without applying the mapper.
+     * the error is propagated without applying the mapper (and without allocating).
      *
      * @param mapper Function to transform the success value
      * @param <R> The new type
@@ -31,7 +31,7 @@ public class ResponseWrapper<T> {
      */
     public <R> ResponseWrapper<R> map(Function<T, R> mapper) {
         return success ? ResponseWrapper.success(mapper.apply(data))
-                       : ResponseWrapper.fail(error);
+                       : propagateFailure();
     }
 
     /**
@@ -44,7 +44,15 @@ public class ResponseWrapper<T> {
      */
     public <R> ResponseWrapper<R> flatMap(Function<T, ResponseWrapper<R>> mapper) {
         return success ? mapper.apply(data)
-                       : ResponseWrapper.fail(error);
+                       : propagateFailure();
+    }
+
+    /**
+     * A failure carries no data, so it can stand in for a failure of any type.
+     */
+    @SuppressWarnings("unchecked")
+    private <R> ResponseWrapper<R> propagateFailure() {
+        return (ResponseWrapper<R>) this;
     }
 
     /**
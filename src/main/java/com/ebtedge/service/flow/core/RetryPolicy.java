@@ -0,0 +1,56 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.RetryConfig;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry settings of one step: which outcomes are retried and how long to back off in between.
+ *
+ * <p>The backoff grows exponentially from {@code initialBackoff} up to {@code maxBackoff}; the
+ * {@code jitter} fraction of it is randomized so that callers failing together do not retry in lockstep.
+ */
+final class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final double backoffMultiplier;
+    private final long maxBackoffNanos;
+    private final double jitter;
+    private final Set<String> retryOnErrorCodes;
+    private final boolean retryOnException;
+
+    RetryPolicy(RetryConfig config) {
+        this.maxAttempts = Math.max(1, config.getMaxAttempts());
+        this.initialBackoffNanos = Math.max(0, config.getInitialBackoff().toNanos());
+        this.backoffMultiplier = Math.max(1.0, config.getBackoffMultiplier());
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, config.getMaxBackoff().toNanos());
+        this.jitter = Math.min(1.0, Math.max(0.0, config.getJitter()));
+        this.retryOnErrorCodes = Set.copyOf(config.getRetryOnErrorCodes());
+        this.retryOnException = config.isRetryOnException();
+    }
+
+    int maxAttempts() {
+        return maxAttempts;
+    }
+
+    boolean isRetryable(ResponseWrapper<?> result) {
+        return !result.isSuccess() && result.getError() != null
+            && retryOnErrorCodes.contains(result.getError().errorCode());
+    }
+
+    boolean retryOnException() {
+        return retryOnException;
+    }
+
+    /**
+     * Returns the jittered backoff before the given retry.
+     *
+     * @param retry 1 for the first retry (i.e. the second attempt)
+     */
+    long backoffNanos(int retry) {
+        double backoff = Math.min(maxBackoffNanos, initialBackoffNanos * Math.pow(backoffMultiplier, retry - 1));
+        return (long) (backoff * (1.0 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.domain.ErrorDetails;
+
+import java.util.Set;
+
+/**
+ * Circuit breaker and bulkhead of one step, either of which may be absent.
+ *
+ * <p>Usage around a step execution:
+ * <pre>
+ * ErrorDetails rejection = guard.tryAcquire();
+ * if (rejection != null) return ResponseWrapper.fail(rejection);
+ * long start = System.nanoTime();
+ * try {
+ *     result = step.apply(data);
+ *     guard.onResult(start, result);
+ * } catch (RuntimeException e) {
+ *     guard.onException(start);
+ *     throw e;
+ * }
+ * </pre>
+ * A step run on an executor settles its guard when it actually returns, not when the caller stops waiting,
+ * so the bulkhead keeps counting it while it runs; an overrun is recorded with {@link #onTimeout}.
+ * Rejections return pre-built {@link ErrorDetails}, so an open circuit fails fast without allocating.
+ */
+final class StepGuard {
+
+    static final String CIRCUIT_OPEN_ERROR_CODE = "CIRCUIT_OPEN";
+    static final String BULKHEAD_FULL_ERROR_CODE = "BULKHEAD_FULL";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Set<String> ignoredErrorCodes;
+    private final ErrorDetails circuitOpenError;
+    private final ErrorDetails bulkheadFullError;
+
+    StepGuard(String stepName, CircuitBreaker circuitBreaker, Bulkhead bulkhead, Set<String> ignoredErrorCodes) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.ignoredErrorCodes = ignoredErrorCodes;
+        this.circuitOpenError = new ErrorDetails(CIRCUIT_OPEN_ERROR_CODE,
+            "Step '" + stepName + "' rejected: circuit breaker is open");
+        this.bulkheadFullError = new ErrorDetails(BULKHEAD_FULL_ERROR_CODE,
+            "Step '" + stepName + "' rejected: maximum concurrent calls reached");
+    }
+
+    /**
+     * Acquires permission to run the step.
+     *
+     * @return null when the step may run, otherwise the rejection error
+     */
+    ErrorDetails tryAcquire() {
+        if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+            return circuitOpenError;
+        }
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            if (circuitBreaker != null) {
+                circuitBreaker.releasePermission();
+            }
+            return bulkheadFullError;
+        }
+        return null;
+    }
+
+    void onResult(long startNanos, ResponseWrapper<?> result) {
+        complete(startNanos, !result.isSuccess() && !isIgnored(result.getError()));
+    }
+
+    void onException(long startNanos) {
+        complete(startNanos, true);
+    }
+
+    /**
+     * Records a step that overran its deadline as a failure, once it has returned.
+     */
+    void onTimeout(long startNanos) {
+        complete(startNanos, true);
+    }
+
+    /**
+     * Releases the permission of an attempt that was cancelled (e.g. the losing attempt of a hedged call)
+     * without recording it as an outcome.
+     */
+    void onCancelled() {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+        if (circuitBreaker != null) {
+            circuitBreaker.releasePermission();
+        }
+    }
+
+    /**
+     * Whether the error is one of this guard's own rejections, as opposed to a failure of the step.
+     */
+    boolean isRejection(ErrorDetails error) {
+        return error == circuitOpenError || error == bulkheadFullError;
+    }
+
+    CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    private void complete(long startNanos, boolean failed) {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+        if (circuitBreaker != null) {
+            circuitBreaker.onResult(System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    private boolean isIgnored(ErrorDetails error) {
+        return error != null && ignoredErrorCodes.contains(error.errorCode());
+    }
+}
@@ -0,0 +1,114 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Step timer handling shared by the synchronous and asynchronous pipelines.
+ * Keeps the metric name, tags and the metrics-enabled switch in one place so both
+ * pipeline flavours export identical {@code workflow.step.latency} series.
+ *
+ * <p>Timers are resolved once per (metric name, step, status) and cached, so the hot path is two
+ * map lookups and an array read instead of a {@code Timer.builder(...).register(...)} call with its
+ * builder, tag and registry lookup allocations. Timings are taken from the registry clock directly
+ * rather than through a {@link Timer.Sample}.
+ *
+ * <p>Steps configured under {@code service-flow.steps} are known when the factory is created, so their
+ * timers are registered up front for every status. Pipeline steps are otherwise only named when they run,
+ * so any other step's timers are registered on first use; {@link WorkflowDefinition} binds its own when built.
+ */
+final class StepMetrics {
+
+    /**
+     * Returned by {@link #start()} when metrics are disabled.
+     */
+    static final long NOT_STARTED = Long.MIN_VALUE;
+
+    enum Status {
+        SUCCESS, FAILURE, EXCEPTION, TIMEOUT, REJECTED
+    }
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final ServiceFlowProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, Map<String, AtomicReferenceArray<Timer>>> timers = new ConcurrentHashMap<>();
+
+    StepMetrics(ServiceFlowProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = meterRegistry.config().clock();
+        if (properties.isMetricsEnabled()) {
+            for (String stepName : properties.getSteps().keySet()) {
+                for (Status status : STATUSES) {
+                    timer(stepName, status);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts timing a step, or returns {@link #NOT_STARTED} when metrics are disabled.
+     */
+    long start() {
+        return properties.isMetricsEnabled() ? clock.monotonicTime() : NOT_STARTED;
+    }
+
+    static boolean isStarted(long start) {
+        return start != NOT_STARTED;
+    }
+
+    /**
+     * Records the elapsed time against the step timer for the given status.
+     *
+     * @return the elapsed time in milliseconds, or 0 when timing was not started
+     */
+    long stop(long start, String stepName, Status status) {
+        if (start == NOT_STARTED) {
+            return 0;
+        }
+        return stop(start, timer(stepName, status));
+    }
+
+    /**
+     * Records the elapsed time against an already resolved timer.
+     *
+     * @return the elapsed time in milliseconds, or 0 when timing was not started
+     */
+    long stop(long start, Timer timer) {
+        if (start == NOT_STARTED) {
+            return 0;
+        }
+        long elapsed = clock.monotonicTime() - start;
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    /**
+     * Returns the cached timer for the step and status, registering it on first use.
+     */
+    Timer timer(String stepName, Status status) {
+        String metricName = properties.getMetricName();
+        AtomicReferenceArray<Timer> byStatus = timers
+                .computeIfAbsent(metricName, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(stepName, name -> new AtomicReferenceArray<>(STATUSES.length));
+        Timer timer = byStatus.get(status.ordinal());
+        if (timer == null) {
+            // Registration is idempotent, so a racing thread ends up with the same meter
+            timer = Timer.builder(metricName)
+                    .tag("step", stepName)
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+            byStatus.set(status.ordinal(), timer);
+        }
+        return timer;
+    }
+}
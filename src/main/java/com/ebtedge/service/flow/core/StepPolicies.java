@@ -0,0 +1,135 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.StepConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the resilience policies configured under {@code service-flow.steps.<stepName>} into one
+ * {@link StepPolicy} per step name, created on first use and shared by every pipeline of the runtime.
+ * Pipelines started without a factory share the instance returned by {@link #shared}.
+ *
+ * <p>Exported meters (tag {@code step}):
+ * <ul>
+ *   <li>{@code workflow.step.circuit.state}: 0 = closed, 1 = open, 2 = half-open</li>
+ *   <li>{@code workflow.step.bulkhead.available}: free concurrent call slots</li>
+ *   <li>{@code workflow.step.attempts}: extra attempts, tagged {@code type=retry|hedge}</li>
+ *   <li>{@code workflow.step.hedge.wins}: hedged calls by first successful attempt,
+ *       tagged {@code winner=primary|hedge}</li>
+ * </ul>
+ */
+@Slf4j
+final class StepPolicies {
+
+    static final String CIRCUIT_STATE_METRIC = "workflow.step.circuit.state";
+    static final String BULKHEAD_AVAILABLE_METRIC = "workflow.step.bulkhead.available";
+    static final String ATTEMPTS_METRIC = "workflow.step.attempts";
+    static final String HEDGE_WINS_METRIC = "workflow.step.hedge.wins";
+
+    /**
+     * Policies of pipelines started without a factory, per properties instance (compared by identity and held
+     * weakly) and registry. Instances must not reference the properties, which would keep their key alive.
+     */
+    private static final Cache<ServiceFlowProperties, Map<MeterRegistry, StepPolicies>> SHARED =
+        Caffeine.newBuilder().weakKeys().build();
+
+    private final Map<String, StepConfig> steps;
+    private final boolean metricsEnabled;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, StepPolicy> policies = new ConcurrentHashMap<>();
+
+    StepPolicies(ServiceFlowProperties properties, MeterRegistry meterRegistry) {
+        this.steps = properties.getSteps();
+        this.metricsEnabled = properties.isMetricsEnabled();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the policies shared by every pipeline started with these properties and registry, so their
+     * circuit breakers and bulkheads keep their state across requests and export one set of gauges.
+     */
+    static StepPolicies shared(ServiceFlowProperties properties, MeterRegistry meterRegistry) {
+        return SHARED.get(properties, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(meterRegistry, registry -> new StepPolicies(properties, registry));
+    }
+
+    /**
+     * Returns the policies of the step, or {@link StepPolicy#NONE} when none are configured for it.
+     */
+    StepPolicy forStep(String stepName) {
+        StepPolicy policy = policies.get(stepName);
+        if (policy == null) {
+            policy = policies.computeIfAbsent(stepName, this::create);
+        }
+        return policy;
+    }
+
+    /**
+     * Returns the guard of the step, or null when no circuit breaker or bulkhead is configured for it.
+     */
+    StepGuard guard(String stepName) {
+        return forStep(stepName).guard;
+    }
+
+    private StepPolicy create(String stepName) {
+        StepConfig config = steps.get(stepName);
+        if (config == null) {
+            return StepPolicy.NONE;
+        }
+        CircuitBreaker circuitBreaker = config.getCircuitBreaker().isEnabled()
+            ? new CircuitBreaker(stepName, config.getCircuitBreaker()) : null;
+        Bulkhead bulkhead = config.getBulkhead().isEnabled() ? new Bulkhead(config.getBulkhead()) : null;
+        RetryPolicy retry = config.getRetry().isEnabled() ? new RetryPolicy(config.getRetry()) : null;
+        HedgePolicy hedge = config.getHedge().isEnabled() ? new HedgePolicy(config.getHedge()) : null;
+        if (circuitBreaker == null && bulkhead == null && retry == null && hedge == null) {
+            return StepPolicy.NONE;
+        }
+
+        log.info("Resilience policies for step '{}': circuitBreaker={}, bulkhead={}, retry={}, hedge={}", stepName,
+            circuitBreaker != null, bulkhead != null ? bulkhead.maxConcurrentCalls() + " concurrent calls" : "false",
+            retry != null ? retry.maxAttempts() + " attempts" : "false", hedge != null);
+        StepGuard guard = circuitBreaker != null || bulkhead != null
+            ? new StepGuard(stepName, circuitBreaker, bulkhead, Set.copyOf(config.getCircuitBreaker().getIgnoredErrorCodes()))
+            : null;
+        if (!metricsEnabled) {
+            return new StepPolicy(guard, retry, hedge, null, null, null, null);
+        }
+        registerGauges(stepName, circuitBreaker, bulkhead);
+        return new StepPolicy(guard, retry, hedge,
+            retry != null ? counter(ATTEMPTS_METRIC, stepName, "type", "retry") : null,
+            hedge != null ? counter(ATTEMPTS_METRIC, stepName, "type", "hedge") : null,
+            hedge != null ? counter(HEDGE_WINS_METRIC, stepName, "winner", "primary") : null,
+            hedge != null ? counter(HEDGE_WINS_METRIC, stepName, "winner", "hedge") : null);
+    }
+
+    private void registerGauges(String stepName, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        if (circuitBreaker != null) {
+            Gauge.builder(CIRCUIT_STATE_METRIC, circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("Circuit breaker state: 0 = closed, 1 = open, 2 = half-open")
+                .tag("step", stepName)
+                .register(meterRegistry);
+        }
+        if (bulkhead != null) {
+            Gauge.builder(BULKHEAD_AVAILABLE_METRIC, bulkhead, Bulkhead::availableConcurrentCalls)
+                .description("Free concurrent call slots of the step bulkhead")
+                .tag("step", stepName)
+                .register(meterRegistry);
+        }
+    }
+
+    private Counter counter(String name, String stepName, String tag, String value) {
+        return Counter.builder(name)
+            .tag("step", stepName)
+            .tag(tag, value)
+            .register(meterRegistry);
+    }
+}
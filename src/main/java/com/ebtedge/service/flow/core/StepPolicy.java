@@ -0,0 +1,58 @@
+package com.ebtedge.service.flow.core;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * The resilience policies of one step, any of which may be absent, together with the counters
+ * of the extra attempts they cause. {@link #NONE} stands for an unconfigured step.
+ */
+final class StepPolicy {
+
+    static final StepPolicy NONE = new StepPolicy(null, null, null, null, null, null, null);
+
+    final StepGuard guard;
+    final RetryPolicy retry;
+    final HedgePolicy hedge;
+
+    private final Counter retries;
+    private final Counter hedges;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    StepPolicy(StepGuard guard, RetryPolicy retry, HedgePolicy hedge,
+               Counter retries, Counter hedges, Counter primaryWins, Counter hedgeWins) {
+        this.guard = guard;
+        this.retry = retry;
+        this.hedge = hedge;
+        this.retries = retries;
+        this.hedges = hedges;
+        this.primaryWins = primaryWins;
+        this.hedgeWins = hedgeWins;
+    }
+
+    boolean isRejection(ResponseWrapper<?> result) {
+        return guard != null && !result.isSuccess() && guard.isRejection(result.getError());
+    }
+
+    void onRetry() {
+        if (retries != null) {
+            retries.increment();
+        }
+    }
+
+    void onHedge() {
+        if (hedges != null) {
+            hedges.increment();
+        }
+    }
+
+    /**
+     * Records which attempt of a hedged call answered successfully first.
+     */
+    void onWin(boolean hedged) {
+        Counter wins = hedged ? hedgeWins : primaryWins;
+        if (wins != null) {
+            wins.increment();
+        }
+    }
+}
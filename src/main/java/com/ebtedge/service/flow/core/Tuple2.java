@@ -0,0 +1,7 @@
+package com.ebtedge.service.flow.core;
+
+/**
+ * Typed result of joining two parallel steps.
+ */
+public record Tuple2<A, B>(A first, B second) {
+}
@@ -0,0 +1,7 @@
+package com.ebtedge.service.flow.core;
+
+/**
+ * Typed result of joining three parallel steps.
+ */
+public record Tuple3<A, B, C>(A first, B second, C third) {
+}
@@ -0,0 +1,260 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.exception.WorkflowException;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A workflow assembled once and executed many times.
+ *
+ * <p>Where {@link WorkflowPipeline} rebuilds its chain of lambdas and intermediate pipeline objects on
+ * every request, a definition is built at startup (typically in a service constructor) and keeps its
+ * steps in a flat array with their success and failure timers already registered. {@link #execute(Object)}
+ * runs a single loop over that array, allocating nothing beyond what the steps themselves return.
+ * Semantics match the pipeline: a failed step short-circuits the remaining steps, exceptions propagate
+ * after being recorded with {@code status=EXCEPTION}, and peeks only see successful values.
+ *
+ * <pre>
+ * private final WorkflowDefinition&lt;String, UIResponse&gt; profileWorkflow = pipelineFactory
+ *     .define("Profile", String.class)
+ *     .step("FetchBalance", serviceA::getBalance)
+ *     .step("FetchDemographics", this::fetchDemographics)
+ *     .map(data -&gt; new UIResponse(data.balance(), data.demographics()))
+ *     .build();
+ *
+ * UIResponse response = profileWorkflow.executeOrThrow(accountId).result();
+ * </pre>
+ *
+ * <p>Timers and step policies are bound when the definition is built, so a later change of the configured
+ * metric name does not apply to existing definitions. A definition is immutable and safe to share between threads.
+ *
+ * @param <I> the input type
+ * @param <O> the output type
+ */
+@Slf4j
+public final class WorkflowDefinition<I, O> {
+
+    private final String name;
+    private final CompiledStep[] steps;
+    private final PipelineRuntime runtime;
+
+    private WorkflowDefinition(String name, CompiledStep[] steps, PipelineRuntime runtime) {
+        this.name = name;
+        this.steps = steps;
+        this.runtime = runtime;
+    }
+
+    static <I> Builder<I, I> builder(String name, PipelineRuntime runtime) {
+        return new Builder<>(name, runtime);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Runs the workflow for one input.
+     *
+     * @param input the workflow input
+     * @return the successful output, or the error of the first failed step
+     */
+    public ResponseWrapper<O> execute(I input) {
+        return execute(input, null);
+    }
+
+    /**
+     * Runs the workflow for one input, sharing memoized step results with the other workflows of the request.
+     *
+     * @param input the workflow input
+     * @param requestCache cache of the current request; null to create one on the first memoized step
+     * @return the successful output, or the error of the first failed step
+     */
+    public ResponseWrapper<O> execute(I input, RequestCache requestCache) {
+        Object data = input;
+        RequestCache cache = requestCache;
+        for (CompiledStep step : steps) {
+            switch (step.kind) {
+                case STEP -> {
+                    ResponseWrapper<Object> result;
+                    if (step.cacheKey == null) {
+                        result = run(step, data);
+                    } else {
+                        if (cache == null) {
+                            cache = RequestCache.create();
+                        }
+                        Object current = data;
+                        result = runtime.memoize(cache, step.name, step.cacheKey.apply(current), Deadline.none(),
+                            () -> run(step, current));
+                    }
+                    if (!result.isSuccess()) {
+                        return WorkflowPipeline.cast(result);
+                    }
+                    data = result.getData();
+                }
+                case PEEK -> step.action.accept(data);
+                case MAP -> data = step.mapper.apply(data);
+            }
+        }
+        return ResponseWrapper.success(WorkflowPipeline.cast(data));
+    }
+
+    /**
+     * Runs the workflow and unwraps the output, the equivalent of {@link WorkflowPipeline#mapToUI}.
+     *
+     * @throws WorkflowException when a step failed
+     */
+    public WorkflowResult<O> executeOrThrow(I input) {
+        ResponseWrapper<O> result = execute(input);
+        if (!result.isSuccess()) {
+            log.error("Workflow '{}' failed, throwing WorkflowException: {}", name, result.getError());
+            throw new WorkflowException(result.getError());
+        }
+        return new WorkflowResult<>(result.getData(), runtime.properties, runtime.kafkaPublishingService);
+    }
+
+    private ResponseWrapper<Object> run(CompiledStep step, Object data) {
+        log.info("Executing workflow step: {}", step.name);
+        StepMetrics metrics = runtime.metrics;
+        long start = metrics.start();
+        try {
+            ResponseWrapper<Object> result = step.policy == StepPolicy.NONE
+                ? step.step.apply(data, Deadline.none())
+                : runtime.invoke(step.policy, step.name, data, Deadline.none(), true, step.step);
+            if (result.isSuccess()) {
+                long duration = step.successTimer != null
+                    ? metrics.stop(start, step.successTimer)
+                    : metrics.stop(start, step.name, StepMetrics.Status.SUCCESS);
+                log.info("Step '{}' completed successfully{}", step.name,
+                    StepMetrics.isStarted(start) ? " in " + duration + "ms" : "");
+            } else {
+                StepMetrics.Status status = PipelineRuntime.statusOf(result, step.policy);
+                long duration = status == StepMetrics.Status.FAILURE && step.failureTimer != null
+                    ? metrics.stop(start, step.failureTimer)
+                    : metrics.stop(start, step.name, status);
+                log.warn("Step '{}' failed{} with error: {}", step.name,
+                    StepMetrics.isStarted(start) ? " in " + duration + "ms" : "", result.getError());
+            }
+            return result;
+        } catch (RuntimeException e) {
+            metrics.stop(start, step.name, StepMetrics.Status.EXCEPTION);
+            log.error("Step '{}' threw exception: {}", step.name, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    private enum Kind {
+        STEP, PEEK, MAP
+    }
+
+    /**
+     * One entry of the flat step array. A single final class keeps the execution loop monomorphic.
+     */
+    private static final class CompiledStep {
+        final Kind kind;
+        final String name;
+        final BiFunction<Object, Deadline, ResponseWrapper<Object>> step;
+        final Consumer<Object> action;
+        final Function<Object, Object> mapper;
+        final Timer successTimer;
+        final Timer failureTimer;
+        final StepPolicy policy;
+        final Function<Object, Object> cacheKey;
+
+        private CompiledStep(Kind kind, String name, BiFunction<Object, Deadline, ResponseWrapper<Object>> step,
+                             Consumer<Object> action, Function<Object, Object> mapper,
+                             Timer successTimer, Timer failureTimer, StepPolicy policy,
+                             Function<Object, Object> cacheKey) {
+            this.kind = kind;
+            this.name = name;
+            this.step = step;
+            this.action = action;
+            this.mapper = mapper;
+            this.successTimer = successTimer;
+            this.failureTimer = failureTimer;
+            this.policy = policy;
+            this.cacheKey = cacheKey;
+        }
+    }
+
+    /**
+     * Builder obtained from {@link WorkflowPipelineFactory#define(String, Class)}.
+     *
+     * @param <I> the workflow input type
+     * @param <T> the type produced by the steps added so far
+     */
+    public static final class Builder<I, T> {
+        private final String name;
+        private final PipelineRuntime runtime;
+        private final List<CompiledStep> steps = new ArrayList<>();
+
+        private Builder(String name, PipelineRuntime runtime) {
+            this.name = Objects.requireNonNull(name, "name cannot be null");
+            this.runtime = runtime;
+        }
+
+        /**
+         * Appends a timed step, run under the resilience policies configured for its name.
+         */
+        public <N> Builder<I, N> step(String stepName, Function<T, ResponseWrapper<N>> step) {
+            return addStep(stepName, step, null);
+        }
+
+        /**
+         * Appends a timed step whose successful result is reused by later steps with the same name and key
+         * in the same request, see {@link RequestCache}.
+         *
+         * @param cacheKey derives the key identifying the backend call from the current value
+         */
+        public <N> Builder<I, N> memoizedStep(String stepName, Function<T, ?> cacheKey,
+                                              Function<T, ResponseWrapper<N>> step) {
+            return addStep(stepName, step, Objects.requireNonNull(cacheKey, "cacheKey cannot be null"));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <N> Builder<I, N> addStep(String stepName, Function<T, ResponseWrapper<N>> step, Function<T, ?> cacheKey) {
+            Objects.requireNonNull(stepName, "stepName cannot be null");
+            Objects.requireNonNull(step, "step cannot be null");
+            boolean bindTimers = runtime.properties.isMetricsEnabled();
+            Function<Object, ResponseWrapper<Object>> function =
+                (Function<Object, ResponseWrapper<Object>>) (Function<?, ?>) step;
+            steps.add(new CompiledStep(Kind.STEP, stepName, (data, deadline) -> function.apply(data), null, null,
+                bindTimers ? runtime.metrics.timer(stepName, StepMetrics.Status.SUCCESS) : null,
+                bindTimers ? runtime.metrics.timer(stepName, StepMetrics.Status.FAILURE) : null,
+                runtime.policies.forStep(stepName),
+                (Function<Object, Object>) (Function<?, ?>) cacheKey));
+            return (Builder<I, N>) this;
+        }
+
+        /**
+         * Appends a side effect on the current value, skipped once a step has failed.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<I, T> peek(Consumer<T> action) {
+            Objects.requireNonNull(action, "action cannot be null");
+            steps.add(new CompiledStep(Kind.PEEK, null, null, (Consumer<Object>) action, null, null, null, StepPolicy.NONE, null));
+            return this;
+        }
+
+        /**
+         * Appends an untimed transformation that cannot fail, such as the final mapping to the UI type.
+         */
+        @SuppressWarnings("unchecked")
+        public <R> Builder<I, R> map(Function<T, R> mapper) {
+            Objects.requireNonNull(mapper, "mapper cannot be null");
+            steps.add(new CompiledStep(Kind.MAP, null, null, null, (Function<Object, Object>) mapper, null, null, StepPolicy.NONE, null));
+            return (Builder<I, R>) this;
+        }
+
+        public WorkflowDefinition<I, T> build() {
+            log.debug("Built workflow definition '{}' with {} step(s)", name, steps.size());
+            return new WorkflowDefinition<>(name, steps.toArray(new CompiledStep[0]), runtime);
+        }
+    }
+}
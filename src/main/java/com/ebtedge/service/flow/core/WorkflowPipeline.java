@@ -5,7 +5,16 @@ import com.ebtedge.service.flow.event.KafkaEventPublishingService;
 import com.ebtedge.service.flow.exception.WorkflowException;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
-import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
@@ -13,15 +22,17 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class WorkflowPipeline<T> {
     private final ResponseWrapper<T> currentResult;
-    private final ServiceFlowProperties properties;
-    private final MeterRegistry meterRegistry;
-    private final KafkaEventPublishingService kafkaPublishingService;
+    private final PipelineRuntime runtime;
+    private final Deadline deadline;
+    // Created by the first memoized step unless supplied at start
+    private final RequestCache requestCache;
 
-    private WorkflowPipeline(ResponseWrapper<T> result, ServiceFlowProperties properties, MeterRegistry meterRegistry, KafkaEventPublishingService kafkaPublishingService) {
+    private WorkflowPipeline(ResponseWrapper<T> result, PipelineRuntime runtime, Deadline deadline,
+                             RequestCache requestCache) {
         this.currentResult = result;
-        this.properties = properties;
-        this.meterRegistry = meterRegistry;
-        this.kafkaPublishingService = kafkaPublishingService;
+        this.runtime = runtime;
+        this.deadline = deadline;
+        this.requestCache = requestCache;
     }
 
     /**
@@ -36,8 +47,24 @@ public class WorkflowPipeline<T> {
      * @return A new WorkflowPipeline instance
      */
     public static <T> WorkflowPipeline<T> startWith(T initialData, ServiceFlowProperties properties, MeterRegistry meterRegistry, KafkaEventPublishingService kafkaPublishingService) {
-        log.debug("Starting workflow pipeline with initial data: {}", initialData);
-        return new WorkflowPipeline<>(ResponseWrapper.success(initialData), properties, meterRegistry, kafkaPublishingService);
+        return startWith(initialData, properties, meterRegistry, kafkaPublishingService, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Start a new workflow pipeline whose parallel and time-bounded steps run on the given executor.
+     * Circuit breakers and bulkheads configured under {@code service-flow.steps} are shared by every
+     * pipeline started with the same {@code properties} instance and registry.
+     *
+     * @param initialData The starting data
+     * @param properties Configuration properties
+     * @param meterRegistry Metrics registry
+     * @param kafkaPublishingService Kafka event publishing service (nullable)
+     * @param executor Executor used by nextStepsParallel branches and steps with a deadline
+     * @param <T> The type of the initial data
+     * @return A new WorkflowPipeline instance
+     */
+    public static <T> WorkflowPipeline<T> startWith(T initialData, ServiceFlowProperties properties, MeterRegistry meterRegistry, KafkaEventPublishingService kafkaPublishingService, Executor executor) {
+        return start(initialData, PipelineRuntime.standalone(properties, meterRegistry, kafkaPublishingService, executor), Deadline.none());
     }
 
     /**
@@ -52,64 +79,209 @@ public class WorkflowPipeline<T> {
     @Deprecated
     public static <T> WorkflowPipeline<T> startWith(T initialData) {
         log.debug("Starting workflow pipeline with initial data (deprecated method): {}", initialData);
-        ServiceFlowProperties defaultProps = new ServiceFlowProperties();
-        return new WorkflowPipeline<>(ResponseWrapper.success(initialData), defaultProps, Metrics.globalRegistry, null);
+        return new WorkflowPipeline<>(ResponseWrapper.success(initialData),
+                PipelineRuntime.standalone(DefaultProperties.INSTANCE, Metrics.globalRegistry, null, ForkJoinPool.commonPool()),
+                Deadline.none(), null);
+    }
+
+    static <T> WorkflowPipeline<T> start(T initialData, PipelineRuntime runtime, Deadline deadline) {
+        return start(initialData, runtime, deadline, null);
+    }
+
+    static <T> WorkflowPipeline<T> start(T initialData, PipelineRuntime runtime, Deadline deadline,
+                                         RequestCache requestCache) {
+        log.debug("Starting workflow pipeline with initial data: {}, {}", initialData, deadline);
+        return new WorkflowPipeline<>(ResponseWrapper.success(initialData), runtime, deadline, requestCache);
     }
 
     public <Next> WorkflowPipeline<Next> nextStep(String stepName, Function<T, ResponseWrapper<Next>> step) {
         if (!currentResult.isSuccess()) {
-            log.debug("Skipping step '{}' due to previous failure: {}", stepName, currentResult.getError());
-            return new WorkflowPipeline<>(ResponseWrapper.fail(currentResult.getError()), properties, meterRegistry, kafkaPublishingService);
+            return skip(stepName);
         }
+        return execute(stepName, null, false, (data, stepDeadline) -> step.apply(data));
+    }
 
-        log.info("Executing workflow step: {}", stepName);
-
-        // Only record metrics if enabled
-        Timer.Sample sample = properties.isMetricsEnabled()
-            ? Timer.start(meterRegistry)
-            : null;
-
-        try {
-            ResponseWrapper<Next> nextResult = step.apply(currentResult.getData());
-
-            // Record metrics if enabled (deduplicated timer creation)
-            long duration = 0;
-            if (sample != null) {
-                String status = nextResult.isSuccess() ? "SUCCESS" : "FAILURE";
-                Timer timer = Timer.builder(properties.getMetricName())
-                        .tag("step", stepName)
-                        .tag("status", status)
-                        .register(meterRegistry);
-                duration = (long) sample.stop(timer);
-            }
+    /**
+     * Chain a step that must complete within {@code timeout} (and within the pipeline deadline, if any).
+     * An overrun cancels the step and fails the pipeline with a {@code TIMEOUT} error.
+     *
+     * @param stepName Name used for logging and the step timer
+     * @param timeout Maximum time the step may take
+     * @param step The step function
+     * @param <Next> The type produced by the step
+     * @return A new pipeline holding the step result
+     */
+    public <Next> WorkflowPipeline<Next> nextStep(String stepName, Duration timeout, Function<T, ResponseWrapper<Next>> step) {
+        if (!currentResult.isSuccess()) {
+            return skip(stepName);
+        }
+        return execute(stepName, timeout, false, (data, stepDeadline) -> step.apply(data));
+    }
+
+    /**
+     * Chain a deadline-aware step. The step receives the remaining pipeline budget so it can bound
+     * its own downstream calls.
+     *
+     * @param stepName Name used for logging and the step timer
+     * @param step The step function, receiving the current value and the effective deadline
+     * @param <Next> The type produced by the step
+     * @return A new pipeline holding the step result
+     */
+    public <Next> WorkflowPipeline<Next> nextStep(String stepName, BiFunction<T, Deadline, ResponseWrapper<Next>> step) {
+        return execute(stepName, null, false, step);
+    }
+
+    /**
+     * Chain a deadline-aware step with its own timeout. The step receives the effective deadline:
+     * the earlier of the pipeline deadline and {@code timeout} from now.
+     *
+     * @see #nextStep(String, Duration, Function)
+     */
+    public <Next> WorkflowPipeline<Next> nextStep(String stepName, Duration timeout, BiFunction<T, Deadline, ResponseWrapper<Next>> step) {
+        return execute(stepName, timeout, false, step);
+    }
+
+    private <Next> WorkflowPipeline<Next> execute(String stepName, Duration timeout, boolean inline,
+                                                  BiFunction<T, Deadline, ResponseWrapper<Next>> step) {
+        if (!currentResult.isSuccess()) {
+            return skip(stepName);
+        }
+
+        ResponseWrapper<Next> nextResult = runtime.runStep(stepName, currentResult.getData(), deadline.min(timeout), inline, step);
+        return new WorkflowPipeline<>(nextResult, runtime, deadline, requestCache);
+    }
+
+    /**
+     * Chain a step whose result is memoized for the rest of the request. When a step with the same name
+     * and key already ran in this pipeline (or in another pipeline sharing its {@link RequestCache}), its
+     * successful result is reused and the step is not executed again. Hits and misses are counted in
+     * {@code workflow.step.cache}.
+     *
+     * @param stepName Name used for logging, the step timer and as part of the cache key
+     * @param cacheKey Derives the key identifying the backend call from the current value,
+     *                 e.g. {@code ctx -> ctx.clientId()}; a null key disables memoization for that call
+     * @param step The step function
+     * @param <Next> The type produced by the step
+     * @return A new pipeline holding the step result
+     */
+    public <Next> WorkflowPipeline<Next> nextMemoizedStep(String stepName, Function<T, ?> cacheKey,
+                                                          Function<T, ResponseWrapper<Next>> step) {
+        if (!currentResult.isSuccess()) {
+            return skip(stepName);
+        }
+        T data = currentResult.getData();
+        RequestCache cache = requestCache != null ? requestCache : RequestCache.create();
+        ResponseWrapper<Next> nextResult = runtime.memoize(cache, stepName, cacheKey.apply(data), deadline,
+            () -> runtime.runStep(stepName, data, deadline, false, (input, stepDeadline) -> step.apply(input)));
+        return new WorkflowPipeline<>(nextResult, runtime, deadline, cache);
+    }
+
+    /**
+     * A failed pipeline is terminal and is passed through every remaining step as-is. Its result holds
+     * no data, so the cast is safe, and the skip path allocates nothing: callers check for failure
+     * before building any step adapter.
+     */
+    private <Next> WorkflowPipeline<Next> skip(String stepName) {
+        if (log.isTraceEnabled()) {
+            log.trace("Skipping step '{}' due to previous failure: {}", stepName, currentResult.getError());
+        }
+        return cast(this);
+    }
+
+    /**
+     * Run two independent steps concurrently and join their results.
+     * Fails fast: the first failure (or exception) cancels the sibling and short-circuits the pipeline.
+     * Each branch is timed under its own name, the join under {@code stepName}.
+     * The join honours the pipeline deadline and cancels all branches when it expires.
+     *
+     * @param stepName Name of the join, used for logging and its timer
+     * @param first First branch
+     * @param second Second branch
+     * @return A pipeline holding both branch results
+     */
+    public <A, B> WorkflowPipeline<Tuple2<A, B>> nextStepsParallel(String stepName, ParallelStep<T, A> first,
+                                                                 ParallelStep<T, B> second) {
+        if (!currentResult.isSuccess()) {
+            return skip(stepName);
+        }
+        return forkJoin(stepName, List.of(first, second),
+            values -> new Tuple2<A, B>(cast(values[0]), cast(values[1])));
+    }
 
-            if (nextResult.isSuccess()) {
-                log.info("Step '{}' completed successfully{}ms", stepName,
-                    sample != null ? " in " + duration : "");
-            } else {
-                log.warn("Step '{}' failed{} with error: {}", stepName,
-                    sample != null ? " in " + duration + "ms" : "", nextResult.getError());
+    /**
+     * Run three independent steps concurrently and join their results.
+     *
+     * @see #nextStepsParallel(String, ParallelStep, ParallelStep)
+     */
+    public <A, B, C> WorkflowPipeline<Tuple3<A, B, C>> nextStepsParallel(String stepName, ParallelStep<T, A> first,
+                                                                       ParallelStep<T, B> second,
+                                                                       ParallelStep<T, C> third) {
+        if (!currentResult.isSuccess()) {
+            return skip(stepName);
+        }
+        return forkJoin(stepName, List.of(first, second, third),
+            values -> new Tuple3<A, B, C>(cast(values[0]), cast(values[1]), cast(values[2])));
+    }
+
+    /**
+     * Run N independent steps of the same result type concurrently.
+     * Results are returned in the order of {@code steps}.
+     *
+     * @see #nextStepsParallel(String, ParallelStep, ParallelStep)
+     */
+    public <R> WorkflowPipeline<List<R>> nextStepsParallel(String stepName, List<ParallelStep<T, R>> steps) {
+        if (!currentResult.isSuccess()) {
+            return skip(stepName);
+        }
+        return forkJoin(stepName, steps, values -> {
+            @SuppressWarnings("unchecked")
+            List<R> list = (List<R>) Arrays.asList(values);
+            return list;
+        });
+    }
+
+    private <Next> WorkflowPipeline<Next> forkJoin(String stepName, List<? extends ParallelStep<T, ?>> steps,
+                                                   Function<Object[], Next> joiner) {
+        // The join waits on the calling thread and enforces the deadline itself, so run it inline
+        return execute(stepName, null, true, (data, stepDeadline) -> {
+            CompletableFuture<ResponseWrapper<Object[]>> joined = ParallelSteps.fork(data, steps, runtime);
+            if (stepDeadline.isBounded()) {
+                joined.orTimeout(Math.max(0L, stepDeadline.remainingNanos()), TimeUnit.NANOSECONDS);
             }
-            return new WorkflowPipeline<>(nextResult, properties, meterRegistry, kafkaPublishingService);
-        } catch (Exception e) {
-            if (sample != null) {
-                Timer timer = Timer.builder(properties.getMetricName())
-                        .tag("step", stepName)
-                        .tag("status", "EXCEPTION")
-                        .register(meterRegistry);
-                sample.stop(timer);
+            try {
+                return joined.join().map(joiner);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    return ResponseWrapper.fail(PipelineRuntime.timeoutError(stepName));
+                }
+                // Surface the branch exception exactly as a sequential step would throw it
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
             }
-            log.error("Step '{}' threw exception: {}", stepName, e.getMessage(), e);
-            throw e;
-        }
+        });
+    }
+
+    /**
+     * Default configuration of the deprecated {@link #startWith(Object)}, one instance so its pipelines share
+     * their step policies.
+     */
+    private static final class DefaultProperties {
+        static final ServiceFlowProperties INSTANCE = new ServiceFlowProperties();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> V cast(Object value) {
+        return (V) value;
     }
 
     public WorkflowPipeline<T> peek(Consumer<T> action) {
         if (currentResult.isSuccess()) {
             log.debug("Executing peek action with data: {}", currentResult.getData());
             action.accept(currentResult.getData());
-        } else {
-            log.debug("Skipping peek action due to failure state");
+        } else if (log.isTraceEnabled()) {
+            log.trace("Skipping peek action due to failure state");
         }
         return this;
     }
@@ -122,6 +294,6 @@ public class WorkflowPipeline<T> {
         log.info("Mapping workflow result to UI response");
         R result = finalMapper.apply(currentResult.getData());
         log.debug("Final UI response: {}", result);
-        return new WorkflowResult<>(result, properties, kafkaPublishingService);
+        return new WorkflowResult<>(result, runtime.properties, runtime.kafkaPublishingService);
     }
 }
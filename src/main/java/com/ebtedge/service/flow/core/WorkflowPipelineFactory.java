@@ -3,24 +3,51 @@ package com.ebtedge.service.flow.core;
 import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
 import com.ebtedge.service.flow.event.KafkaEventPublishingService;
 import io.micrometer.core.instrument.MeterRegistry;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
 /**
  * Factory for creating WorkflowPipeline instances with proper configuration.
  * This allows the pipeline to respect ServiceFlowProperties settings and inject Kafka event publishing.
+ * Closing the factory (Spring does so on context shutdown) stops the threads of its batchers and
+ * parallel mappers.
  */
 @Component
-@RequiredArgsConstructor
-public class WorkflowPipelineFactory {
+public class WorkflowPipelineFactory implements AutoCloseable {
 
     private final ServiceFlowProperties properties;
     private final MeterRegistry meterRegistry;
+    private final StepMetrics stepMetrics;
 
     @Autowired(required = false)
     private KafkaEventPublishingService kafkaPublishingService;
 
+    @Autowired(required = false)
+    @Qualifier("workflowStepExecutor")
+    private Executor stepExecutor;
+
+    private volatile PipelineRuntime runtime;
+
+    private final Map<String, MicroBatcher<?, ?>> batchers = new ConcurrentHashMap<>();
+    private final Map<String, ParallelMapper> parallelMappers = new ConcurrentHashMap<>();
+
+    public WorkflowPipelineFactory(ServiceFlowProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        // Step timers are cached here and shared by every pipeline this factory starts;
+        // timers of the steps configured under service-flow.steps are registered right away
+        this.stepMetrics = new StepMetrics(properties, meterRegistry);
+    }
+
     /**
      * Create a new workflow pipeline with initial data.
      *
@@ -29,6 +56,128 @@ public class WorkflowPipelineFactory {
      * @return A configured WorkflowPipeline instance
      */
     public <T> WorkflowPipeline<T> startWith(T initialData) {
-        return WorkflowPipeline.startWith(initialData, properties, meterRegistry, kafkaPublishingService);
+        return WorkflowPipeline.start(initialData, runtime(), Deadline.none());
+    }
+
+    /**
+     * Create a new workflow pipeline that must complete within {@code deadline}.
+     * The remaining budget is handed to deadline-aware steps; a step still running when the
+     * budget is exhausted is cancelled and the pipeline fails with a TIMEOUT error.
+     *
+     * @param initialData The starting data for the pipeline
+     * @param deadline The time budget for the whole workflow
+     * @param <T> The type of the initial data
+     * @return A configured WorkflowPipeline instance
+     */
+    public <T> WorkflowPipeline<T> startWith(T initialData, Duration deadline) {
+        return WorkflowPipeline.start(initialData, runtime(), Deadline.after(deadline));
+    }
+
+    /**
+     * Create a new workflow pipeline whose memoized steps share {@code requestCache} with the other
+     * workflows of the same request.
+     *
+     * @param initialData The starting data for the pipeline
+     * @param requestCache Cache of the current request, see {@link RequestCache}
+     * @param <T> The type of the initial data
+     * @return A configured WorkflowPipeline instance
+     */
+    public <T> WorkflowPipeline<T> startWith(T initialData, RequestCache requestCache) {
+        return WorkflowPipeline.start(initialData, runtime(), Deadline.none(), requestCache);
+    }
+
+    /**
+     * Start defining a reusable workflow. Build it once (e.g. in a constructor) and call
+     * {@link WorkflowDefinition#execute(Object)} per request.
+     *
+     * @param name Name of the workflow, used for logging
+     * @param inputType The workflow input type
+     * @param <I> The type of the workflow input
+     * @return A builder for the workflow definition
+     */
+    public <I> WorkflowDefinition.Builder<I, I> define(String name, Class<I> inputType) {
+        return WorkflowDefinition.builder(name, runtime());
+    }
+
+    /**
+     * Create a new asynchronous workflow pipeline with initial data.
+     * Blocking and parallel steps run on the workflowStepExecutor (common pool when not configured).
+     *
+     * @param initialData The starting data for the pipeline
+     * @param <T> The type of the initial data
+     * @return A configured AsyncWorkflowPipeline instance
+     */
+    public <T> AsyncWorkflowPipeline<T> startAsyncWith(T initialData) {
+        return AsyncWorkflowPipeline.start(initialData, runtime());
+    }
+
+    /**
+     * Return the micro-batcher that turns concurrent single-key lookups into calls of {@code bulkCall},
+     * configured by {@code service-flow.batching.<name>}. Batching is off unless enabled for the name.
+     * The batcher is created on the first call for a name; later calls return it, so callers that share
+     * the name share its batches, and their {@code bulkCall} is ignored.
+     *
+     * @param name Name of the batcher, used for its configuration and meters
+     * @param bulkCall Fetches a list of keys, returning one result per key in the same order
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> MicroBatcher<K, V> batcher(String name, Function<List<K>, List<ResponseWrapper<V>>> bulkCall) {
+        return (MicroBatcher<K, V>) batchers.computeIfAbsent(name, batcherName -> {
+            ServiceFlowProperties.BatchConfig config = properties.getBatching()
+                    .getOrDefault(batcherName, new ServiceFlowProperties.BatchConfig());
+            return new MicroBatcher<>(batcherName, config, bulkCall, stepExecutor(),
+                    properties.isMetricsEnabled() ? meterRegistry : null);
+        });
+    }
+
+    /**
+     * Return the mapper that maps large lists on its own bounded ForkJoinPool, configured by
+     * {@code service-flow.parallel.<name>}. Lists are mapped on the calling thread unless enabled for the name.
+     * The mapper and its pool are created on the first call for a name and shared by later calls.
+     *
+     * @param name Name of the mapper, used for its configuration, pool threads and meters
+     */
+    public ParallelMapper parallelMapper(String name) {
+        return parallelMappers.computeIfAbsent(name, mapperName -> {
+            ServiceFlowProperties.ParallelConfig config = properties.getParallel()
+                    .getOrDefault(mapperName, new ServiceFlowProperties.ParallelConfig());
+            return new ParallelMapper(mapperName, config, properties.isMetricsEnabled() ? meterRegistry : null);
+        });
+    }
+
+    /**
+     * Stops the bulk call threads of the batchers and the pools of the parallel mappers created by this factory.
+     */
+    @Override
+    public void close() {
+        batchers.values().forEach(MicroBatcher::close);
+        parallelMappers.values().forEach(ParallelMapper::close);
+    }
+
+    /**
+     * Runtime shared by all pipelines and definitions of this factory, created on first use
+     * so that optional collaborators have been injected. Exactly one is created, as it holds the
+     * circuit breakers and bulkheads of the steps.
+     */
+    private PipelineRuntime runtime() {
+        PipelineRuntime current = runtime;
+        if (current == null) {
+            synchronized (this) {
+                current = runtime;
+                if (current == null) {
+                    current = new PipelineRuntime(properties, meterRegistry, kafkaPublishingService, stepExecutor(),
+                            stepMetrics);
+                    runtime = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Executor for blocking, parallel and time-bounded steps; falls back to the common pool outside Spring.
+     */
+    private Executor stepExecutor() {
+        return stepExecutor != null ? stepExecutor : ForkJoinPool.commonPool();
     }
 }
@@ -2,7 +2,17 @@ package com.ebtedge.service.flow.domain;
 
 import com.ebtedge.service.flow.domain.common.BaseRequestMetaData;
 
-public record CardholderSearchCriteria(BaseRequestMetaData baseRequest, String cardNumber, String agency) {
+/**
+ * @param pageSize maximum cardholders per page; null for all cards
+ * @param cursor continuation cursor from the previous page's {@link CardholderSearchResult#nextCursor()};
+ *               null for the first page
+ */
+public record CardholderSearchCriteria(BaseRequestMetaData baseRequest, String cardNumber, String agency,
+                                       Integer pageSize, String cursor) {
+
+    public CardholderSearchCriteria(BaseRequestMetaData baseRequest, String cardNumber, String agency) {
+        this(baseRequest, cardNumber, agency, null, null);
+    }
 
     public static Builder builder() {
         return new Builder();
@@ -12,6 +22,8 @@ public record CardholderSearchCriteria(BaseRequestMetaData baseRequest, String c
         private BaseRequestMetaData baseRequest;
         private String cardNumber;
         private String agency;
+        private Integer pageSize;
+        private String cursor;
 
         public Builder baseRequest(BaseRequestMetaData baseRequest) {
             this.baseRequest = baseRequest;
@@ -28,8 +40,18 @@ public record CardholderSearchCriteria(BaseRequestMetaData baseRequest, String c
             return this;
         }
 
+        public Builder pageSize(Integer pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        public Builder cursor(String cursor) {
+            this.cursor = cursor;
+            return this;
+        }
+
         public CardholderSearchCriteria build() {
-            return new CardholderSearchCriteria(baseRequest, cardNumber, agency);
+            return new CardholderSearchCriteria(baseRequest, cardNumber, agency, pageSize, cursor);
         }
     }
 }
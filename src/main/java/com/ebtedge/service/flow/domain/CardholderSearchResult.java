@@ -4,7 +4,16 @@ import com.ebtedge.service.flow.domain.common.BaseResponseMetadata;
 
 import java.util.List;
 
-public record CardholderSearchResult(BaseResponseMetadata baseResponse, List<Cardholder> cardholderList, String offset) {
+/**
+ * @param offset position of the page's first card among the client's cards
+ * @param nextCursor cursor for the next page; null on the last page
+ */
+public record CardholderSearchResult(BaseResponseMetadata baseResponse, List<Cardholder> cardholderList, String offset,
+                                     String nextCursor) {
+
+    public CardholderSearchResult(BaseResponseMetadata baseResponse, List<Cardholder> cardholderList, String offset) {
+        this(baseResponse, cardholderList, offset, null);
+    }
 
     public static Builder builder() {
         return new Builder();
@@ -14,6 +23,7 @@ public record CardholderSearchResult(BaseResponseMetadata baseResponse, List<Car
         private BaseResponseMetadata baseResponse;
         private List<Cardholder> cardholderList;
         private String offset;
+        private String nextCursor;
 
         public Builder baseResponse(BaseResponseMetadata baseResponse) {
             this.baseResponse = baseResponse;
@@ -30,8 +40,13 @@ public record CardholderSearchResult(BaseResponseMetadata baseResponse, List<Car
             return this;
         }
 
+        public Builder nextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+            return this;
+        }
+
         public CardholderSearchResult build() {
-            return new CardholderSearchResult(baseResponse, cardholderList, offset);
+            return new CardholderSearchResult(baseResponse, cardholderList, offset, nextCursor);
         }
     }
 }
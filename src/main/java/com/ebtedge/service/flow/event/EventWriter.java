@@ -0,0 +1,32 @@
+package com.ebtedge.service.flow.event;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Writes the selected fields of a domain object straight into a Kafka event payload.
+ * The streaming counterpart of {@link EventMapper}: instead of building a {@code Map} that is then
+ * serialized, fields are written to the {@link JsonGenerator} producing the event bytes.
+ *
+ * <p>An {@link EventMapper} that also implements this interface is published through it, see
+ * {@link KafkaEventPublishingService#publishIfEnabled}. Both must select the same fields, so the
+ * consumer sees the same JSON whichever path produced it (field order may differ).
+ *
+ * @param <T> the type of the source object to write
+ */
+@FunctionalInterface
+public interface EventWriter<T> {
+
+    /**
+     * Writes the payload fields of a source object. The generator is positioned inside the payload
+     * object: implementations write field name/value pairs only, not the enclosing braces.
+     * The generator's codec is the Kafka {@code ObjectMapper}, so {@code writeObjectField} can be used
+     * for values without a dedicated write method.
+     *
+     * @param source the source object to write, not null
+     * @param generator the generator positioned inside the payload object
+     * @throws IOException if writing fails
+     */
+    void write(T source, JsonGenerator generator) throws IOException;
+}
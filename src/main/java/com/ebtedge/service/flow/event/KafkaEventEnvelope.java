@@ -2,9 +2,7 @@ package com.ebtedge.service.flow.event;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import java.util.Map;
 
@@ -16,16 +14,18 @@ public record KafkaEventEnvelope(
     @JsonProperty("metadata") KafkaEventMetadata metadata,
     @JsonProperty("payload") Map<String, Object> payload
 ) {
+    /** Writer configured like the {@code kafkaObjectMapper} bean, built once: ObjectMappers are costly to create */
+    private static final ObjectWriter JSON_WRITER = KafkaEventSerializer.newObjectMapper()
+        .writerFor(KafkaEventEnvelope.class);
+
     /**
      * Serializes this event envelope to JSON string.
+     * Published events go through {@link KafkaEventSerializer}, which shares the {@code kafkaObjectMapper} bean.
      *
      * @return JSON string representation of the event
      * @throws JsonProcessingException if serialization fails
      */
     public String toJson() throws JsonProcessingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        return objectMapper.writeValueAsString(this);
+        return JSON_WRITER.writeValueAsString(this);
     }
 }
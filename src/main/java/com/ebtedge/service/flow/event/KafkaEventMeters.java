@@ -0,0 +1,58 @@
+package com.ebtedge.service.flow.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the publish latency timer and publish counter per (event name, topic, status).
+ * Meters are registered on first use and reused for every later event, instead of building
+ * and registering them on each publish.
+ */
+final class KafkaEventMeters {
+
+    static final String LATENCY_METRIC = "workflow.kafka.event.latency";
+    static final String COUNT_METRIC = "workflow.kafka.event.count";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<MeterKey, Meters> meters = new ConcurrentHashMap<>();
+
+    KafkaEventMeters(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    Timer latency(String eventName, String topic, String status) {
+        return meters(eventName, topic, status).latency();
+    }
+
+    Counter count(String eventName, String topic, String status) {
+        return meters(eventName, topic, status).count();
+    }
+
+    private Meters meters(String eventName, String topic, String status) {
+        return meters.computeIfAbsent(new MeterKey(eventName, topic, status), this::register);
+    }
+
+    private Meters register(MeterKey key) {
+        Timer latency = Timer.builder(LATENCY_METRIC)
+            .tag("event_name", key.eventName())
+            .tag("topic", key.topic())
+            .tag("status", key.status())
+            .register(meterRegistry);
+        Counter count = Counter.builder(COUNT_METRIC)
+            .tag("event_name", key.eventName())
+            .tag("topic", key.topic())
+            .tag("status", key.status())
+            .register(meterRegistry);
+        return new Meters(latency, count);
+    }
+
+    private record MeterKey(String eventName, String topic, String status) {
+    }
+
+    private record Meters(Timer latency, Counter count) {
+    }
+}
@@ -1,13 +1,11 @@
 package com.ebtedge.service.flow.event;
 
 import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.micrometer.core.instrument.Counter;
+import com.ebtedge.service.flow.event.codec.KafkaEventCodec;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.KafkaException;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -16,25 +14,37 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for asynchronously publishing events to Kafka with metrics and retry logic.
  * All publishing operations are fire-and-forget and do not block the calling thread.
+ * Events are encoded by the {@link KafkaEventCodec} of the configured format and sent with a {@code byte[]}
+ * producer, with the codec's content type in the {@code content-type} record header.
  * This bean is only created when Kafka is enabled.
  */
 @Slf4j
 @Service
 @ConditionalOnProperty(prefix = "service-flow.kafka", name = "enabled", havingValue = "true")
-@RequiredArgsConstructor
 public class KafkaEventPublisher {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
     private final ServiceFlowProperties properties;
     private final MeterRegistry meterRegistry;
-    @Qualifier("kafkaObjectMapper")
-    private final ObjectMapper objectMapper;
+    private final KafkaEventCodec codec;
+    private final KafkaEventMeters meters;
+
+    public KafkaEventPublisher(@Qualifier("kafkaBytesTemplate") KafkaTemplate<String, byte[]> kafkaTemplate,
+                               ServiceFlowProperties properties, MeterRegistry meterRegistry, KafkaEventCodec codec) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.codec = codec;
+        this.meters = new KafkaEventMeters(meterRegistry);
+    }
 
     /**
      * Asynchronously publishes an event to Kafka with metrics.
@@ -47,54 +57,119 @@ public class KafkaEventPublisher {
      * @return a CompletableFuture that completes when the event is sent (or fails)
      */
     @Async("kafkaEventExecutor")
-    public CompletableFuture<SendResult<String, String>> publishAsync(
+    public CompletableFuture<SendResult<String, byte[]>> publishAsync(
             String eventName,
             Map<String, Object> payload,
             String schemaVersion) {
+        return publishPayload(eventName, payload, schemaVersion, null);
+    }
+
+    /**
+     * Asynchronously publishes a payload mapped from a domain object of the given type. With the binary format the
+     * payload is encoded against the schema derived from that type.
+     *
+     * @param eventName the name of the event (e.g., "ProfileFetched")
+     * @param payload the event payload as a map
+     * @param schemaVersion the event schema version
+     * @param sourceType the type the payload was mapped from
+     * @return a CompletableFuture that completes when the event is sent (or fails)
+     */
+    @Async("kafkaEventExecutor")
+    public CompletableFuture<SendResult<String, byte[]>> publishAsync(
+            String eventName,
+            Map<String, Object> payload,
+            String schemaVersion,
+            Class<?> sourceType) {
+        return publishPayload(eventName, payload, schemaVersion, sourceType);
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> publishPayload(String eventName, Map<String, Object> payload,
+                                                                         String schemaVersion, Class<?> sourceType) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String topic = properties.getKafka().getTopic();
+
+        // Create event metadata and encode it with the payload
+        KafkaEventMetadata metadata = KafkaEventMetadata.of(eventName, topic, schemaVersion);
+        byte[] event;
+        try {
+            event = codec.encodePayload(metadata, payload, sourceType);
+        } catch (IOException | RuntimeException e) {
+            return serializationFailed(sample, eventName, topic, e);
+        }
+        return send(sample, metadata, event);
+    }
+
+    /**
+     * Asynchronously publishes an event mapped from a domain object. The mapper runs on the publishing thread, so
+     * the source must not change once passed in (see {@link KafkaEventPublishingService#publishIfEnabled});
+     * with the JSON format, a mapper that is also an {@link EventWriter} streams its fields into the event,
+     * with the binary format the payload is encoded against the schema derived from the source type.
+     *
+     * @param eventName the name of the event (e.g., "ProfileFetched")
+     * @param data the source data object to map
+     * @param mapper the event mapper for field selection
+     * @param <T> the type of the source data object
+     * @return a CompletableFuture that completes when the event is sent (or fails)
+     */
+    @Async("kafkaEventExecutor")
+    public <T> CompletableFuture<SendResult<String, byte[]>> publishAsync(
+            String eventName,
+            T data,
+            EventMapper<T> mapper) {
 
         Timer.Sample sample = Timer.start(meterRegistry);
         String topic = properties.getKafka().getTopic();
 
+        KafkaEventMetadata metadata = KafkaEventMetadata.of(eventName, topic, mapper.schemaVersion());
+        byte[] event;
         try {
-            // Create event envelope with metadata
-            KafkaEventMetadata metadata = KafkaEventMetadata.of(eventName, topic, schemaVersion);
-            KafkaEventEnvelope envelope = new KafkaEventEnvelope(metadata, payload);
-
-            // Serialize to JSON
-            String json = objectMapper.writeValueAsString(envelope);
-
-            log.debug("Publishing Kafka event: eventName={}, topic={}, correlationId={}",
-                eventName, topic, metadata.correlationId());
-
-            // Send to Kafka (returns CompletableFuture)
-            CompletableFuture<SendResult<String, String>> future = kafkaTemplate.send(topic, metadata.correlationId(), json)
-                .toCompletableFuture();
-
-            // Add callbacks for metrics and logging
-            future.whenComplete((result, ex) -> {
-                if (ex != null) {
-                    recordMetric(sample, eventName, topic, "FAILURE");
-                    recordCounter(eventName, topic, "FAILURE");
-                    log.error("Failed to publish Kafka event: eventName={}, topic={}, error={}",
-                        eventName, topic, ex.getMessage(), ex);
-                } else {
-                    recordMetric(sample, eventName, topic, "SUCCESS");
-                    recordCounter(eventName, topic, "SUCCESS");
-                    log.info("Kafka event published successfully: eventName={}, topic={}, partition={}, offset={}",
-                        eventName, topic,
-                        result.getRecordMetadata().partition(),
-                        result.getRecordMetadata().offset());
-                }
-            });
-
-            return future;
-
-        } catch (JsonProcessingException e) {
-            recordMetric(sample, eventName, topic, "SERIALIZATION_ERROR");
-            recordCounter(eventName, topic, "SERIALIZATION_ERROR");
-            log.error("Failed to serialize event payload: eventName={}, topic={}", eventName, topic, e);
-            return CompletableFuture.failedFuture(e);
+            event = codec.encode(metadata, data, mapper);
+        } catch (IOException | RuntimeException e) {
+            // The mapper runs on this thread, so its failures are reported like serialization errors
+            return serializationFailed(sample, eventName, topic, e);
         }
+        return send(sample, metadata, event);
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> send(Timer.Sample sample, KafkaEventMetadata metadata,
+                                                               byte[] event) {
+        String eventName = metadata.eventName();
+        String topic = metadata.topic();
+
+        log.debug("Publishing Kafka event: eventName={}, topic={}, correlationId={}",
+            eventName, topic, metadata.correlationId());
+
+        // Send to Kafka (returns CompletableFuture)
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, metadata.correlationId(), event);
+        record.headers().add(KafkaEventCodec.CONTENT_TYPE_HEADER, codec.contentType().getBytes(StandardCharsets.UTF_8));
+        CompletableFuture<SendResult<String, byte[]>> future = kafkaTemplate.send(record).toCompletableFuture();
+
+        // Add callbacks for metrics and logging
+        future.whenComplete((result, ex) -> {
+            if (ex != null) {
+                recordMetric(sample, eventName, topic, "FAILURE");
+                recordCounter(eventName, topic, "FAILURE");
+                log.error("Failed to publish Kafka event: eventName={}, topic={}, error={}",
+                    eventName, topic, ex.getMessage(), ex);
+            } else {
+                recordMetric(sample, eventName, topic, "SUCCESS");
+                recordCounter(eventName, topic, "SUCCESS");
+                log.info("Kafka event published successfully: eventName={}, topic={}, partition={}, offset={}",
+                    eventName, topic,
+                    result.getRecordMetadata().partition(),
+                    result.getRecordMetadata().offset());
+            }
+        });
+
+        return future;
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> serializationFailed(Timer.Sample sample, String eventName,
+                                                                              String topic, Exception e) {
+        recordMetric(sample, eventName, topic, "SERIALIZATION_ERROR");
+        recordCounter(eventName, topic, "SERIALIZATION_ERROR");
+        log.error("Failed to serialize event payload: eventName={}, topic={}", eventName, topic, e);
+        return CompletableFuture.failedFuture(e);
     }
 
     /**
@@ -102,12 +177,7 @@ public class KafkaEventPublisher {
      */
     private void recordMetric(Timer.Sample sample, String eventName, String topic, String status) {
         if (properties.isMetricsEnabled()) {
-            Timer timer = Timer.builder("workflow.kafka.event.latency")
-                .tag("event_name", eventName)
-                .tag("topic", topic)
-                .tag("status", status)
-                .register(meterRegistry);
-            sample.stop(timer);
+            sample.stop(meters.latency(eventName, topic, status));
         }
     }
 
@@ -116,12 +186,7 @@ public class KafkaEventPublisher {
      */
     private void recordCounter(String eventName, String topic, String status) {
         if (properties.isMetricsEnabled()) {
-            Counter.builder("workflow.kafka.event.count")
-                .tag("event_name", eventName)
-                .tag("topic", topic)
-                .tag("status", status)
-                .register(meterRegistry)
-                .increment();
+            meters.count(eventName, topic, status).increment();
         }
     }
 }
@@ -29,6 +29,12 @@ public class KafkaEventPublishingService {
      * Publishes an event to Kafka only if Kafka is enabled in configuration.
      * This is a fire-and-forget operation: failures are logged but not propagated.
      *
+     * <p>A record source is mapped on the publisher thread: with the JSON format, a mapper that also implements
+     * {@link EventWriter} writes its fields directly into the serialized event instead of building a payload map.
+     * Records are only shallowly immutable, so their components must not be mutated after publishing.
+     * Any other source may still be changed by the caller once this method returns, so it is mapped to a
+     * payload map on the calling thread first.
+     *
      * @param eventName the name of the event (e.g., "ProfileFetched")
      * @param data the source data object to map
      * @param mapper the event mapper for field selection
@@ -41,12 +47,13 @@ public class KafkaEventPublishingService {
         }
 
         try {
-            // Map the data to event payload
-            Map<String, Object> payload = mapper.map(data);
-            String schemaVersion = mapper.schemaVersion();
-
             // Fire-and-forget: we don't wait for the CompletableFuture
-            publisher.publishAsync(eventName, payload, schemaVersion);
+            if (data == null || data.getClass().isRecord()) {
+                publisher.publishAsync(eventName, data, mapper);
+            } else {
+                Map<String, Object> payload = mapper.map(data);
+                publisher.publishAsync(eventName, payload, mapper.schemaVersion(), data.getClass());
+            }
 
             log.debug("Initiated Kafka event publishing: eventName={}", eventName);
 
@@ -0,0 +1,214 @@
+package com.ebtedge.service.flow.event;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes Kafka event envelopes to JSON, reusing the {@code kafkaObjectMapper} bean.
+ *
+ * <p>Envelopes and metadata are written by {@link ObjectWriter}s built once for {@link KafkaEventEnvelope} and
+ * {@link KafkaEventMetadata}, so each call skips the root type lookup of {@code ObjectMapper.writeValue}.
+ * An envelope built from an {@link EventMapper} payload is written straight to bytes, without the intermediate
+ * JSON {@code String}. With an {@link EventWriter} there is
+ * no payload map or envelope either: metadata and payload fields are streamed by one {@link JsonGenerator}
+ * into a pooled {@link ByteArrayBuilder}, so the only per-event allocation left is the final byte array
+ * handed to Kafka.
+ *
+ * <p>The pool holds at most {@code poolSize} buffers, enough for one per concurrent publisher; when it is
+ * empty a new buffer is allocated, and buffers that grew beyond {@value #MAX_POOLED_BUFFER_BYTES} bytes
+ * are dropped instead of being pooled. Instances are thread-safe.
+ *
+ * <p>Exported meters, when a registry is given:
+ * <ul>
+ *   <li>{@code workflow.kafka.event.serialization}: serialization time, tagged {@code path=envelope|writer}
+ *       and {@code status=SUCCESS|FAILURE}; {@link #toJson} is timed on the {@code envelope} path</li>
+ *   <li>{@code workflow.kafka.event.bytes}: histogram of serialized event sizes, tagged {@code path}</li>
+ * </ul>
+ */
+public final class KafkaEventSerializer {
+
+    /** Largest buffer segment kept in the pool, so one oversized event does not pin its memory */
+    static final int MAX_POOLED_BUFFER_BYTES = 64 * 1024;
+
+    static final String SERIALIZATION_METRIC = "workflow.kafka.event.serialization";
+    static final String BYTES_METRIC = "workflow.kafka.event.bytes";
+
+    private static final int INITIAL_BUFFER_BYTES = 1024;
+
+    private final ObjectWriter envelopeWriter;
+    private final ObjectWriter metadataWriter;
+    private final JsonFactory jsonFactory;
+    private final BlockingQueue<ByteArrayBuilder> buffers;
+    private final PathMeters envelopeMeters;
+    private final PathMeters writerMeters;
+
+    public KafkaEventSerializer(ObjectMapper objectMapper, int poolSize) {
+        this(objectMapper, poolSize, null);
+    }
+
+    /**
+     * @param objectMapper the Kafka {@code ObjectMapper}
+     * @param poolSize the maximum number of pooled buffers
+     * @param meterRegistry the registry of the serialization meters, or null to disable them
+     */
+    public KafkaEventSerializer(ObjectMapper objectMapper, int poolSize, MeterRegistry meterRegistry) {
+        this.envelopeWriter = objectMapper.writerFor(KafkaEventEnvelope.class);
+        this.metadataWriter = objectMapper.writerFor(KafkaEventMetadata.class);
+        this.jsonFactory = objectMapper.getFactory();
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.envelopeMeters = meterRegistry != null ? new PathMeters(meterRegistry, "envelope") : null;
+        this.writerMeters = meterRegistry != null ? new PathMeters(meterRegistry, "writer") : null;
+    }
+
+    /**
+     * Creates an {@code ObjectMapper} with the Kafka event configuration: Java time support and ISO-8601 dates.
+     * Backs the {@code kafkaObjectMapper} bean and {@link KafkaEventEnvelope#toJson()}, so both write the same JSON.
+     */
+    public static ObjectMapper newObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    /**
+     * Serializes an envelope built from an {@link EventMapper} payload.
+     *
+     * @throws JsonProcessingException if serialization fails
+     */
+    public byte[] serialize(KafkaEventEnvelope envelope) throws JsonProcessingException {
+        long start = envelopeMeters != null ? System.nanoTime() : 0;
+        boolean success = false;
+        try {
+            byte[] bytes = envelopeWriter.writeValueAsBytes(envelope);
+            success = true;
+            if (envelopeMeters != null) {
+                envelopeMeters.bytes.record(bytes.length);
+            }
+            return bytes;
+        } finally {
+            if (envelopeMeters != null) {
+                envelopeMeters.record(start, success);
+            }
+        }
+    }
+
+    /**
+     * Serializes an envelope to a JSON string, for logging and tests; events are published as bytes.
+     * Timed on the {@code envelope} path, without a size sample.
+     *
+     * @throws JsonProcessingException if serialization fails
+     */
+    public String toJson(KafkaEventEnvelope envelope) throws JsonProcessingException {
+        long start = envelopeMeters != null ? System.nanoTime() : 0;
+        boolean success = false;
+        try {
+            String json = envelopeWriter.writeValueAsString(envelope);
+            success = true;
+            return json;
+        } finally {
+            if (envelopeMeters != null) {
+                envelopeMeters.record(start, success);
+            }
+        }
+    }
+
+    /**
+     * Serializes an event by streaming its metadata and the fields selected by an {@link EventWriter}.
+     * The result has the same structure as the serialized {@link KafkaEventEnvelope}.
+     *
+     * @throws IOException if the writer or the serialization fails
+     */
+    public <T> byte[] serialize(KafkaEventMetadata metadata, T source, EventWriter<T> writer) throws IOException {
+        long start = writerMeters != null ? System.nanoTime() : 0;
+        boolean success = false;
+        ByteArrayBuilder buffer = acquire();
+        try {
+            try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+                generator.writeStartObject();
+                generator.writeFieldName("metadata");
+                metadataWriter.writeValue(generator, metadata);
+                generator.writeFieldName("payload");
+                generator.writeStartObject();
+                writer.write(source, generator);
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            byte[] bytes = buffer.toByteArray();
+            success = true;
+            if (writerMeters != null) {
+                writerMeters.bytes.record(bytes.length);
+            }
+            return bytes;
+        } finally {
+            release(buffer);
+            if (writerMeters != null) {
+                writerMeters.record(start, success);
+            }
+        }
+    }
+
+    private ByteArrayBuilder acquire() {
+        ByteArrayBuilder buffer = buffers.poll();
+        return buffer != null ? buffer : new ByteArrayBuilder(INITIAL_BUFFER_BYTES);
+    }
+
+    private void release(ByteArrayBuilder buffer) {
+        buffer.reset();
+        if (buffer.getCurrentSegment().length <= MAX_POOLED_BUFFER_BYTES) {
+            buffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of idle pooled buffers.
+     */
+    int pooledBuffers() {
+        return buffers.size();
+    }
+
+    /**
+     * Serialization timers and size histogram of one path, registered once.
+     */
+    private static final class PathMeters {
+        final Timer success;
+        final Timer failure;
+        final DistributionSummary bytes;
+
+        PathMeters(MeterRegistry meterRegistry, String path) {
+            this.success = timer(meterRegistry, path, "SUCCESS");
+            this.failure = timer(meterRegistry, path, "FAILURE");
+            this.bytes = DistributionSummary.builder(BYTES_METRIC)
+                .description("Serialized Kafka event size")
+                .baseUnit("bytes")
+                .tag("path", path)
+                .register(meterRegistry);
+        }
+
+        void record(long start, boolean succeeded) {
+            (succeeded ? success : failure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String path, String status) {
+            return Timer.builder(SERIALIZATION_METRIC)
+                .description("Kafka event serialization time")
+                .tag("path", path)
+                .tag("status", status)
+                .register(meterRegistry);
+        }
+    }
+}
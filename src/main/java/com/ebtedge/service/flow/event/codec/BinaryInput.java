@@ -0,0 +1,95 @@
+package com.ebtedge.service.flow.event.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reader of the primitive encodings written by {@link BinaryOutput}.
+ */
+final class BinaryInput {
+
+    private final byte[] buffer;
+    private int position;
+
+    BinaryInput(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    byte readByte() throws IOException {
+        require(1);
+        return buffer[position++];
+    }
+
+    byte[] readBytes(int length) throws IOException {
+        require(length);
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    long readVarintLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    int readVarint() throws IOException {
+        long value = readVarintLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Varint out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    long readZigZag() throws IOException {
+        long value = readVarintLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readFixedLong() throws IOException {
+        require(Long.BYTES);
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    double readDouble() throws IOException {
+        return Double.longBitsToDouble(readFixedLong());
+    }
+
+    String readString() throws IOException {
+        return readUtf8(readVarint());
+    }
+
+    String readNullableString() throws IOException {
+        int length = readVarint();
+        return length == 0 ? null : readUtf8(length - 1);
+    }
+
+    private String readUtf8(int length) throws IOException {
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private void require(int bytes) throws IOException {
+        if (bytes < 0 || position + bytes > buffer.length) {
+            throw new EOFException("Truncated binary event");
+        }
+    }
+}
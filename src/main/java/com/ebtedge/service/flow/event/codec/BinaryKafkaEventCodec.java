@@ -0,0 +1,336 @@
+package com.ebtedge.service.flow.event.codec;
+
+import com.ebtedge.service.flow.event.KafkaEventEnvelope;
+import com.ebtedge.service.flow.event.KafkaEventMetadata;
+import com.ebtedge.service.flow.event.codec.EventSchema.FieldSchema;
+import com.ebtedge.service.flow.event.codec.EventSchema.Type;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Encodes events in a compact binary format ({@code service-flow.kafka.format=binary}) described by an
+ * {@link EventSchema} instead of repeating field names in every event.
+ *
+ * <p>Layout of an event:
+ * <pre>
+ * magic (0xB1), format version (1), schema fingerprint (8 bytes, big-endian)
+ * metadata: eventName, topic, timestamp (zig-zag varint seconds, varint nanos), correlationId
+ * payload:  record of the schema's fields
+ *
+ * record: presence bitmap (one bit per schema field), the present values in schema order, then a varint count
+ *         of extra entries, each a string key and a tagged value
+ * </pre>
+ * Strings are a varint UTF-8 length and the bytes (metadata strings store length + 1, 0 for null), longs are
+ * zig-zag varints and doubles 8 bytes. The schema version is part of the schema and not repeated in the event.
+ *
+ * <p>The schema is derived once per published type and mapper schema version from the {@code @KafkaField}
+ * metadata, and registered in the {@link EventSchemaRegistry} on first use. A payload encoded without its source
+ * type gets a schema per event name and version instead, derived from the first such payload of the event. Payload entries the schema does not
+ * cover (fields of hand-written mappers, explicit nulls, values of an unexpected type) are kept as tagged extras,
+ * so no payload value is lost whatever the mapper produces. {@link #decode(byte[])} restores the envelope with the
+ * schema looked up by the fingerprint.
+ */
+public final class BinaryKafkaEventCodec implements KafkaEventCodec {
+
+    public static final String CONTENT_TYPE = "application/x-service-flow-event";
+
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte FORMAT_VERSION = 1;
+
+    // Tags of dynamically typed values
+    private static final int TAG_NULL = 0;
+    private static final int TAG_STRING = 1;
+    private static final int TAG_LONG = 2;
+    private static final int TAG_DOUBLE = 3;
+    private static final int TAG_FALSE = 4;
+    private static final int TAG_TRUE = 5;
+    private static final int TAG_MAP = 6;
+    private static final int TAG_LIST = 7;
+    private static final int TAG_DECIMAL = 8;
+
+    private final EventSchemaRegistry registry;
+    private final Map<SchemaKey, CompiledSchema> schemasByType = new ConcurrentHashMap<>();
+    private final Map<Long, CompiledSchema> schemasByFingerprint = new ConcurrentHashMap<>();
+
+    public BinaryKafkaEventCodec(EventSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encodePayload(KafkaEventMetadata metadata, Map<String, Object> payload, Class<?> sourceType) throws IOException {
+        CompiledSchema schema = sourceType != null
+            ? schemaFor(new SchemaKey(sourceType, null, metadata.schemaVersion()),
+                () -> EventSchema.derive(sourceType, metadata.schemaVersion()))
+            : schemaFor(new SchemaKey(null, metadata.eventName(), metadata.schemaVersion()),
+                () -> EventSchema.ofPayload(metadata.eventName(), metadata.schemaVersion(), payload));
+        BinaryOutput out = new BinaryOutput();
+        out.writeByte(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeFixedLong(schema.fingerprint);
+        out.writeNullableString(metadata.eventName());
+        out.writeNullableString(metadata.topic());
+        Instant timestamp = metadata.timestamp();
+        out.writeBoolean(timestamp != null);
+        if (timestamp != null) {
+            out.writeZigZag(timestamp.getEpochSecond());
+            out.writeVarint(timestamp.getNano());
+        }
+        out.writeNullableString(metadata.correlationId());
+        writeRecord(out, schema.payload, payload != null ? payload : Map.of());
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes an event encoded by this codec, looking up its schema in the registry.
+     *
+     * @throws IOException if the bytes are not a binary event or its schema is unknown
+     */
+    public KafkaEventEnvelope decode(byte[] event) throws IOException {
+        BinaryInput in = new BinaryInput(event);
+        if (in.readByte() != MAGIC || in.readByte() != FORMAT_VERSION) {
+            throw new IOException("Not a binary event (format version " + FORMAT_VERSION + ")");
+        }
+        long fingerprint = in.readFixedLong();
+        CompiledSchema schema = schemaFor(fingerprint);
+        String eventName = in.readNullableString();
+        String topic = in.readNullableString();
+        Instant timestamp = in.readBoolean() ? Instant.ofEpochSecond(in.readZigZag(), in.readVarint()) : null;
+        String correlationId = in.readNullableString();
+        KafkaEventMetadata metadata = new KafkaEventMetadata(eventName, topic, schema.version, timestamp, correlationId);
+        return new KafkaEventEnvelope(metadata, readRecord(in, schema.payload));
+    }
+
+    private CompiledSchema schemaFor(SchemaKey key, Supplier<EventSchema> derivation) throws IOException {
+        CompiledSchema schema = schemasByType.get(key);
+        if (schema == null) {
+            EventSchema derived = derivation.get();
+            long fingerprint = registry.register(derived);
+            schema = new CompiledSchema(fingerprint, derived.version(), new CompiledRecord(derived.fields()));
+            schemasByFingerprint.putIfAbsent(fingerprint, schema);
+            schemasByType.putIfAbsent(key, schema);
+        }
+        return schema;
+    }
+
+    private CompiledSchema schemaFor(long fingerprint) throws IOException {
+        CompiledSchema schema = schemasByFingerprint.get(fingerprint);
+        if (schema == null) {
+            EventSchema registered = registry.lookup(fingerprint)
+                .orElseThrow(() -> new IOException(String.format("Unknown event schema %016x", fingerprint)));
+            schema = new CompiledSchema(fingerprint, registered.version(), new CompiledRecord(registered.fields()));
+            schemasByFingerprint.putIfAbsent(fingerprint, schema);
+        }
+        return schema;
+    }
+
+    private static void writeRecord(BinaryOutput out, CompiledRecord record, Map<?, ?> values) {
+        int size = record.names.length;
+        Object[] present = new Object[size];
+        byte[] bitmap = new byte[(size + 7) >>> 3];
+        int matched = 0;
+        for (int i = 0; i < size; i++) {
+            Object value = values.get(record.names[i]);
+            if (value != null && fits(record.types[i], value)) {
+                present[i] = value;
+                bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+                matched++;
+            }
+        }
+        out.writeBytes(bitmap);
+        for (int i = 0; i < size; i++) {
+            if (present[i] != null) {
+                writeTyped(out, record.types[i], record.nested[i], present[i]);
+            }
+        }
+        out.writeVarint(values.size() - matched);
+        if (values.size() > matched) {
+            for (Map.Entry<?, ?> entry : values.entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                Integer index = record.index.get(key);
+                if (index == null || present[index] == null) {
+                    out.writeString(key);
+                    writeTagged(out, entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static Map<String, Object> readRecord(BinaryInput in, CompiledRecord record) throws IOException {
+        int size = record.names.length;
+        byte[] bitmap = in.readBytes((size + 7) >>> 3);
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if ((bitmap[i >>> 3] & (1 << (i & 7))) != 0) {
+                values.put(record.names[i], readTyped(in, record.types[i], record.nested[i]));
+            }
+        }
+        int extras = in.readVarint();
+        for (int i = 0; i < extras; i++) {
+            values.put(in.readString(), readTagged(in));
+        }
+        return values;
+    }
+
+    private static boolean fits(Type type, Object value) {
+        return switch (type) {
+            case STRING -> value instanceof String || value instanceof Character;
+            case LONG -> value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+            case DOUBLE -> value instanceof Double || value instanceof Float;
+            case BOOLEAN -> value instanceof Boolean;
+            case RECORD -> value instanceof Map;
+            case DYNAMIC -> true;
+        };
+    }
+
+    private static void writeTyped(BinaryOutput out, Type type, CompiledRecord nested, Object value) {
+        switch (type) {
+            case STRING -> out.writeString(value.toString());
+            case LONG -> out.writeZigZag(((Number) value).longValue());
+            case DOUBLE -> out.writeDouble(toDouble((Number) value));
+            case BOOLEAN -> out.writeBoolean((Boolean) value);
+            case RECORD -> writeRecord(out, nested, (Map<?, ?>) value);
+            case DYNAMIC -> writeTagged(out, value);
+        }
+    }
+
+    private static Object readTyped(BinaryInput in, Type type, CompiledRecord nested) throws IOException {
+        return switch (type) {
+            case STRING -> in.readString();
+            case LONG -> in.readZigZag();
+            case DOUBLE -> in.readDouble();
+            case BOOLEAN -> in.readBoolean();
+            case RECORD -> readRecord(in, nested);
+            case DYNAMIC -> readTagged(in);
+        };
+    }
+
+    private static void writeTagged(BinaryOutput out, Object value) {
+        if (value == null) {
+            out.writeVarint(TAG_NULL);
+        } else if (value instanceof String || value instanceof Character) {
+            out.writeVarint(TAG_STRING);
+            out.writeString(value.toString());
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeVarint(TAG_LONG);
+            out.writeZigZag(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeVarint(TAG_DOUBLE);
+            out.writeDouble(toDouble((Number) value));
+        } else if (value instanceof Boolean flag) {
+            out.writeVarint(flag ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Number number) {
+            // BigDecimal, BigInteger and other exact numbers keep their digits
+            out.writeVarint(TAG_DECIMAL);
+            out.writeString(number.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeVarint(TAG_MAP);
+            out.writeVarint(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.writeString(String.valueOf(entry.getKey()));
+                writeTagged(out, entry.getValue());
+            }
+        } else if (value instanceof Collection<?> collection) {
+            out.writeVarint(TAG_LIST);
+            out.writeVarint(collection.size());
+            for (Object element : collection) {
+                writeTagged(out, element);
+            }
+        } else if (value instanceof Object[] array) {
+            writeTagged(out, List.of(array));
+        } else {
+            // Dates, enums and other values are written as their string form, as the JSON mapper does
+            out.writeVarint(TAG_STRING);
+            out.writeString(value.toString());
+        }
+    }
+
+    private static Object readTagged(BinaryInput in) throws IOException {
+        int tag = in.readVarint();
+        return switch (tag) {
+            case TAG_NULL -> null;
+            case TAG_STRING -> in.readString();
+            case TAG_LONG -> in.readZigZag();
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_FALSE -> Boolean.FALSE;
+            case TAG_TRUE -> Boolean.TRUE;
+            case TAG_DECIMAL -> new BigDecimal(in.readString());
+            case TAG_MAP -> readMap(in);
+            case TAG_LIST -> readList(in);
+            default -> throw new IOException("Unknown value tag " + tag);
+        };
+    }
+
+    private static Map<String, Object> readMap(BinaryInput in) throws IOException {
+        int size = in.readVarint();
+        Map<String, Object> map = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+        for (int i = 0; i < size; i++) {
+            map.put(in.readString(), readTagged(in));
+        }
+        return map;
+    }
+
+    private static List<Object> readList(BinaryInput in) throws IOException {
+        int size = in.readVarint();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readTagged(in));
+        }
+        return list;
+    }
+
+    /**
+     * Widens a float through its decimal form, so 1.1f is encoded as 1.1 as in JSON.
+     */
+    private static double toDouble(Number value) {
+        return value instanceof Float ? Double.parseDouble(value.toString()) : value.doubleValue();
+    }
+
+    /**
+     * Schema cache key: the published type, or the event name for payloads without one.
+     */
+    private record SchemaKey(Class<?> sourceType, String eventName, String version) {
+    }
+
+    private record CompiledSchema(long fingerprint, String version, CompiledRecord payload) {
+    }
+
+    /**
+     * Record fields as flat arrays, with a name index for matching payload entries.
+     */
+    private static final class CompiledRecord {
+        final String[] names;
+        final Type[] types;
+        final CompiledRecord[] nested;
+        final Map<String, Integer> index;
+
+        CompiledRecord(List<FieldSchema> fields) {
+            int size = fields.size();
+            names = new String[size];
+            types = new Type[size];
+            nested = new CompiledRecord[size];
+            index = new HashMap<>((int) (size / 0.75f) + 1);
+            for (int i = 0; i < size; i++) {
+                FieldSchema field = fields.get(i);
+                names[i] = field.name();
+                types[i] = field.type();
+                nested[i] = field.type() == Type.RECORD ? new CompiledRecord(field.fields()) : null;
+                index.put(field.name(), i);
+            }
+        }
+    }
+}
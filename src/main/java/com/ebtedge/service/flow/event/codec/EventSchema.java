@@ -0,0 +1,204 @@
+package com.ebtedge.service.flow.event.codec;
+
+import com.ebtedge.service.flow.event.annotation.KafkaField;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Schema of a binary event payload: the typed fields of the payload, in the order they are encoded.
+ *
+ * <p>A schema is derived from the {@link KafkaField} metadata of the published type, so the field names are
+ * the JSON names the event mappers use and field names never appear in the encoded event. It is identified
+ * by a {@link #fingerprint()} of its canonical form, which is written into every event and lets a consumer
+ * look the schema up in an {@link EventSchemaRegistry}; the same schema derived on another instance has the
+ * same fingerprint without any coordination.
+ *
+ * <p>A payload published without its source type, e.g. a hand-built map, gets a schema named after the event
+ * instead, see {@link #ofPayload}.
+ *
+ * @param name the qualified name of the published type, or the event name for {@link #ofPayload} schemas
+ * @param version the schema version of the event mapper, see {@code EventMapper.schemaVersion()}
+ * @param fields the typed payload fields
+ */
+public record EventSchema(String name, String version, List<FieldSchema> fields) {
+
+    /**
+     * Encoded type of a payload field.
+     */
+    public enum Type {
+        /** UTF-8 string; also chars */
+        STRING,
+        /** Zig-zag varint; bytes, shorts, ints and longs */
+        LONG,
+        /** 8-byte IEEE 754; floats and doubles */
+        DOUBLE,
+        BOOLEAN,
+        /** Nested payload with its own {@link FieldSchema#fields()}, for {@code nested = true} fields */
+        RECORD,
+        /** Any other value, encoded with a type tag */
+        DYNAMIC
+    }
+
+    /**
+     * One typed payload field.
+     *
+     * @param name the JSON name of the field
+     * @param type the encoded type
+     * @param fields the fields of a {@link Type#RECORD}, empty otherwise
+     */
+    public record FieldSchema(String name, Type type, List<FieldSchema> fields) {
+    }
+
+    public EventSchema {
+        fields = List.copyOf(fields);
+    }
+
+    /**
+     * Derives the schema of a type from its {@link KafkaField} fields, following the rules of
+     * {@code ReflectionEventMapper}: record components or the fields of the class hierarchy, the JSON name from
+     * {@code name} and nested records for {@code nested = true} fields of types with {@code @KafkaField}s.
+     * A type without {@code @KafkaField}s, such as the source of a hand-written mapper, has no typed fields.
+     *
+     * @param type the published type, or null for a payload without a known source type
+     * @param version the schema version of the event mapper
+     */
+    public static EventSchema derive(Class<?> type, String version) {
+        if (type == null) {
+            return new EventSchema("", version, List.of());
+        }
+        return new EventSchema(type.getName(), version, fieldsOf(type, new HashSet<>()));
+    }
+
+    /**
+     * Derives the schema of an event published as a plain payload: one field per non-null entry, named by its key
+     * and typed by its value, in key order. Entries a later payload of the event adds, or whose value does not fit
+     * the field type, are encoded as tagged extras, so the schema only has to fit the payloads it was derived from.
+     *
+     * @param eventName the event name, which names the schema
+     * @param version the schema version of the event
+     * @param payload a payload of the event
+     */
+    public static EventSchema ofPayload(String eventName, String version, Map<String, ?> payload) {
+        List<FieldSchema> fields = new ArrayList<>();
+        if (payload != null) {
+            new TreeMap<>(payload).forEach((name, value) -> {
+                if (value != null) {
+                    Type scalar = scalarType(value.getClass());
+                    fields.add(new FieldSchema(name, scalar != null ? scalar : Type.DYNAMIC, List.of()));
+                }
+            });
+        }
+        return new EventSchema(eventName, version, fields);
+    }
+
+    private static List<FieldSchema> fieldsOf(Class<?> type, Set<Class<?>> enclosing) {
+        if (!enclosing.add(type)) {
+            // Recursive type, its nested values are encoded dynamically
+            return null;
+        }
+        List<FieldSchema> fields = new ArrayList<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                KafkaField annotation = component.getAnnotation(KafkaField.class);
+                if (annotation != null) {
+                    fields.add(fieldOf(component.getName(), component.getType(), annotation, enclosing));
+                }
+            }
+        } else {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    KafkaField annotation = field.getAnnotation(KafkaField.class);
+                    if (annotation != null) {
+                        fields.add(fieldOf(field.getName(), field.getType(), annotation, enclosing));
+                    }
+                }
+            }
+        }
+        enclosing.remove(type);
+        return fields;
+    }
+
+    private static FieldSchema fieldOf(String fieldName, Class<?> type, KafkaField annotation, Set<Class<?>> enclosing) {
+        String name = annotation.name().isEmpty() ? fieldName : annotation.name();
+        Type scalar = scalarType(type);
+        if (scalar != null) {
+            return new FieldSchema(name, scalar, List.of());
+        }
+        if (annotation.nested()) {
+            List<FieldSchema> nested = fieldsOf(type, enclosing);
+            if (nested != null && !nested.isEmpty()) {
+                return new FieldSchema(name, Type.RECORD, nested);
+            }
+        }
+        return new FieldSchema(name, Type.DYNAMIC, List.of());
+    }
+
+    private static Type scalarType(Class<?> type) {
+        if (type == String.class || type == char.class || type == Character.class) {
+            return Type.STRING;
+        }
+        if (type == long.class || type == int.class || type == short.class || type == byte.class
+                || type == Long.class || type == Integer.class || type == Short.class || type == Byte.class) {
+            return Type.LONG;
+        }
+        if (type == double.class || type == float.class || type == Double.class || type == Float.class) {
+            return Type.DOUBLE;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Type.BOOLEAN;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the canonical form the fingerprint is computed from, e.g.
+     * {@code com.example.Balance@1.0{clientId:STRING,amount:DOUBLE}}.
+     */
+    public String canonicalForm() {
+        StringBuilder form = new StringBuilder(name).append('@').append(version);
+        appendFields(form, fields);
+        return form.toString();
+    }
+
+    private static void appendFields(StringBuilder form, List<FieldSchema> fields) {
+        form.append('{');
+        for (int i = 0; i < fields.size(); i++) {
+            FieldSchema field = fields.get(i);
+            if (i > 0) {
+                form.append(',');
+            }
+            form.append(field.name()).append(':').append(field.type());
+            if (field.type() == Type.RECORD) {
+                appendFields(form, field.fields());
+            }
+        }
+        form.append('}');
+    }
+
+    /**
+     * Returns the first 8 bytes of the SHA-256 digest of the {@link #canonicalForm()}.
+     */
+    public long fingerprint() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(canonicalForm().getBytes(StandardCharsets.UTF_8));
+            long fingerprint = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                fingerprint = (fingerprint << 8) | (digest[i] & 0xFF);
+            }
+            return fingerprint;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
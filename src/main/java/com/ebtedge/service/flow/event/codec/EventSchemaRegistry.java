@@ -0,0 +1,30 @@
+package com.ebtedge.service.flow.event.codec;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Schemas of binary events by fingerprint: producers register the schema of every event they encode,
+ * consumers look up the schema of the fingerprint in an event's header.
+ *
+ * <p>A local stand-in for a shared schema registry service: {@link InMemoryEventSchemaRegistry} within one
+ * application, {@link FileEventSchemaRegistry} for producers and consumers sharing a directory.
+ */
+public interface EventSchemaRegistry {
+
+    /**
+     * Registers a schema; registering the same schema again has no effect.
+     *
+     * @return the fingerprint of the schema
+     * @throws IOException if the schema cannot be stored
+     */
+    long register(EventSchema schema) throws IOException;
+
+    /**
+     * Looks up a schema by fingerprint.
+     *
+     * @return the schema, or empty when none is registered with that fingerprint
+     * @throws IOException if the schema cannot be read
+     */
+    Optional<EventSchema> lookup(long fingerprint) throws IOException;
+}
@@ -0,0 +1,99 @@
+package com.ebtedge.service.flow.event.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Schema registry keeping one JSON file per schema in a directory, named after the fingerprint
+ * ({@code 3f2a9c0d1e4b5a67.json}). Producers and consumers sharing the directory (a volume, or files shipped
+ * with the consumer) resolve each other's schemas without a registry service.
+ *
+ * <p>Files are written once, through a temporary file moved into place, so concurrent producers writing the
+ * same schema and consumers reading it never see a partial file. Schemas are cached in memory after the first
+ * register or lookup.
+ */
+@Slf4j
+public final class FileEventSchemaRegistry implements EventSchemaRegistry {
+
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, EventSchema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory the schema directory, created if missing
+     * @param objectMapper the mapper reading and writing the schema files
+     * @throws IOException if the directory cannot be created
+     */
+    public FileEventSchemaRegistry(Path directory, ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.objectMapper = objectMapper;
+        log.info("File event schema registry: directory={}", directory.toAbsolutePath());
+    }
+
+    @Override
+    public long register(EventSchema schema) throws IOException {
+        long fingerprint = schema.fingerprint();
+        if (schemas.containsKey(fingerprint)) {
+            return fingerprint;
+        }
+        Path file = fileOf(fingerprint);
+        if (!Files.exists(file)) {
+            Path temporary = Files.createTempFile(directory, Long.toHexString(fingerprint), ".tmp");
+            try {
+                objectMapper.writeValue(temporary.toFile(), schema);
+                move(temporary, file);
+                log.info("Registered event schema {} for {}@{}", file.getFileName(), schema.name(), schema.version());
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        schemas.putIfAbsent(fingerprint, schema);
+        return fingerprint;
+    }
+
+    @Override
+    public Optional<EventSchema> lookup(long fingerprint) throws IOException {
+        EventSchema schema = schemas.get(fingerprint);
+        if (schema != null) {
+            return Optional.of(schema);
+        }
+        Path file = fileOf(fingerprint);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        schema = objectMapper.readValue(file.toFile(), EventSchema.class);
+        if (schema.fingerprint() != fingerprint) {
+            throw new IOException("Schema file " + file + " does not match its fingerprint");
+        }
+        schemas.putIfAbsent(fingerprint, schema);
+        return Optional.of(schema);
+    }
+
+    private Path fileOf(long fingerprint) {
+        return directory.resolve(String.format("%016x", fingerprint) + SUFFIX);
+    }
+
+    private static void move(Path temporary, Path file) throws IOException {
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temporary, file);
+            } catch (FileAlreadyExistsException written) {
+                // Written by another producer meanwhile
+            }
+        }
+    }
+}
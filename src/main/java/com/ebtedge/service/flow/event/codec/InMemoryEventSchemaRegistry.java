@@ -0,0 +1,25 @@
+package com.ebtedge.service.flow.event.codec;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Schema registry held in memory, for events encoded and decoded by the same application.
+ */
+public final class InMemoryEventSchemaRegistry implements EventSchemaRegistry {
+
+    private final Map<Long, EventSchema> schemas = new ConcurrentHashMap<>();
+
+    @Override
+    public long register(EventSchema schema) {
+        long fingerprint = schema.fingerprint();
+        schemas.putIfAbsent(fingerprint, schema);
+        return fingerprint;
+    }
+
+    @Override
+    public Optional<EventSchema> lookup(long fingerprint) {
+        return Optional.ofNullable(schemas.get(fingerprint));
+    }
+}
@@ -0,0 +1,44 @@
+package com.ebtedge.service.flow.event.codec;
+
+import com.ebtedge.service.flow.event.EventMapper;
+import com.ebtedge.service.flow.event.EventWriter;
+import com.ebtedge.service.flow.event.KafkaEventEnvelope;
+import com.ebtedge.service.flow.event.KafkaEventMetadata;
+import com.ebtedge.service.flow.event.KafkaEventSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Encodes events as JSON {@link KafkaEventEnvelope}s (the default, {@code service-flow.kafka.format=json}).
+ * Mappers that are also {@link EventWriter}s are streamed without building the payload map.
+ */
+public final class JsonKafkaEventCodec implements KafkaEventCodec {
+
+    public static final String CONTENT_TYPE = "application/json";
+
+    private final KafkaEventSerializer serializer;
+
+    public JsonKafkaEventCodec(KafkaEventSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public byte[] encodePayload(KafkaEventMetadata metadata, Map<String, Object> payload, Class<?> sourceType) throws IOException {
+        return serializer.serialize(new KafkaEventEnvelope(metadata, payload));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> byte[] encode(KafkaEventMetadata metadata, T source, EventMapper<T> mapper) throws IOException {
+        if (mapper instanceof EventWriter<?> writer) {
+            return serializer.serialize(metadata, source, (EventWriter<T>) writer);
+        }
+        return encodePayload(metadata, mapper.map(source), null);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ebtedge.service.flow.event.codec;
+
+import com.ebtedge.service.flow.event.EventMapper;
+import com.ebtedge.service.flow.event.KafkaEventMetadata;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Encodes Kafka events into the bytes sent by the producer, in the format selected by
+ * {@code service-flow.kafka.format}: {@link JsonKafkaEventCodec} or {@link BinaryKafkaEventCodec}.
+ */
+public interface KafkaEventCodec {
+
+    /** Record header carrying {@link #contentType()}, so consumers can tell the formats apart */
+    String CONTENT_TYPE_HEADER = "content-type";
+
+    /**
+     * Returns the content type of the encoded events.
+     */
+    String contentType();
+
+    /**
+     * Encodes an event from its payload map.
+     *
+     * @param metadata the event metadata
+     * @param payload the event payload
+     * @param sourceType the type the payload was mapped from, or null when unknown
+     * @throws IOException if encoding fails
+     */
+    byte[] encodePayload(KafkaEventMetadata metadata, Map<String, Object> payload, Class<?> sourceType) throws IOException;
+
+    /**
+     * Encodes an event from a domain object and the mapper selecting its fields.
+     *
+     * @param metadata the event metadata
+     * @param source the source data object
+     * @param mapper the event mapper for field selection
+     * @throws IOException if encoding fails
+     */
+    default <T> byte[] encode(KafkaEventMetadata metadata, T source, EventMapper<T> mapper) throws IOException {
+        return encodePayload(metadata, mapper.map(source), source != null ? source.getClass() : null);
+    }
+}
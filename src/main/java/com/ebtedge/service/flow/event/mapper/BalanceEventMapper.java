@@ -2,15 +2,18 @@ package com.ebtedge.service.flow.event.mapper;
 
 import com.ebtedge.service.flow.domain.Balance;
 import com.ebtedge.service.flow.event.EventMapper;
+import com.ebtedge.service.flow.event.EventWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Event mapper for Balance objects.
- * Maps all balance fields to the Kafka event payload.
+ * Maps all balance fields to the Kafka event payload, or writes them directly when published.
  */
-public enum BalanceEventMapper implements EventMapper<Balance> {
+public enum BalanceEventMapper implements EventMapper<Balance>, EventWriter<Balance> {
     INSTANCE;
 
     @Override
@@ -21,6 +24,12 @@ public enum BalanceEventMapper implements EventMapper<Balance> {
         return payload;
     }
 
+    @Override
+    public void write(Balance balance, JsonGenerator generator) throws IOException {
+        generator.writeStringField("clientId", balance.clientId());
+        generator.writeNumberField("amount", balance.amount());
+    }
+
     @Override
     public String schemaVersion() {
         return "1.0";
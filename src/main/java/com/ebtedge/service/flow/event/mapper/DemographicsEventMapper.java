@@ -2,15 +2,19 @@ package com.ebtedge.service.flow.event.mapper;
 
 import com.ebtedge.service.flow.domain.Demographics;
 import com.ebtedge.service.flow.event.EventMapper;
+import com.ebtedge.service.flow.event.EventWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Event mapper for Demographics objects.
  * Maps selected demographics fields, excluding sensitive information like email.
+ * The same fields are written directly when the event is published.
  */
-public enum DemographicsEventMapper implements EventMapper<Demographics> {
+public enum DemographicsEventMapper implements EventMapper<Demographics>, EventWriter<Demographics> {
     INSTANCE;
 
     @Override
@@ -22,6 +26,13 @@ public enum DemographicsEventMapper implements EventMapper<Demographics> {
         return payload;
     }
 
+    @Override
+    public void write(Demographics demographics, JsonGenerator generator) throws IOException {
+        generator.writeStringField("name", demographics.name());
+        generator.writeStringField("city", demographics.city());
+        // Deliberately exclude email for privacy
+    }
+
     @Override
     public String schemaVersion() {
         return "1.0";
@@ -1,14 +1,25 @@
 package com.ebtedge.service.flow.event.mapper;
 
 import com.ebtedge.service.flow.event.EventMapper;
+import com.ebtedge.service.flow.event.EventWriter;
 import com.ebtedge.service.flow.event.annotation.KafkaField;
+import com.fasterxml.jackson.core.JsonGenerator;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.RecordComponent;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Generic event mapper that uses reflection to extract fields annotated with @KafkaField.
@@ -23,6 +34,17 @@ import java.util.concurrent.ConcurrentHashMap;
  *   <li>Performance-optimized with reflection metadata caching</li>
  * </ul>
  *
+ * <p>Reflection only runs once per class: each annotated field is compiled into a getter function.
+ * Record accessors are bound with {@link LambdaMetafactory}, so reading a component is a plain interface
+ * call the JIT can inline. Fields of regular classes are read through a {@link MethodHandle}, without the
+ * per-call access checks of {@code Field.get}.
+ *
+ * <p>Records compiled with the {@code KafkaFieldProcessor} annotation processor have a generated mapper
+ * ({@code Balance_EventMapper} for {@code Balance}); when one exists it is used instead of the compiled getters,
+ * so such records are mapped without any reflection after the first lookup. Generated mappers are also
+ * {@link EventWriter}s, and {@link #write} streams those records straight into the serialized event; other
+ * classes are written from the payload {@link #map} builds.
+ *
  * <p>Usage:
  * <pre>
  * // Singleton instance for all types
@@ -35,7 +57,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * @param <T> the type of the source object to map
  */
 @Slf4j
-public class ReflectionEventMapper<T> implements EventMapper<T> {
+public class ReflectionEventMapper<T> implements EventMapper<T>, EventWriter<T> {
 
     /**
      * Singleton instance that works for all types.
@@ -51,6 +73,16 @@ public class ReflectionEventMapper<T> implements EventMapper<T> {
      */
     private static final Map<Class<?>, FieldMetadata[]> FIELD_CACHE = new ConcurrentHashMap<>();
 
+    /**
+     * Generated mapper by class, {@link #NO_GENERATED_MAPPER} for classes without one.
+     */
+    private static final Map<Class<?>, EventMapper<Object>> GENERATED_MAPPERS = new ConcurrentHashMap<>();
+
+    private static final EventMapper<Object> NO_GENERATED_MAPPER = source -> Map.of();
+
+    /** Suffix of the mappers written by the annotation processor */
+    private static final String GENERATED_MAPPER_SUFFIX = "_EventMapper";
+
     /**
      * Creates a type-specific instance (optional, for type safety and clarity).
      *
@@ -60,7 +92,9 @@ public class ReflectionEventMapper<T> implements EventMapper<T> {
      */
     public static <T> ReflectionEventMapper<T> forClass(Class<T> clazz) {
         // Pre-warm the cache
-        getFieldMetadata(clazz);
+        if (generatedMapper(clazz) == NO_GENERATED_MAPPER) {
+            getFieldMetadata(clazz);
+        }
         return new ReflectionEventMapper<>();
     }
 
@@ -72,13 +106,17 @@ public class ReflectionEventMapper<T> implements EventMapper<T> {
         }
 
         Class<?> sourceClass = source.getClass();
+        EventMapper<Object> generated = generatedMapper(sourceClass);
+        if (generated != NO_GENERATED_MAPPER) {
+            return generated.map(source);
+        }
         FieldMetadata[] fields = getFieldMetadata(sourceClass);
 
-        Map<String, Object> payload = new HashMap<>();
+        Map<String, Object> payload = new HashMap<>((int) (fields.length / 0.75f) + 1);
 
         for (FieldMetadata fieldMeta : fields) {
             try {
-                Object value = fieldMeta.getValue(source);
+                Object value = fieldMeta.getter.apply(source);
 
                 if (value != null) {
                     Object finalValue = value;
@@ -101,6 +139,66 @@ public class ReflectionEventMapper<T> implements EventMapper<T> {
         return payload;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(T source, JsonGenerator generator) throws IOException {
+        if (source == null) {
+            log.warn("Attempted to write null object, writing empty payload");
+            return;
+        }
+        EventMapper<Object> generated = generatedMapper(source.getClass());
+        if (generated instanceof EventWriter<?> writer) {
+            ((EventWriter<Object>) writer).write(source, generator);
+            return;
+        }
+        for (Map.Entry<String, Object> field : map(source).entrySet()) {
+            generator.writeObjectField(field.getKey(), field.getValue());
+        }
+    }
+
+    /**
+     * Maps the value of a {@code nested = true} field: numbers, strings and other simple values are returned as is,
+     * objects are mapped by {@link #INSTANCE}. Called by generated mappers for nested values of non-record types.
+     *
+     * @param value a non-null field value
+     * @return the value to put into the payload
+     */
+    @SuppressWarnings("unchecked")
+    public static Object mapNested(Object value) {
+        return isPrimitiveOrWrapper(value.getClass()) ? value : INSTANCE.map(value);
+    }
+
+    /**
+     * Gets the generated mapper of a class, looking it up once.
+     */
+    private static EventMapper<Object> generatedMapper(Class<?> clazz) {
+        return GENERATED_MAPPERS.computeIfAbsent(clazz, ReflectionEventMapper::findGeneratedMapper);
+    }
+
+    /**
+     * Loads the mapper generated for a record: the enum {@code <package>.<Outer>_<Record>_EventMapper}.
+     */
+    @SuppressWarnings("unchecked")
+    private static EventMapper<Object> findGeneratedMapper(Class<?> clazz) {
+        if (!clazz.isRecord()) {
+            return NO_GENERATED_MAPPER;
+        }
+        String packageName = clazz.getPackageName();
+        String binaryName = packageName.isEmpty() ? clazz.getName() : clazz.getName().substring(packageName.length() + 1);
+        String mapperName = (packageName.isEmpty() ? "" : packageName + ".")
+            + binaryName.replace('$', '_') + GENERATED_MAPPER_SUFFIX;
+        try {
+            Class<?> mapperClass = Class.forName(mapperName, true, clazz.getClassLoader());
+            if (mapperClass.isEnum() && EventMapper.class.isAssignableFrom(mapperClass)) {
+                log.debug("Using generated {} for {}", mapperClass.getSimpleName(), clazz.getSimpleName());
+                return (EventMapper<Object>) mapperClass.getEnumConstants()[0];
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Not compiled with the annotation processor
+        }
+        return NO_GENERATED_MAPPER;
+    }
+
     /**
      * Gets field metadata for a class, using cache if available.
      */
@@ -135,7 +233,7 @@ public class ReflectionEventMapper<T> implements EventMapper<T> {
                 return new FieldMetadata(
                     component.getName(),
                     jsonName,
-                    component.getAccessor(),
+                    compileGetter(recordClass, component.getAccessor()),
                     annotation.nested()
                 );
             })
@@ -156,12 +254,10 @@ public class ReflectionEventMapper<T> implements EventMapper<T> {
                     KafkaField annotation = field.getAnnotation(KafkaField.class);
                     String jsonName = annotation.name().isEmpty() ? field.getName() : annotation.name();
 
-                    field.setAccessible(true);  // Allow access to private fields
-
                     metadataList.add(new FieldMetadata(
                         field.getName(),
                         jsonName,
-                        field,
+                        compileGetter(currentClass, field),
                         annotation.nested()
                     ));
                 }
@@ -172,6 +268,69 @@ public class ReflectionEventMapper<T> implements EventMapper<T> {
         return metadataList.toArray(new FieldMetadata[0]);
     }
 
+    /**
+     * Compiles a class field into a getter. LambdaMetafactory cannot target fields, so the field is read through
+     * a method handle; the field itself is read rather than a getter, which may not return it unchanged.
+     * A field the mapper may not access is read reflectively instead, so {@link #map} logs and skips it
+     * like any other field that fails to read.
+     */
+    static Function<Object, Object> compileGetter(Class<?> declaringClass, Field field) {
+        try {
+            field.setAccessible(true);  // Allow access to private fields
+            return new HandleGetter(MethodHandles.lookup().unreflectGetter(field));
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.warn("Cannot access field {}.{}, reading it reflectively: {}",
+                declaringClass.getName(), field.getName(), e.toString());
+            return source -> {
+                try {
+                    return field.get(source);
+                } catch (IllegalAccessException accessError) {
+                    throw new IllegalStateException(accessError);
+                }
+            };
+        }
+    }
+
+    /**
+     * Compiles a no-argument accessor into a getter function, falling back to a method handle when the
+     * accessor cannot be bound with LambdaMetafactory (e.g. a class invisible to this mapper's lookup), and to
+     * reflective calls when the mapper may not access it at all.
+     */
+    static Function<Object, Object> compileGetter(Class<?> declaringClass, Method accessor) {
+        MethodHandle handle;
+        try {
+            accessor.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(accessor);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.warn("Cannot access accessor {}, calling it reflectively: {}", accessor, e.toString());
+            return source -> {
+                try {
+                    return accessor.invoke(source);
+                } catch (IllegalAccessException accessError) {
+                    throw new IllegalStateException(accessError);
+                } catch (InvocationTargetException invocationError) {
+                    throw new IllegalStateException(invocationError.getCause());
+                }
+            };
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+            CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                lookup.unreflect(accessor),
+                MethodType.methodType(accessor.getReturnType(), declaringClass).wrap());
+            @SuppressWarnings("unchecked")
+            Function<Object, Object> getter = (Function<Object, Object>) site.getTarget().invokeExact();
+            return getter;
+        } catch (Throwable e) {
+            log.debug("Falling back to a method handle for {}: {}", accessor, e.toString());
+            return new HandleGetter(handle);
+        }
+    }
+
     /**
      * Checks if a class is a primitive type or wrapper.
      */
@@ -192,33 +351,39 @@ public class ReflectionEventMapper<T> implements EventMapper<T> {
     /**
      * Internal class to cache field metadata.
      */
-    private static class FieldMetadata {
+    private static final class FieldMetadata {
         final String fieldName;
         final String jsonName;
-        final Object accessor;  // Either Method (for records) or Field (for classes)
+        final Function<Object, Object> getter;
         final boolean nested;
 
-        FieldMetadata(String fieldName, String jsonName, Object accessor, boolean nested) {
+        FieldMetadata(String fieldName, String jsonName, Function<Object, Object> getter, boolean nested) {
             this.fieldName = fieldName;
             this.jsonName = jsonName;
-            this.accessor = accessor;
+            this.getter = getter;
             this.nested = nested;
         }
+    }
 
-        Object getValue(Object source) throws Exception {
-            if (accessor instanceof java.lang.reflect.Method method) {
-                // Record accessor method
-                return method.invoke(source);
-            } else if (accessor instanceof Field field) {
-                // Class field
-                return field.get(source);
-            }
-            throw new IllegalStateException("Unknown accessor type: " + accessor.getClass());
+    /**
+     * Getter reading a field or calling an accessor through a method handle adapted to {@code (Object)Object}.
+     */
+    private static final class HandleGetter implements Function<Object, Object> {
+        private final MethodHandle handle;
+
+        HandleGetter(MethodHandle handle) {
+            this.handle = handle.asType(MethodType.methodType(Object.class, Object.class));
         }
-    }
 
-    @Override
-    public String schemaVersion() {
-        return "1.0";
+        @Override
+        public Object apply(Object source) {
+            try {
+                return handle.invokeExact(source);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
     }
 }
@@ -2,15 +2,19 @@ package com.ebtedge.service.flow.event.mapper;
 
 import com.ebtedge.service.flow.domain.UIResponse;
 import com.ebtedge.service.flow.event.EventMapper;
+import com.ebtedge.service.flow.event.EventWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Event mapper for UIResponse objects.
  * Selects specific fields from balance and demographics, excluding sensitive data.
+ * The same fields are written directly when the event is published.
  */
-public enum UIResponseEventMapper implements EventMapper<UIResponse> {
+public enum UIResponseEventMapper implements EventMapper<UIResponse>, EventWriter<UIResponse> {
     INSTANCE;
 
     @Override
@@ -37,6 +41,21 @@ public enum UIResponseEventMapper implements EventMapper<UIResponse> {
         return payload;
     }
 
+    @Override
+    public void write(UIResponse response, JsonGenerator generator) throws IOException {
+        if (response.balance() != null) {
+            generator.writeObjectFieldStart("balance");
+            BalanceEventMapper.INSTANCE.write(response.balance(), generator);
+            generator.writeEndObject();
+        }
+
+        if (response.demographics() != null) {
+            generator.writeObjectFieldStart("demographics");
+            DemographicsEventMapper.INSTANCE.write(response.demographics(), generator);
+            generator.writeEndObject();
+        }
+    }
+
     @Override
     public String schemaVersion() {
         return "1.0";
@@ -0,0 +1,22 @@
+package com.ebtedge.service.flow.opa;
+
+import com.ebtedge.service.flow.domain.Cardholder;
+
+import java.util.function.Consumer;
+
+/**
+ * One page of a streamed cardholder search. The backend lookups are done when the stream is returned;
+ * cardholders are merged one at a time while {@link #forEach} runs, so the page is never held in memory.
+ */
+public interface CardholderStream {
+
+    /**
+     * Cursor of the next page, or null when this is the last page.
+     */
+    String nextCursor();
+
+    /**
+     * Merges the cardholders of the page in order, handing each to {@code action} as soon as it is built.
+     */
+    void forEach(Consumer<? super Cardholder> action);
+}
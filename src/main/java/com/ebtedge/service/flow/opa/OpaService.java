@@ -4,7 +4,22 @@ import com.ebtedge.service.flow.core.ResponseWrapper;
 import com.ebtedge.service.flow.domain.CardholderSearchCriteria;
 import com.ebtedge.service.flow.domain.CardholderSearchResult;
 
+import java.util.List;
+
 public interface OpaService {
 
     ResponseWrapper<CardholderSearchResult> cardholderSearch(CardholderSearchCriteria searchCriteria);
+
+    /**
+     * Runs many searches at once, e.g. for reconciliation jobs.
+     *
+     * @return one result per criteria, in input order; a failed item does not fail the others
+     */
+    List<ResponseWrapper<CardholderSearchResult>> cardholderSearchBatch(List<CardholderSearchCriteria> searchCriteria);
+
+    /**
+     * Runs the lookups of a search and returns its cardholders as a lazily merged stream. The page is selected
+     * by the criteria's {@code pageSize} and {@code cursor}, as for {@link #cardholderSearch}.
+     */
+    ResponseWrapper<CardholderStream> cardholderSearchStream(CardholderSearchCriteria searchCriteria);
 }
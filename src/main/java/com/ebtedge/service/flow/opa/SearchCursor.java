@@ -0,0 +1,44 @@
+package com.ebtedge.service.flow.opa;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation cursor of a paged cardholder search. Clients pass back the cursor of the previous
+ * page verbatim; its content (the position of the next card) is an implementation detail.
+ */
+public final class SearchCursor {
+
+    private static final String VERSION = "c1:";
+
+    private SearchCursor() {
+    }
+
+    public static String encode(int position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSION + position).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Returns the position the cursor continues from, 0 for a missing cursor.
+     *
+     * @throws IllegalArgumentException when the cursor was not issued by {@link #encode}
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(VERSION)) {
+                int position = Integer.parseInt(decoded.substring(VERSION.length()));
+                if (position >= 0) {
+                    return position;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed Base64 or number, reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
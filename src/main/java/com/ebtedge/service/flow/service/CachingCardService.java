@@ -0,0 +1,358 @@
+package com.ebtedge.service.flow.service;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.CacheSpec;
+import com.ebtedge.service.flow.cardsummary.CardService;
+import com.ebtedge.service.flow.cardsummary.CardholderSummaryContext;
+import com.ebtedge.service.flow.cardsummary.CardholderSummaryResult;
+import com.ebtedge.service.flow.core.ResponseWrapper;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * CardService decorator that caches successful cardholder summaries across requests, keyed by
+ * (cardNumber, agency).
+ *
+ * <ul>
+ *   <li>Size-bounded with Caffeine's W-TinyLFU policy, so one-off searches do not evict the cards agents
+ *       keep coming back to</li>
+ *   <li>Entries expire {@code time-to-live} after they were loaded</li>
+ *   <li>Refresh-ahead: a hit on an entry older than {@code refresh-after} is served from the cache while
+ *       the summary is reloaded in the background (at most one reload per key at a time)</li>
+ *   <li>Concurrent misses on one card share a single backend call; the other callers wait for it at most
+ *       {@code max-wait} and then fail with {@code TIMEOUT}</li>
+ *   <li>Failures and exceptions are never cached</li>
+ *   <li>{@link #invalidate(String, String)} and {@link #invalidateAll()} for card updates; a load or
+ *       refresh still in flight when the card is invalidated does not put its result back</li>
+ * </ul>
+ *
+ * <p>Card numbers never appear in the keys: a key is the truncated HMAC-SHA256 of agency and card
+ * number under a random per-instance secret, which also rules out recovering card numbers by hashing
+ * the card number space.
+ *
+ * <p>Metrics: Caffeine's {@code cache.gets}, {@code cache.evictions}, {@code cache.size} etc. tagged
+ * {@code cache=cardholderSummary}, plus {@code workflow.cache.hit.ratio} and the backend load latency
+ * {@code workflow.cache.load} ({@code result=success|failure}).
+ */
+@Slf4j
+public class CachingCardService implements CardService {
+
+    static final String CACHE_NAME = "cardholderSummary";
+    static final String LOAD_METRIC = "workflow.cache.load";
+    static final String HIT_RATIO_METRIC = "workflow.cache.hit.ratio";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String TIMEOUT_ERROR_CODE = "TIMEOUT";
+    private static final String INTERRUPTED_ERROR_CODE = "INTERRUPTED";
+
+    private final CardService delegate;
+    private final AsyncCache<CardKey, Entry> cache;
+    private final Ticker ticker;
+    private final long refreshAfterNanos;
+    private final long maxWaitNanos;
+    private final Executor executor;
+    private final SecretKeySpec keySecret;
+    private final BlockingQueue<Mac> macs;
+    private final Set<CardKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final Timer loadSuccess;
+    private final Timer loadFailure;
+
+    public CachingCardService(CardService delegate, CacheSpec spec, MeterRegistry meterRegistry, Executor executor) {
+        this(delegate, spec, meterRegistry, executor, Ticker.systemTicker());
+    }
+
+    CachingCardService(CardService delegate, CacheSpec spec, MeterRegistry meterRegistry, Executor executor,
+                       Ticker ticker) {
+        this.delegate = delegate;
+        this.ticker = ticker;
+        this.executor = executor;
+        this.refreshAfterNanos = spec.getRefreshAfter() != null ? spec.getRefreshAfter().toNanos() : 0;
+        this.maxWaitNanos = spec.getMaxWait().toNanos();
+        // The executor only runs refresh-ahead loads; Caffeine's own maintenance stays on its default pool
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .expireAfterWrite(spec.getTimeToLive())
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.keySecret = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        // Hashing never blocks, so no more Macs are in use at once than there are cores (virtual thread
+        // carriers included); a pool rather than a ThreadLocal keeps them reused on virtual threads
+        this.macs = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+        Gauge.builder(HIT_RATIO_METRIC, cache, c -> c.synchronous().stats().hitRate())
+                .description("Share of cache reads served without calling the backend")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.loadSuccess = Timer.builder(LOAD_METRIC).tag("cache", CACHE_NAME).tag("result", "success")
+                .register(meterRegistry);
+        this.loadFailure = Timer.builder(LOAD_METRIC).tag("cache", CACHE_NAME).tag("result", "failure")
+                .register(meterRegistry);
+
+        log.info("Cardholder summary cache enabled: maximumSize={}, timeToLive={}, refreshAfter={}",
+                spec.getMaximumSize(), spec.getTimeToLive(), spec.getRefreshAfter());
+    }
+
+    @Override
+    public ResponseWrapper<CardholderSummaryResult> getCardholderSummary(CardholderSummaryContext context) {
+        if (context == null || context.cardNumber() == null || context.agency() == null) {
+            // Let the backend service report the validation error
+            return delegate.getCardholderSummary(context);
+        }
+
+        CardKey key = keyOf(context.cardNumber(), context.agency());
+        CompletableFuture<Entry> claim = new CompletableFuture<>();
+        CompletableFuture<Entry> cached = cache.get(key, (k, e) -> claim);
+        if (cached == claim) {
+            return load(key, context, claim);
+        }
+        // Either a cached entry or another caller's load of the same card
+        ResponseWrapper<CardholderSummaryResult> result = await(cached);
+        refreshIfStale(key, context, cached);
+        log.debug("Cardholder summary served from cache for agency: {}", context.agency());
+        return result;
+    }
+
+    /**
+     * Serves the cached summaries and fetches all misses with a single bulk call to the backend. Cards
+     * another caller is already loading are awaited instead of fetched again. If the bulk call fails or
+     * does not return one result per miss, every claimed miss is released with the exception.
+     */
+    @Override
+    public List<ResponseWrapper<CardholderSummaryResult>> getCardholderSummaries(
+            List<CardholderSummaryContext> contexts) {
+        List<ResponseWrapper<CardholderSummaryResult>> results = new ArrayList<>(contexts.size());
+        List<CardKey> keys = new ArrayList<>(contexts.size());
+        List<CompletableFuture<Entry>> pending = new ArrayList<>(contexts.size());
+        List<Integer> misses = new ArrayList<>();
+        List<CardKey> missKeys = new ArrayList<>();
+        List<CompletableFuture<Entry>> missClaims = new ArrayList<>();
+        List<CardholderSummaryContext> missContexts = new ArrayList<>();
+        for (CardholderSummaryContext context : contexts) {
+            CardKey key = context == null || context.cardNumber() == null || context.agency() == null
+                    ? null : keyOf(context.cardNumber(), context.agency());
+            CompletableFuture<Entry> claim = key != null ? new CompletableFuture<>() : null;
+            CompletableFuture<Entry> cached = key != null ? cache.get(key, (k, e) -> claim) : null;
+            keys.add(key);
+            if (cached != null && cached != claim) {
+                pending.add(cached);
+            } else {
+                misses.add(results.size());
+                missKeys.add(key);
+                missClaims.add(claim);
+                missContexts.add(context);
+                pending.add(null);
+            }
+            results.add(null);
+        }
+
+        if (!misses.isEmpty()) {
+            long start = System.nanoTime();
+            List<ResponseWrapper<CardholderSummaryResult>> loaded;
+            try {
+                loaded = delegate.getCardholderSummaries(missContexts);
+                if (loaded == null || loaded.size() != missContexts.size()) {
+                    throw new IllegalStateException("Bulk call returned " + (loaded == null ? "null" : loaded.size())
+                            + " result(s) for " + missContexts.size() + " request(s)");
+                }
+            } catch (RuntimeException | Error e) {
+                loadFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                for (CompletableFuture<Entry> claim : missClaims) {
+                    if (claim != null) {
+                        claim.completeExceptionally(e);
+                    }
+                }
+                throw e;
+            }
+            loadSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            for (int k = 0; k < misses.size(); k++) {
+                ResponseWrapper<CardholderSummaryResult> result = loaded.get(k);
+                results.set(misses.get(k), result);
+                if (missClaims.get(k) != null) {
+                    settle(missKeys.get(k), missClaims.get(k), result);
+                }
+            }
+        }
+
+        // Awaited only after our own claims are settled: a card listed twice waits on its own claim
+        for (int i = 0; i < contexts.size(); i++) {
+            CompletableFuture<Entry> cached = pending.get(i);
+            if (cached != null) {
+                results.set(i, await(cached));
+                refreshIfStale(keys.get(i), contexts.get(i), cached);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Drops the cached summary of one card, e.g. after its status or owner changed.
+     */
+    public void invalidate(String cardNumber, String agency) {
+        cache.synchronous().invalidate(keyOf(cardNumber, agency));
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    long estimatedSize() {
+        cache.synchronous().cleanUp();
+        return cache.synchronous().estimatedSize();
+    }
+
+    private ResponseWrapper<CardholderSummaryResult> load(CardKey key, CardholderSummaryContext context,
+                                                          CompletableFuture<Entry> claim) {
+        ResponseWrapper<CardholderSummaryResult> result;
+        try {
+            result = timedLoad(context);
+        } catch (RuntimeException | Error e) {
+            // Caffeine drops exceptionally completed entries; callers waiting on the claim see the exception
+            claim.completeExceptionally(e);
+            throw e;
+        }
+        settle(key, claim, result);
+        return result;
+    }
+
+    private ResponseWrapper<CardholderSummaryResult> timedLoad(CardholderSummaryContext context) {
+        long start = System.nanoTime();
+        ResponseWrapper<CardholderSummaryResult> result;
+        try {
+            result = delegate.getCardholderSummary(context);
+        } catch (RuntimeException | Error e) {
+            loadFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        (result.isSuccess() ? loadSuccess : loadFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Hands the result to every caller waiting on the claim. A failure is then removed so the next
+     * lookup retries; if the card was invalidated meanwhile the claim is no longer mapped and the
+     * result is not cached either way.
+     */
+    private void settle(CardKey key, CompletableFuture<Entry> claim, ResponseWrapper<CardholderSummaryResult> result) {
+        claim.complete(new Entry(result, ticker.read()));
+        if (!result.isSuccess()) {
+            cache.asMap().remove(key, claim);
+        }
+    }
+
+    private ResponseWrapper<CardholderSummaryResult> await(CompletableFuture<Entry> cached) {
+        try {
+            return cached.get(maxWaitNanos, TimeUnit.NANOSECONDS).result();
+        } catch (TimeoutException e) {
+            return ResponseWrapper.fail(new ErrorDetails(TIMEOUT_ERROR_CODE,
+                    "Cardholder summary load in flight did not complete in time"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseWrapper.fail(new ErrorDetails(INTERRUPTED_ERROR_CODE,
+                    "Interrupted while waiting for the cardholder summary"));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void refreshIfStale(CardKey key, CardholderSummaryContext context, CompletableFuture<Entry> cached) {
+        Entry entry = cached.getNow(null);
+        if (refreshAfterNanos > 0 && entry != null && entry.result().isSuccess()
+                && ticker.read() - entry.loadedAtNanos() >= refreshAfterNanos) {
+            refreshAhead(key, context, cached);
+        }
+    }
+
+    private void refreshAhead(CardKey key, CardholderSummaryContext context, CompletableFuture<Entry> stale) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    ResponseWrapper<CardholderSummaryResult> result = timedLoad(context);
+                    if (result.isSuccess()) {
+                        // Only replaces the entry that was refreshed: if the card was invalidated or
+                        // reloaded in the meantime, that newer state wins
+                        cache.asMap().replace(key, stale,
+                                CompletableFuture.completedFuture(new Entry(result, ticker.read())));
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Refresh-ahead of cardholder summary failed: {}", e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.debug("Refresh-ahead of cardholder summary skipped: executor saturated");
+        }
+    }
+
+    private CardKey keyOf(String cardNumber, String agency) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        mac.update(agency.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        ByteBuffer digest = ByteBuffer.wrap(mac.doFinal(cardNumber.getBytes(StandardCharsets.UTF_8)));
+        // doFinal resets the Mac, so it can go straight back to the pool
+        macs.offer(mac);
+        return new CardKey(digest.getLong(), digest.getLong());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(keySecret);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /**
+     * First 128 bits of the keyed hash of agency and card number.
+     */
+    private record CardKey(long high, long low) {
+    }
+
+    private record Entry(ResponseWrapper<CardholderSummaryResult> result, long loadedAtNanos) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.ebtedge.service.flow.service;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Puts the cardholder summary cache in front of {@link CardServiceImpl} when
+ * {@code service-flow.cache.cardholder-summary.enabled=true}. Being primary, the cached service is what
+ * {@link OpaServiceImpl} and other {@code CardService} clients receive.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "service-flow.cache.cardholder-summary", name = "enabled", havingValue = "true")
+public class CardServiceCacheConfiguration {
+
+    @Bean
+    @Primary
+    public CachingCardService cachingCardService(CardServiceImpl cardService, ServiceFlowProperties properties,
+                                                 MeterRegistry meterRegistry,
+                                                 @Qualifier("workflowStepExecutor") Executor executor) {
+        return new CachingCardService(cardService, properties.getCache().getCardholderSummary(), meterRegistry,
+                executor);
+    }
+}
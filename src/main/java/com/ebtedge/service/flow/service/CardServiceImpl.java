@@ -8,6 +8,7 @@ import com.ebtedge.service.flow.domain.ErrorDetails;
 import com.ebtedge.service.flow.domain.common.BaseResponseMetadata;
 import com.ebtedge.service.flow.domain.common.CardInfoResult;
 import com.ebtedge.service.flow.domain.common.ClientInfoResult;
+import com.ebtedge.service.flow.util.CardNumber;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -36,14 +37,14 @@ public class CardServiceImpl implements CardService {
             validateContext(cardholderSummaryContext);
 
             log.info("Fetching cardholder summary for cardNumber: {}, agency: {}",
-                    maskCardNumber(cardholderSummaryContext.cardNumber()),
+                    CardNumber.mask(cardholderSummaryContext.cardNumber()),
                     cardholderSummaryContext.agency());
 
             // Build mock response
             CardholderSummaryResult result = buildMockCardholderSummary(cardholderSummaryContext);
 
             log.info("Successfully retrieved cardholder summary for cardNumber: {}, clientId: {}",
-                    maskCardNumber(cardholderSummaryContext.cardNumber()),
+                    CardNumber.mask(cardholderSummaryContext.cardNumber()),
                     result.clientId());
 
             return ResponseWrapper.success(result);
@@ -70,7 +71,7 @@ public class CardServiceImpl implements CardService {
         if (context.agency() == null || context.agency().trim().isEmpty()) {
             throw new IllegalArgumentException("Agency is required");
         }
-        log.debug("Context validation passed for cardNumber: {}", maskCardNumber(context.cardNumber()));
+        log.debug("Context validation passed for cardNumber: {}", CardNumber.mask(context.cardNumber()));
     }
 
     /**
@@ -136,18 +137,4 @@ public class CardServiceImpl implements CardService {
         }
         return primaryCardNumber;
     }
-
-    /**
-     * Masks card number for secure logging (shows first 6 and last 4 digits).
-     */
-    private String maskCardNumber(String cardNumber) {
-        if (cardNumber == null || cardNumber.length() < 10) {
-            return "****";
-        }
-        String cleaned = cardNumber.replaceAll("[\\s-]", "");
-        if (cleaned.length() == 16) {
-            return cleaned.substring(0, 6) + "******" + cleaned.substring(12);
-        }
-        return cleaned.substring(0, Math.min(4, cleaned.length())) + "****";
-    }
 }
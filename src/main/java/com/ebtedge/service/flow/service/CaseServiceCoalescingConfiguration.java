@@ -0,0 +1,25 @@
+package com.ebtedge.service.flow.service;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Puts single-flight coalescing in front of {@link CaseServiceImpl} when
+ * {@code service-flow.coalescing.case-inquiry=true}. Being primary, the coalescing service is what
+ * {@code CaseService} clients receive.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "service-flow.coalescing", name = "case-inquiry", havingValue = "true")
+public class CaseServiceCoalescingConfiguration {
+
+    @Bean
+    @Primary
+    public CoalescingCaseService coalescingCaseService(CaseServiceImpl caseService, ServiceFlowProperties properties,
+                                                       MeterRegistry meterRegistry) {
+        return new CoalescingCaseService(caseService, properties.getCoalescing().getMaxWait(), meterRegistry);
+    }
+}
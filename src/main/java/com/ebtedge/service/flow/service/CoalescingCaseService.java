@@ -0,0 +1,139 @@
+package com.ebtedge.service.flow.service;
+
+import com.ebtedge.service.flow.caseinquiry.CaseInquiryContext;
+import com.ebtedge.service.flow.caseinquiry.CaseInquiryResult;
+import com.ebtedge.service.flow.caseinquiry.CaseService;
+import com.ebtedge.service.flow.core.ResponseWrapper;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * CaseService decorator that collapses concurrent inquiries for the same (caseNumber, agency) into a
+ * single backend call (single-flight).
+ *
+ * <p>The first caller of a key runs the inquiry; callers arriving while it is in flight wait for it and
+ * receive the same {@link ResponseWrapper}, or the same exception. The in-flight entry is removed before
+ * the result is published, so a caller arriving afterwards starts a fresh call: nothing is served stale.
+ * The inquiry result does not depend on the caller's request metadata, which is what makes sharing safe.
+ *
+ * <p>A waiting caller gives up after {@code max-wait} with a {@code TIMEOUT} failure. When it runs as a
+ * pipeline step with a deadline, the step is interrupted at the deadline, which ends the wait with an
+ * {@code INTERRUPTED} failure; the leader's call is never cancelled by its followers.
+ *
+ * <p>Metric {@code workflow.singleflight.calls} (tags {@code service=caseInquiry},
+ * {@code role=leader|coalesced}): backend calls made and calls saved.
+ */
+@Slf4j
+public class CoalescingCaseService implements CaseService {
+
+    static final String CALLS_METRIC = "workflow.singleflight.calls";
+    static final String SERVICE_NAME = "caseInquiry";
+    static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(30);
+
+    private static final String TIMEOUT_ERROR_CODE = "TIMEOUT";
+    private static final String INTERRUPTED_ERROR_CODE = "INTERRUPTED";
+
+    private final CaseService delegate;
+    private final Map<CaseKey, CompletableFuture<ResponseWrapper<CaseInquiryResult>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public CoalescingCaseService(CaseService delegate, MeterRegistry meterRegistry) {
+        this(delegate, DEFAULT_MAX_WAIT, meterRegistry);
+    }
+
+    public CoalescingCaseService(CaseService delegate, Duration maxWait, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.leaders = counter(meterRegistry, "leader");
+        this.coalesced = counter(meterRegistry, "coalesced");
+    }
+
+    @Override
+    public ResponseWrapper<CaseInquiryResult> caseInquiry(CaseInquiryContext context) {
+        if (context == null || context.caseNumber() == null || context.agency() == null) {
+            // Let the backend service report the validation error
+            return delegate.caseInquiry(context);
+        }
+
+        CaseKey key = new CaseKey(context.caseNumber(), context.agency());
+        CompletableFuture<ResponseWrapper<CaseInquiryResult>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseWrapper<CaseInquiryResult>> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            log.debug("Joining in-flight case inquiry for caseNumber: {}", context.caseNumber());
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            ResponseWrapper<CaseInquiryResult> result = delegate.caseInquiry(context);
+            inFlight.remove(key, call);
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Bulk inquiries go straight to the backend: they come from batch jobs, not from concurrent callers.
+     */
+    @Override
+    public List<ResponseWrapper<CaseInquiryResult>> caseInquiries(List<CaseInquiryContext> contexts) {
+        return delegate.caseInquiries(contexts);
+    }
+
+    /**
+     * Number of inquiries answered by another caller's backend call.
+     */
+    public long coalescedCalls() {
+        return (long) coalesced.count();
+    }
+
+    private ResponseWrapper<CaseInquiryResult> await(CompletableFuture<ResponseWrapper<CaseInquiryResult>> call) {
+        try {
+            return call.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return ResponseWrapper.fail(new ErrorDetails(TIMEOUT_ERROR_CODE,
+                    "Case inquiry in flight did not complete in time"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseWrapper.fail(new ErrorDetails(INTERRUPTED_ERROR_CODE,
+                    "Interrupted while waiting for the case inquiry in flight"));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder(CALLS_METRIC)
+                .tag("service", SERVICE_NAME)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    private record CaseKey(String caseNumber, String agency) {
+    }
+}
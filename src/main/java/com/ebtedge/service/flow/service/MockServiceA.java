@@ -7,6 +7,9 @@ import com.ebtedge.service.flow.domain.ErrorDetails;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Service
 public class MockServiceA {
@@ -25,4 +28,18 @@ public class MockServiceA {
         log.debug("MockServiceA: Successfully fetched balance: {}", mockBalance);
         return ResponseWrapper.success(mockBalance);
     }
-}
\ No newline at end of file
+
+    /**
+     * Bulk variant of {@link #getBalance}: one ledger round trip for many accounts.
+     *
+     * @return one result per account ID, in the same order
+     */
+    public List<ResponseWrapper<Balance>> getBalances(List<String> accountIds) {
+        log.info("MockServiceA: Fetching balances for {} account(s)", accountIds.size());
+        List<ResponseWrapper<Balance>> results = new ArrayList<>(accountIds.size());
+        for (String accountId : accountIds) {
+            results.add(getBalance(accountId));
+        }
+        return results;
+    }
+}
@@ -7,6 +7,9 @@ import com.ebtedge.service.flow.domain.ErrorDetails;
 import org.springframework.stereotype.Service;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 @Slf4j
 @Service
@@ -26,4 +29,18 @@ public class MockServiceB {
         log.debug("MockServiceB: Successfully fetched demographics: {}", mockDemo);
         return ResponseWrapper.success(mockDemo);
     }
-}
\ No newline at end of file
+
+    /**
+     * Bulk variant of {@link #getDemographics}: one round trip for many clients.
+     *
+     * @return one result per client ID, in the same order
+     */
+    public List<ResponseWrapper<Demographics>> getDemographicsBatch(List<String> clientIds) {
+        log.info("MockServiceB: Fetching demographics for {} client(s)", clientIds.size());
+        List<ResponseWrapper<Demographics>> results = new ArrayList<>(clientIds.size());
+        for (String clientId : clientIds) {
+            results.add(getDemographics(clientId));
+        }
+        return results;
+    }
+}
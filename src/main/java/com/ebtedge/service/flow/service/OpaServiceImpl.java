@@ -6,29 +6,42 @@ import com.ebtedge.service.flow.cardsummary.CardholderSummaryResult;
 import com.ebtedge.service.flow.caseinquiry.CaseInquiryContext;
 import com.ebtedge.service.flow.caseinquiry.CaseInquiryResult;
 import com.ebtedge.service.flow.caseinquiry.CaseService;
+import com.ebtedge.service.flow.core.ParallelMapper;
 import com.ebtedge.service.flow.core.ResponseWrapper;
+import com.ebtedge.service.flow.core.WorkflowDefinition;
 import com.ebtedge.service.flow.core.WorkflowPipelineFactory;
 import com.ebtedge.service.flow.domain.*;
 import com.ebtedge.service.flow.domain.common.BaseResponseMetadata;
 import com.ebtedge.service.flow.domain.common.CardInfoResult;
 import com.ebtedge.service.flow.domain.common.ClientInfoResult;
 import com.ebtedge.service.flow.domain.ErrorDetails;
+import com.ebtedge.service.flow.opa.CardholderStream;
 import com.ebtedge.service.flow.opa.OpaService;
+import com.ebtedge.service.flow.opa.SearchCursor;
+import com.ebtedge.service.flow.util.CardNumber;
 import com.ebtedge.service.flow.util.CardPrefixUtil;
 import com.ebtedge.service.flow.util.CardStatusMapper;
 import com.ebtedge.service.flow.util.CardholderIdEncryptionUtil;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
- * Implementation of OpaService using WorkflowPipeline for orchestrating cardholder search.
+ * Implementation of OpaService using a WorkflowDefinition for orchestrating cardholder search.
  * This service demonstrates a production-ready pipeline pattern for complex workflows.
  *
  * Workflow Steps:
@@ -37,20 +50,80 @@ import java.util.UUID;
  * 3. Map and merge results into Cardholder domain objects
  * 4. Build CardholderSearchResult
  *
+ * The workflow is defined once at construction and executed per request.
  * This design allows for easy extension with additional steps and automatic observability.
+ *
+ * Batch searches run steps 1 and 2 as the CardholderSearchBatchAgency workflow: one bulk
+ * CardService/CaseService call per agency, for all agencies at once on the workflow step executor.
+ * Steps 3 and 4 then run for the items in parallel chunks on the same executor.
+ *
+ * Streamed searches run steps 1 and 2 up front and merge the cardholders of the requested page
+ * while the caller consumes them, without building the result list.
+ *
+ * Searches are paged by the criteria's pageSize and cursor: only the cards of the requested page are
+ * merged, and the case inquiry is skipped for a page past the last card.
+ *
+ * Pages of at least {@code service-flow.parallel.cardholder-merge.threshold} cards are merged on the
+ * cardholder-merge ForkJoinPool when enabled; the cardholders keep the card order either way.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OpaServiceImpl implements OpaService {
 
     private final CardService cardService;
     private final CaseService caseService;
-    private final WorkflowPipelineFactory pipelineFactory;
+    private final WorkflowDefinition<CardholderSearchCriteria, CardholderSearchResult> cardholderSearchWorkflow;
+    private final WorkflowDefinition<AgencyBatch, AgencyBatch> agencyBatchWorkflow;
+    private final WorkflowDefinition<WorkflowContext, CardholderSearchResult> batchItemWorkflow;
+    private final WorkflowDefinition<CardholderSearchCriteria, WorkflowContext> streamLookupWorkflow;
+    private final ParallelMapper cardholderMerge;
+
+    /** Items merged per task of a batch search */
+    private static final int MERGE_CHUNK_SIZE = 256;
+
+    /** Largest page of a streamed search */
+    public static final int MAX_STREAM_PAGE_SIZE = 100_000;
+
+    @Autowired(required = false)
+    @Qualifier("workflowStepExecutor")
+    private Executor mergeExecutor;
 
     private static final DateTimeFormatter TIMESTAMP_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
 
+    public OpaServiceImpl(CardService cardService, CaseService caseService, WorkflowPipelineFactory pipelineFactory) {
+        this.cardService = cardService;
+        this.caseService = caseService;
+        this.cardholderSearchWorkflow = pipelineFactory
+                .define("CardholderSearch", CardholderSearchCriteria.class)
+                .step("FetchCardholderSummary", this::fetchCardholderSummary)
+                .peek(ctx -> log.debug("Cardholder summary fetched: clientId={}",
+                        ctx.summaryResult().clientId()))
+                .step("FetchCaseInquiry", this::fetchCaseInquiry)
+                .peek(ctx -> log.debug("Case inquiry fetched: caseNumber={}",
+                        ctx.caseResult() != null ? ctx.caseResult().caseNumber() : "skipped for empty page"))
+                .step("MergeAndBuildCardholders", this::mergeAndBuildCardholders)
+                .peek(ctx -> log.debug("Built {} cardholder(s)", ctx.cardholders().size()))
+                .step("BuildSearchResult", this::buildSearchResult)
+                .build();
+        this.agencyBatchWorkflow = pipelineFactory
+                .define("CardholderSearchBatchAgency", AgencyBatch.class)
+                .step("FetchCardholderSummaries", this::fetchCardholderSummaries)
+                .step("FetchCaseInquiries", this::fetchCaseInquiries)
+                .build();
+        this.batchItemWorkflow = pipelineFactory
+                .define("CardholderSearchBatchItem", WorkflowContext.class)
+                .step("MergeAndBuildCardholders", this::mergeAndBuildCardholders)
+                .step("BuildSearchResult", this::buildSearchResult)
+                .build();
+        this.streamLookupWorkflow = pipelineFactory
+                .define("CardholderSearchStream", CardholderSearchCriteria.class)
+                .step("FetchCardholderSummary", this::fetchCardholderSummary)
+                .step("FetchCaseInquiry", this::fetchCaseInquiry)
+                .build();
+        this.cardholderMerge = pipelineFactory.parallelMapper("cardholder-merge");
+    }
+
     @Override
     public ResponseWrapper<CardholderSearchResult> cardholderSearch(CardholderSearchCriteria searchCriteria) {
 
@@ -59,25 +132,19 @@ public class OpaServiceImpl implements OpaService {
             validateSearchCriteria(searchCriteria);
 
             log.info("Starting cardholder search for cardNumber: {}, agency: {}",
-                    maskCardNumber(searchCriteria.cardNumber()),
+                    CardNumber.mask(searchCriteria.cardNumber()),
                     searchCriteria.agency());
 
-            // Execute workflow pipeline
-            CardholderSearchResult result = pipelineFactory.startWith(searchCriteria)
-                    .nextStep("FetchCardholderSummary", this::fetchCardholderSummary)
-                    .peek(ctx -> log.debug("Cardholder summary fetched: clientId={}",
-                            ctx.summaryResult().clientId()))
-                    .nextStep("FetchCaseInquiry", this::fetchCaseInquiry)
-                    .peek(ctx -> log.debug("Case inquiry fetched: caseNumber={}, clients={}",
-                            ctx.caseResult().caseNumber(), ctx.caseResult().clients().size()))
-                    .nextStep("MergeAndBuildCardholders", this::mergeAndBuildCardholders)
-                    .peek(ctx -> log.debug("Built {} cardholder(s)", ctx.cardholders().size()))
-                    .nextStep("BuildSearchResult", this::buildSearchResult)
-                    .mapToUI(result1 -> result1)
-                    .result();
+            // Execute workflow
+            ResponseWrapper<CardholderSearchResult> workflowResult = cardholderSearchWorkflow.execute(searchCriteria);
+            if (!workflowResult.isSuccess()) {
+                log.error("Cardholder search workflow failed: {}", workflowResult.getError());
+                return ResponseWrapper.fail(new ErrorDetails("SERVICE_ERROR", "Failed to complete cardholder search"));
+            }
+            CardholderSearchResult result = workflowResult.getData();
 
             log.info("Successfully completed cardholder search for cardNumber: {}, found {} cardholder(s)",
-                    maskCardNumber(searchCriteria.cardNumber()),
+                    CardNumber.mask(searchCriteria.cardNumber()),
                     result.cardholderList().size());
 
             return ResponseWrapper.success(result);
@@ -91,6 +158,238 @@ public class OpaServiceImpl implements OpaService {
         }
     }
 
+    @Override
+    public ResponseWrapper<CardholderStream> cardholderSearchStream(CardholderSearchCriteria searchCriteria) {
+        try {
+            validateSearchCriteria(searchCriteria);
+            if (searchCriteria.pageSize() != null && searchCriteria.pageSize() > MAX_STREAM_PAGE_SIZE) {
+                throw new IllegalArgumentException("Page size cannot exceed " + MAX_STREAM_PAGE_SIZE);
+            }
+
+            log.info("Starting streamed cardholder search for cardNumber: {}, agency: {}",
+                    CardNumber.mask(searchCriteria.cardNumber()),
+                    searchCriteria.agency());
+
+            ResponseWrapper<WorkflowContext> lookup = streamLookupWorkflow.execute(searchCriteria);
+            if (!lookup.isSuccess()) {
+                log.error("Cardholder search stream lookups failed: {}", lookup.getError());
+                return searchFailed();
+            }
+            WorkflowContext context = lookup.getData();
+            return ResponseWrapper.success(new PageStream(context, Page.of(context)));
+
+        } catch (IllegalArgumentException e) {
+            log.error("Validation error in cardholderSearchStream: {}", e.getMessage());
+            return ResponseWrapper.fail(new ErrorDetails("VALIDATION_ERROR", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error in cardholderSearchStream", e);
+            return searchFailed();
+        }
+    }
+
+    @Override
+    public List<ResponseWrapper<CardholderSearchResult>> cardholderSearchBatch(List<CardholderSearchCriteria> batch) {
+        if (batch == null || batch.isEmpty()) {
+            return List.of();
+        }
+        log.info("Starting batch cardholder search for {} item(s)", batch.size());
+
+        @SuppressWarnings("unchecked")
+        ResponseWrapper<CardholderSearchResult>[] results = new ResponseWrapper[batch.size()];
+        WorkflowContext[] contexts = new WorkflowContext[batch.size()];
+
+        // Group the valid items by agency so each backend gets one bulk call per agency
+        Map<String, List<Integer>> itemsByAgency = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            CardholderSearchCriteria criteria = batch.get(i);
+            try {
+                validateSearchCriteria(criteria);
+                itemsByAgency.computeIfAbsent(criteria.agency(), agency -> new ArrayList<>()).add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = ResponseWrapper.fail(new ErrorDetails("VALIDATION_ERROR", e.getMessage()));
+            }
+        }
+
+        List<AgencyBatch> agencies = new ArrayList<>(itemsByAgency.size());
+        itemsByAgency.forEach((agency, items) -> agencies.add(new AgencyBatch(agency, items, batch, contexts, results)));
+        fetchInParallel(agencies);
+        mergeInParallel(contexts, results);
+
+        log.info("Completed batch cardholder search for {} item(s) across {} agency(ies)",
+                batch.size(), itemsByAgency.size());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Batch steps 1 and 2 for every agency at once on the merge executor. The calling thread fetches
+     * the last agency itself rather than idling.
+     */
+    private void fetchInParallel(List<AgencyBatch> agencies) {
+        if (agencies.isEmpty()) {
+            return;
+        }
+        Executor executor = mergeExecutor != null ? mergeExecutor : ForkJoinPool.commonPool();
+        List<CompletableFuture<Void>> fetches = new ArrayList<>(agencies.size() - 1);
+        for (AgencyBatch agency : agencies.subList(0, agencies.size() - 1)) {
+            fetches.add(CompletableFuture.runAsync(() -> fetchAgency(agency), executor));
+        }
+        fetchAgency(agencies.get(agencies.size() - 1));
+        CompletableFuture.allOf(fetches.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Runs the bulk calls of one agency as pipeline steps, so they are timed and guarded by the step
+     * policies. A failed bulk call fails every item of the agency still in flight.
+     */
+    private void fetchAgency(AgencyBatch agencyBatch) {
+        ResponseWrapper<AgencyBatch> outcome;
+        try {
+            outcome = agencyBatchWorkflow.execute(agencyBatch);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error fetching batch items of agency: {}", agencyBatch.agency(), e);
+            outcome = searchFailed();
+        }
+        if (!outcome.isSuccess()) {
+            failPending(agencyBatch.items(), agencyBatch.contexts(), agencyBatch.results());
+        }
+    }
+
+    /**
+     * Batch step 1: one bulk summary call for the items of an agency.
+     */
+    private ResponseWrapper<AgencyBatch> fetchCardholderSummaries(AgencyBatch agencyBatch) {
+        List<Integer> items = agencyBatch.items();
+        WorkflowContext[] contexts = agencyBatch.contexts();
+        ResponseWrapper<CardholderSearchResult>[] results = agencyBatch.results();
+        List<CardholderSummaryContext> requests = new ArrayList<>(items.size());
+        for (int item : items) {
+            CardholderSearchCriteria criteria = agencyBatch.batch().get(item);
+            requests.add(new CardholderSummaryContext(criteria.baseRequest(), criteria.cardNumber(), criteria.agency()));
+        }
+
+        List<ResponseWrapper<CardholderSummaryResult>> responses;
+        try {
+            responses = checkSize(cardService.getCardholderSummaries(requests), requests.size());
+        } catch (RuntimeException e) {
+            log.error("Bulk cardholder summary call failed for agency: {}", agencyBatch.agency(), e);
+            return searchFailed();
+        }
+        for (int k = 0; k < items.size(); k++) {
+            int item = items.get(k);
+            ResponseWrapper<CardholderSummaryResult> response = responses.get(k);
+            if (response.isSuccess()) {
+                contexts[item] = new WorkflowContext(agencyBatch.batch().get(item), response.getData(), null, null);
+            } else {
+                log.warn("Cardholder summary failed for batch item {}: {}", item, response.getError());
+                results[item] = searchFailed();
+            }
+        }
+        return ResponseWrapper.success(agencyBatch);
+    }
+
+    /**
+     * Batch step 2: one bulk case inquiry for the items of an agency that have a summary and a non-empty page.
+     */
+    private ResponseWrapper<AgencyBatch> fetchCaseInquiries(AgencyBatch agencyBatch) {
+        List<Integer> items = agencyBatch.items();
+        WorkflowContext[] contexts = agencyBatch.contexts();
+        ResponseWrapper<CardholderSearchResult>[] results = agencyBatch.results();
+        List<Integer> pending = new ArrayList<>(items.size());
+        List<CaseInquiryContext> requests = new ArrayList<>(items.size());
+        for (int item : items) {
+            WorkflowContext context = contexts[item];
+            // No card of a page past the last card needs the case number
+            if (context != null && !Page.of(context).isEmpty()) {
+                pending.add(item);
+                requests.add(new CaseInquiryContext(context.searchCriteria().baseRequest(),
+                        extractOrGenerateCaseNumber(context.summaryResult()), agencyBatch.agency()));
+            }
+        }
+        if (pending.isEmpty()) {
+            return ResponseWrapper.success(agencyBatch);
+        }
+
+        List<ResponseWrapper<CaseInquiryResult>> responses;
+        try {
+            responses = checkSize(caseService.caseInquiries(requests), requests.size());
+        } catch (RuntimeException e) {
+            log.error("Bulk case inquiry failed for agency: {}", agencyBatch.agency(), e);
+            return searchFailed();
+        }
+        for (int k = 0; k < pending.size(); k++) {
+            int item = pending.get(k);
+            ResponseWrapper<CaseInquiryResult> response = responses.get(k);
+            if (response.isSuccess()) {
+                WorkflowContext context = contexts[item];
+                contexts[item] = new WorkflowContext(context.searchCriteria(), context.summaryResult(),
+                        response.getData(), null);
+            } else {
+                log.warn("Case inquiry failed for batch item {}: {}", item, response.getError());
+                contexts[item] = null;
+                results[item] = searchFailed();
+            }
+        }
+        return ResponseWrapper.success(agencyBatch);
+    }
+
+    /**
+     * Batch steps 3 and 4 for every item still in flight, in chunks on the merge executor.
+     * The calling thread merges the last chunk itself rather than idling.
+     */
+    private void mergeInParallel(WorkflowContext[] contexts, ResponseWrapper<CardholderSearchResult>[] results) {
+        Executor executor = mergeExecutor != null ? mergeExecutor : ForkJoinPool.commonPool();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        int lastChunk = (contexts.length - 1) / MERGE_CHUNK_SIZE * MERGE_CHUNK_SIZE;
+        for (int from = 0; from < lastChunk; from += MERGE_CHUNK_SIZE) {
+            int start = from;
+            int end = from + MERGE_CHUNK_SIZE;
+            chunks.add(CompletableFuture.runAsync(() -> mergeRange(contexts, results, start, end), executor));
+        }
+        mergeRange(contexts, results, lastChunk, contexts.length);
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+    }
+
+    private void mergeRange(WorkflowContext[] contexts, ResponseWrapper<CardholderSearchResult>[] results,
+                            int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (contexts[i] == null) {
+                continue;
+            }
+            try {
+                ResponseWrapper<CardholderSearchResult> result = batchItemWorkflow.execute(contexts[i]);
+                results[i] = result.isSuccess() ? result : searchFailed();
+            } catch (RuntimeException e) {
+                log.error("Unexpected error merging batch item {}", i, e);
+                results[i] = searchFailed();
+            }
+        }
+    }
+
+    private static <R> List<R> checkSize(List<R> responses, int expected) {
+        if (responses == null || responses.size() != expected) {
+            throw new IllegalStateException("Bulk call returned " + (responses == null ? "null" : responses.size())
+                    + " result(s) for " + expected + " request(s)");
+        }
+        return responses;
+    }
+
+    /**
+     * Fails the items that have no result yet.
+     */
+    private static void failPending(List<Integer> items, WorkflowContext[] contexts,
+                                    ResponseWrapper<CardholderSearchResult>[] results) {
+        for (int item : items) {
+            if (results[item] == null) {
+                contexts[item] = null;
+                results[item] = searchFailed();
+            }
+        }
+    }
+
+    private static <R> ResponseWrapper<R> searchFailed() {
+        return ResponseWrapper.fail(new ErrorDetails("SERVICE_ERROR", "Failed to complete cardholder search"));
+    }
+
     /**
      * Validates the search criteria.
      */
@@ -104,6 +403,10 @@ public class OpaServiceImpl implements OpaService {
         if (criteria.agency() == null || criteria.agency().trim().isEmpty()) {
             throw new IllegalArgumentException("Agency is required");
         }
+        if (criteria.pageSize() != null && criteria.pageSize() < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        SearchCursor.decode(criteria.cursor());
         log.debug("Search criteria validation passed");
     }
 
@@ -141,6 +444,12 @@ public class OpaServiceImpl implements OpaService {
 
         CardholderSummaryResult summaryResult = context.summaryResult();
 
+        if (Page.of(context).isEmpty()) {
+            // No card of the requested page needs the case number
+            log.debug("Requested page is past the last card, skipping case inquiry");
+            return ResponseWrapper.success(context);
+        }
+
         // Extract primary client to get case number (or generate one for lookup)
         String caseNumber = extractOrGenerateCaseNumber(summaryResult);
 
@@ -170,43 +479,11 @@ public class OpaServiceImpl implements OpaService {
     private ResponseWrapper<WorkflowContext> mergeAndBuildCardholders(WorkflowContext context) {
         log.info("Executing step 3: Merging results and building cardholders");
 
-        CardholderSummaryResult summaryResult = context.summaryResult();
-        CaseInquiryResult caseResult = context.caseResult();
-
-        List<Cardholder> cardholders = new ArrayList<>();
-
-        // Iterate through cards and build Cardholder objects
-        for (CardInfoResult cardInfoResult : summaryResult.cards()) {
-            // Map CardInfoResult to CardInfo
-            CardInfo cardInfo = mapToCardInfo(cardInfoResult);
-
-            // Find matching client from case inquiry
-            ClientInfoResult clientInfoResult = findMatchingClient(
-                    summaryResult.clientId(),
-                    summaryResult.clients()
-            );
-
-            if (clientInfoResult != null) {
-                // Map ClientInfoResult to ClientInfo with case number from case inquiry
-                ClientInfo clientInfo = mapToClientInfo(clientInfoResult, caseResult.caseNumber());
-
-                // Encrypt cardholderId
-                String cardholderId = CardholderIdEncryptionUtil.encrypt(
-                        context.searchCriteria().agency(),
-                        clientInfo.clientId()
-                );
-
-                // Calculate score (mock implementation)
-                String score = calculateScore(cardInfo, clientInfo);
-
-                // Build Cardholder
-                Cardholder cardholder = new Cardholder(cardholderId, score, clientInfo, cardInfo);
-                cardholders.add(cardholder);
-
-                log.debug("Built cardholder: cardholderId={}, clientId={}, cardNumber={}",
-                        cardholderId, clientInfo.clientId(), maskCardNumber(cardInfo.cardNumber()));
-            }
-        }
+        Page page = Page.of(context);
+        MatchedClient client = page.isEmpty() ? null : matchClient(context);
+        List<Cardholder> cardholders = client == null ? new ArrayList<>() : cardholderMerge.map(
+                context.summaryResult().cards().subList(page.from(), page.to()),
+                cardInfoResult -> buildCardholder(cardInfoResult, client));
 
         WorkflowContext updatedContext = new WorkflowContext(
                 context.searchCriteria(),
@@ -219,6 +496,60 @@ public class OpaServiceImpl implements OpaService {
         return ResponseWrapper.success(updatedContext);
     }
 
+    /**
+     * Builds the cardholders of cards {@code from} (inclusive) to {@code to} (exclusive), in card order,
+     * handing each to {@code sink} as soon as it is built.
+     */
+    private void mergeCardholders(WorkflowContext context, int from, int to, Consumer<? super Cardholder> sink) {
+        if (from == to) {
+            return;
+        }
+        MatchedClient client = matchClient(context);
+        if (client == null) {
+            return;
+        }
+
+        // Iterate through cards and build Cardholder objects
+        for (CardInfoResult cardInfoResult : context.summaryResult().cards().subList(from, to)) {
+            sink.accept(buildCardholder(cardInfoResult, client));
+        }
+    }
+
+    /**
+     * Finds the matching client from the summary and derives its ClientInfo and cardholderId, shared by all cards.
+     *
+     * @return the client, or null when the summary has no clients
+     */
+    private MatchedClient matchClient(WorkflowContext context) {
+        CardholderSummaryResult summaryResult = context.summaryResult();
+        List<ClientInfoResult> clients = summaryResult.clients();
+        ClientInfoResult clientInfoResult = findMatchingClient(summaryResult.clientId(), clients);
+        if (clientInfoResult == null) {
+            return null;
+        }
+        ClientInfo clientInfo = mapToClientInfo(clientInfoResult, context.caseResult().caseNumber());
+        String cardholderId = CardholderIdEncryptionUtil.encrypt(context.searchCriteria().agency(), clientInfo.clientId());
+        return new MatchedClient(clientInfo, cardholderId);
+    }
+
+    /**
+     * Builds the cardholder of one card. Safe to call from several threads at once.
+     */
+    private Cardholder buildCardholder(CardInfoResult cardInfoResult, MatchedClient client) {
+        // Normalize the card number once for the prefix and the log line
+        CardNumber cardNumber = CardNumber.of(cardInfoResult.cardNumber());
+
+        // Map CardInfoResult to CardInfo
+        CardInfo cardInfo = mapToCardInfo(cardInfoResult, cardNumber);
+
+        // Calculate score (mock implementation)
+        String score = calculateScore(cardInfo, client.clientInfo());
+
+        log.debug("Built cardholder: cardholderId={}, clientId={}, cardNumber={}",
+                client.cardholderId(), client.clientInfo().clientId(), cardNumber);
+        return new Cardholder(client.cardholderId(), score, client.clientInfo(), cardInfo);
+    }
+
     /**
      * Step 4: Build the final CardholderSearchResult.
      */
@@ -231,10 +562,12 @@ public class OpaServiceImpl implements OpaService {
 
         BaseResponseMetadata baseResponse = new BaseResponseMetadata(requestUuid, currentTimestamp);
 
+        Page page = Page.of(context);
         CardholderSearchResult result = new CardholderSearchResult(
                 baseResponse,
                 context.cardholders(),
-                "0" // offset for pagination (future enhancement)
+                String.valueOf(page.from()),
+                page.nextCursor()
         );
 
         log.debug("Search result built with {} cardholder(s)", result.cardholderList().size());
@@ -244,8 +577,8 @@ public class OpaServiceImpl implements OpaService {
     /**
      * Maps CardInfoResult to CardInfo with calculated cardPrefix and cardStatusDisplay.
      */
-    private CardInfo mapToCardInfo(CardInfoResult cardInfoResult) {
-        String cardPrefix = CardPrefixUtil.extractPrefix(cardInfoResult.cardNumber());
+    private CardInfo mapToCardInfo(CardInfoResult cardInfoResult, CardNumber cardNumber) {
+        String cardPrefix = CardPrefixUtil.prefixOf(cardNumber);
         String cardStatusDisplay = CardStatusMapper.toDisplay(cardInfoResult.cardStatus());
 
         return new CardInfo(
@@ -273,13 +606,16 @@ public class OpaServiceImpl implements OpaService {
     }
 
     /**
-     * Finds a matching client from the client list.
+     * Finds the client with the given ID, falling back to the first client. Summaries carry a handful of
+     * clients and one lookup per merge, so a linear scan beats building an index.
      */
-    private ClientInfoResult findMatchingClient(String clientId, List<ClientInfoResult> clients) {
-        return clients.stream()
-                .filter(client -> client.clientId().equals(clientId))
-                .findFirst()
-                .orElse(clients.isEmpty() ? null : clients.get(0));
+    private static ClientInfoResult findMatchingClient(String clientId, List<ClientInfoResult> clients) {
+        for (ClientInfoResult client : clients) {
+            if (clientId != null && clientId.equals(client.clientId())) {
+                return client;
+            }
+        }
+        return clients.isEmpty() ? null : clients.get(0);
     }
 
     /**
@@ -300,17 +636,64 @@ public class OpaServiceImpl implements OpaService {
     }
 
     /**
-     * Masks card number for secure logging.
+     * Cards {@code from} to {@code to} of a looked-up search, merged on iteration.
      */
-    private String maskCardNumber(String cardNumber) {
-        if (cardNumber == null || cardNumber.length() < 10) {
-            return "****";
+    private final class PageStream implements CardholderStream {
+        private final WorkflowContext context;
+        private final Page page;
+
+        private PageStream(WorkflowContext context, Page page) {
+            this.context = context;
+            this.page = page;
         }
-        String cleaned = cardNumber.replaceAll("[\\s-]", "");
-        if (cleaned.length() == 16) {
-            return cleaned.substring(0, 6) + "******" + cleaned.substring(12);
+
+        @Override
+        public String nextCursor() {
+            return page.nextCursor();
         }
-        return cleaned.substring(0, Math.min(4, cleaned.length())) + "****";
+
+        @Override
+        public void forEach(Consumer<? super Cardholder> action) {
+            mergeCardholders(context, page.from(), page.to(), action);
+        }
+    }
+
+    /**
+     * Cards {@code from} (inclusive) to {@code to} (exclusive) of the summary selected by the criteria's
+     * cursor and page size.
+     */
+    private record Page(int from, int to, String nextCursor) {
+
+        static Page of(WorkflowContext context) {
+            CardholderSearchCriteria criteria = context.searchCriteria();
+            int cards = context.summaryResult().cards().size();
+            int from = Math.min(SearchCursor.decode(criteria.cursor()), cards);
+            int to = criteria.pageSize() == null ? cards : (int) Math.min(cards, (long) from + criteria.pageSize());
+            return new Page(from, to, to < cards ? SearchCursor.encode(to) : null);
+        }
+
+        boolean isEmpty() {
+            return from == to;
+        }
+    }
+
+    /**
+     * The items of one agency in a batch search. The bulk steps write each item's context or failed
+     * result into the batch-wide arrays; agencies own disjoint items, so they can be fetched concurrently.
+     */
+    private record AgencyBatch(
+            String agency,
+            List<Integer> items,
+            List<CardholderSearchCriteria> batch,
+            WorkflowContext[] contexts,
+            ResponseWrapper<CardholderSearchResult>[] results
+    ) {
+    }
+
+    /**
+     * The summary's client as it appears on every cardholder of the search.
+     */
+    private record MatchedClient(ClientInfo clientInfo, String cardholderId) {
     }
 
     /**
@@ -0,0 +1,173 @@
+package com.ebtedge.service.flow.util;
+
+/**
+ * A card number as entered, normalized once by a single char scan instead of a regex per use.
+ *
+ * <p>Spaces, other ASCII whitespace and hyphens are separators and dropped; the remaining characters are the
+ * {@link #digits()}. A card number without separators is used as is, otherwise the digits are copied into one
+ * new string. The prefix and masked forms are derived on first use and kept, so each is computed once per card.
+ *
+ * <p>{@link #toString()} returns the masked form, which makes an instance safe to pass to a log statement:
+ * the mask is then only built when the statement is actually logged.
+ */
+public final class CardNumber {
+
+    public static final int LENGTH = 16;
+    public static final int PREFIX_LENGTH = 6;
+
+    private static final String UNKNOWN_MASK = "****";
+    private static final int MIN_MASKABLE_LENGTH = 10;
+
+    private final int rawLength;
+    private final String digits;
+    private final boolean onlyDigits;
+
+    // Derived on first use; racing threads compute the same immutable value
+    private String prefix;
+    private String masked;
+
+    private CardNumber(int rawLength, String digits, boolean onlyDigits) {
+        this.rawLength = rawLength;
+        this.digits = digits;
+        this.onlyDigits = onlyDigits;
+    }
+
+    /**
+     * Normalizes a card number.
+     *
+     * @throws IllegalArgumentException if the card number is null
+     */
+    public static CardNumber of(String cardNumber) {
+        if (cardNumber == null) {
+            throw new IllegalArgumentException("Card number cannot be null");
+        }
+        int length = cardNumber.length();
+        int separators = 0;
+        boolean onlyDigits = true;
+        for (int i = 0; i < length; i++) {
+            char c = cardNumber.charAt(i);
+            if (isSeparator(c)) {
+                separators++;
+            } else if (c < '0' || c > '9') {
+                onlyDigits = false;
+            }
+        }
+        if (separators == 0) {
+            return new CardNumber(length, cardNumber, onlyDigits);
+        }
+        char[] kept = new char[length - separators];
+        int next = 0;
+        for (int i = 0; i < length; i++) {
+            char c = cardNumber.charAt(i);
+            if (!isSeparator(c)) {
+                kept[next++] = c;
+            }
+        }
+        return new CardNumber(length, new String(kept), onlyDigits);
+    }
+
+    /**
+     * Masks a card number for logging, see {@link #masked()}.
+     *
+     * @return the masked card number, or "****" for null
+     */
+    public static String mask(String cardNumber) {
+        if (cardNumber == null || cardNumber.length() < MIN_MASKABLE_LENGTH) {
+            return UNKNOWN_MASK;
+        }
+        return of(cardNumber).masked();
+    }
+
+    /**
+     * Returns the card number without separators.
+     */
+    public String digits() {
+        return digits;
+    }
+
+    /**
+     * Returns whether the card number is {@value #LENGTH} digits once separators are removed.
+     */
+    public boolean isValid() {
+        return onlyDigits && digits.length() == LENGTH;
+    }
+
+    /**
+     * Returns the card prefix, the first {@value #PREFIX_LENGTH} digits.
+     *
+     * @throws IllegalArgumentException if the card number is not {@value #LENGTH} digits
+     */
+    public String prefix() {
+        String current = prefix;
+        if (current == null) {
+            if (digits.length() != LENGTH) {
+                throw new IllegalArgumentException(
+                    String.format("Card number must be %d digits, got %d", LENGTH, digits.length()));
+            }
+            if (!onlyDigits) {
+                throw new IllegalArgumentException("Card number must contain only digits");
+            }
+            current = digits.substring(0, PREFIX_LENGTH);
+            prefix = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the card number masked for logging: the first 6 and last 4 digits of a 16-digit number
+     * (e.g. "123456******7890"), the first 4 characters of other lengths, and "****" when fewer than
+     * 10 characters were entered.
+     */
+    public String masked() {
+        String current = masked;
+        if (current == null) {
+            current = buildMask();
+            masked = current;
+        }
+        return current;
+    }
+
+    private String buildMask() {
+        if (rawLength < MIN_MASKABLE_LENGTH) {
+            return UNKNOWN_MASK;
+        }
+        if (digits.length() == LENGTH) {
+            char[] mask = new char[LENGTH];
+            digits.getChars(0, PREFIX_LENGTH, mask, 0);
+            for (int i = PREFIX_LENGTH; i < LENGTH - 4; i++) {
+                mask[i] = '*';
+            }
+            digits.getChars(LENGTH - 4, LENGTH, mask, LENGTH - 4);
+            return new String(mask);
+        }
+        int shown = Math.min(4, digits.length());
+        char[] mask = new char[shown + UNKNOWN_MASK.length()];
+        digits.getChars(0, shown, mask, 0);
+        for (int i = shown; i < mask.length; i++) {
+            mask[i] = '*';
+        }
+        return new String(mask);
+    }
+
+    /**
+     * The separators removed by normalization: hyphens and the characters matched by the regex {@code \s}.
+     */
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || (c >= '\t' && c <= '\r');
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CardNumber other && digits.equals(other.digits);
+    }
+
+    @Override
+    public int hashCode() {
+        return digits.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return masked();
+    }
+}
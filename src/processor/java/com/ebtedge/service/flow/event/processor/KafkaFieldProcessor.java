@@ -0,0 +1,352 @@
+package com.ebtedge.service.flow.event.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates an {@code EventMapper} for every record with {@code @KafkaField} components, so that
+ * {@code ReflectionEventMapper} can hand those records to plain generated code instead of reading them
+ * through reflection.
+ *
+ * <p>For a record {@code com.example.Balance} the processor writes the enum {@code com.example.Balance_EventMapper}
+ * (nested records are named after their enclosing types, e.g. {@code Outer_Inner_EventMapper}). The generated
+ * {@code map} produces the same payload as the reflection path:
+ * <ul>
+ *   <li>the JSON key is {@code @KafkaField(name)}, or the component name when empty</li>
+ *   <li>null values are left out</li>
+ *   <li>{@code nested = true} components of a record type with {@code @KafkaField} components call that record's
+ *       generated mapper directly; other nested values go through {@code ReflectionEventMapper.mapNested}</li>
+ * </ul>
+ *
+ * <p>The generated enum is also an {@code EventWriter} whose {@code write} streams the same fields into the event's
+ * {@code JsonGenerator}, nested generated mappers included, so publishing such a record builds no payload map.
+ *
+ * <p>Records that generated code cannot reference (private or inside a private type) and generic records are
+ * skipped with a note and keep using reflection, as do regular classes with {@code @KafkaField} fields.
+ *
+ * <p>The processor only depends on the JDK. It is compiled before the main sources and runs next to Lombok,
+ * see the maven-compiler-plugin configuration in {@code pom.xml}.
+ */
+@SupportedAnnotationTypes(KafkaFieldProcessor.KAFKA_FIELD)
+public final class KafkaFieldProcessor extends AbstractProcessor {
+
+    static final String KAFKA_FIELD = "com.ebtedge.service.flow.event.annotation.KafkaField";
+    static final String MAPPER_SUFFIX = "_EventMapper";
+
+    private static final String EVENT_MAPPER = "com.ebtedge.service.flow.event.EventMapper";
+    private static final String EVENT_WRITER = "com.ebtedge.service.flow.event.EventWriter";
+    private static final String JSON_GENERATOR = "com.fasterxml.jackson.core.JsonGenerator";
+    private static final String REFLECTION_EVENT_MAPPER = "com.ebtedge.service.flow.event.mapper.ReflectionEventMapper";
+    private static final String GENERATED = "javax.annotation.processing.Generated";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement kafkaField = processingEnv.getElementUtils().getTypeElement(KAFKA_FIELD);
+        if (kafkaField == null) {
+            return false;
+        }
+
+        // The annotation is propagated from a record component to its field, so collect the owning records once
+        Set<TypeElement> records = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(kafkaField)) {
+            Element owner = element.getEnclosingElement();
+            if (owner != null && owner.getKind() == ElementKind.RECORD) {
+                records.add((TypeElement) owner);
+            }
+        }
+        for (TypeElement record : records) {
+            if (!isSupported(record)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No EventMapper generated for " + record.getQualifiedName()
+                        + ": private and generic records are mapped by reflection", record);
+                continue;
+            }
+            try {
+                writeMapper(record, kafkaField);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write EventMapper for " + record.getQualifiedName() + ": " + e.getMessage(), record);
+            }
+        }
+        // Not claimed, other processors may handle @KafkaField too
+        return false;
+    }
+
+    /**
+     * Returns whether a mapper can be generated: the record must be visible from its package and not generic.
+     */
+    private static boolean isSupported(TypeElement record) {
+        if (!record.getTypeParameters().isEmpty()) {
+            return false;
+        }
+        for (Element type = record; type instanceof TypeElement; type = type.getEnclosingElement()) {
+            if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the processor generates a mapper for the type, i.e. it is a supported record with at least
+     * one {@code @KafkaField} component.
+     */
+    private static boolean hasGeneratedMapper(TypeMirror type, TypeElement kafkaField) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        if (element.getKind() != ElementKind.RECORD || !isSupported((TypeElement) element)) {
+            return false;
+        }
+        for (RecordComponentElement component : ((TypeElement) element).getRecordComponents()) {
+            if (kafkaFieldOf(component, kafkaField) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeMapper(TypeElement record, TypeElement kafkaField) throws IOException {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(record);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String mapperName = mapperSimpleName(record);
+        String recordName = record.getQualifiedName().toString();
+
+        List<String> puts = new ArrayList<>();
+        List<String> writes = new ArrayList<>();
+        for (RecordComponentElement component : record.getRecordComponents()) {
+            AnnotationMirror annotation = kafkaFieldOf(component, kafkaField);
+            if (annotation != null) {
+                puts.add(putStatement(component, annotation, kafkaField));
+                writes.add(writeStatement(component, annotation, kafkaField));
+            }
+        }
+
+        try (Writer out = processingEnv.getFiler()
+                .createSourceFile(packageName.isEmpty() ? mapperName : packageName + "." + mapperName, record)
+                .openWriter()) {
+            if (!packageName.isEmpty()) {
+                out.write("package " + packageName + ";\n\n");
+            }
+            out.write("/**\n * Generated EventMapper for {@link " + recordName + "}, see @KafkaField.\n */\n");
+            if (processingEnv.getElementUtils().getTypeElement(GENERATED) != null) {
+                out.write("@" + GENERATED + "(\"" + KafkaFieldProcessor.class.getName() + "\")\n");
+            }
+            out.write("public enum " + mapperName + " implements " + EVENT_MAPPER + "<" + recordName + ">, "
+                + EVENT_WRITER + "<" + recordName + "> {\n");
+            out.write("    INSTANCE;\n\n");
+            out.write("    @Override\n");
+            out.write("    public java.util.Map<String, Object> map(" + recordName + " source) {\n");
+            out.write("        if (source == null) {\n");
+            out.write("            return new java.util.HashMap<>();\n");
+            out.write("        }\n");
+            out.write("        java.util.Map<String, Object> payload = new java.util.HashMap<>("
+                + ((int) (puts.size() / 0.75f) + 1) + ");\n");
+            for (String put : puts) {
+                out.write(put);
+            }
+            out.write("        return payload;\n");
+            out.write("    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public void write(" + recordName + " source, " + JSON_GENERATOR + " generator)"
+                + " throws java.io.IOException {\n");
+            for (String write : writes) {
+                out.write(write);
+            }
+            out.write("    }\n");
+            out.write("}\n");
+        }
+    }
+
+    private String putStatement(RecordComponentElement component, AnnotationMirror annotation, TypeElement kafkaField) {
+        String name = component.getSimpleName().toString();
+        String jsonName = javaString(jsonName(annotation, name));
+        String getter = "source." + component.getAccessor().getSimpleName() + "()";
+        TypeMirror type = component.asType();
+
+        if (type.getKind().isPrimitive()) {
+            return "        payload.put(" + jsonName + ", " + getter + ");\n";
+        }
+        String value;
+        String local = "value_" + name;
+        String nestedMapper = nestedMapper(type, annotation, kafkaField);
+        if (!isNested(annotation) || isPlainValue(type)) {
+            value = local;
+        } else if (nestedMapper != null) {
+            value = nestedMapper + ".INSTANCE.map(" + local + ")";
+        } else {
+            value = REFLECTION_EVENT_MAPPER + ".mapNested(" + local + ")";
+        }
+        return "        " + localType(type, nestedMapper) + " " + local + " = " + getter + ";\n"
+            + "        if (" + local + " != null) {\n"
+            + "            payload.put(" + jsonName + ", " + value + ");\n"
+            + "        }\n";
+    }
+
+    private String writeStatement(RecordComponentElement component, AnnotationMirror annotation, TypeElement kafkaField) {
+        String name = component.getSimpleName().toString();
+        String jsonName = javaString(jsonName(annotation, name));
+        String getter = "source." + component.getAccessor().getSimpleName() + "()";
+        TypeMirror type = component.asType();
+
+        if (type.getKind().isPrimitive()) {
+            return switch (type.getKind()) {
+                case BOOLEAN -> "        generator.writeBooleanField(" + jsonName + ", " + getter + ");\n";
+                case CHAR -> "        generator.writeStringField(" + jsonName + ", String.valueOf(" + getter + "));\n";
+                default -> "        generator.writeNumberField(" + jsonName + ", " + getter + ");\n";
+            };
+        }
+        String local = "value_" + name;
+        String nestedMapper = nestedMapper(type, annotation, kafkaField);
+        String write;
+        if (nestedMapper != null) {
+            write = "            generator.writeObjectFieldStart(" + jsonName + ");\n"
+                + "            " + nestedMapper + ".INSTANCE.write(" + local + ", generator);\n"
+                + "            generator.writeEndObject();\n";
+        } else if (isNested(annotation) && !isPlainValue(type)) {
+            write = "            generator.writeObjectField(" + jsonName + ", "
+                + REFLECTION_EVENT_MAPPER + ".mapNested(" + local + "));\n";
+        } else if (isString(type)) {
+            write = "            generator.writeStringField(" + jsonName + ", " + local + ");\n";
+        } else {
+            write = "            generator.writeObjectField(" + jsonName + ", " + local + ");\n";
+        }
+        return "        " + localType(type, nestedMapper) + " " + local + " = " + getter + ";\n"
+            + "        if (" + local + " != null) {\n"
+            + write
+            + "        }\n";
+    }
+
+    /**
+     * Returns the qualified name of the generated mapper a {@code nested = true} component is mapped with,
+     * or null when the component is not nested or its type has no generated mapper.
+     */
+    private String nestedMapper(TypeMirror type, AnnotationMirror annotation, TypeElement kafkaField) {
+        if (!isNested(annotation) || !hasGeneratedMapper(type, kafkaField)) {
+            return null;
+        }
+        TypeElement nested = (TypeElement) ((DeclaredType) type).asElement();
+        String nestedPackage = processingEnv.getElementUtils().getPackageOf(nested).getQualifiedName().toString();
+        return (nestedPackage.isEmpty() ? "" : nestedPackage + ".") + mapperSimpleName(nested);
+    }
+
+    /**
+     * Type of the local holding a component value: the record type for nested generated mappers, whose
+     * {@code map} and {@code write} take it, {@code String} for strings and {@code Object} otherwise.
+     */
+    private static String localType(TypeMirror type, String nestedMapper) {
+        if (nestedMapper != null) {
+            return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        }
+        return isString(type) ? "String" : "Object";
+    }
+
+    private static boolean isString(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+            && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals("java.lang.String");
+    }
+
+    /**
+     * Returns whether every value of the type is put as is by the reflection path: strings and numbers.
+     */
+    private boolean isPlainValue(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        return name.equals("java.lang.String") || name.equals("java.lang.Boolean") || name.equals("java.lang.Character")
+            || processingEnv.getTypeUtils().isAssignable(type,
+                processingEnv.getElementUtils().getTypeElement("java.lang.Number").asType());
+    }
+
+    private static AnnotationMirror kafkaFieldOf(Element element, TypeElement kafkaField) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().asElement().equals(kafkaField)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private String jsonName(AnnotationMirror annotation, String componentName) {
+        Object name = valueOf(annotation, "name");
+        return name == null || name.toString().isEmpty() ? componentName : name.toString();
+    }
+
+    private boolean isNested(AnnotationMirror annotation) {
+        return Boolean.TRUE.equals(valueOf(annotation, "nested"));
+    }
+
+    private Object valueOf(AnnotationMirror annotation, String attribute) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+            processingEnv.getElementUtils().getElementValuesWithDefaults(annotation);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Simple name of the generated mapper: the record's names from its outermost type, joined by underscores.
+     */
+    static String mapperSimpleName(TypeElement record) {
+        StringBuilder name = new StringBuilder(record.getSimpleName());
+        for (Element outer = record.getEnclosingElement(); outer instanceof TypeElement;
+             outer = outer.getEnclosingElement()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        return name.append(MAPPER_SUFFIX).toString();
+    }
+
+    private static String javaString(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20 || c > 0x7e) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -4,8 +4,11 @@ import com.ebtedge.service.flow.exception.GlobalHandler;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class ServiceFlowAutoConfigurationTest {
 
@@ -71,4 +74,38 @@ class ServiceFlowAutoConfigurationTest {
                     assertThat(properties.isMetricsEnabled()).isFalse();
                 });
     }
+
+    @Test
+    void testWorkflowStepExecutorDefaultsToPlatformThreads() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean("workflowStepExecutor")).isInstanceOf(ThreadPoolTaskExecutor.class);
+            assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class);
+        });
+    }
+
+    @Test
+    void testVirtualThreadModeUsesVirtualThreadExecutor() {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads require Java 21+");
+
+        contextRunner
+                .withPropertyValues("service-flow.execution.mode=virtual-threads")
+                .run(context -> {
+                    assertThat(context.getBean("workflowStepExecutor")).isInstanceOf(SimpleAsyncTaskExecutor.class);
+                    assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class);
+                });
+    }
+
+    @Test
+    void testVirtualThreadModeFallsBackBeforeJava21() {
+        assumeTrue(Runtime.version().feature() < 21, "fallback only applies before Java 21");
+
+        contextRunner
+                .withPropertyValues("service-flow.execution.mode=virtual-threads")
+                .run(context -> {
+                    ServiceFlowProperties properties = context.getBean(ServiceFlowProperties.class);
+                    assertThat(properties.getExecution().getMode())
+                            .isEqualTo(ServiceFlowProperties.ExecutionMode.VIRTUAL_THREADS);
+                    assertThat(context.getBean("workflowStepExecutor")).isInstanceOf(ThreadPoolTaskExecutor.class);
+                });
+    }
 }
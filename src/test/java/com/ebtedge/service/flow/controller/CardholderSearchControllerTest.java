@@ -0,0 +1,125 @@
+package com.ebtedge.service.flow.controller;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.core.WorkflowPipelineFactory;
+import com.ebtedge.service.flow.exception.GlobalHandler;
+import com.ebtedge.service.flow.service.CardServiceImpl;
+import com.ebtedge.service.flow.service.CaseServiceImpl;
+import com.ebtedge.service.flow.service.OpaServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CardholderSearchController.class)
+@ContextConfiguration(classes = {CardholderSearchController.class, OpaServiceImpl.class, CardServiceImpl.class,
+        CaseServiceImpl.class, GlobalHandler.class, CardholderSearchControllerTest.TestConfig.class})
+class CardholderSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    static class TestConfig {
+        @Bean
+        public ServiceFlowProperties serviceFlowProperties() {
+            return new ServiceFlowProperties();
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public WorkflowPipelineFactory workflowPipelineFactory(ServiceFlowProperties properties, MeterRegistry meterRegistry) {
+            return new WorkflowPipelineFactory(properties, meterRegistry);
+        }
+    }
+
+    @Test
+    void testSearchBatch_Success() throws Exception {
+        mockMvc.perform(post("/api/cardholders/search/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"cardNumber": "6008123456789012", "agency": "AG001"},
+                                  {"cardNumber": "", "agency": "AG001"},
+                                  {"cardNumber": "6008123456789099", "agency": "AG002"}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].data.cardholderList").isArray())
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error.errorCode").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$[2].success").value(true));
+    }
+
+    @Test
+    void testSearchBatch_EmptyBatch_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/cardholders/search/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSearchStream_WritesNdjsonPages() throws Exception {
+        MvcResult firstPage = mockMvc.perform(post("/api/cardholders/search/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cardNumber\": \"6008123456789012\", \"agency\": \"AG001\", \"pageSize\": 1}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String nextCursor = firstPage.getResponse().getHeader(CardholderSearchController.NEXT_CURSOR_HEADER);
+
+        String body = mockMvc.perform(asyncDispatch(firstPage))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CardholderSearchController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(1, body.lines().count());
+        assertTrue(body.startsWith("{\"cardholderId\""));
+        assertTrue(body.endsWith("\n"));
+
+        MvcResult lastPage = mockMvc.perform(post("/api/cardholders/search/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cardNumber\": \"6008123456789012\", \"agency\": \"AG001\", \"pageSize\": 1, "
+                                + "\"cursor\": \"" + nextCursor + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().doesNotExist(CardholderSearchController.NEXT_CURSOR_HEADER))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(lastPage))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testSearchStream_InvalidCriteria_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/cardholders/search/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cardNumber\": \"\", \"agency\": \"AG001\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void testSearchStream_PageSizeAboveLimit_BadRequest() throws Exception {
+        mockMvc.perform(post("/api/cardholders/search/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cardNumber\": \"6008123456789012\", \"agency\": \"AG001\", \"pageSize\": "
+                                + (OpaServiceImpl.MAX_STREAM_PAGE_SIZE + 1) + "}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+}
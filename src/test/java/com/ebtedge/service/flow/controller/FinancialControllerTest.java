@@ -14,7 +14,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -122,4 +124,27 @@ class FinancialControllerTest {
         mockMvc.perform(get("/api/profile/ACC_123_456"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void testGetProfileAsync_Success() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/profile/12345/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance.clientId").value("CUST-7788"))
+                .andExpect(jsonPath("$.demographics.name").value("Jane Doe"));
+    }
+
+    @Test
+    void testGetProfileAsync_InvalidAccountId() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/profile/invalid/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("A_ERR_01"));
+    }
 }
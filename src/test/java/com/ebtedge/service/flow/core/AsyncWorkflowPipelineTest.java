@@ -0,0 +1,240 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import com.ebtedge.service.flow.exception.WorkflowException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncWorkflowPipelineTest {
+
+    private MeterRegistry meterRegistry;
+    private ServiceFlowProperties properties;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ServiceFlowProperties();
+        properties.setMetricsEnabled(true);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private <T> AsyncWorkflowPipeline<T> startPipeline(T initialData) {
+        return AsyncWorkflowPipeline.startWith(initialData, properties, meterRegistry, null, executor);
+    }
+
+    @Test
+    void testHappyPath_MultipleSteps() throws Exception {
+        String result = startPipeline(10)
+                .nextStep("double", x -> CompletableFuture.completedFuture(ResponseWrapper.success(x * 2)))
+                .nextBlockingStep("toString", x -> ResponseWrapper.success(String.valueOf(x)))
+                .mapToUI(s -> s + "!")
+                .result()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("20!", result);
+    }
+
+    @Test
+    void testBlockingStep_DoesNotBlockCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> future = startPipeline("data")
+                .nextBlockingStep("slow", x -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ResponseWrapper.success(x.toUpperCase());
+                })
+                .mapToUI(x -> x)
+                .result();
+
+        assertFalse(future.isDone());
+        release.countDown();
+        assertEquals("DATA", future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailure_ShortCircuitsRemainingSteps() {
+        ErrorDetails error = new ErrorDetails("ERR_001", "Step failed");
+        List<String> executedSteps = new ArrayList<>();
+
+        CompletableFuture<String> future = startPipeline("data")
+                .nextBlockingStep("step1", x -> {
+                    executedSteps.add("step1");
+                    return ResponseWrapper.<String>fail(error);
+                })
+                .nextBlockingStep("step2", x -> {
+                    executedSteps.add("step2");
+                    return ResponseWrapper.success(x);
+                })
+                .mapToUI(x -> x)
+                .result();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(WorkflowException.class, exception.getCause());
+        assertEquals(error, ((WorkflowException) exception.getCause()).getError());
+        assertEquals(List.of("step1"), executedSteps);
+    }
+
+    @Test
+    void testException_FailsFuture() {
+        CompletableFuture<String> future = startPipeline("data")
+                .<String>nextStep("exceptionStep", x -> {
+                    throw new IllegalStateException("boom");
+                })
+                .mapToUI(x -> x)
+                .result();
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertNotNull(meterRegistry.find("workflow.step.latency")
+                .tag("step", "exceptionStep")
+                .tag("status", "EXCEPTION")
+                .timer());
+    }
+
+    @Test
+    void testPeek_SkippedOnFailure() throws Exception {
+        AtomicBoolean peeked = new AtomicBoolean(false);
+
+        ResponseWrapper<String> result = startPipeline("data")
+                .nextStep("fail", x -> CompletableFuture.completedFuture(
+                        ResponseWrapper.<String>fail(new ErrorDetails("ERR_002", "Failed"))))
+                .peek(x -> peeked.set(true))
+                .toFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.isSuccess());
+        assertFalse(peeked.get());
+    }
+
+    @Test
+    void testMetrics_RecordedPerStep() throws Exception {
+        startPipeline(1)
+                .nextBlockingStep("ok", x -> ResponseWrapper.success(x + 1))
+                .nextBlockingStep("ko", x -> ResponseWrapper.<Integer>fail(new ErrorDetails("ERR_003", "Failed")))
+                .toFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        assertNotNull(meterRegistry.find("workflow.step.latency")
+                .tag("step", "ok")
+                .tag("status", "SUCCESS")
+                .timer());
+        assertNotNull(meterRegistry.find("workflow.step.latency")
+                .tag("step", "ko")
+                .tag("status", "FAILURE")
+                .timer());
+    }
+
+    @Test
+    void testMetricsDisabled() throws Exception {
+        properties.setMetricsEnabled(false);
+
+        Integer result = startPipeline(100)
+                .nextBlockingStep("testStep", x -> ResponseWrapper.success(x * 2))
+                .mapToUI(x -> x)
+                .result()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(200, result);
+        assertNull(meterRegistry.find("workflow.step.latency").timer());
+    }
+
+    @Test
+    void testFactoryStartsAsyncPipeline() throws Exception {
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+
+        Integer result = factory.startAsyncWith(5)
+                .nextBlockingStep("triple", x -> ResponseWrapper.success(x * 3))
+                .mapToUI(x -> x)
+                .result()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(15, result);
+    }
+
+    @Test
+    void testNextStepsParallel_JoinsIntoTuple() throws Exception {
+        Tuple3<Integer, Integer, String> result = startPipeline(2)
+                .nextStepsParallel("fanOut",
+                        ParallelStep.of("plusOne", x -> ResponseWrapper.success(x + 1)),
+                        ParallelStep.of("square", x -> ResponseWrapper.success(x * x)),
+                        ParallelStep.of("label", x -> ResponseWrapper.success("n=" + x)))
+                .mapToUI(x -> x)
+                .result()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(new Tuple3<>(3, 4, "n=2"), result);
+    }
+
+    @Test
+    void testRetry_RetryableFailureIsRetriedAfterBackoff() throws Exception {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getRetry().setEnabled(true);
+        config.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        config.getRetry().setRetryOnErrorCodes(List.of("UNAVAILABLE"));
+        properties.getSteps().put("retried", config);
+        AtomicInteger attempts = new AtomicInteger();
+
+        Integer result = startPipeline(1)
+                .nextStep("retried", x -> CompletableFuture.completedFuture(attempts.incrementAndGet() < 3
+                        ? ResponseWrapper.<Integer>fail(new ErrorDetails("UNAVAILABLE", "Try again"))
+                        : ResponseWrapper.success(x)))
+                .mapToUI(x -> x)
+                .result()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.get(StepPolicies.ATTEMPTS_METRIC)
+                .tag("step", "retried").tag("type", "retry").counter().count());
+    }
+
+    @Test
+    void testHedge_FirstSuccessfulAttemptWins() throws Exception {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getHedge().setEnabled(true);
+        config.getHedge().setDelay(Duration.ofMillis(20));
+        properties.getSteps().put("hedged", config);
+        CompletableFuture<ResponseWrapper<String>> neverCompletes = new CompletableFuture<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = startPipeline("request")
+                .nextStep("hedged", x -> attempts.incrementAndGet() == 1
+                        ? neverCompletes
+                        : CompletableFuture.completedFuture(ResponseWrapper.success("hedge")))
+                .mapToUI(x -> x)
+                .result()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("hedge", result);
+        assertEquals(1, meterRegistry.get(StepPolicies.HEDGE_WINS_METRIC)
+                .tag("step", "hedged").tag("winner", "hedge").counter().count());
+    }
+}
@@ -0,0 +1,194 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.CircuitBreakerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofSeconds(3).toNanos();
+
+    private AtomicLong nanoTime;
+    private CircuitBreakerConfig config;
+
+    @BeforeEach
+    void setUp() {
+        nanoTime = new AtomicLong();
+        config = new CircuitBreakerConfig();
+        config.setEnabled(true);
+        config.setSlidingWindowSize(10);
+        config.setMinimumNumberOfCalls(4);
+        config.setFailureRateThreshold(50);
+        config.setSlowCallRateThreshold(100);
+        config.setSlowCallDurationThreshold(Duration.ofSeconds(2));
+        config.setWaitDurationInOpenState(Duration.ofSeconds(30));
+        config.setPermittedCallsInHalfOpenState(2);
+    }
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker("step", config, nanoTime::get);
+    }
+
+    private static void call(CircuitBreaker breaker, long durationNanos, boolean failed) {
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(durationNanos, failed);
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumNumberOfCalls() {
+        CircuitBreaker breaker = breaker();
+
+        call(breaker, FAST, true);
+        call(breaker, FAST, true);
+        call(breaker, FAST, true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void testOpensWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = breaker();
+
+        call(breaker, FAST, false);
+        call(breaker, FAST, true);
+        call(breaker, FAST, false);
+        call(breaker, FAST, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testOpensWhenSlowCallRateReachesThreshold() {
+        CircuitBreaker breaker = breaker();
+
+        for (int i = 0; i < 4; i++) {
+            call(breaker, SLOW, false);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void testSlidingWindowForgetsOldFailures() {
+        config.setMinimumNumberOfCalls(10);
+        CircuitBreaker breaker = breaker();
+
+        for (int i = 0; i < 4; i++) {
+            call(breaker, FAST, true);
+        }
+        for (int i = 0; i < 10; i++) {
+            call(breaker, FAST, false);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void testHalfOpenAfterWaitDurationAndClosesOnSuccessfulProbes() {
+        CircuitBreaker breaker = openBreaker();
+
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission(), "only the configured probe calls are permitted");
+
+        breaker.onResult(FAST, false);
+        breaker.onResult(FAST, false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testHalfOpenReopensOnFailedProbes() {
+        CircuitBreaker breaker = openBreaker();
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        call(breaker, FAST, true);
+        call(breaker, FAST, false);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testReleasedPermissionCanBeReusedInHalfOpen() {
+        config.setPermittedCallsInHalfOpenState(1);
+        CircuitBreaker breaker = openBreaker();
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.releasePermission();
+
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testRejectedHalfOpenCallsDoNotConsumeReleasedPermission() {
+        config.setPermittedCallsInHalfOpenState(1);
+        CircuitBreaker breaker = openBreaker();
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.releasePermission();
+
+        assertTrue(breaker.tryAcquirePermission(), "rejected calls must not drive the permits below zero");
+        breaker.onResult(FAST, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void testReleaseDoesNotGrowPermitsBeyondConfigured() {
+        config.setPermittedCallsInHalfOpenState(1);
+        CircuitBreaker breaker = openBreaker();
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.releasePermission();
+        breaker.releasePermission();
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void testHalfOpenReopensWhenProbesDoNotSettle() {
+        config.setPermittedCallsInHalfOpenState(1);
+        config.setMaxWaitDurationInHalfOpenState(Duration.ofSeconds(60));
+        CircuitBreaker breaker = openBreaker();
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        nanoTime.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        nanoTime.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        nanoTime.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertTrue(breaker.tryAcquirePermission(), "a fresh probe is permitted after the next open wait");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+    }
+
+    private CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            call(breaker, FAST, true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        return breaker;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ebtedge.service.flow.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testEmptyHistogramHasNoPercentile() {
+        assertEquals(-1, new LatencyHistogram().percentileNanos(0.95));
+    }
+
+    @Test
+    void testPercentileWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        long p95 = TimeUnit.NANOSECONDS.toMillis(histogram.percentileNanos(0.95));
+        long p50 = TimeUnit.NANOSECONDS.toMillis(histogram.percentileNanos(0.50));
+
+        assertTrue(p95 >= 95 && p95 <= 95 * 1.25, "p95 was " + p95 + "ms");
+        assertTrue(p50 >= 50 && p50 <= 50 * 1.25, "p50 was " + p50 + "ms");
+        assertEquals(100, histogram.samples());
+    }
+
+    @Test
+    void testBucketUpperBoundIsWithinQuarterOfValue() {
+        for (long micros = 0; micros < 200_000; micros++) {
+            long upper = LatencyHistogram.upperBoundMicros(LatencyHistogram.bucketOf(micros));
+            assertTrue(upper > micros && upper <= micros * 1.25 + 1, micros + "us maps to upper bound " + upper);
+        }
+    }
+
+    @Test
+    void testDecayFollowsLatencyShift() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < LatencyHistogram.DECAY_INTERVAL; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        for (int i = 0; i < 8 * LatencyHistogram.DECAY_INTERVAL; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(histogram.percentileNanos(0.95)) <= 2);
+    }
+}
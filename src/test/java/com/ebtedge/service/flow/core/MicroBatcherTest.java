@@ -0,0 +1,276 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.BatchConfig;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+
+    private final List<List<String>> bulkCalls = Collections.synchronizedList(new ArrayList<>());
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private List<ResponseWrapper<String>> lookup(List<String> keys) {
+        bulkCalls.add(List.copyOf(keys));
+        return keys.stream()
+            .map(key -> key.startsWith("bad")
+                ? ResponseWrapper.<String>fail(new ErrorDetails("NOT_FOUND", key))
+                : ResponseWrapper.success(key.toUpperCase()))
+            .toList();
+    }
+
+    private MicroBatcher<String, String> batcher(int maxBatchSize, Duration maxWait) {
+        BatchConfig config = new BatchConfig();
+        config.setEnabled(true);
+        config.setMaxBatchSize(maxBatchSize);
+        config.setMaxWait(maxWait);
+        return new MicroBatcher<>("test", config, this::lookup, executor, meterRegistry);
+    }
+
+    @Test
+    void fullBatchIsDispatchedWithoutWaiting() {
+        MicroBatcher<String, String> batcher = batcher(3, Duration.ofMinutes(1));
+
+        CompletableFuture<ResponseWrapper<String>> a = batcher.submit("a");
+        CompletableFuture<ResponseWrapper<String>> b = batcher.submit("b");
+        CompletableFuture<ResponseWrapper<String>> bad = batcher.submit("bad-c");
+
+        assertEquals("A", a.orTimeout(5, TimeUnit.SECONDS).join().getData());
+        assertEquals("B", b.join().getData());
+        assertEquals("NOT_FOUND", bad.join().getError().errorCode());
+        assertEquals(List.of(List.of("a", "b", "bad-c")), bulkCalls);
+    }
+
+    @Test
+    void partialBatchIsDispatchedAfterMaxWait() {
+        MicroBatcher<String, String> batcher = batcher(100, Duration.ofMillis(20));
+
+        CompletableFuture<ResponseWrapper<String>> a = batcher.submit("a");
+        CompletableFuture<ResponseWrapper<String>> b = batcher.submit("b");
+
+        assertEquals("A", a.orTimeout(5, TimeUnit.SECONDS).join().getData());
+        assertEquals("B", b.orTimeout(5, TimeUnit.SECONDS).join().getData());
+        assertEquals(List.of(List.of("a", "b")), bulkCalls);
+    }
+
+    @Test
+    void concurrentCallersShareBulkCalls() {
+        MicroBatcher<String, String> batcher = batcher(10, Duration.ofMillis(50));
+
+        List<CompletableFuture<ResponseWrapper<String>>> calls = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            String key = "k" + i;
+            calls.add(CompletableFuture.supplyAsync(() -> batcher.get(key), executor));
+        }
+
+        for (int i = 0; i < calls.size(); i++) {
+            assertEquals("K" + i, calls.get(i).orTimeout(5, TimeUnit.SECONDS).join().getData());
+        }
+        assertTrue(bulkCalls.size() < 30, "expected batched calls, got " + bulkCalls.size());
+        DistributionSummary sizes = meterRegistry.get(MicroBatcher.SIZE_METRIC).tag("batcher", "test").summary();
+        assertEquals(bulkCalls.size(), sizes.count());
+        assertEquals(30, sizes.totalAmount());
+    }
+
+    @Test
+    void duplicateKeysAreFetchedOnce() {
+        MicroBatcher<String, String> batcher = batcher(3, Duration.ofMinutes(1));
+
+        CompletableFuture<ResponseWrapper<String>> first = batcher.submit("a");
+        CompletableFuture<ResponseWrapper<String>> second = batcher.submit("a");
+        batcher.submit("b");
+
+        assertSame(first.orTimeout(5, TimeUnit.SECONDS).join(), second.join());
+        assertEquals(List.of(List.of("a", "b")), bulkCalls);
+    }
+
+    @Test
+    void bulkCallExceptionFailsEveryCallerOfTheBatch() {
+        BatchConfig config = new BatchConfig();
+        config.setEnabled(true);
+        config.setMaxBatchSize(2);
+        MicroBatcher<String, String> batcher = new MicroBatcher<>("test", config, keys -> {
+            throw new IllegalStateException("backend down");
+        }, executor, meterRegistry);
+
+        CompletableFuture<ResponseWrapper<String>> a = batcher.submit("a");
+        CompletableFuture<ResponseWrapper<String>> b = batcher.submit("b");
+
+        CompletionException error = assertThrows(CompletionException.class, () -> a.orTimeout(5, TimeUnit.SECONDS).join());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertThrows(CompletionException.class, b::join);
+    }
+
+    @Test
+    void bulkCallErrorFailsEveryCallerOfTheBatch() {
+        BatchConfig config = new BatchConfig();
+        config.setEnabled(true);
+        config.setMaxBatchSize(2);
+        MicroBatcher<String, String> batcher = new MicroBatcher<>("test", config, keys -> {
+            throw new NoClassDefFoundError("backend client");
+        }, executor, meterRegistry);
+
+        CompletableFuture<ResponseWrapper<String>> a = batcher.submit("a");
+
+        assertThrows(NoClassDefFoundError.class, () -> batcher.get("b"));
+        CompletionException error = assertThrows(CompletionException.class, () -> a.orTimeout(5, TimeUnit.SECONDS).join());
+        assertInstanceOf(NoClassDefFoundError.class, error.getCause());
+    }
+
+    @Test
+    void getFailsWithTimeoutWhenTheBatchIsNotFetchedInTime() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BatchConfig config = new BatchConfig();
+        config.setEnabled(true);
+        config.setMaxBatchSize(1_000);
+        config.setMaxWait(Duration.ofMillis(1));
+        config.setTimeout(Duration.ofMillis(50));
+        MicroBatcher<String, String> batcher = new MicroBatcher<>("test", config, keys -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return lookup(keys);
+        }, executor, meterRegistry);
+
+        try {
+            ResponseWrapper<String> result = batcher.get("a");
+
+            assertFalse(result.isSuccess());
+            assertEquals(PipelineRuntime.TIMEOUT_ERROR_CODE, result.getError().errorCode());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void bulkCallsDoNotRunOnTheStepExecutor() {
+        BatchConfig config = new BatchConfig();
+        config.setEnabled(true);
+        config.setMaxBatchSize(2);
+        config.setMaxWait(Duration.ofMillis(10));
+        MicroBatcher<String, String> batcher = new MicroBatcher<>("test", config, this::lookup, task -> {
+            throw new AssertionError("the step executor may be held by the callers");
+        }, meterRegistry);
+
+        CompletableFuture<ResponseWrapper<String>> full = batcher.submit("a");
+        batcher.submit("b");
+        CompletableFuture<ResponseWrapper<String>> partial = batcher.submit("c");
+
+        assertEquals("A", full.orTimeout(5, TimeUnit.SECONDS).join().getData());
+        assertEquals("C", partial.orTimeout(5, TimeUnit.SECONDS).join().getData());
+    }
+
+    @Test
+    void closedBatcherFailsOpenBatches() {
+        MicroBatcher<String, String> batcher = batcher(100, Duration.ofMillis(20));
+
+        CompletableFuture<ResponseWrapper<String>> open = batcher.submit("a");
+        batcher.close();
+
+        CompletionException error = assertThrows(CompletionException.class,
+            () -> open.orTimeout(5, TimeUnit.SECONDS).join());
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+        assertTrue(bulkCalls.isEmpty());
+    }
+
+    @Test
+    void resultCountMismatchIsAnError() {
+        BatchConfig config = new BatchConfig();
+        config.setEnabled(true);
+        config.setMaxBatchSize(2);
+        MicroBatcher<String, String> batcher = new MicroBatcher<>("test", config,
+            keys -> List.of(ResponseWrapper.success("only one")), executor, meterRegistry);
+
+        batcher.submit("a");
+        CompletableFuture<ResponseWrapper<String>> b = batcher.submit("b");
+
+        CompletionException error = assertThrows(CompletionException.class, () -> b.orTimeout(5, TimeUnit.SECONDS).join());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+
+    @Test
+    void disabledBatcherCallsPerKeyOnCallingThread() {
+        MicroBatcher<String, String> batcher = new MicroBatcher<>("test", new BatchConfig(), this::lookup,
+            executor, meterRegistry);
+
+        assertEquals("A", batcher.get("a").getData());
+        assertEquals("B", batcher.get("b").getData());
+        assertEquals(List.of(List.of("a"), List.of("b")), bulkCalls);
+    }
+
+    @Test
+    void factoryAppliesNamedConfiguration() {
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        BatchConfig config = new BatchConfig();
+        config.setEnabled(true);
+        config.setMaxBatchSize(2);
+        config.setMaxWait(Duration.ofMinutes(1));
+        properties.getBatching().put("lookup", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+
+        MicroBatcher<String, String> batcher = factory.batcher("lookup", this::lookup);
+        CompletableFuture<ResponseWrapper<String>> a = batcher.submit("a");
+        batcher.submit("b");
+
+        assertEquals("A", a.orTimeout(5, TimeUnit.SECONDS).join().getData());
+        assertEquals(List.of(List.of("a", "b")), bulkCalls);
+        assertEquals("lookup", batcher.name());
+    }
+
+    @Test
+    void factoryReturnsOneBatcherPerNameAndClosesIt() {
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        BatchConfig config = new BatchConfig();
+        config.setEnabled(true);
+        config.setMaxBatchSize(2);
+        config.setMaxWait(Duration.ofMinutes(1));
+        properties.getBatching().put("lookup", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+
+        MicroBatcher<String, String> first = factory.batcher("lookup", this::lookup);
+        MicroBatcher<String, String> second = factory.batcher("lookup", this::lookup);
+        CompletableFuture<ResponseWrapper<String>> a = first.submit("a");
+        second.submit("b");
+
+        assertSame(first, second);
+        assertEquals("A", a.orTimeout(5, TimeUnit.SECONDS).join().getData());
+        assertEquals(List.of(List.of("a", "b")), bulkCalls);
+
+        CompletableFuture<ResponseWrapper<String>> open = first.submit("c");
+        factory.close();
+        CompletionException error = assertThrows(CompletionException.class, open::join);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+    }
+}
@@ -0,0 +1,159 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.ParallelConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelMapperTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ParallelMapper mapper(boolean enabled, int threshold, int parallelism) {
+        ParallelConfig config = new ParallelConfig();
+        config.setEnabled(enabled);
+        config.setThreshold(threshold);
+        config.setParallelism(parallelism);
+        return new ParallelMapper("test", config, meterRegistry);
+    }
+
+    private static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().toList();
+    }
+
+    private double calls(String mode) {
+        return meterRegistry.get(ParallelMapper.CALLS_METRIC).tag("mapper", "test").tag("mode", mode).counter().count();
+    }
+
+    @Test
+    void largeListIsMappedOnPoolThreadsInInputOrder() {
+        ParallelMapper mapper = mapper(true, 100, 4);
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+        List<String> mapped = mapper.map(range(10_000), i -> {
+            threadNames.add(Thread.currentThread().getName());
+            return "item-" + i;
+        });
+
+        assertEquals(range(10_000).stream().map(i -> "item-" + i).toList(), mapped);
+        String caller = Thread.currentThread().getName();
+        assertTrue(threadNames.stream().anyMatch(name -> name.startsWith("workflow-parallel-test-")), threadNames::toString);
+        assertTrue(threadNames.stream().allMatch(name -> name.startsWith("workflow-parallel-test-") || name.equals(caller)),
+            threadNames::toString);
+        assertEquals(1, calls("parallel"));
+        assertEquals(0, calls("sequential"));
+        DistributionSummary tasks = meterRegistry.get(ParallelMapper.TASKS_METRIC).summary();
+        assertTrue(tasks.totalAmount() >= 16, "about four tasks per thread");
+        DistributionSummary threads = meterRegistry.get(ParallelMapper.THREADS_METRIC).summary();
+        assertEquals(1, threads.count());
+        assertTrue(threads.totalAmount() >= 1 && threads.totalAmount() <= 5);
+    }
+
+    @Test
+    void bothPathsReturnAMutableArrayList() {
+        ParallelMapper mapper = mapper(true, 100, 4);
+
+        List<Integer> parallel = mapper.map(range(1_000), i -> i);
+        List<Integer> sequential = mapper.map(range(10), i -> i);
+
+        assertEquals(ArrayList.class, parallel.getClass());
+        assertEquals(ArrayList.class, sequential.getClass());
+        parallel.add(1_000);
+        assertEquals(1_001, parallel.size());
+        assertEquals(1, calls("parallel"));
+        assertEquals(1, calls("sequential"));
+    }
+
+    @Test
+    void listBelowThresholdIsMappedOnCallingThread() {
+        ParallelMapper mapper = mapper(true, 100, 4);
+        Thread caller = Thread.currentThread();
+
+        List<Integer> mapped = mapper.map(range(99), i -> {
+            assertSame(caller, Thread.currentThread());
+            return i * 2;
+        });
+
+        assertEquals(99, mapped.size());
+        assertEquals(196, mapped.get(98));
+        assertEquals(0, calls("parallel"));
+        assertEquals(1, calls("sequential"));
+    }
+
+    @Test
+    void disabledMapperNeverForks() {
+        ParallelMapper mapper = mapper(false, 2, 4);
+        Thread caller = Thread.currentThread();
+
+        List<Integer> mapped = mapper.map(range(5_000), i -> {
+            assertSame(caller, Thread.currentThread());
+            return i;
+        });
+
+        assertEquals(range(5_000), mapped);
+        assertEquals(1, mapper.parallelism());
+        assertEquals(1, calls("sequential"));
+    }
+
+    @Test
+    void exceptionFromMappingFunctionIsRethrown() {
+        ParallelMapper mapper = mapper(true, 10, 2);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> mapper.map(range(1_000), i -> {
+            if (i == 777) {
+                throw new IllegalStateException("bad item");
+            }
+            return i;
+        }));
+        // ForkJoinPool may rethrow a copy wrapping the original when it was thrown on another thread
+        assertTrue(e.getMessage().contains("bad item"), e.getMessage());
+    }
+
+    @Test
+    void factoryConfiguresMapperByName() {
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        ParallelConfig config = new ParallelConfig();
+        config.setEnabled(true);
+        config.setParallelism(3);
+        properties.getParallel().put("merge", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+
+        assertEquals(3, factory.parallelMapper("merge").parallelism());
+        assertEquals(1, factory.parallelMapper("other").parallelism());
+    }
+
+    @Test
+    void factorySharesOneMapperPerNameUntilClosed() {
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        ParallelConfig config = new ParallelConfig();
+        config.setEnabled(true);
+        config.setThreshold(10);
+        properties.getParallel().put("merge", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+
+        ParallelMapper mapper = factory.parallelMapper("merge");
+        assertSame(mapper, factory.parallelMapper("merge"));
+
+        factory.close();
+
+        // A closed pool no longer accepts work; lists are mapped on the calling thread
+        assertEquals(range(100), mapper.map(range(100), i -> i));
+        assertEquals(1.0, meterRegistry.get(ParallelMapper.CALLS_METRIC).tag("mapper", "merge")
+            .tag("mode", "sequential").counter().count());
+    }
+}
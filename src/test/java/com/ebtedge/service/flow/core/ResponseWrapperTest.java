@@ -115,6 +115,14 @@ class ResponseWrapperTest {
         assertEquals(error, result.getError());
     }
 
+    @Test
+    void testMapAndFlatMap_FailureReusesInstance() {
+        ResponseWrapper<Integer> wrapper = ResponseWrapper.fail(new ErrorDetails("ERR", "Failed"));
+
+        assertSame(wrapper, wrapper.map(i -> "Number: " + i));
+        assertSame(wrapper, wrapper.flatMap(i -> ResponseWrapper.success(i * 2)));
+    }
+
     @Test
     void testOrElse_Success() {
         ResponseWrapper<String> wrapper = ResponseWrapper.success("actual");
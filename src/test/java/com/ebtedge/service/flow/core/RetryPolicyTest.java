@@ -0,0 +1,84 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.HedgeConfig;
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.RetryConfig;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    @Test
+    void testOnlyConfiguredErrorCodesAreRetryable() {
+        RetryConfig config = new RetryConfig();
+        config.setRetryOnErrorCodes(List.of("SERVICE_UNAVAILABLE"));
+        RetryPolicy retry = new RetryPolicy(config);
+
+        assertTrue(retry.isRetryable(ResponseWrapper.fail(new ErrorDetails("SERVICE_UNAVAILABLE", "down"))));
+        assertFalse(retry.isRetryable(ResponseWrapper.fail(new ErrorDetails("NOT_FOUND", "no record"))));
+        assertFalse(retry.isRetryable(ResponseWrapper.success("ok")));
+    }
+
+    @Test
+    void testBackoffGrowsExponentiallyWithinJitterAndCap() {
+        RetryConfig config = new RetryConfig();
+        config.setInitialBackoff(Duration.ofMillis(100));
+        config.setBackoffMultiplier(2.0);
+        config.setMaxBackoff(Duration.ofMillis(300));
+        config.setJitter(0.5);
+        RetryPolicy retry = new RetryPolicy(config);
+
+        for (int i = 0; i < 100; i++) {
+            assertBetween(50, 100, retry.backoffNanos(1));
+            assertBetween(100, 200, retry.backoffNanos(2));
+            assertBetween(150, 300, retry.backoffNanos(3));
+            assertBetween(150, 300, retry.backoffNanos(10));
+        }
+    }
+
+    @Test
+    void testBackoffWithoutJitterIsFixed() {
+        RetryConfig config = new RetryConfig();
+        config.setInitialBackoff(Duration.ofMillis(40));
+        config.setJitter(0);
+        RetryPolicy retry = new RetryPolicy(config);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(40), retry.backoffNanos(1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(80), retry.backoffNanos(2));
+    }
+
+    @Test
+    void testHedgeDelayWaitsForMinimumSamplesThenFollowsPercentile() {
+        HedgeConfig config = new HedgeConfig();
+        config.setMinimumSamples(10);
+        config.setMinDelay(Duration.ofMillis(1));
+        HedgePolicy hedge = new HedgePolicy(config);
+
+        for (int i = 0; i < 9; i++) {
+            hedge.record(TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        assertEquals(-1, hedge.delayNanos());
+
+        hedge.record(TimeUnit.MILLISECONDS.toNanos(20));
+        long delay = TimeUnit.NANOSECONDS.toMillis(hedge.delayNanos());
+        assertTrue(delay >= 20 && delay <= 25, "hedge delay was " + delay + "ms");
+    }
+
+    @Test
+    void testFixedHedgeDelay() {
+        HedgeConfig config = new HedgeConfig();
+        config.setDelay(Duration.ofMillis(30));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30), new HedgePolicy(config).delayNanos());
+    }
+
+    private static void assertBetween(long minMillis, long maxMillis, long nanos) {
+        assertTrue(nanos >= TimeUnit.MILLISECONDS.toNanos(minMillis) && nanos <= TimeUnit.MILLISECONDS.toNanos(maxMillis),
+            "backoff " + nanos + "ns outside [" + minMillis + ", " + maxMillis + "]ms");
+    }
+}
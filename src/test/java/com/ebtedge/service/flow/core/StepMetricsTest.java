@@ -0,0 +1,103 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepMetricsTest {
+
+    private MockClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ServiceFlowProperties properties;
+    private StepMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        properties = new ServiceFlowProperties();
+        properties.setMetricsEnabled(true);
+        metrics = new StepMetrics(properties, meterRegistry);
+    }
+
+    @Test
+    void testTimerIsCachedPerStepAndStatus() {
+        Timer success = metrics.timer("step", StepMetrics.Status.SUCCESS);
+
+        assertSame(success, metrics.timer("step", StepMetrics.Status.SUCCESS));
+        assertNotSame(success, metrics.timer("step", StepMetrics.Status.FAILURE));
+        assertNotSame(success, metrics.timer("other", StepMetrics.Status.SUCCESS));
+    }
+
+    @Test
+    void testStopRecordsElapsedTimeFromRegistryClock() {
+        long start = metrics.start();
+        clock.add(25, TimeUnit.MILLISECONDS);
+
+        long duration = metrics.stop(start, "step", StepMetrics.Status.SUCCESS);
+
+        assertEquals(25, duration);
+        Timer timer = meterRegistry.find("workflow.step.latency")
+                .tag("step", "step")
+                .tag("status", "SUCCESS")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertEquals(25, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void testMetricNameChangeRegistersNewTimer() {
+        metrics.stop(metrics.start(), "step", StepMetrics.Status.SUCCESS);
+        properties.setMetricName("custom.step.latency");
+        metrics.stop(metrics.start(), "step", StepMetrics.Status.SUCCESS);
+
+        assertEquals(1, meterRegistry.get("workflow.step.latency").timer().count());
+        assertEquals(1, meterRegistry.get("custom.step.latency").timer().count());
+    }
+
+    @Test
+    void testConfiguredStepTimersArePreRegistered() {
+        properties.getSteps().put("FetchCase", new ServiceFlowProperties.StepConfig());
+
+        new StepMetrics(properties, meterRegistry);
+
+        for (StepMetrics.Status status : StepMetrics.Status.values()) {
+            Timer timer = meterRegistry.find("workflow.step.latency")
+                    .tag("step", "FetchCase")
+                    .tag("status", status.name())
+                    .timer();
+            assertNotNull(timer, status.name());
+            assertEquals(0, timer.count());
+        }
+    }
+
+    @Test
+    void testConfiguredStepTimersAreNotRegisteredWhenMetricsDisabled() {
+        properties.setMetricsEnabled(false);
+        properties.getSteps().put("FetchCase", new ServiceFlowProperties.StepConfig());
+
+        new StepMetrics(properties, meterRegistry);
+
+        assertNull(meterRegistry.find("workflow.step.latency").timer());
+    }
+
+    @Test
+    void testDisabledMetricsRecordNothing() {
+        properties.setMetricsEnabled(false);
+
+        long start = metrics.start();
+
+        assertFalse(StepMetrics.isStarted(start));
+        assertEquals(0, metrics.stop(start, "step", StepMetrics.Status.SUCCESS));
+        assertNull(meterRegistry.find("workflow.step.latency").timer());
+    }
+}
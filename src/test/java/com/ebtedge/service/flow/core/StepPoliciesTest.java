@@ -0,0 +1,96 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.StepConfig;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepPoliciesTest {
+
+    private MeterRegistry meterRegistry;
+    private ServiceFlowProperties properties;
+    private StepPolicies policies;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ServiceFlowProperties();
+        properties.setMetricsEnabled(true);
+        policies = new StepPolicies(properties, meterRegistry);
+    }
+
+    @Test
+    void testNoGuardForUnconfiguredOrDisabledStep() {
+        properties.getSteps().put("disabled", new StepConfig());
+
+        assertNull(policies.guard("unconfigured"));
+        assertNull(policies.guard("disabled"));
+    }
+
+    @Test
+    void testGuardIsCachedAndExportsGauges() {
+        StepConfig config = new StepConfig();
+        config.getCircuitBreaker().setEnabled(true);
+        config.getBulkhead().setEnabled(true);
+        config.getBulkhead().setMaxConcurrentCalls(2);
+        properties.getSteps().put("FetchCase", config);
+
+        StepGuard guard = policies.guard("FetchCase");
+
+        assertNotNull(guard);
+        assertSame(guard, policies.guard("FetchCase"));
+        assertEquals(0, meterRegistry.get(StepPolicies.CIRCUIT_STATE_METRIC).tag("step", "FetchCase").gauge().value());
+        assertEquals(2, meterRegistry.get(StepPolicies.BULKHEAD_AVAILABLE_METRIC).tag("step", "FetchCase").gauge().value());
+    }
+
+    @Test
+    void testBulkheadRejectsWhenFullAndFreesSlotOnCompletion() {
+        StepConfig config = new StepConfig();
+        config.getBulkhead().setEnabled(true);
+        config.getBulkhead().setMaxConcurrentCalls(1);
+        properties.getSteps().put("step", config);
+        StepGuard guard = policies.guard("step");
+
+        assertNull(guard.tryAcquire());
+        ErrorDetails rejection = guard.tryAcquire();
+        assertNotNull(rejection);
+        assertEquals(StepGuard.BULKHEAD_FULL_ERROR_CODE, rejection.errorCode());
+
+        guard.onResult(System.nanoTime(), ResponseWrapper.success("ok"));
+
+        assertNull(guard.tryAcquire());
+    }
+
+    @Test
+    void testIgnoredErrorCodesDoNotCountAsFailures() {
+        StepConfig config = new StepConfig();
+        config.getCircuitBreaker().setEnabled(true);
+        config.getCircuitBreaker().setMinimumNumberOfCalls(2);
+        config.getCircuitBreaker().setIgnoredErrorCodes(List.of("NOT_FOUND"));
+        properties.getSteps().put("step", config);
+        StepGuard guard = policies.guard("step");
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(guard.tryAcquire());
+            guard.onResult(System.nanoTime(), ResponseWrapper.fail(new ErrorDetails("NOT_FOUND", "No record")));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.circuitBreaker().state());
+    }
+
+    @Test
+    void testSharedPoliciesArePerPropertiesInstanceAndRegistry() {
+        StepPolicies shared = StepPolicies.shared(properties, meterRegistry);
+
+        assertSame(shared, StepPolicies.shared(properties, meterRegistry));
+        assertNotSame(shared, StepPolicies.shared(new ServiceFlowProperties(), meterRegistry));
+        assertNotSame(shared, StepPolicies.shared(properties, new SimpleMeterRegistry()));
+    }
+}
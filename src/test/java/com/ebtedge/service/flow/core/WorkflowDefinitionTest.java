@@ -0,0 +1,193 @@
+package com.ebtedge.service.flow.core;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import com.ebtedge.service.flow.exception.WorkflowException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkflowDefinitionTest {
+
+    private MeterRegistry meterRegistry;
+    private ServiceFlowProperties properties;
+    private WorkflowPipelineFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ServiceFlowProperties();
+        properties.setMetricsEnabled(true);
+        factory = new WorkflowPipelineFactory(properties, meterRegistry);
+    }
+
+    @Test
+    void testExecute_RunsStepsInOrder() {
+        WorkflowDefinition<Integer, String> definition = factory.define("Test", Integer.class)
+                .step("double", x -> ResponseWrapper.success(x * 2))
+                .step("toString", x -> ResponseWrapper.success(String.valueOf(x)))
+                .map(s -> s + "!")
+                .build();
+
+        ResponseWrapper<String> result = definition.execute(10);
+
+        assertTrue(result.isSuccess());
+        assertEquals("20!", result.getData());
+        assertEquals("Test", definition.name());
+    }
+
+    @Test
+    void testExecute_IsReusableAcrossInputs() {
+        WorkflowDefinition<Integer, Integer> definition = factory.define("Square", Integer.class)
+                .step("square", x -> ResponseWrapper.success(x * x))
+                .build();
+
+        assertEquals(4, definition.execute(2).getData());
+        assertEquals(9, definition.execute(3).getData());
+        assertEquals(2, meterRegistry.get("workflow.step.latency").tag("step", "square").timer().count());
+    }
+
+    @Test
+    void testExecute_FailureShortCircuitsRemainingSteps() {
+        ErrorDetails error = new ErrorDetails("A_ERR_01", "Backend error");
+        List<String> executed = new ArrayList<>();
+
+        WorkflowDefinition<String, String> definition = factory.define("Failing", String.class)
+                .step("step1", x -> {
+                    executed.add("step1");
+                    return ResponseWrapper.<String>fail(error);
+                })
+                .peek(x -> executed.add("peek"))
+                .step("step2", x -> {
+                    executed.add("step2");
+                    return ResponseWrapper.success(x);
+                })
+                .build();
+
+        ResponseWrapper<String> result = definition.execute("data");
+
+        assertFalse(result.isSuccess());
+        assertEquals(error, result.getError());
+        assertEquals(List.of("step1"), executed);
+    }
+
+    @Test
+    void testExecute_PeekSeesCurrentValue() {
+        List<Integer> seen = new ArrayList<>();
+
+        factory.define("Peek", Integer.class)
+                .step("increment", x -> ResponseWrapper.success(x + 1))
+                .peek(seen::add)
+                .build()
+                .execute(1);
+
+        assertEquals(List.of(2), seen);
+    }
+
+    @Test
+    void testExecute_ExceptionIsRecordedAndPropagated() {
+        WorkflowDefinition<String, String> definition = factory.define("Exception", String.class)
+                .<String>step("boom", x -> {
+                    throw new IllegalStateException("boom");
+                })
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> definition.execute("data"));
+        assertNotNull(meterRegistry.find("workflow.step.latency")
+                .tag("step", "boom")
+                .tag("status", "EXCEPTION")
+                .timer());
+    }
+
+    @Test
+    void testBuild_PreRegistersStepTimers() {
+        factory.define("PreBound", String.class)
+                .step("bound", x -> ResponseWrapper.success(x))
+                .build();
+
+        Timer success = meterRegistry.find("workflow.step.latency").tag("step", "bound").tag("status", "SUCCESS").timer();
+        Timer failure = meterRegistry.find("workflow.step.latency").tag("step", "bound").tag("status", "FAILURE").timer();
+        assertNotNull(success);
+        assertNotNull(failure);
+        assertEquals(0, success.count());
+    }
+
+    @Test
+    void testBuild_MetricsDisabledRegistersNothing() {
+        properties.setMetricsEnabled(false);
+
+        WorkflowDefinition<String, String> definition = factory.define("NoMetrics", String.class)
+                .step("unbound", x -> ResponseWrapper.success(x))
+                .build();
+        definition.execute("data");
+
+        assertNull(meterRegistry.find("workflow.step.latency").timer());
+    }
+
+    @Test
+    void testExecuteOrThrow() {
+        WorkflowDefinition<String, String> definition = factory.define("Throwing", String.class)
+                .step("validate", x -> x.isEmpty()
+                        ? ResponseWrapper.<String>fail(new ErrorDetails("EMPTY", "Empty input"))
+                        : ResponseWrapper.success(x.toUpperCase()))
+                .build();
+
+        assertEquals("DATA", definition.executeOrThrow("data").result());
+        WorkflowException exception = assertThrows(WorkflowException.class, () -> definition.executeOrThrow(""));
+        assertEquals("EMPTY", exception.getError().errorCode());
+    }
+
+    @Test
+    void testExecute_OpenCircuitRejectsStep() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getCircuitBreaker().setEnabled(true);
+        config.getCircuitBreaker().setMinimumNumberOfCalls(1);
+        properties.getSteps().put("guarded", config);
+        List<String> calls = new ArrayList<>();
+        WorkflowDefinition<String, String> definition = factory.define("Guarded", String.class)
+                .step("guarded", x -> {
+                    calls.add(x);
+                    return ResponseWrapper.<String>fail(new ErrorDetails("A_ERR_01", "Backend error"));
+                })
+                .build();
+
+        definition.execute("first");
+        ResponseWrapper<String> rejected = definition.execute("second");
+
+        assertEquals(List.of("first"), calls);
+        assertEquals(StepGuard.CIRCUIT_OPEN_ERROR_CODE, rejected.getError().errorCode());
+    }
+
+    @Test
+    void testMemoizedStep_SharedAcrossDefinitionsOfOneRequest() {
+        List<String> lookups = new ArrayList<>();
+        WorkflowDefinition<String, String> summary = factory.define("Summary", String.class)
+                .memoizedStep("LookupClient", id -> id, id -> {
+                    lookups.add(id);
+                    return ResponseWrapper.success("client-" + id);
+                })
+                .build();
+        WorkflowDefinition<String, Integer> merge = factory.define("Merge", String.class)
+                .memoizedStep("LookupClient", id -> id, id -> {
+                    lookups.add(id);
+                    return ResponseWrapper.success("client-" + id);
+                })
+                .map(String::length)
+                .build();
+
+        RequestCache requestCache = RequestCache.create();
+        assertEquals("client-C1", summary.execute("C1", requestCache).getData());
+        assertEquals(9, merge.execute("C1", requestCache).getData());
+        merge.execute("C1");
+
+        assertEquals(List.of("C1", "C1"), lookups);
+        assertEquals(1, requestCache.hits());
+    }
+}
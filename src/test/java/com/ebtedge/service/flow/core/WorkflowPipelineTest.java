@@ -3,20 +3,37 @@ package com.ebtedge.service.flow.core;
 import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
 import com.ebtedge.service.flow.domain.ErrorDetails;
 import com.ebtedge.service.flow.exception.WorkflowException;
+import com.sun.management.ThreadMXBean;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.core.instrument.Metrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class WorkflowPipelineTest {
 
+    private static final Function<Integer, ResponseWrapper<Integer>> INCREMENT = x -> ResponseWrapper.success(x + 1);
+    private static final Consumer<Integer> NO_OP = x -> { };
+
     private MeterRegistry meterRegistry;
     private ServiceFlowProperties properties;
 
@@ -336,4 +353,803 @@ class WorkflowPipelineTest {
                 .tag("status", "SUCCESS")
                 .timer());
     }
+
+    @Test
+    void testNextStepsParallel_RunsBranchesConcurrently() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        try {
+            Tuple2<String, Integer> result = WorkflowPipeline.startWith(7, properties, meterRegistry, null, executor)
+                    .nextStepsParallel("fanOut",
+                            ParallelStep.of("left", x -> {
+                                bothStarted.countDown();
+                                awaitQuietly(bothStarted);
+                                return ResponseWrapper.success("L" + x);
+                            }),
+                            ParallelStep.of("right", x -> {
+                                bothStarted.countDown();
+                                awaitQuietly(bothStarted);
+                                return ResponseWrapper.success(x * 2);
+                            }))
+                    .mapToUI(x -> x)
+                    .result();
+
+            assertEquals("L7", result.first());
+            assertEquals(14, result.second());
+            assertNotNull(meterRegistry.find("workflow.step.latency").tag("step", "left").tag("status", "SUCCESS").timer());
+            assertNotNull(meterRegistry.find("workflow.step.latency").tag("step", "right").tag("status", "SUCCESS").timer());
+            assertNotNull(meterRegistry.find("workflow.step.latency").tag("step", "fanOut").tag("status", "SUCCESS").timer());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testNextStepsParallel_FailFastCancelsSiblings() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch never = new CountDownLatch(1);
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        AtomicBoolean siblingInterrupted = new AtomicBoolean(false);
+        ErrorDetails error = new ErrorDetails("ERR_PAR", "Branch failed");
+        try {
+            WorkflowException exception = assertThrows(WorkflowException.class, () ->
+                    WorkflowPipeline.startWith("data", properties, meterRegistry, null, executor)
+                            .nextStepsParallel("fanOut",
+                                    ParallelStep.of("slow", x -> {
+                                        slowStarted.countDown();
+                                        try {
+                                            never.await(10, TimeUnit.SECONDS);
+                                        } catch (InterruptedException e) {
+                                            siblingInterrupted.set(true);
+                                        }
+                                        return ResponseWrapper.success(x);
+                                    }),
+                                    ParallelStep.<String, String>of("failing", x -> {
+                                        awaitQuietly(slowStarted);
+                                        return ResponseWrapper.fail(error);
+                                    }))
+                            .mapToUI(x -> x)
+                            .result());
+
+            assertEquals(error, exception.getError());
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            assertTrue(siblingInterrupted.get());
+        } catch (InterruptedException e) {
+            fail(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testNextStepsParallel_ListPreservesOrder() {
+        List<Integer> result = startPipeline(3)
+                .nextStepsParallel("fanOut", List.of(
+                        ParallelStep.<Integer, Integer>of("a", x -> ResponseWrapper.success(x)),
+                        ParallelStep.<Integer, Integer>of("b", x -> ResponseWrapper.success(x * 10)),
+                        ParallelStep.<Integer, Integer>of("c", x -> ResponseWrapper.success(x * 100))))
+                .mapToUI(x -> x)
+                .result();
+
+        assertEquals(List.of(3, 30, 300), result);
+    }
+
+    @Test
+    void testNextStepsParallel_BranchExceptionPropagates() {
+        assertThrows(IllegalStateException.class, () ->
+                startPipeline("data")
+                        .nextStepsParallel("fanOut",
+                                ParallelStep.<String, String>of("boom", x -> {
+                                    throw new IllegalStateException("boom");
+                                }),
+                                ParallelStep.of("ok", x -> ResponseWrapper.success(x)))
+                        .mapToUI(x -> x)
+                        .result());
+
+        assertNotNull(meterRegistry.find("workflow.step.latency")
+                .tag("step", "boom")
+                .tag("status", "EXCEPTION")
+                .timer());
+    }
+
+    @Test
+    void testStepTimeout_FailsWithTimeoutAndCancelsStep() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            WorkflowException exception = assertThrows(WorkflowException.class, () ->
+                    WorkflowPipeline.startWith("data", properties, meterRegistry, null, executor)
+                            .nextStep("slowStep", Duration.ofMillis(50), x -> {
+                                try {
+                                    Thread.sleep(5_000);
+                                } catch (InterruptedException e) {
+                                    interrupted.countDown();
+                                    Thread.currentThread().interrupt();
+                                }
+                                return ResponseWrapper.success(x);
+                            })
+                            .nextStep("neverRuns", x -> ResponseWrapper.success(x))
+                            .mapToUI(x -> x));
+
+            assertEquals("TIMEOUT", exception.getError().errorCode());
+            awaitQuietly(interrupted);
+            assertNotNull(meterRegistry.find("workflow.step.latency")
+                    .tag("step", "slowStep")
+                    .tag("status", "TIMEOUT")
+                    .timer());
+            assertNull(meterRegistry.find("workflow.step.latency")
+                    .tag("step", "neverRuns")
+                    .timer());
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testStepTimeout_FastStepSucceeds() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String result = WorkflowPipeline.startWith("data", properties, meterRegistry, null, executor)
+                    .nextStep("fastStep", Duration.ofSeconds(5), x -> ResponseWrapper.success(x.toUpperCase()))
+                    .mapToUI(x -> x)
+                    .result();
+
+            assertEquals("DATA", result);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testStepTimeout_SaturatedExecutorFailsFastWithoutRunningStep() throws InterruptedException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy());
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        try {
+            executor.execute(() -> {
+                busy.countDown();
+                awaitIgnoringInterrupts(release);
+            });
+            assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+            WorkflowException rejected = assertThrows(WorkflowException.class, () ->
+                    WorkflowPipeline.startWith("data", properties, meterRegistry, null, executor)
+                            .nextStep("boundedStep", Duration.ofSeconds(5), x -> {
+                                ran.set(true);
+                                return ResponseWrapper.success(x);
+                            })
+                            .mapToUI(x -> x));
+
+            // Run inline by CallerRunsPolicy, the step could not be bounded by its timeout
+            assertEquals(StepGuard.BULKHEAD_FULL_ERROR_CODE, rejected.getError().errorCode());
+            assertFalse(ran.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDeadlineAwareStep_ReceivesEffectiveDeadline() {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+
+        factory.startWith("data", Duration.ofSeconds(10))
+                .nextStep("aware", Duration.ofSeconds(2), (String x, Deadline deadline) -> {
+                    seen.set(deadline);
+                    return ResponseWrapper.success(x);
+                })
+                .mapToUI(x -> x);
+
+        assertTrue(seen.get().isBounded());
+        assertTrue(seen.get().remaining().compareTo(Duration.ofSeconds(2)) <= 0);
+        assertFalse(seen.get().isExpired());
+    }
+
+    @Test
+    void testDeadlineAwareStep_UnboundedWithoutDeadline() {
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+
+        startPipeline("data")
+                .nextStep("aware", (String x, Deadline deadline) -> {
+                    seen.set(deadline);
+                    return ResponseWrapper.success(x);
+                })
+                .mapToUI(x -> x);
+
+        assertFalse(seen.get().isBounded());
+    }
+
+    @Test
+    void testPipelineDeadline_ExpiredSkipsRemainingSteps() {
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        AtomicBoolean executed = new AtomicBoolean(false);
+
+        WorkflowException exception = assertThrows(WorkflowException.class, () ->
+                factory.startWith("data", Duration.ZERO)
+                        .nextStep("late", x -> {
+                            executed.set(true);
+                            return ResponseWrapper.success(x);
+                        })
+                        .mapToUI(x -> x));
+
+        assertEquals("TIMEOUT", exception.getError().errorCode());
+        assertFalse(executed.get());
+    }
+
+    @Test
+    void testNextStepsParallel_DeadlineCancelsBranches() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        try {
+            WorkflowException exception = assertThrows(WorkflowException.class, () ->
+                    WorkflowPipeline.start(1, new PipelineRuntime(properties, meterRegistry, null, executor),
+                                    Deadline.after(Duration.ofMillis(50)))
+                            .nextStepsParallel("fanOut",
+                                    ParallelStep.of("fast", x -> ResponseWrapper.success(x)),
+                                    ParallelStep.of("stuck", x -> {
+                                        try {
+                                            Thread.sleep(5_000);
+                                        } catch (InterruptedException e) {
+                                            cancelled.countDown();
+                                            Thread.currentThread().interrupt();
+                                        }
+                                        return ResponseWrapper.success(x);
+                                    }))
+                            .mapToUI(x -> x));
+
+            assertEquals("TIMEOUT", exception.getError().errorCode());
+            awaitQuietly(cancelled);
+            assertNotNull(meterRegistry.find("workflow.step.latency")
+                    .tag("step", "fanOut")
+                    .tag("status", "TIMEOUT")
+                    .timer());
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testFailure_SkippedStepsReuseTerminalPipeline() {
+        WorkflowPipeline<String> failed = startPipeline("data")
+                .nextStep("failingStep", x -> ResponseWrapper.<String>fail(new ErrorDetails("A_ERR_01", "Backend error")));
+
+        WorkflowPipeline<Integer> skipped = failed
+                .nextStep("skipped1", x -> ResponseWrapper.success(x.length()))
+                .peek(x -> fail("peek must not run"))
+                .nextStep("skipped2", Duration.ofSeconds(1), x -> ResponseWrapper.success(x + 1));
+
+        assertSame(failed, skipped);
+        assertNull(meterRegistry.find("workflow.step.latency").tag("step", "skipped1").timer());
+    }
+
+    @Test
+    void testFailure_SkippedStepsDoNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+
+        WorkflowPipeline<Integer> failed = startPipeline(0)
+                .nextStep("failingStep", x -> ResponseWrapper.<Integer>fail(new ErrorDetails("A_ERR_01", "Backend error")));
+        int iterations = 10_000;
+        skipSixteenSteps(failed, iterations); // warm up
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        skipSixteenSteps(failed, iterations);
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        // Less than one byte per pass through 16 skipped steps: nothing is allocated per step
+        assertTrue(allocated < iterations, "skipped steps allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void testCircuitBreaker_OpenCircuitFailsFastWithoutCallingStep() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getCircuitBreaker().setEnabled(true);
+        config.getCircuitBreaker().setMinimumNumberOfCalls(2);
+        properties.getSteps().put("flakyStep", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        ErrorDetails error = new ErrorDetails("A_ERR_01", "Backend error");
+        List<Integer> calls = new ArrayList<>();
+        Function<Integer, ResponseWrapper<Integer>> flaky = x -> {
+            calls.add(x);
+            return ResponseWrapper.fail(error);
+        };
+
+        factory.startWith(1).nextStep("flakyStep", flaky);
+        factory.startWith(2).nextStep("flakyStep", flaky);
+        WorkflowException rejected = assertThrows(WorkflowException.class,
+                () -> factory.startWith(3).nextStep("flakyStep", flaky).mapToUI(x -> x));
+
+        assertEquals(List.of(1, 2), calls);
+        assertEquals(StepGuard.CIRCUIT_OPEN_ERROR_CODE, rejected.getError().errorCode());
+        assertEquals(1, meterRegistry.get("workflow.step.latency")
+                .tag("step", "flakyStep").tag("status", "REJECTED").timer().count());
+        assertEquals(1, meterRegistry.get(StepPolicies.CIRCUIT_STATE_METRIC)
+                .tag("step", "flakyStep").gauge().value());
+    }
+
+    @Test
+    void testBulkhead_RejectsConcurrentCallBeyondLimit() throws InterruptedException {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getBulkhead().setEnabled(true);
+        config.getBulkhead().setMaxConcurrentCalls(1);
+        properties.getSteps().put("limitedStep", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> factory.startWith(1).nextStep("limitedStep", x -> {
+                entered.countDown();
+                awaitQuietly(release);
+                return ResponseWrapper.success(x);
+            }));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            WorkflowException rejected = assertThrows(WorkflowException.class,
+                    () -> factory.startWith(2).nextStep("limitedStep", INCREMENT).mapToUI(x -> x));
+
+            assertEquals(StepGuard.BULKHEAD_FULL_ERROR_CODE, rejected.getError().errorCode());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testBulkhead_TimedOutStepKeepsPermitUntilItReturns() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getBulkhead().setEnabled(true);
+        config.getBulkhead().setMaxConcurrentCalls(1);
+        config.getCircuitBreaker().setEnabled(true);
+        config.getCircuitBreaker().setMinimumNumberOfCalls(1);
+        properties.getSteps().put("boundedStep", config);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        PipelineRuntime runtime = new PipelineRuntime(properties, meterRegistry, null, executor);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            WorkflowException timedOut = assertThrows(WorkflowException.class, () ->
+                    WorkflowPipeline.start(1, runtime, Deadline.none())
+                            .nextStep("boundedStep", Duration.ofMillis(50), x -> {
+                                awaitIgnoringInterrupts(release);
+                                return ResponseWrapper.success(x);
+                            })
+                            .mapToUI(x -> x));
+            WorkflowException rejected = assertThrows(WorkflowException.class, () ->
+                    WorkflowPipeline.start(2, runtime, Deadline.none())
+                            .nextStep("boundedStep", Duration.ofMillis(50), INCREMENT)
+                            .mapToUI(x -> x));
+
+            assertEquals("TIMEOUT", timedOut.getError().errorCode());
+            assertEquals(StepGuard.BULKHEAD_FULL_ERROR_CODE, rejected.getError().errorCode());
+            assertEquals(0, gaugeValue(StepPolicies.CIRCUIT_STATE_METRIC, "boundedStep"));
+
+            release.countDown();
+            awaitGauge(StepPolicies.BULKHEAD_AVAILABLE_METRIC, "boundedStep", 1);
+            // The overrun is recorded as a failure once the step has returned
+            awaitGauge(StepPolicies.CIRCUIT_STATE_METRIC, "boundedStep", CircuitBreaker.State.OPEN.ordinal());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCircuitBreaker_SharedByPipelinesStartedWithSameProperties() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getCircuitBreaker().setEnabled(true);
+        config.getCircuitBreaker().setMinimumNumberOfCalls(2);
+        properties.getSteps().put("flakyStep", config);
+        ErrorDetails error = new ErrorDetails("A_ERR_01", "Backend error");
+        List<Integer> calls = new ArrayList<>();
+        Function<Integer, ResponseWrapper<Integer>> flaky = x -> {
+            calls.add(x);
+            return ResponseWrapper.fail(error);
+        };
+
+        startPipeline(1).nextStep("flakyStep", flaky);
+        startPipeline(2).nextStep("flakyStep", flaky);
+        WorkflowException rejected = assertThrows(WorkflowException.class,
+                () -> startPipeline(3).nextStep("flakyStep", flaky).mapToUI(x -> x));
+
+        assertEquals(List.of(1, 2), calls);
+        assertEquals(StepGuard.CIRCUIT_OPEN_ERROR_CODE, rejected.getError().errorCode());
+        assertEquals(1, gaugeValue(StepPolicies.CIRCUIT_STATE_METRIC, "flakyStep"));
+    }
+
+    @Test
+    void testRetry_RetryableErrorIsRetriedUntilSuccess() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getRetry().setEnabled(true);
+        config.getRetry().setMaxAttempts(3);
+        config.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        config.getRetry().setRetryOnErrorCodes(List.of("UNAVAILABLE"));
+        properties.getSteps().put("retriedStep", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        List<Integer> attempts = new ArrayList<>();
+
+        Integer result = factory.startWith(1)
+                .nextStep("retriedStep", x -> {
+                    attempts.add(x);
+                    return attempts.size() < 3
+                            ? ResponseWrapper.<Integer>fail(new ErrorDetails("UNAVAILABLE", "Try again"))
+                            : ResponseWrapper.success(x + 1);
+                })
+                .mapToUI(x -> x)
+                .result();
+
+        assertEquals(2, result);
+        assertEquals(3, attempts.size());
+        assertEquals(2, meterRegistry.get(StepPolicies.ATTEMPTS_METRIC)
+                .tag("step", "retriedStep").tag("type", "retry").counter().count());
+        assertEquals(1, meterRegistry.get("workflow.step.latency")
+                .tag("step", "retriedStep").tag("status", "SUCCESS").timer().count());
+    }
+
+    @Test
+    void testRetry_NonRetryableErrorIsReturnedImmediately() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getRetry().setEnabled(true);
+        config.getRetry().setRetryOnErrorCodes(List.of("UNAVAILABLE"));
+        properties.getSteps().put("retriedStep", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        List<Integer> attempts = new ArrayList<>();
+
+        WorkflowException exception = assertThrows(WorkflowException.class, () -> factory.startWith(1)
+                .nextStep("retriedStep", x -> {
+                    attempts.add(x);
+                    return ResponseWrapper.<Integer>fail(new ErrorDetails("NOT_FOUND", "No record"));
+                })
+                .mapToUI(x -> x));
+
+        assertEquals("NOT_FOUND", exception.getError().errorCode());
+        assertEquals(1, attempts.size());
+    }
+
+    @Test
+    void testRetry_ExceptionIsRetried() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getRetry().setEnabled(true);
+        config.getRetry().setMaxAttempts(2);
+        config.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getSteps().put("retriedStep", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        AtomicBoolean failed = new AtomicBoolean();
+
+        Integer result = factory.startWith(1)
+                .nextStep("retriedStep", x -> {
+                    if (failed.compareAndSet(false, true)) {
+                        throw new IllegalStateException("connection reset");
+                    }
+                    return ResponseWrapper.success(x);
+                })
+                .mapToUI(x -> x)
+                .result();
+
+        assertEquals(1, result);
+    }
+
+    @Test
+    void testHedge_SecondAttemptWinsWhenFirstIsSlow() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getHedge().setEnabled(true);
+        config.getHedge().setDelay(Duration.ofMillis(20));
+        properties.getSteps().put("hedgedStep", config);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        PipelineRuntime runtime = new PipelineRuntime(properties, meterRegistry, null, executor);
+        CountDownLatch primaryCancelled = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        try {
+            long started = System.nanoTime();
+            String result = WorkflowPipeline.start("request", runtime, Deadline.none())
+                    .nextStep("hedgedStep", x -> {
+                        if (first.getAndSet(false)) {
+                            try {
+                                Thread.sleep(5_000);
+                            } catch (InterruptedException e) {
+                                primaryCancelled.countDown();
+                            }
+                            return ResponseWrapper.success("primary");
+                        }
+                        return ResponseWrapper.success("hedge");
+                    })
+                    .mapToUI(x -> x)
+                    .result();
+
+            assertEquals("hedge", result);
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 2_000);
+            awaitQuietly(primaryCancelled);
+            assertEquals(1, meterRegistry.get(StepPolicies.ATTEMPTS_METRIC)
+                    .tag("step", "hedgedStep").tag("type", "hedge").counter().count());
+            assertEquals(1, meterRegistry.get(StepPolicies.HEDGE_WINS_METRIC)
+                    .tag("step", "hedgedStep").tag("winner", "hedge").counter().count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHedge_SaturatedExecutorFailsFastWithoutRunningStep() throws InterruptedException {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getHedge().setEnabled(true);
+        config.getHedge().setDelay(Duration.ofMillis(20));
+        properties.getSteps().put("hedgedStep", config);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        PipelineRuntime runtime = new PipelineRuntime(properties, meterRegistry, null, executor);
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        try {
+            executor.execute(() -> {
+                busy.countDown();
+                awaitIgnoringInterrupts(release);
+            });
+            assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+            WorkflowException rejected = assertThrows(WorkflowException.class, () ->
+                    WorkflowPipeline.start("request", runtime, Deadline.none())
+                            .nextStep("hedgedStep", x -> {
+                                ran.set(true);
+                                return ResponseWrapper.success(x);
+                            })
+                            .mapToUI(x -> x));
+
+            assertEquals(StepGuard.BULKHEAD_FULL_ERROR_CODE, rejected.getError().errorCode());
+            assertFalse(ran.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHedge_RejectedHedgeWaitsForPrimary() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getHedge().setEnabled(true);
+        config.getHedge().setDelay(Duration.ofMillis(20));
+        properties.getSteps().put("hedgedStep", config);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+        PipelineRuntime runtime = new PipelineRuntime(properties, meterRegistry, null, executor);
+        AtomicInteger attempts = new AtomicInteger();
+        try {
+            String result = WorkflowPipeline.start("request", runtime, Deadline.none())
+                    .nextStep("hedgedStep", x -> {
+                        attempts.incrementAndGet();
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                            return ResponseWrapper.fail(new ErrorDetails("INTERRUPTED", "primary cancelled"));
+                        }
+                        return ResponseWrapper.success("primary");
+                    })
+                    .mapToUI(x -> x)
+                    .result();
+
+            assertEquals("primary", result);
+            assertEquals(1, attempts.get());
+            assertEquals(0, meterRegistry.get(StepPolicies.ATTEMPTS_METRIC)
+                    .tag("step", "hedgedStep").tag("type", "hedge").counter().count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHedge_FastPrimaryIsNotHedged() {
+        ServiceFlowProperties.StepConfig config = new ServiceFlowProperties.StepConfig();
+        config.getHedge().setEnabled(true);
+        config.getHedge().setDelay(Duration.ofSeconds(5));
+        properties.getSteps().put("hedgedStep", config);
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        List<String> attempts = new ArrayList<>();
+
+        String result = factory.startWith("request")
+                .nextStep("hedgedStep", x -> {
+                    synchronized (attempts) {
+                        attempts.add(x);
+                    }
+                    return ResponseWrapper.success(x.toUpperCase());
+                })
+                .mapToUI(x -> x)
+                .result();
+
+        assertEquals("REQUEST", result);
+        assertEquals(1, attempts.size());
+        assertEquals(0, meterRegistry.get(StepPolicies.ATTEMPTS_METRIC)
+                .tag("step", "hedgedStep").tag("type", "hedge").counter().count());
+    }
+
+    @Test
+    void testMemoizedStep_ReusesResultForSameKeyWithinPipeline() {
+        List<String> lookups = new ArrayList<>();
+        Function<String, ResponseWrapper<String>> lookupClient = clientId -> {
+            lookups.add(clientId);
+            return ResponseWrapper.success("client-" + clientId);
+        };
+
+        String result = startPipeline("C1")
+                .nextMemoizedStep("LookupClient", id -> id, lookupClient)
+                .nextStep("extractId", name -> ResponseWrapper.success(name.substring("client-".length())))
+                .nextMemoizedStep("LookupClient", id -> id, lookupClient)
+                .mapToUI(x -> x)
+                .result();
+
+        assertEquals("client-C1", result);
+        assertEquals(List.of("C1"), lookups);
+        assertEquals(1, meterRegistry.get(RequestCacheMeters.CACHE_METRIC)
+                .tag("step", "LookupClient").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get(RequestCacheMeters.CACHE_METRIC)
+                .tag("step", "LookupClient").tag("result", "miss").counter().count());
+        assertEquals(1, meterRegistry.get("workflow.step.latency")
+                .tag("step", "LookupClient").tag("status", "SUCCESS").timer().count());
+    }
+
+    @Test
+    void testMemoizedStep_SharedCacheAcrossPipelinesOfOneRequest() {
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        RequestCache requestCache = RequestCache.create();
+        List<String> lookups = new ArrayList<>();
+        Function<String, ResponseWrapper<String>> lookupClient = clientId -> {
+            lookups.add(clientId);
+            return ResponseWrapper.success("client-" + clientId);
+        };
+
+        factory.startWith("C1", requestCache).nextMemoizedStep("LookupClient", id -> id, lookupClient);
+        factory.startWith("C1", requestCache).nextMemoizedStep("LookupClient", id -> id, lookupClient);
+        factory.startWith("C2", requestCache).nextMemoizedStep("LookupClient", id -> id, lookupClient);
+        factory.startWith("C1").nextMemoizedStep("LookupClient", id -> id, lookupClient);
+
+        assertEquals(List.of("C1", "C2", "C1"), lookups);
+        assertEquals(1, requestCache.hits());
+        assertEquals(2, requestCache.misses());
+    }
+
+    @Test
+    void testMemoizedStep_FailuresAreNotCached() {
+        RequestCache requestCache = RequestCache.create();
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        List<String> lookups = new ArrayList<>();
+
+        factory.startWith("C1", requestCache).nextMemoizedStep("LookupClient", id -> id, id -> {
+            lookups.add(id);
+            return ResponseWrapper.<String>fail(new ErrorDetails("UNAVAILABLE", "Try again"));
+        });
+        String result = factory.startWith("C1", requestCache)
+                .nextMemoizedStep("LookupClient", id -> id, id -> {
+                    lookups.add(id);
+                    return ResponseWrapper.success("client-" + id);
+                })
+                .mapToUI(x -> x)
+                .result();
+
+        assertEquals("client-C1", result);
+        assertEquals(2, lookups.size());
+        assertEquals(1, requestCache.size());
+    }
+
+    @Test
+    void testMemoizedStep_ConcurrentIdenticalCallsShareOneExecution() throws InterruptedException {
+        RequestCache requestCache = RequestCache.create();
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> lookups = new ArrayList<>();
+        Function<String, ResponseWrapper<String>> slowLookup = id -> {
+            synchronized (lookups) {
+                lookups.add(id);
+            }
+            started.countDown();
+            awaitQuietly(release);
+            return ResponseWrapper.success("client-" + id);
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> factory.startWith("C1", requestCache)
+                    .nextMemoizedStep("LookupClient", id -> id, slowLookup));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            AtomicReference<String> joined = new AtomicReference<>();
+            Thread waiter = new Thread(() -> joined.set(factory.startWith("C1", requestCache)
+                    .nextMemoizedStep("LookupClient", id -> id, slowLookup)
+                    .mapToUI(x -> x)
+                    .result()));
+            waiter.start();
+            release.countDown();
+            waiter.join(5_000);
+
+            assertEquals("client-C1", joined.get());
+            assertEquals(List.of("C1"), lookups);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testMemoizedStep_WaitForCallInFlightIsBoundedWithoutDeadline() throws Exception {
+        properties.getExecution().setMemoizedWait(Duration.ofMillis(50));
+        RequestCache requestCache = RequestCache.create();
+        WorkflowPipelineFactory factory = new WorkflowPipelineFactory(properties, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, ResponseWrapper<String>> slowLookup = id -> {
+            started.countDown();
+            awaitQuietly(release);
+            return ResponseWrapper.success("client-" + id);
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> factory.startWith("C1", requestCache)
+                    .nextMemoizedStep("LookupClient", id -> id, slowLookup));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            WorkflowException exception = assertThrows(WorkflowException.class, () ->
+                    factory.startWith("C1", requestCache)
+                            .nextMemoizedStep("LookupClient", id -> id, slowLookup)
+                            .mapToUI(x -> x));
+
+            assertEquals(PipelineRuntime.TIMEOUT_ERROR_CODE, exception.getError().errorCode());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static WorkflowPipeline<Integer> skipSixteenSteps(WorkflowPipeline<Integer> failed, int iterations) {
+        WorkflowPipeline<Integer> pipeline = failed;
+        for (int i = 0; i < iterations; i++) {
+            pipeline = failed;
+            for (int step = 0; step < 16; step++) {
+                pipeline = pipeline.nextStep("skipped", INCREMENT).peek(NO_OP);
+            }
+        }
+        return pipeline;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS), "branches did not overlap");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double gaugeValue(String name, String stepName) {
+        return meterRegistry.get(name).tag("step", stepName).gauge().value();
+    }
+
+    private void awaitGauge(String name, String stepName, double expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gaugeValue(name, stepName) != expected && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        assertEquals(expected, gaugeValue(name, stepName));
+    }
+
+    private static void awaitIgnoringInterrupts(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
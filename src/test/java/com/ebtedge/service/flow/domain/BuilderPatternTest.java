@@ -61,6 +61,22 @@ class BuilderPatternTest {
         assertEquals("AG001", criteria.agency());
     }
 
+    @Test
+    void testCardholderSearchCriteria_builder_withPaging() {
+        // When
+        CardholderSearchCriteria criteria = CardholderSearchCriteria.builder()
+                .cardNumber("4111111111111111")
+                .agency("AG001")
+                .pageSize(25)
+                .cursor("next-page")
+                .build();
+
+        // Then
+        assertEquals(25, criteria.pageSize());
+        assertEquals("next-page", criteria.cursor());
+        assertNull(new CardholderSearchCriteria(null, "4111111111111111", "AG001").pageSize());
+    }
+
     @Test
     void testCardholderSummaryContext_builder_success() {
         // Given
@@ -185,6 +201,20 @@ class BuilderPatternTest {
         assertEquals(1, result.cardholderList().size());
     }
 
+    @Test
+    void testCardholderSearchResult_builder_withNextCursor() {
+        // When
+        CardholderSearchResult result = CardholderSearchResult.builder()
+                .cardholderList(List.of())
+                .offset("50")
+                .nextCursor("next-page")
+                .build();
+
+        // Then
+        assertEquals("50", result.offset());
+        assertEquals("next-page", result.nextCursor());
+    }
+
     @Test
     void testBuilderPattern_nullValues_allowed() {
         // When - builders should handle null values
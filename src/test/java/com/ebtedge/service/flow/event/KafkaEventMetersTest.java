@@ -0,0 +1,44 @@
+package com.ebtedge.service.flow.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaEventMetersTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private KafkaEventMeters meters;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        meters = new KafkaEventMeters(meterRegistry);
+    }
+
+    @Test
+    void testMetersAreCachedPerEventTopicAndStatus() {
+        assertSame(meters.latency("ProfileFetched", "events", "SUCCESS"),
+            meters.latency("ProfileFetched", "events", "SUCCESS"));
+        assertSame(meters.count("ProfileFetched", "events", "SUCCESS"),
+            meters.count("ProfileFetched", "events", "SUCCESS"));
+        assertNotSame(meters.count("ProfileFetched", "events", "SUCCESS"),
+            meters.count("ProfileFetched", "events", "FAILURE"));
+    }
+
+    @Test
+    void testMetersAreTagged() {
+        meters.count("ProfileFetched", "events", "SUCCESS").increment();
+
+        assertEquals(1.0, meterRegistry.get(KafkaEventMeters.COUNT_METRIC)
+            .tag("event_name", "ProfileFetched")
+            .tag("topic", "events")
+            .tag("status", "SUCCESS")
+            .counter()
+            .count());
+        assertNotNull(meterRegistry.find(KafkaEventMeters.LATENCY_METRIC)
+            .tag("event_name", "ProfileFetched")
+            .timer());
+    }
+}
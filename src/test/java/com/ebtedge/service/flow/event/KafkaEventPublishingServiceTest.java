@@ -0,0 +1,86 @@
+package com.ebtedge.service.flow.event;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaEventPublishingServiceTest {
+
+    @Mock
+    private KafkaEventPublisher publisher;
+
+    private KafkaEventPublishingService service;
+
+    @BeforeEach
+    void setUp() {
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        properties.getKafka().setEnabled(true);
+        service = new KafkaEventPublishingService(properties);
+        ReflectionTestUtils.setField(service, "publisher", publisher);
+    }
+
+    record Account(String clientId, List<String> tags) {
+    }
+
+    @Data
+    static class MutableAccount {
+        private String clientId;
+    }
+
+    @Test
+    void recordsAreMappedOnThePublisherThread() {
+        Account account = new Account("C1", List.of("a"));
+        EventMapper<Account> mapper = source -> fail("a record is mapped by the publisher");
+
+        service.publishIfEnabled("AccountFetched", account, mapper);
+
+        verify(publisher).publishAsync("AccountFetched", account, mapper);
+        verify(publisher, never()).publishAsync(anyString(), anyMap(), anyString(), any());
+    }
+
+    @Test
+    void mutableSourcesAreSnapshotOnTheCaller() {
+        MutableAccount account = new MutableAccount();
+        account.setClientId("C1");
+        EventMapper<MutableAccount> mapper = source -> {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("clientId", source.getClientId());
+            return payload;
+        };
+
+        service.publishIfEnabled("AccountFetched", account, mapper);
+        account.setClientId("C2");
+
+        verify(publisher).publishAsync(eq("AccountFetched"), eq(Map.<String, Object>of("clientId", "C1")), eq("1.0"),
+                eq(MutableAccount.class));
+        verify(publisher, never()).publishAsync(anyString(), any(Object.class), any(EventMapper.class));
+    }
+
+    @Test
+    void mapperFailuresOnTheCallerAreSwallowed() {
+        MutableAccount account = new MutableAccount();
+
+        assertDoesNotThrow(() -> service.publishIfEnabled("AccountFetched", account, source -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verifyNoInteractions(publisher);
+    }
+}
@@ -0,0 +1,140 @@
+package com.ebtedge.service.flow.event;
+
+import com.ebtedge.service.flow.domain.Balance;
+import com.ebtedge.service.flow.domain.Demographics;
+import com.ebtedge.service.flow.domain.UIResponse;
+import com.ebtedge.service.flow.event.mapper.ReflectionEventMapper;
+import com.ebtedge.service.flow.event.mapper.UIResponseEventMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaEventSerializerTest {
+
+    private ObjectMapper objectMapper;
+    private KafkaEventSerializer serializer;
+    private KafkaEventMetadata metadata;
+    private UIResponse response;
+
+    @BeforeEach
+    void setUp() {
+        // Configured like the kafkaObjectMapper bean
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        serializer = new KafkaEventSerializer(objectMapper, 2);
+        metadata = KafkaEventMetadata.of("ProfileFetched", "events", "1.0");
+        response = new UIResponse(new Balance("CLI123", 1250.75), new Demographics("Jane", "jane@example.com", "Springfield"));
+    }
+
+    private JsonNode envelopeJson(EventMapper<UIResponse> mapper, UIResponse source) throws IOException {
+        return objectMapper.readTree(serializer.serialize(new KafkaEventEnvelope(metadata, mapper.map(source))));
+    }
+
+    @Test
+    void testWriterProducesSameJsonAsEnvelope() throws IOException {
+        JsonNode written = objectMapper.readTree(serializer.serialize(metadata, response, UIResponseEventMapper.INSTANCE));
+
+        assertEquals(envelopeJson(UIResponseEventMapper.INSTANCE, response), written);
+        assertEquals("Springfield", written.at("/payload/demographics/city").asText());
+        assertTrue(written.at("/payload/demographics/email").isMissingNode());
+        assertEquals(metadata.timestamp().toString(), written.at("/metadata/timestamp").asText());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReflectionWriterProducesSameJsonAsReflectionMapper() throws IOException {
+        UIResponse partial = new UIResponse(null, new Demographics("Jane", null, null));
+        ReflectionEventMapper<UIResponse> mapper = ReflectionEventMapper.INSTANCE;
+
+        JsonNode written = objectMapper.readTree(serializer.serialize(metadata, partial, mapper));
+
+        assertEquals(envelopeJson(mapper, partial), written);
+        assertTrue(written.at("/payload/balance").isMissingNode());
+        assertTrue(written.at("/payload/demographics/city").isMissingNode());
+    }
+
+    @Test
+    void testBuffersArePooledAndResultsIndependent() throws IOException {
+        byte[] first = serializer.serialize(metadata, response, UIResponseEventMapper.INSTANCE);
+        UIResponse other = new UIResponse(new Balance("CLI999", 1.0), null);
+        byte[] second = serializer.serialize(metadata, other, UIResponseEventMapper.INSTANCE);
+
+        assertEquals(1, serializer.pooledBuffers());
+        assertEquals("CLI123", objectMapper.readTree(first).at("/payload/balance/clientId").asText());
+        assertEquals("CLI999", objectMapper.readTree(second).at("/payload/balance/clientId").asText());
+    }
+
+    @Test
+    void testFailingWriterReturnsBufferToPool() throws IOException {
+        EventWriter<UIResponse> failing = (source, generator) -> {
+            generator.writeStringField("partial", "value");
+            throw new IOException("writer failed");
+        };
+
+        IOException e = assertThrows(IOException.class, () -> serializer.serialize(metadata, response, failing));
+
+        assertEquals("writer failed", e.getMessage());
+        assertEquals(1, serializer.pooledBuffers());
+        JsonNode written = objectMapper.readTree(serializer.serialize(metadata, response, UIResponseEventMapper.INSTANCE));
+        assertFalse(written.at("/payload").has("partial"));
+    }
+
+    @Test
+    void testToJsonMatchesEnvelopeToJson() throws IOException {
+        KafkaEventEnvelope envelope = new KafkaEventEnvelope(metadata, UIResponseEventMapper.INSTANCE.map(response));
+
+        String json = serializer.toJson(envelope);
+
+        assertEquals(envelope.toJson(), json);
+        assertEquals(objectMapper.readTree(serializer.serialize(envelope)), objectMapper.readTree(json));
+    }
+
+    @Test
+    void testSerializationIsTimedPerPath() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KafkaEventSerializer timed = new KafkaEventSerializer(objectMapper, 2, meterRegistry);
+
+        byte[] envelopeBytes = timed.serialize(new KafkaEventEnvelope(metadata, UIResponseEventMapper.INSTANCE.map(response)));
+        byte[] writerBytes = timed.serialize(metadata, response, UIResponseEventMapper.INSTANCE);
+        EventWriter<UIResponse> failing = (source, generator) -> {
+            throw new IOException("writer failed");
+        };
+        assertThrows(IOException.class, () -> timed.serialize(metadata, response, failing));
+
+        assertEquals(1, timer(meterRegistry, "envelope", "SUCCESS").count());
+        assertEquals(1, timer(meterRegistry, "writer", "SUCCESS").count());
+        assertEquals(1, timer(meterRegistry, "writer", "FAILURE").count());
+        assertEquals(0, timer(meterRegistry, "envelope", "FAILURE").count());
+        DistributionSummary writerSizes = meterRegistry.get(KafkaEventSerializer.BYTES_METRIC).tag("path", "writer").summary();
+        assertEquals(1, writerSizes.count());
+        assertEquals(writerBytes.length, writerSizes.totalAmount());
+        assertEquals(envelopeBytes.length,
+            meterRegistry.get(KafkaEventSerializer.BYTES_METRIC).tag("path", "envelope").summary().totalAmount());
+    }
+
+    @Test
+    void testToJsonIsTimed() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KafkaEventSerializer timed = new KafkaEventSerializer(objectMapper, 2, meterRegistry);
+
+        timed.toJson(new KafkaEventEnvelope(metadata, UIResponseEventMapper.INSTANCE.map(response)));
+
+        assertEquals(1, timer(meterRegistry, "envelope", "SUCCESS").count());
+        assertEquals(0, meterRegistry.get(KafkaEventSerializer.BYTES_METRIC).tag("path", "envelope").summary().count());
+    }
+
+    private static Timer timer(SimpleMeterRegistry meterRegistry, String path, String status) {
+        return meterRegistry.get(KafkaEventSerializer.SERIALIZATION_METRIC).tag("path", path).tag("status", status).timer();
+    }
+}
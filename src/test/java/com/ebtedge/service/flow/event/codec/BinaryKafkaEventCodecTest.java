@@ -0,0 +1,142 @@
+package com.ebtedge.service.flow.event.codec;
+
+import com.ebtedge.service.flow.domain.Balance;
+import com.ebtedge.service.flow.domain.Demographics;
+import com.ebtedge.service.flow.domain.UIResponse;
+import com.ebtedge.service.flow.event.KafkaEventEnvelope;
+import com.ebtedge.service.flow.event.KafkaEventMetadata;
+import com.ebtedge.service.flow.event.mapper.ReflectionEventMapper;
+import com.ebtedge.service.flow.event.mapper.UIResponseEventMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryKafkaEventCodecTest {
+
+    private InMemoryEventSchemaRegistry registry;
+    private BinaryKafkaEventCodec codec;
+    private KafkaEventMetadata metadata;
+    private UIResponse response;
+
+    @BeforeEach
+    void setUp() {
+        registry = new InMemoryEventSchemaRegistry();
+        codec = new BinaryKafkaEventCodec(registry);
+        metadata = KafkaEventMetadata.of("ProfileFetched", "events", "1.0");
+        response = new UIResponse(new Balance("CLI123", 1250.75), new Demographics("Jane", "jane@example.com", "Springfield"));
+    }
+
+    @Test
+    void testSchemaIsDerivedFromKafkaFields() {
+        EventSchema schema = EventSchema.derive(UIResponse.class, "1.0");
+
+        assertEquals("com.ebtedge.service.flow.domain.UIResponse@1.0"
+                + "{balance:RECORD{clientId:STRING,amount:DOUBLE},demographics:RECORD{name:STRING,city:STRING}}",
+            schema.canonicalForm());
+        assertEquals(schema.fingerprint(), EventSchema.derive(UIResponse.class, "1.0").fingerprint());
+        assertNotEquals(schema.fingerprint(), EventSchema.derive(UIResponse.class, "2.0").fingerprint());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRoundTripOfAnnotatedRecord() throws IOException {
+        byte[] event = codec.encode(metadata, response, (ReflectionEventMapper<UIResponse>) ReflectionEventMapper.INSTANCE);
+
+        KafkaEventEnvelope decoded = codec.decode(event);
+
+        assertEquals(metadata, decoded.metadata());
+        assertEquals(UIResponseEventMapper.INSTANCE.map(response), decoded.payload());
+        assertTrue(registry.lookup(EventSchema.derive(UIResponse.class, "1.0").fingerprint()).isPresent());
+    }
+
+    @Test
+    void testBinaryEventIsSmallerThanJson() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        byte[] json = objectMapper.writeValueAsBytes(new KafkaEventEnvelope(metadata, UIResponseEventMapper.INSTANCE.map(response)));
+
+        byte[] binary = codec.encode(metadata, response, UIResponseEventMapper.INSTANCE);
+
+        assertTrue(binary.length * 2 < json.length, binary.length + " vs " + json.length + " bytes");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPayloadEntriesOutsideTheSchemaAreKept() throws IOException {
+        Map<String, Object> balance = new HashMap<>();
+        balance.put("clientId", null);
+        balance.put("amount", "not a number");
+        balance.put("currency", "USD");
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("balance", balance);
+        payload.put("limits", List.of(1, 2.5, true, Map.of("exact", new BigDecimal("10.25"))));
+
+        KafkaEventEnvelope decoded = codec.decode(codec.encodePayload(metadata, payload, UIResponse.class));
+
+        Map<String, Object> decodedBalance = (Map<String, Object>) decoded.payload().get("balance");
+        assertTrue(decodedBalance.containsKey("clientId"));
+        assertNull(decodedBalance.get("clientId"));
+        assertEquals("not a number", decodedBalance.get("amount"));
+        assertEquals("USD", decodedBalance.get("currency"));
+        assertEquals(List.of(1L, 2.5, true, Map.of("exact", new BigDecimal("10.25"))), decoded.payload().get("limits"));
+        assertFalse(decoded.payload().containsKey("demographics"));
+    }
+
+    @Test
+    void testPayloadWithoutSourceTypeIsEncodedWithTaggedValues() throws IOException {
+        Map<String, Object> payload = Map.of("clientId", "CLI123", "amount", 1.1f, "count", -3);
+
+        KafkaEventEnvelope decoded = codec.decode(codec.encodePayload(metadata, payload, null));
+
+        assertEquals(Map.of("clientId", "CLI123", "amount", 1.1, "count", -3L), decoded.payload());
+        assertEquals("1.0", decoded.metadata().schemaVersion());
+    }
+
+    @Test
+    void testPayloadsWithoutSourceTypeGetOneSchemaPerEvent() throws IOException {
+        KafkaEventMetadata other = KafkaEventMetadata.of("CaseClosed", "events", "1.0");
+
+        byte[] profile = codec.encodePayload(metadata, Map.of("clientId", "CLI123", "count", 3), null);
+        byte[] closed = codec.encodePayload(other, Map.of("caseNumber", "CASE1"), null);
+
+        EventSchema profileSchema = registry.lookup(fingerprintOf(profile)).orElseThrow();
+        assertEquals("ProfileFetched@1.0{clientId:STRING,count:LONG}", profileSchema.canonicalForm());
+        assertEquals("CaseClosed@1.0{caseNumber:STRING}",
+            registry.lookup(fingerprintOf(closed)).orElseThrow().canonicalForm());
+
+        // A later payload of the event keeps the schema; what it does not fit is kept as extras
+        Map<String, Object> later = new HashMap<>();
+        later.put("clientId", 42);
+        later.put("region", "NE");
+        byte[] next = codec.encodePayload(metadata, later, null);
+
+        assertEquals(fingerprintOf(profile), fingerprintOf(next));
+        assertEquals(Map.of("clientId", 42L, "region", "NE"), codec.decode(next).payload());
+    }
+
+    @Test
+    void testDecodeFailsForUnknownSchemaAndOtherFormats() throws IOException {
+        byte[] event = codec.encode(metadata, response, UIResponseEventMapper.INSTANCE);
+        BinaryKafkaEventCodec consumer = new BinaryKafkaEventCodec(new InMemoryEventSchemaRegistry());
+
+        IOException unknown = assertThrows(IOException.class, () -> consumer.decode(event));
+        assertTrue(unknown.getMessage().startsWith("Unknown event schema"), unknown.getMessage());
+        assertThrows(IOException.class, () -> codec.decode("{\"metadata\":{}}".getBytes()));
+    }
+
+    private static long fingerprintOf(byte[] event) {
+        return ByteBuffer.wrap(event, 2, Long.BYTES).getLong();
+    }
+}
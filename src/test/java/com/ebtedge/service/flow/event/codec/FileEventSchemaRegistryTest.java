@@ -0,0 +1,50 @@
+package com.ebtedge.service.flow.event.codec;
+
+import com.ebtedge.service.flow.domain.UIResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileEventSchemaRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testSchemaRegisteredByProducerIsFoundByConsumer() throws IOException {
+        EventSchema schema = EventSchema.derive(UIResponse.class, "1.0");
+        long fingerprint = new FileEventSchemaRegistry(directory, objectMapper).register(schema);
+
+        assertTrue(Files.exists(directory.resolve(String.format("%016x.json", fingerprint))));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count(), "no temporary file left behind");
+        }
+        FileEventSchemaRegistry consumer = new FileEventSchemaRegistry(directory, objectMapper);
+        assertEquals(schema, consumer.lookup(fingerprint).orElseThrow());
+    }
+
+    @Test
+    void testRegisteringTwiceKeepsOneFile() throws IOException {
+        EventSchema schema = EventSchema.derive(UIResponse.class, "1.0");
+        new FileEventSchemaRegistry(directory, objectMapper).register(schema);
+        new FileEventSchemaRegistry(directory, objectMapper).register(schema);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testUnknownFingerprintIsEmpty() throws IOException {
+        assertTrue(new FileEventSchemaRegistry(directory, objectMapper).lookup(42L).isEmpty());
+    }
+}
@@ -0,0 +1,122 @@
+package com.ebtedge.service.flow.event.mapper;
+
+import com.ebtedge.service.flow.domain.Balance;
+import com.ebtedge.service.flow.domain.Demographics;
+import com.ebtedge.service.flow.domain.UIResponse;
+import com.ebtedge.service.flow.domain.UIResponse_EventMapper;
+import com.ebtedge.service.flow.event.annotation.KafkaField;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReflectionEventMapperTest {
+
+    private record Account(@KafkaField(name = "account_id") String id,
+                           @KafkaField long openedAt,
+                           @KafkaField boolean active,
+                           String secret) {
+    }
+
+    private static class BaseData {
+        @KafkaField
+        private String userId;
+    }
+
+    private static class UserData extends BaseData {
+        @KafkaField(name = "user_email")
+        private String email;
+
+        @KafkaField
+        private int logins;
+
+        private String password;
+
+        UserData(String userId, String email, int logins, String password) {
+            ((BaseData) this).userId = userId;
+            this.email = email;
+            this.logins = logins;
+            this.password = password;
+        }
+
+        String getEmail() {
+            return "getter is not used";
+        }
+    }
+
+    @Test
+    void testMap_record_readsAnnotatedComponents() {
+        ReflectionEventMapper<Account> mapper = ReflectionEventMapper.forClass(Account.class);
+
+        Map<String, Object> payload = mapper.map(new Account("ACC1", 42L, true, "s3cret"));
+
+        assertEquals(Map.of("account_id", "ACC1", "openedAt", 42L, "active", true), payload);
+    }
+
+    @Test
+    void testMap_class_readsPrivateAndInheritedFields() {
+        ReflectionEventMapper<UserData> mapper = ReflectionEventMapper.forClass(UserData.class);
+
+        Map<String, Object> payload = mapper.map(new UserData("USR1", "user@example.com", 7, "pw"));
+
+        assertEquals(Map.of("userId", "USR1", "user_email", "user@example.com", "logins", 7), payload);
+    }
+
+    @Test
+    void testMap_nestedRecords_matchHandWrittenMapper() {
+        UIResponse response = new UIResponse(
+                new Balance("CLI123456", 1250.75),
+                new Demographics("Jane Doe", "jane@example.com", "Springfield"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> payload = ReflectionEventMapper.INSTANCE.map(response);
+
+        assertEquals(UIResponseEventMapper.INSTANCE.map(response), payload);
+    }
+
+    @Test
+    void testMap_recordWithGeneratedMapper_dispatchesToIt() {
+        UIResponse response = new UIResponse(
+                new Balance("CLI123456", 1250.75),
+                new Demographics("Jane Doe", "jane@example.com", "Springfield"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> payload = ReflectionEventMapper.INSTANCE.map(response);
+
+        // Written by KafkaFieldProcessor at compile time
+        assertEquals(UIResponse_EventMapper.INSTANCE.map(response), payload);
+        assertEquals(Map.of("clientId", "CLI123456", "amount", 1250.75),
+                UIResponse_EventMapper.INSTANCE.map(response).get("balance"));
+    }
+
+    @Test
+    void testMap_nullValuesAndNullSource_areSkipped() {
+        ReflectionEventMapper<Account> mapper = ReflectionEventMapper.forClass(Account.class);
+
+        assertEquals(Map.of("openedAt", 0L, "active", false), mapper.map(new Account(null, 0L, false, null)));
+        assertTrue(mapper.map(null).isEmpty());
+    }
+
+    @Test
+    void testCompileGetter_inaccessibleField_fallsBackToReflectiveRead() throws Exception {
+        // java.base does not open java.lang to this module, so the field can be neither opened nor unreflected
+        Field field = String.class.getDeclaredField("value");
+
+        Function<Object, Object> getter = assertDoesNotThrow(() -> ReflectionEventMapper.compileGetter(String.class, field));
+
+        assertThrows(IllegalStateException.class, () -> getter.apply("abc"));
+    }
+
+    @Test
+    void testCompileGetter_inaccessibleAccessor_fallsBackToReflectiveCall() throws Exception {
+        Method accessor = String.class.getDeclaredMethod("isLatin1");
+
+        Function<Object, Object> getter = assertDoesNotThrow(() -> ReflectionEventMapper.compileGetter(String.class, accessor));
+
+        assertThrows(IllegalStateException.class, () -> getter.apply("abc"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.ebtedge.service.flow.event.processor;
+
+import com.ebtedge.service.flow.event.EventMapper;
+import com.ebtedge.service.flow.event.EventWriter;
+import com.ebtedge.service.flow.event.annotation.KafkaField;
+import com.ebtedge.service.flow.event.mapper.ReflectionEventMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the mappers KafkaFieldProcessor generates for the records below (compiled with the test sources)
+ * produce the payload ReflectionEventMapper builds for the same fields. Each record has a private twin with the
+ * same components: the processor skips private records, so the twin is always mapped by reflection.
+ */
+class KafkaFieldProcessorTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    record Order(@KafkaField(name = "order_id") String id,
+                 @KafkaField String note,
+                 @KafkaField(name = "total") BigDecimal amount,
+                 String secret) {
+    }
+
+    private record ReflectedOrder(@KafkaField(name = "order_id") String id,
+                                  @KafkaField String note,
+                                  @KafkaField(name = "total") BigDecimal amount,
+                                  String secret) {
+    }
+
+    record Counters(@KafkaField int count,
+                    @KafkaField(name = "sum") long total,
+                    @KafkaField double ratio,
+                    @KafkaField boolean active,
+                    @KafkaField char grade) {
+    }
+
+    private record ReflectedCounters(@KafkaField int count,
+                                     @KafkaField(name = "sum") long total,
+                                     @KafkaField double ratio,
+                                     @KafkaField boolean active,
+                                     @KafkaField char grade) {
+    }
+
+    static class Address {
+        @KafkaField(name = "zip")
+        private final String postalCode;
+
+        @KafkaField
+        private final String city;
+
+        Address(String postalCode, String city) {
+            this.postalCode = postalCode;
+            this.city = city;
+        }
+    }
+
+    record Shipment(@KafkaField(nested = true) Address address,
+                    @KafkaField(nested = true) String label,
+                    @KafkaField(nested = true) Integer weight,
+                    @KafkaField(nested = true) Order order,
+                    @KafkaField List<String> tags) {
+    }
+
+    private record ReflectedShipment(@KafkaField(nested = true) Address address,
+                                     @KafkaField(nested = true) String label,
+                                     @KafkaField(nested = true) Integer weight,
+                                     @KafkaField(nested = true) ReflectedOrder order,
+                                     @KafkaField List<String> tags) {
+    }
+
+    @Test
+    void generatedMapperIsUsedForRecords() {
+        Order order = new Order("O1", "gift", new BigDecimal("12.50"), "s3cret");
+
+        assertEquals(KafkaFieldProcessorTest_Order_EventMapper.INSTANCE.map(order), reflect(order));
+        assertInstanceOf(EventWriter.class, KafkaFieldProcessorTest_Order_EventMapper.INSTANCE);
+    }
+
+    @Test
+    void nameOverridesMatchReflection() {
+        Order order = new Order("O1", "gift", new BigDecimal("12.50"), "s3cret");
+        ReflectedOrder twin = new ReflectedOrder("O1", "gift", new BigDecimal("12.50"), "s3cret");
+
+        Map<String, Object> generated = KafkaFieldProcessorTest_Order_EventMapper.INSTANCE.map(order);
+
+        assertEquals(reflect(twin), generated);
+        assertEquals(Map.of("order_id", "O1", "note", "gift", "total", new BigDecimal("12.50")), generated);
+    }
+
+    @Test
+    void nullComponentsAreSkippedLikeReflection() throws IOException {
+        Order order = new Order("O1", null, null, null);
+        ReflectedOrder twin = new ReflectedOrder("O1", null, null, null);
+
+        assertEquals(reflect(twin), KafkaFieldProcessorTest_Order_EventMapper.INSTANCE.map(order));
+        assertEquals(JSON.valueToTree(reflect(twin)),
+                JSON.readTree(written(KafkaFieldProcessorTest_Order_EventMapper.INSTANCE, order)));
+    }
+
+    @Test
+    void primitiveComponentsMatchReflection() throws IOException {
+        Counters counters = new Counters(3, 40_000_000_000L, 0.25, true, 'A');
+        ReflectedCounters twin = new ReflectedCounters(3, 40_000_000_000L, 0.25, true, 'A');
+
+        assertEquals(reflect(twin), KafkaFieldProcessorTest_Counters_EventMapper.INSTANCE.map(counters));
+        assertEquals(JSON.valueToTree(reflect(twin)),
+                JSON.readTree(written(KafkaFieldProcessorTest_Counters_EventMapper.INSTANCE, counters)));
+    }
+
+    @Test
+    void nestedValuesMatchReflection() throws IOException {
+        Shipment shipment = new Shipment(new Address("10001", "New York"), "fragile", 7,
+                new Order("O1", "gift", null, "s3cret"), List.of("a", "b"));
+        ReflectedShipment twin = new ReflectedShipment(new Address("10001", "New York"), "fragile", 7,
+                new ReflectedOrder("O1", "gift", null, "s3cret"), List.of("a", "b"));
+
+        Map<String, Object> generated = KafkaFieldProcessorTest_Shipment_EventMapper.INSTANCE.map(shipment);
+
+        assertEquals(reflect(twin), generated);
+        assertEquals(Map.of("zip", "10001", "city", "New York"), generated.get("address"));
+        assertEquals(Map.of("order_id", "O1", "note", "gift"), generated.get("order"));
+        assertEquals(JSON.valueToTree(reflect(twin)),
+                JSON.readTree(written(KafkaFieldProcessorTest_Shipment_EventMapper.INSTANCE, shipment)));
+    }
+
+    @Test
+    void nullNestedValuesAreSkippedLikeReflection() {
+        Shipment shipment = new Shipment(null, null, null, null, null);
+        ReflectedShipment twin = new ReflectedShipment(null, null, null, null, null);
+
+        assertEquals(reflect(twin), KafkaFieldProcessorTest_Shipment_EventMapper.INSTANCE.map(shipment));
+        assertTrue(KafkaFieldProcessorTest_Shipment_EventMapper.INSTANCE.map(shipment).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> reflect(Object source) {
+        return ReflectionEventMapper.INSTANCE.map(source);
+    }
+
+    /**
+     * Streams a record through its generated writer into a JSON object, as the serializer does.
+     */
+    private static <T> String written(EventMapper<T> mapper, T source) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = JSON.createGenerator(out)) {
+            generator.writeStartObject();
+            ((EventWriter<T>) mapper).write(source, generator);
+            generator.writeEndObject();
+        }
+        return out.toString();
+    }
+}
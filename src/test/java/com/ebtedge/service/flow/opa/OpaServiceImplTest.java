@@ -8,6 +8,7 @@ import com.ebtedge.service.flow.caseinquiry.CaseInquiryResult;
 import com.ebtedge.service.flow.caseinquiry.CaseService;
 import com.ebtedge.service.flow.core.ResponseWrapper;
 import com.ebtedge.service.flow.core.WorkflowPipelineFactory;
+import com.ebtedge.service.flow.domain.Cardholder;
 import com.ebtedge.service.flow.domain.CardholderSearchCriteria;
 import com.ebtedge.service.flow.domain.ErrorDetails;
 import com.ebtedge.service.flow.domain.CardholderSearchResult;
@@ -25,10 +26,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +46,7 @@ class OpaServiceImplTest {
     @Mock
     private CaseService caseService;
 
+    private MeterRegistry meterRegistry;
     private WorkflowPipelineFactory pipelineFactory;
     private OpaServiceImpl opaService;
 
@@ -47,7 +54,7 @@ class OpaServiceImplTest {
     void setUp() {
         ServiceFlowProperties properties = new ServiceFlowProperties();
         properties.setMetricsEnabled(true);
-        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        meterRegistry = new SimpleMeterRegistry();
         pipelineFactory = new WorkflowPipelineFactory(properties, meterRegistry);
 
         opaService = new OpaServiceImpl(cardService, caseService, pipelineFactory);
@@ -322,4 +329,440 @@ class OpaServiceImplTest {
         // Verify it's base64 encoded (doesn't contain special characters except =)
         assertTrue(cardholder.cardholderId().matches("^[A-Za-z0-9+/=]+$"));
     }
+
+    @Test
+    void testCardholderSearch_matchingClientNotFirst_usedForEveryCard() {
+        // Given
+        CardholderSummaryResult summaryResult = new CardholderSummaryResult(
+                new BaseResponseMetadata("uuid-123", "2025-01-15T10:00:00Z"),
+                "CLI123456",
+                "4111111111111111",
+                List.of(
+                        new CardInfoResult("4111111111111111", "A", "0.00", "365", "2025-01-15T10:00:00Z"),
+                        new CardInfoResult("5500000000000004", "I", "2.50", "730", "2025-01-15T10:00:00Z")
+                ),
+                List.of(
+                        new ClientInfoResult("CLI000001", null, "Jane", "Roe", "1985-03-02"),
+                        new ClientInfoResult("CLI123456", null, "John", "Doe", "1990-01-15")
+                )
+        );
+        when(cardService.getCardholderSummary(any())).thenReturn(ResponseWrapper.success(summaryResult));
+        when(caseService.caseInquiry(any())).thenReturn(ResponseWrapper.success(new CaseInquiryResult("CASE123456", List.of())));
+
+        // When
+        ResponseWrapper<CardholderSearchResult> response = opaService.cardholderSearch(
+                new CardholderSearchCriteria(null, "4111111111111111", "AG001"));
+
+        // Then
+        assertTrue(response.isSuccess());
+        List<Cardholder> cardholders = response.getData().cardholderList();
+        assertEquals(2, cardholders.size());
+        assertEquals("CLI123456", cardholders.get(0).clientInfo().clientId());
+        assertEquals("CASE123456", cardholders.get(0).clientInfo().caseNumber());
+        assertEquals("CLI123456", cardholders.get(1).clientInfo().clientId());
+        assertEquals(cardholders.get(0).cardholderId(), cardholders.get(1).cardholderId());
+    }
+
+    @Test
+    void testCardholderSearch_parallelMerge_keepsCardOrder() {
+        // Given
+        ServiceFlowProperties properties = new ServiceFlowProperties();
+        ServiceFlowProperties.ParallelConfig parallelConfig = new ServiceFlowProperties.ParallelConfig();
+        parallelConfig.setEnabled(true);
+        parallelConfig.setThreshold(100);
+        parallelConfig.setParallelism(4);
+        properties.getParallel().put("cardholder-merge", parallelConfig);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OpaServiceImpl parallelService = new OpaServiceImpl(cardService, caseService,
+                new WorkflowPipelineFactory(properties, meterRegistry));
+
+        List<CardInfoResult> cards = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            cards.add(new CardInfoResult(String.format("4111%012d", i), i % 2 == 0 ? "A" : "I",
+                    "0.00", "365", "2025-01-15T10:00:00Z"));
+        }
+        when(cardService.getCardholderSummary(any())).thenReturn(ResponseWrapper.success(new CardholderSummaryResult(
+                new BaseResponseMetadata("uuid-123", "2025-01-15T10:00:00Z"), "CLI123456", "4111000000000000", cards,
+                List.of(new ClientInfoResult("CLI123456", null, "John", "Doe", "1990-01-15")))));
+        when(caseService.caseInquiry(any())).thenReturn(ResponseWrapper.success(new CaseInquiryResult("CASE123456", List.of())));
+
+        // When
+        ResponseWrapper<CardholderSearchResult> response = parallelService.cardholderSearch(
+                new CardholderSearchCriteria(null, "4111000000000000", "AG001"));
+
+        // Then
+        assertTrue(response.isSuccess());
+        List<Cardholder> cardholders = response.getData().cardholderList();
+        assertEquals(2_000, cardholders.size());
+        for (int i = 0; i < cardholders.size(); i++) {
+            assertEquals(cards.get(i).cardNumber(), cardholders.get(i).cardInfo().cardNumber());
+            assertEquals(i % 2 == 0 ? "850" : "650", cardholders.get(i).score());
+        }
+        assertEquals(1, meterRegistry.get("workflow.parallel.calls")
+                .tag("mapper", "cardholder-merge").tag("mode", "parallel").counter().count());
+    }
+
+    @Test
+    void testCardholderSearch_noMatchingClient_fallsBackToFirstClient() {
+        // Given
+        CardholderSummaryResult summaryResult = new CardholderSummaryResult(
+                new BaseResponseMetadata("uuid-123", "2025-01-15T10:00:00Z"),
+                "CLI999999",
+                "4111111111111111",
+                List.of(new CardInfoResult("4111111111111111", "A", "0.00", "365", "2025-01-15T10:00:00Z")),
+                List.of(
+                        new ClientInfoResult("CLI000001", null, "Jane", "Roe", "1985-03-02"),
+                        new ClientInfoResult("CLI123456", null, "John", "Doe", "1990-01-15")
+                )
+        );
+        when(cardService.getCardholderSummary(any())).thenReturn(ResponseWrapper.success(summaryResult));
+        when(caseService.caseInquiry(any())).thenReturn(ResponseWrapper.success(new CaseInquiryResult("CASE123456", List.of())));
+
+        // When
+        ResponseWrapper<CardholderSearchResult> response = opaService.cardholderSearch(
+                new CardholderSearchCriteria(null, "4111111111111111", "AG001"));
+
+        // Then
+        assertTrue(response.isSuccess());
+        assertEquals("CLI000001", response.getData().cardholderList().get(0).clientInfo().clientId());
+    }
+
+    @Test
+    void testCardholderSearchBatch_resultsInInputOrder_oneBulkCallPerAgency() {
+        // Given
+        stubBulkServices();
+        List<CardholderSearchCriteria> batch = List.of(
+                new CardholderSearchCriteria(null, "4111111111110001", "AG001"),
+                new CardholderSearchCriteria(null, "4111111111110002", "AG002"),
+                new CardholderSearchCriteria(null, "4111111111110003", "AG001")
+        );
+
+        // When
+        List<ResponseWrapper<CardholderSearchResult>> results = opaService.cardholderSearchBatch(batch);
+
+        // Then
+        assertEquals(3, results.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertTrue(results.get(i).isSuccess());
+            assertEquals(batch.get(i).cardNumber(),
+                    results.get(i).getData().cardholderList().get(0).cardInfo().cardNumber());
+        }
+        verify(cardService, times(2)).getCardholderSummaries(anyList());
+        verify(cardService).getCardholderSummaries(argThat(contexts -> contexts.size() == 2));
+        verify(caseService, times(2)).caseInquiries(anyList());
+        verify(cardService, never()).getCardholderSummary(any());
+    }
+
+    @Test
+    void testCardholderSearchBatch_perItemFailures_doNotFailTheBatch() {
+        // Given
+        when(cardService.getCardholderSummaries(anyList())).thenAnswer(invocation -> {
+            List<CardholderSummaryContext> contexts = invocation.getArgument(0);
+            return contexts.stream()
+                    .map(context -> context.cardNumber().endsWith("9")
+                            ? ResponseWrapper.<CardholderSummaryResult>fail(new ErrorDetails("CARD_NOT_FOUND", "No card"))
+                            : ResponseWrapper.success(summaryFor(context.cardNumber())))
+                    .toList();
+        });
+        when(caseService.caseInquiries(anyList())).thenAnswer(invocation -> caseResults(invocation.getArgument(0)));
+        List<CardholderSearchCriteria> batch = List.of(
+                new CardholderSearchCriteria(null, "4111111111110001", "AG001"),
+                new CardholderSearchCriteria(null, "", "AG001"),
+                new CardholderSearchCriteria(null, "4111111111110009", "AG001")
+        );
+
+        // When
+        List<ResponseWrapper<CardholderSearchResult>> results = opaService.cardholderSearchBatch(batch);
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("VALIDATION_ERROR", results.get(1).getError().errorCode());
+        assertEquals("SERVICE_ERROR", results.get(2).getError().errorCode());
+    }
+
+    @Test
+    void testCardholderSearchBatch_bulkCallException_failsOnlyThatAgency() {
+        // Given
+        when(cardService.getCardholderSummaries(anyList())).thenAnswer(invocation -> {
+            List<CardholderSummaryContext> contexts = invocation.getArgument(0);
+            if ("AG002".equals(contexts.get(0).agency())) {
+                throw new IllegalStateException("backend down");
+            }
+            return contexts.stream().map(context -> ResponseWrapper.success(summaryFor(context.cardNumber()))).toList();
+        });
+        when(caseService.caseInquiries(anyList())).thenAnswer(invocation -> caseResults(invocation.getArgument(0)));
+
+        // When
+        List<ResponseWrapper<CardholderSearchResult>> results = opaService.cardholderSearchBatch(List.of(
+                new CardholderSearchCriteria(null, "4111111111110001", "AG001"),
+                new CardholderSearchCriteria(null, "4111111111110002", "AG002")
+        ));
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("SERVICE_ERROR", results.get(1).getError().errorCode());
+    }
+
+    @Test
+    void testCardholderSearchBatch_largeBatch_mergedInParallelChunks() {
+        // Given
+        stubBulkServices();
+        List<CardholderSearchCriteria> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(new CardholderSearchCriteria(null, String.format("4111111111%06d", i), "AG00" + (i % 3)));
+        }
+
+        // When
+        List<ResponseWrapper<CardholderSearchResult>> results = opaService.cardholderSearchBatch(batch);
+
+        // Then
+        assertEquals(1000, results.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(batch.get(i).cardNumber(),
+                    results.get(i).getData().cardholderList().get(0).cardInfo().cardNumber());
+        }
+    }
+
+    @Test
+    void testCardholderSearchBatch_bulkCalls_runAsTimedSteps() {
+        // Given
+        stubBulkServices();
+
+        // When
+        opaService.cardholderSearchBatch(List.of(new CardholderSearchCriteria(null, "4111111111110001", "AG001")));
+
+        // Then
+        for (String step : List.of("FetchCardholderSummaries", "FetchCaseInquiries")) {
+            assertEquals(1, meterRegistry.get("workflow.step.latency")
+                    .tag("step", step).tag("status", "SUCCESS").timer().count());
+        }
+    }
+
+    @Test
+    void testCardholderSearchBatch_agencies_fetchedConcurrently() {
+        // Given: each agency's bulk call only returns once the other agency's call has started
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(cardService.getCardholderSummaries(anyList())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS), "agencies were fetched one after the other");
+            List<CardholderSummaryContext> contexts = invocation.getArgument(0);
+            return contexts.stream().map(context -> ResponseWrapper.success(summaryFor(context.cardNumber()))).toList();
+        });
+        when(caseService.caseInquiries(anyList())).thenAnswer(invocation -> caseResults(invocation.getArgument(0)));
+
+        // When
+        List<ResponseWrapper<CardholderSearchResult>> results = opaService.cardholderSearchBatch(List.of(
+                new CardholderSearchCriteria(null, "4111111111110001", "AG001"),
+                new CardholderSearchCriteria(null, "4111111111110002", "AG002")
+        ));
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+    }
+
+    @Test
+    void testCardholderSearchBatch_pagePastLastCard_skipsCaseInquiry() {
+        // Given
+        when(cardService.getCardholderSummaries(anyList()))
+                .thenAnswer(invocation -> List.of(ResponseWrapper.success(fiveCardSummary())));
+
+        // When
+        List<ResponseWrapper<CardholderSearchResult>> results = opaService.cardholderSearchBatch(List.of(
+                CardholderSearchCriteria.builder().cardNumber("4111111111110000").agency("AG001")
+                        .pageSize(2).cursor(SearchCursor.encode(5)).build()));
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(0).getData().cardholderList().isEmpty());
+        verify(caseService, never()).caseInquiries(anyList());
+    }
+
+    @Test
+    void testCardholderSearchBatch_failedCaseStep_failsOnlyItemsStillInFlight() {
+        // Given
+        when(cardService.getCardholderSummaries(anyList())).thenAnswer(invocation -> {
+            List<CardholderSummaryContext> contexts = invocation.getArgument(0);
+            return contexts.stream()
+                    .map(context -> context.cardNumber().endsWith("9")
+                            ? ResponseWrapper.<CardholderSummaryResult>fail(new ErrorDetails("CARD_NOT_FOUND", "No card"))
+                            : ResponseWrapper.success(summaryFor(context.cardNumber())))
+                    .toList();
+        });
+        when(caseService.caseInquiries(anyList())).thenThrow(new IllegalStateException("backend down"));
+
+        // When
+        List<ResponseWrapper<CardholderSearchResult>> results = opaService.cardholderSearchBatch(List.of(
+                new CardholderSearchCriteria(null, "4111111111110001", "AG001"),
+                new CardholderSearchCriteria(null, "4111111111110009", "AG001")
+        ));
+
+        // Then
+        assertEquals("SERVICE_ERROR", results.get(0).getError().errorCode());
+        assertEquals("SERVICE_ERROR", results.get(1).getError().errorCode());
+        assertEquals(1, meterRegistry.get("workflow.step.latency")
+                .tag("step", "FetchCaseInquiries").tag("status", "FAILURE").timer().count());
+    }
+
+    @Test
+    void testCardholderSearchBatch_emptyBatch_returnsEmptyList() {
+        assertTrue(opaService.cardholderSearchBatch(List.of()).isEmpty());
+        verifyNoInteractions(cardService, caseService);
+    }
+
+    @Test
+    void testCardholderSearch_pageSize_returnsPagesWithCursor() {
+        // Given
+        stubFiveCards();
+
+        // When
+        List<String> offsets = new ArrayList<>();
+        List<String> cardNumbers = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseWrapper<CardholderSearchResult> page = opaService.cardholderSearch(CardholderSearchCriteria.builder()
+                    .cardNumber("4111111111110000").agency("AG001").pageSize(2).cursor(cursor).build());
+            assertTrue(page.isSuccess());
+            offsets.add(page.getData().offset());
+            page.getData().cardholderList().forEach(cardholder -> cardNumbers.add(cardholder.cardInfo().cardNumber()));
+            cursor = page.getData().nextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(List.of("0", "2", "4"), offsets);
+        assertEquals(List.of("4111111111110000", "4111111111110001", "4111111111110002",
+                "4111111111110003", "4111111111110004"), cardNumbers);
+    }
+
+    @Test
+    void testCardholderSearch_cursorPastLastCard_skipsCaseInquiry() {
+        // Given
+        when(cardService.getCardholderSummary(any())).thenReturn(ResponseWrapper.success(fiveCardSummary()));
+
+        // When
+        ResponseWrapper<CardholderSearchResult> response = opaService.cardholderSearch(CardholderSearchCriteria.builder()
+                .cardNumber("4111111111110000").agency("AG001").pageSize(2).cursor(SearchCursor.encode(5)).build());
+
+        // Then
+        assertTrue(response.isSuccess());
+        assertTrue(response.getData().cardholderList().isEmpty());
+        assertNull(response.getData().nextCursor());
+        verify(caseService, never()).caseInquiry(any());
+    }
+
+    @Test
+    void testCardholderSearch_invalidPaging_returnsValidationError() {
+        ResponseWrapper<CardholderSearchResult> zeroPageSize = opaService.cardholderSearch(CardholderSearchCriteria.builder()
+                .cardNumber("4111111111110000").agency("AG001").pageSize(0).build());
+        ResponseWrapper<CardholderSearchResult> badCursor = opaService.cardholderSearch(CardholderSearchCriteria.builder()
+                .cardNumber("4111111111110000").agency("AG001").cursor("bogus").build());
+
+        assertEquals("VALIDATION_ERROR", zeroPageSize.getError().errorCode());
+        assertEquals("VALIDATION_ERROR", badCursor.getError().errorCode());
+        verifyNoInteractions(cardService, caseService);
+    }
+
+    @Test
+    void testCardholderSearchStream_pagesThroughCardsWithCursor() {
+        // Given
+        stubFiveCards();
+        List<CardInfoResult> cards = fiveCardSummary().cards();
+        // When
+        List<String> streamed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ResponseWrapper<CardholderStream> page = opaService.cardholderSearchStream(
+                    new CardholderSearchCriteria(null, "4111111111110000", "AG001", 2, cursor));
+            assertTrue(page.isSuccess());
+            page.getData().forEach(cardholder -> streamed.add(cardholder.cardInfo().cardNumber()));
+            cursor = page.getData().nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(3, pages);
+        assertEquals(cards.stream().map(CardInfoResult::cardNumber).toList(), streamed);
+    }
+
+    @Test
+    void testCardholderSearchStream_noPageSize_streamsAllCards() {
+        // Given
+        when(cardService.getCardholderSummary(any())).thenReturn(ResponseWrapper.success(summaryFor("4111111111111111")));
+        when(caseService.caseInquiry(any())).thenAnswer(invocation ->
+                caseResults(List.of(invocation.getArgument(0, CaseInquiryContext.class))).get(0));
+
+        // When
+        ResponseWrapper<CardholderStream> stream = opaService.cardholderSearchStream(
+                new CardholderSearchCriteria(null, "4111111111111111", "AG001"));
+
+        // Then
+        List<Cardholder> cardholders = new ArrayList<>();
+        stream.getData().forEach(cardholders::add);
+        assertEquals(1, cardholders.size());
+        assertNull(stream.getData().nextCursor());
+    }
+
+    @Test
+    void testCardholderSearchStream_invalidCursor_returnsValidationError() {
+        ResponseWrapper<CardholderStream> stream = opaService.cardholderSearchStream(
+                new CardholderSearchCriteria(null, "4111111111111111", "AG001", 10, "not-a-cursor"));
+
+        assertFalse(stream.isSuccess());
+        assertEquals("VALIDATION_ERROR", stream.getError().errorCode());
+        verifyNoInteractions(cardService, caseService);
+    }
+
+    @Test
+    void testCardholderSearchStream_lookupFailure_returnsServiceError() {
+        when(cardService.getCardholderSummary(any()))
+                .thenReturn(ResponseWrapper.fail(new ErrorDetails("CARD_SERVICE_ERROR", "down")));
+
+        ResponseWrapper<CardholderStream> stream = opaService.cardholderSearchStream(
+                new CardholderSearchCriteria(null, "4111111111111111", "AG001", 10, null));
+
+        assertFalse(stream.isSuccess());
+        assertEquals("SERVICE_ERROR", stream.getError().errorCode());
+    }
+
+    private void stubFiveCards() {
+        when(cardService.getCardholderSummary(any())).thenReturn(ResponseWrapper.success(fiveCardSummary()));
+        when(caseService.caseInquiry(any())).thenReturn(ResponseWrapper.success(new CaseInquiryResult("CASE123456",
+                List.of(new ClientInfoResult("CLI123456", "CASE123456", "John", "Doe", "1990-01-15")))));
+    }
+
+    private static CardholderSummaryResult fiveCardSummary() {
+        List<CardInfoResult> cards = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            cards.add(new CardInfoResult("411111111111000" + i, "A", "0.00", "365", "2025-01-15T10:00:00Z"));
+        }
+        return new CardholderSummaryResult(
+                new BaseResponseMetadata("uuid-123", "2025-01-15T10:00:00Z"), "CLI123456", "4111111111110000", cards,
+                List.of(new ClientInfoResult("CLI123456", null, "John", "Doe", "1990-01-15")));
+    }
+
+    private void stubBulkServices() {
+        when(cardService.getCardholderSummaries(anyList())).thenAnswer(invocation -> {
+            List<CardholderSummaryContext> contexts = invocation.getArgument(0);
+            return contexts.stream().map(context -> ResponseWrapper.success(summaryFor(context.cardNumber()))).toList();
+        });
+        when(caseService.caseInquiries(anyList())).thenAnswer(invocation -> caseResults(invocation.getArgument(0)));
+    }
+
+    private static CardholderSummaryResult summaryFor(String cardNumber) {
+        return new CardholderSummaryResult(
+                new BaseResponseMetadata("uuid-123", "2025-01-15T10:00:00Z"),
+                "CLI123456",
+                cardNumber,
+                List.of(new CardInfoResult(cardNumber, "A", "0.00", "365", "2025-01-15T10:00:00Z")),
+                List.of(new ClientInfoResult("CLI123456", null, "John", "Doe", "1990-01-15"))
+        );
+    }
+
+    private static List<ResponseWrapper<CaseInquiryResult>> caseResults(List<CaseInquiryContext> contexts) {
+        return contexts.stream()
+                .map(context -> ResponseWrapper.success(new CaseInquiryResult(context.caseNumber(),
+                        List.of(new ClientInfoResult("CLI123456", context.caseNumber(), "John", "Doe", "1990-01-15")))))
+                .toList();
+    }
 }
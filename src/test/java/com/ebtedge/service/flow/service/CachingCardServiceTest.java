@@ -0,0 +1,280 @@
+package com.ebtedge.service.flow.service;
+
+import com.ebtedge.service.flow.autoconfigure.ServiceFlowProperties.CacheSpec;
+import com.ebtedge.service.flow.cardsummary.CardService;
+import com.ebtedge.service.flow.cardsummary.CardholderSummaryContext;
+import com.ebtedge.service.flow.cardsummary.CardholderSummaryResult;
+import com.ebtedge.service.flow.core.ResponseWrapper;
+import com.ebtedge.service.flow.domain.ErrorDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingCardServiceTest {
+
+    private static final String CARD = "6008123456789012";
+
+    private final CardServiceImpl backend = new CardServiceImpl();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Runnable> queued = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private CacheSpec spec;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        spec = new CacheSpec();
+        spec.setEnabled(true);
+        spec.setTimeToLive(Duration.ofMinutes(5));
+        spec.setRefreshAfter(Duration.ofMinutes(4));
+    }
+
+    private CachingCardService cache(CardService delegate) {
+        return new CachingCardService(context -> {
+            calls.incrementAndGet();
+            return delegate.getCardholderSummary(context);
+        }, spec, meterRegistry, Runnable::run, nanos::get);
+    }
+
+    private static CardholderSummaryContext context(String cardNumber, String agency) {
+        return CardholderSummaryContext.builder().cardNumber(cardNumber).agency(agency).build();
+    }
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        CachingCardService service = cache(backend);
+
+        ResponseWrapper<CardholderSummaryResult> first = service.getCardholderSummary(context(CARD, "NY"));
+        ResponseWrapper<CardholderSummaryResult> second = service.getCardholderSummary(context(CARD, "NY"));
+
+        assertTrue(first.isSuccess());
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(0.5, meterRegistry.get(CachingCardService.HIT_RATIO_METRIC).gauge().value(), 1e-9);
+        assertEquals(1, meterRegistry.get(CachingCardService.LOAD_METRIC).tag("result", "success").timer().count());
+    }
+
+    @Test
+    void keysIncludeTheAgency() {
+        CachingCardService service = cache(backend);
+
+        service.getCardholderSummary(context(CARD, "NY"));
+        service.getCardholderSummary(context(CARD, "NJ"));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        CachingCardService service = cache(context -> ResponseWrapper.fail(new ErrorDetails("SERVICE_ERROR", "down")));
+
+        assertFalse(service.getCardholderSummary(context(CARD, "NY")).isSuccess());
+        assertFalse(service.getCardholderSummary(context(CARD, "NY")).isSuccess());
+
+        assertEquals(2, calls.get());
+        assertEquals(2, meterRegistry.get(CachingCardService.LOAD_METRIC).tag("result", "failure").timer().count());
+    }
+
+    @Test
+    void invalidContextIsPassedThrough() {
+        CachingCardService service = cache(backend);
+
+        ResponseWrapper<CardholderSummaryResult> result = service.getCardholderSummary(context(null, "NY"));
+
+        assertFalse(result.isSuccess());
+        assertEquals("VALIDATION_ERROR", result.getError().errorCode());
+        assertEquals(0, service.estimatedSize());
+    }
+
+    @Test
+    void entriesExpireAfterTimeToLive() {
+        spec.setRefreshAfter(Duration.ZERO);
+        CachingCardService service = cache(backend);
+
+        service.getCardholderSummary(context(CARD, "NY"));
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+        service.getCardholderSummary(context(CARD, "NY"));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void staleHitIsServedWhileRefreshingInBackground() {
+        CachingCardService service = new CachingCardService(context -> {
+            calls.incrementAndGet();
+            return backend.getCardholderSummary(context);
+        }, spec, meterRegistry, queued::add, nanos::get);
+
+        ResponseWrapper<CardholderSummaryResult> first = service.getCardholderSummary(context(CARD, "NY"));
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+
+        assertSame(first, service.getCardholderSummary(context(CARD, "NY")));
+        assertSame(first, service.getCardholderSummary(context(CARD, "NY")));
+        assertEquals(1, calls.get());
+        assertEquals(1, queued.size(), "only one refresh per key at a time");
+
+        queued.remove(0).run();
+        assertEquals(2, calls.get());
+        ResponseWrapper<CardholderSummaryResult> refreshed = service.getCardholderSummary(context(CARD, "NY"));
+        assertNotSame(first, refreshed);
+        assertTrue(refreshed.isSuccess());
+    }
+
+    @Test
+    void invalidationDuringRefreshIsNotUndone() {
+        CachingCardService service = new CachingCardService(context -> {
+            calls.incrementAndGet();
+            return backend.getCardholderSummary(context);
+        }, spec, meterRegistry, queued::add, nanos::get);
+
+        service.getCardholderSummary(context(CARD, "NY"));
+        nanos.addAndGet(Duration.ofMinutes(4).toNanos());
+        service.getCardholderSummary(context(CARD, "NY"));
+        assertEquals(1, queued.size());
+
+        service.invalidate(CARD, "NY");
+        queued.remove(0).run();
+
+        assertEquals(2, calls.get());
+        assertEquals(0, service.estimatedSize(), "the refreshed summary predates the invalidation");
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotUndone() {
+        AtomicInteger loads = new AtomicInteger();
+        CachingCardService[] service = new CachingCardService[1];
+        service[0] = cache(context -> {
+            if (loads.incrementAndGet() == 1) {
+                service[0].invalidate(CARD, "NY");
+            }
+            return backend.getCardholderSummary(context);
+        });
+
+        assertTrue(service[0].getCardholderSummary(context(CARD, "NY")).isSuccess());
+        service[0].getCardholderSummary(context(CARD, "NY"));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CachingCardService service = cache(context -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return backend.getCardholderSummary(context);
+        });
+
+        CompletableFuture<ResponseWrapper<CardholderSummaryResult>> leader =
+                CompletableFuture.supplyAsync(() -> service.getCardholderSummary(context(CARD, "NY")));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ResponseWrapper<CardholderSummaryResult>> follower =
+                CompletableFuture.supplyAsync(() -> service.getCardholderSummary(context(CARD, "NY")));
+        CompletableFuture<List<ResponseWrapper<CardholderSummaryResult>>> bulk =
+                CompletableFuture.supplyAsync(() -> service.getCardholderSummaries(List.of(context(CARD, "NY"))));
+        release.countDown();
+
+        assertSame(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+        assertSame(leader.get(), bulk.get(5, TimeUnit.SECONDS).get(0));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void waitingCallerGivesUpAfterMaxWait() throws Exception {
+        spec.setMaxWait(Duration.ofMillis(50));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CachingCardService service = cache(context -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return backend.getCardholderSummary(context);
+        });
+
+        CompletableFuture<ResponseWrapper<CardholderSummaryResult>> leader =
+                CompletableFuture.supplyAsync(() -> service.getCardholderSummary(context(CARD, "NY")));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        ResponseWrapper<CardholderSummaryResult> follower = service.getCardholderSummary(context(CARD, "NY"));
+
+        assertEquals("TIMEOUT", follower.getError().errorCode());
+        release.countDown();
+        assertTrue(leader.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shortBulkResultReleasesClaimedCards() {
+        CachingCardService service = new CachingCardService(new CardService() {
+            @Override
+            public ResponseWrapper<CardholderSummaryResult> getCardholderSummary(CardholderSummaryContext context) {
+                calls.incrementAndGet();
+                return backend.getCardholderSummary(context);
+            }
+
+            @Override
+            public List<ResponseWrapper<CardholderSummaryResult>> getCardholderSummaries(
+                    List<CardholderSummaryContext> contexts) {
+                return List.of(backend.getCardholderSummary(contexts.get(0)));
+            }
+        }, spec, meterRegistry, Runnable::run, nanos::get);
+
+        assertThrows(IllegalStateException.class, () -> service.getCardholderSummaries(
+                List.of(context(CARD, "NY"), context("6008000011112222", "NY"))));
+
+        // Neither card is left claimed: both load again instead of waiting on the failed bulk call
+        assertTrue(service.getCardholderSummary(context(CARD, "NY")).isSuccess());
+        assertTrue(service.getCardholderSummary(context("6008000011112222", "NY")).isSuccess());
+        assertEquals(2, calls.get());
+        assertEquals(1, meterRegistry.get(CachingCardService.LOAD_METRIC).tag("result", "failure").timer().count());
+    }
+
+    @Test
+    void invalidateDropsOneCard() {
+        CachingCardService service = cache(backend);
+        service.getCardholderSummary(context(CARD, "NY"));
+        service.getCardholderSummary(context("6008000011112222", "NY"));
+
+        service.invalidate(CARD, "NY");
+        service.getCardholderSummary(context(CARD, "NY"));
+        service.getCardholderSummary(context("6008000011112222", "NY"));
+
+        assertEquals(3, calls.get());
+
+        service.invalidateAll();
+        assertEquals(0, service.estimatedSize());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        spec.setMaximumSize(10);
+        CachingCardService service = cache(backend);
+
+        for (int i = 0; i < 50; i++) {
+            service.getCardholderSummary(context("60081234567890" + (10 + i), "NY"));
+        }
+
+        assertTrue(service.estimatedSize() <= 10);
+        assertTrue(meterRegistry.get("cache.evictions").tag("cache", CachingCardService.CACHE_NAME)
+                .functionCounter().count() > 0);
+    }
+}
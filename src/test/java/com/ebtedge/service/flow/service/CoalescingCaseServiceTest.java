@@ -0,0 +1,195 @@
+package com.ebtedge.service.flow.service;
+
+import com.ebtedge.service.flow.caseinquiry.CaseInquiryContext;
+import com.ebtedge.service.flow.caseinquiry.CaseInquiryResult;
+import com.ebtedge.service.flow.core.ResponseWrapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingCaseServiceTest {
+
+    private final CaseServiceImpl backend = new CaseServiceImpl();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private CoalescingCaseService blockingService() {
+        return blockingService(CoalescingCaseService.DEFAULT_MAX_WAIT);
+    }
+
+    private CoalescingCaseService blockingService(Duration maxWait) {
+        return new CoalescingCaseService(context -> {
+            calls.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return backend.caseInquiry(context);
+        }, maxWait, meterRegistry);
+    }
+
+    private static CaseInquiryContext context(String caseNumber, String agency) {
+        return CaseInquiryContext.builder().caseNumber(caseNumber).agency(agency).build();
+    }
+
+    private double calls(String role) {
+        return meterRegistry.get(CoalescingCaseService.CALLS_METRIC).tag("role", role).counter().count();
+    }
+
+    @Test
+    void concurrentIdenticalInquiriesShareOneCall() throws Exception {
+        CoalescingCaseService service = blockingService();
+
+        Future<ResponseWrapper<CaseInquiryResult>> leader = executor.submit(() -> service.caseInquiry(context("CASE1", "NY")));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        List<Future<ResponseWrapper<CaseInquiryResult>>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(executor.submit(() -> service.caseInquiry(context("CASE1", "NY"))));
+        }
+        while (service.coalescedCalls() < 3) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        ResponseWrapper<CaseInquiryResult> result = leader.get(5, TimeUnit.SECONDS);
+        assertTrue(result.isSuccess());
+        for (Future<ResponseWrapper<CaseInquiryResult>> follower : followers) {
+            assertSame(result, follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, calls("leader"));
+        assertEquals(3, calls("coalesced"));
+    }
+
+    @Test
+    void sequentialInquiriesAreNotCoalesced() {
+        CoalescingCaseService service = new CoalescingCaseService(context -> {
+            calls.incrementAndGet();
+            return backend.caseInquiry(context);
+        }, meterRegistry);
+
+        ResponseWrapper<CaseInquiryResult> first = service.caseInquiry(context("CASE1", "NY"));
+        ResponseWrapper<CaseInquiryResult> second = service.caseInquiry(context("CASE1", "NY"));
+
+        assertNotSame(first, second);
+        assertEquals(2, calls.get());
+        assertEquals(0, service.coalescedCalls());
+    }
+
+    @Test
+    void differentAgenciesAreNotCoalesced() throws Exception {
+        CoalescingCaseService service = blockingService();
+
+        Future<ResponseWrapper<CaseInquiryResult>> first = executor.submit(() -> service.caseInquiry(context("CASE1", "NY")));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Future<ResponseWrapper<CaseInquiryResult>> second = executor.submit(() -> service.caseInquiry(context("CASE1", "NJ")));
+        while (calls.get() < 2) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+        assertTrue(second.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(0, service.coalescedCalls());
+    }
+
+    @Test
+    void exceptionIsSharedWithWaitingCallers() throws Exception {
+        CountDownLatch failNow = new CountDownLatch(1);
+        CoalescingCaseService service = new CoalescingCaseService(context -> {
+            calls.incrementAndGet();
+            entered.countDown();
+            try {
+                failNow.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("backend down");
+        }, meterRegistry);
+
+        Future<ResponseWrapper<CaseInquiryResult>> leader = executor.submit(() -> service.caseInquiry(context("CASE1", "NY")));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Future<ResponseWrapper<CaseInquiryResult>> follower = executor.submit(() -> service.caseInquiry(context("CASE1", "NY")));
+        while (service.coalescedCalls() < 1) {
+            Thread.sleep(1);
+        }
+        failNow.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+        assertSame(leaderError.getCause(), followerError.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void waitingCallerGivesUpAfterMaxWait() throws Exception {
+        CoalescingCaseService service = blockingService(Duration.ofMillis(50));
+
+        Future<ResponseWrapper<CaseInquiryResult>> leader = executor.submit(() -> service.caseInquiry(context("CASE1", "NY")));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        ResponseWrapper<CaseInquiryResult> follower = service.caseInquiry(context("CASE1", "NY"));
+
+        assertEquals("TIMEOUT", follower.getError().errorCode());
+        release.countDown();
+        assertTrue(leader.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void interruptedCallerStopsWaitingAndKeepsItsInterrupt() throws Exception {
+        CoalescingCaseService service = blockingService();
+
+        executor.submit(() -> service.caseInquiry(context("CASE1", "NY")));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Future<Boolean> follower = executor.submit(() -> {
+            Thread.currentThread().interrupt();
+            ResponseWrapper<CaseInquiryResult> result = service.caseInquiry(context("CASE1", "NY"));
+            return "INTERRUPTED".equals(result.getError().errorCode()) && Thread.currentThread().isInterrupted();
+        });
+
+        assertTrue(follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void invalidContextIsPassedThrough() {
+        CoalescingCaseService service = new CoalescingCaseService(backend, meterRegistry);
+
+        ResponseWrapper<CaseInquiryResult> result = service.caseInquiry(context(null, "NY"));
+
+        assertFalse(result.isSuccess());
+        assertEquals("VALIDATION_ERROR", result.getError().errorCode());
+        assertEquals(0, calls("leader"));
+    }
+}
@@ -4,6 +4,9 @@ import com.ebtedge.service.flow.core.ResponseWrapper;
 import com.ebtedge.service.flow.domain.Balance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MockServiceATest {
@@ -80,4 +83,13 @@ class MockServiceATest {
         assertTrue(result.isSuccess());
         assertEquals(1250.50, result.getData().amount());
     }
+
+    @Test
+    void testBulkLookup_ResultsInInputOrder() {
+        List<ResponseWrapper<Balance>> results = serviceA.getBalances(List.of("12345", "invalid"));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+    }
 }
@@ -4,6 +4,9 @@ import com.ebtedge.service.flow.core.ResponseWrapper;
 import com.ebtedge.service.flow.domain.Demographics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MockServiceBTest {
@@ -79,4 +82,13 @@ class MockServiceBTest {
         assertFalse(data.email().isEmpty());
         assertFalse(data.city().isEmpty());
     }
+
+    @Test
+    void testBulkLookup_ResultsInInputOrder() {
+        List<ResponseWrapper<Demographics>> results = serviceB.getDemographicsBatch(List.of("CUST-7788", ""));
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+    }
 }
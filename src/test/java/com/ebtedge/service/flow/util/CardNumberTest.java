@@ -0,0 +1,87 @@
+package com.ebtedge.service.flow.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardNumberTest {
+
+    @Test
+    void testOf_plainDigits_reusesInput() {
+        String raw = "4111111111111111";
+
+        CardNumber cardNumber = CardNumber.of(raw);
+
+        assertSame(raw, cardNumber.digits());
+        assertTrue(cardNumber.isValid());
+        assertEquals("411111", cardNumber.prefix());
+        assertEquals("411111******1111", cardNumber.masked());
+    }
+
+    @Test
+    void testOf_separators_areRemoved() {
+        CardNumber cardNumber = CardNumber.of(" 4111-1111\t1111\n1111 ");
+
+        assertEquals("4111111111111111", cardNumber.digits());
+        assertEquals("411111", cardNumber.prefix());
+        assertEquals("411111******1111", cardNumber.toString());
+    }
+
+    @Test
+    void testOf_null_throwsException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> CardNumber.of(null));
+
+        assertEquals("Card number cannot be null", exception.getMessage());
+    }
+
+    @Test
+    void testPrefix_wrongLength_throwsException() {
+        CardNumber cardNumber = CardNumber.of("4111 1111 1111 111");
+
+        assertFalse(cardNumber.isValid());
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, cardNumber::prefix);
+        assertEquals("Card number must be 16 digits, got 15", exception.getMessage());
+    }
+
+    @Test
+    void testPrefix_nonDigit_throwsException() {
+        CardNumber cardNumber = CardNumber.of("411111111111111A");
+
+        assertFalse(cardNumber.isValid());
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, cardNumber::prefix);
+        assertEquals("Card number must contain only digits", exception.getMessage());
+    }
+
+    @Test
+    void testPrefix_nonAsciiDigit_throwsException() {
+        // "\\d" only matches ASCII digits, so neither does the scanner
+        CardNumber cardNumber = CardNumber.of("411111111111111\u0661");
+
+        assertThrows(IllegalArgumentException.class, cardNumber::prefix);
+    }
+
+    @Test
+    void testMasked_derivedOnce() {
+        CardNumber cardNumber = CardNumber.of("5500-0000-0000-0004");
+
+        assertSame(cardNumber.masked(), cardNumber.masked());
+        assertSame(cardNumber.prefix(), cardNumber.prefix());
+    }
+
+    @Test
+    void testMask_matchesPreviousRegexBasedMasking() {
+        assertEquals("****", CardNumber.mask(null));
+        assertEquals("****", CardNumber.mask("411111111"));
+        assertEquals("411111******1111", CardNumber.mask("4111 1111 1111 1111"));
+        assertEquals("4111****", CardNumber.mask("41111111111"));
+        assertEquals("4111****", CardNumber.mask("4111-1111-111"));
+        assertEquals("12****", CardNumber.mask("12        "));
+    }
+
+    @Test
+    void testEquals_comparesDigits() {
+        assertEquals(CardNumber.of("4111 1111 1111 1111"), CardNumber.of("4111-1111-1111-1111"));
+        assertEquals(CardNumber.of("4111 1111 1111 1111").hashCode(), CardNumber.of("4111111111111111").hashCode());
+        assertNotEquals(CardNumber.of("4111111111111111"), CardNumber.of("5500000000000004"));
+    }
+}